@@ -1,17 +1,35 @@
 package com.example.aliintern.scheduler;
 
 import com.example.aliintern.scheduler.cache.CacheAccessProxy;
+import com.example.aliintern.scheduler.common.enums.CacheMode;
 import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.enums.RequestType;
+import com.example.aliintern.scheduler.common.metrics.SchedulerMetrics;
 import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.FusedReadResult;
 import com.example.aliintern.scheduler.common.model.RequestContext;
 import com.example.aliintern.scheduler.common.model.StatResult;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
 import com.example.aliintern.scheduler.hotspot.HotspotDetector;
+import com.example.aliintern.scheduler.prewarm.HotspotPinRegistry;
 import com.example.aliintern.scheduler.statistics.AccessStatisticsService;
 import com.example.aliintern.scheduler.strategy.DecisionStrategyEngine;
+import com.example.aliintern.scheduler.strategy.LastDecisionCache;
+import com.example.aliintern.scheduler.variant.CacheVariantRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -19,10 +37,38 @@ import java.util.function.Supplier;
  * 统一调度四大核心模块：访问统计 -> 热点识别 -> 策略决策 -> 缓存访问
  * 
  * 标准处理流程：
- * 1. 访问统计：记录访问频次，返回双窗口计数
+ * 1. 访问统计：记录访问频次，返回双窗口计数（开启去重用户统计时按 userId 统计去重用户数）
  * 2. 热点识别：根据统计结果判断热度等级
  * 3. 策略决策：基于热度等级生成缓存策略
  * 4. 缓存访问：根据策略执行多级缓存访问
+ * 
+ * 一次读取多个 key 的请求使用 {@link #processAll}，每一步对整批只做一次 Redis / 回源调用
+ * 
+ * 预热中的 key 在活动期间使用固定的热点等级（见 {@link HotspotPinRegistry}）
+ * 
+ * 业务类型（RequestContext.bizType，未指定时为 "default"）决定访问统计的计数空间，
+ * 并按 scheduler.profiles.{bizType} 选择热点阈值、缓存策略与本地缓存分区
+ * 
+ * 按请求类型（{@link RequestType}）区分处理：
+ * - READ：完整流程
+ * - WRITE：跳过访问统计与缓存，直连数据库，完成后使该 key 的缓存失效
+ * - CONSISTENT_READ：记录访问统计，但不读写缓存，直连数据库
+ * 
+ * 按个性化程度（{@link com.example.aliintern.scheduler.common.enums.Personalization}）选择缓存键，
+ * 访问统计与热点识别始终按 cacheKey 聚合：
+ * - SHARED：使用 cacheKey
+ * - SEGMENTED：使用 cacheKey|v:segment（见 {@link CacheVariantRegistry}），写请求使所有分群变体失效
+ * - PERSONAL：不读写缓存，不经过策略决策与回源准入，直接调用回源函数
+ * 解析结果只在本次调用内使用，不写回 RequestContext
+ * 
+ * 开启合并读取（scheduler.stat.fused-fetch-enabled）时，本地缓存没有该 key 的读请求在访问统计的同一次
+ * Redis 往返中预读缓存值，缓存访问直接使用预读值，Redis 命中的请求只需一次往返
+ * 
+ * 开启乐观模式（scheduler.strategy.optimistic-enabled）时，已有最近决策的读请求按该决策读取缓存，
+ * 同时异步记录访问统计，耗时为两者的较大值而不是之和；统计完成后重新决策，新决策不再使用缓存
+ * 或缓存未命中时按新决策访问（见 {@link #processOptimistic}）
+ * 
+ * 各阶段耗时与热点等级变化记录到 {@link SchedulerMetrics}
  */
 @Slf4j
 @Service
@@ -33,6 +79,11 @@ public class SchedulerFacade {
     private final HotspotDetector hotspotDetector;
     private final DecisionStrategyEngine decisionStrategyEngine;
     private final CacheAccessProxy cacheAccessProxy;
+    private final HotspotPinRegistry hotspotPinRegistry;
+    private final CacheVariantRegistry cacheVariantRegistry;
+    private final SchedulerProperties schedulerProperties;
+    private final LastDecisionCache lastDecisionCache;
+    private final SchedulerMetrics metrics;
 
     /**
      * 处理请求（完整流程）
@@ -44,34 +95,401 @@ public class SchedulerFacade {
      * @return 数据（可能来自缓存或 DB）
      */
     public <T> T process(RequestContext context, Supplier<T> dbLoader) {
+        return process(context, null, dbLoader);
+    }
+
+    /**
+     * 处理请求（完整流程，类型化版本）
+     * Redis 命中时按 type 解码，适用于非 String 的缓存值
+     *
+     * @param context  请求上下文
+     * @param type     值类型
+     * @param dbLoader 数据库回源函数（仅在缓存未命中时调用）
+     * @param <T>      返回值类型
+     * @return 数据（可能来自缓存或 DB）
+     */
+    public <T> T process(RequestContext context, Class<T> type, Supplier<T> dbLoader) {
         log.info("Processing request: {}", context.getRequestId());
 
-        // 1. 访问统计：记录访问频次，获取双窗口统计结果
-        StatResult stat = accessStatisticsService.record(
-                "default", 
-                context.getCacheKey()
-        );
+        RequestType requestType = RequestType.orDefault(context.getRequestType());
+        if (requestType == RequestType.WRITE) {
+            return processWrite(context, dbLoader);
+        }
+
+        // 1. 访问统计：记录访问频次，获取双窗口统计结果（开启合并读取时同时预读缓存值）
+        String bizType = context.resolveBizType();
+        CacheVariantRegistry.ResolvedKey resolved = cacheVariantRegistry.resolve(context);
+        String cacheKey = resolved.cacheKey();
+        boolean fused = fusesFetch(resolved, requestType, bizType);
+        if (!fused && optimistic(resolved, requestType)) {
+            DispatchDecision lastDecision = lastDecisionCache.get(cacheKey);
+            if (lastDecision != null) {
+                return processOptimistic(context, type, dbLoader, cacheKey, lastDecision);
+            }
+        }
+        long stageStart = System.nanoTime();
+        FusedReadResult prefetched = fused
+                ? accessStatisticsService.recordAndGet(bizType, context.getCacheKey(), context.getUserId(), cacheKey)
+                : null;
+        StatResult stat = prefetched != null
+                ? prefetched.stat()
+                : accessStatisticsService.record(bizType, context.getCacheKey(), context.getUserId());
+        metrics.recordStage(SchedulerMetrics.Stage.RECORD, stageStart);
         log.debug("Access recorded for key: {}, countShort={}, countLong={}", 
                 context.getCacheKey(), stat.getCount1s(), stat.getCount60s());
 
         // 2. 热点识别：根据统计结果判断热点等级
-        HotspotLevel hotspotLevel = hotspotDetector.detect(stat);
+        stageStart = System.nanoTime();
+        HotspotLevel hotspotLevel = hotspotPinRegistry.apply(context.getCacheKey(),
+                hotspotDetector.detect(stat, bizType));
         context.setHotspotLevel(hotspotLevel);
+        metrics.recordStage(SchedulerMetrics.Stage.DETECT, stageStart);
         log.debug("Hotspot level detected: {}", hotspotLevel);
 
-        // 3. 策略决策：基于热度等级生成缓存策略
-        DispatchDecision decision = decisionStrategyEngine.decide(hotspotLevel);
+        // 完全个性化请求：不读写共享缓存，直接回源
+        if (resolved.personal()) {
+            stageStart = System.nanoTime();
+            T result = dbLoader.get();
+            metrics.recordStage(SchedulerMetrics.Stage.ACCESS, stageStart);
+            log.info("Request {} completed (personal), hotspot={}", context.getRequestId(), hotspotLevel);
+            return result;
+        }
+
+        // 3. 策略决策：基于热度等级生成缓存策略（开启成本感知时按 key 的回源成本调整）
+        stageStart = System.nanoTime();
+        DispatchDecision decision = decisionStrategyEngine.decide(hotspotLevel, context);
+        metrics.recordStage(SchedulerMetrics.Stage.DECIDE, stageStart);
         log.debug("Decision made: cacheMode={}, ttlLevel={}", 
                 decision.getCacheMode(), decision.getTtlLevel());
+        rememberDecision(cacheKey, decision);
 
-        // 4. 缓存访问：根据策略执行多级缓存访问
-        T result = cacheAccessProxy.access(context.getCacheKey(), dbLoader, decision);
+        // 4. 缓存访问：根据策略执行多级缓存访问（强一致读直连数据库）
+        stageStart = System.nanoTime();
+        T result;
+        if (!requestType.usesCache()) {
+            result = dbLoader.get();
+        } else if (prefetched != null) {
+            result = cacheAccessProxy.access(cacheKey, type, dbLoader, decision, prefetched);
+        } else {
+            result = cacheAccessProxy.access(cacheKey, type, dbLoader, decision);
+        }
+        metrics.recordStage(SchedulerMetrics.Stage.ACCESS, stageStart);
         log.info("Request {} completed, hotspot={}, cacheMode={}", 
                 context.getRequestId(), hotspotLevel, decision.getCacheMode());
 
         return result;
     }
 
+    /**
+     * 批量处理读请求（购物车、推荐列表等一次读取多个 key 的页面）
+     * 
+     * 执行流程（每一步对整批只做一次）：
+     * 1. 访问统计：所有 key 的计数脚本同时发出，共用一次 Redis 往返
+     * 2. 热点识别与策略决策：逐个 key 在内存中完成
+     * 3. 缓存访问：按决策分组，本地缓存批量读取、Redis 一次 MGET、未命中的 key 合并为一次 batchLoader 调用
+     *    （见 {@link CacheAccessProxy#accessAll(java.util.Collection, Class, Function, Map)}）
+     * 强一致读请求与完全个性化请求不读写缓存，与其他 key 分开调用一次 batchLoader
+     * 
+     * batchLoader 的入参与返回值均按 RequestContext.cacheKey（分群请求的回源结果写入各自的变体键）
+     * 
+     * 与 {@link #process} 一样逐个 key 记录最近决策与各阶段耗时；整批执行的访问统计与缓存访问按 key 数均摊整批耗时，
+     * 阶段计时器的次数仍为请求数，总耗时等于实际耗时
+     *
+     * @param contexts    请求上下文列表（不支持写请求）
+     * @param type        值类型，为 null 时 Redis 命中返回编解码器的自然类型
+     * @param batchLoader 批量回源函数，入参为未命中的 cacheKey 集合，返回查到的键值对
+     * @param <T>         值类型
+     * @return 查到的键值对（按 cacheKey，保持 contexts 的顺序），不存在的 key 不包含在结果中
+     * @throws IllegalArgumentException 包含写请求
+     */
+    public <T> Map<String, T> processAll(List<RequestContext> contexts, Class<T> type,
+                                         Function<Set<String>, Map<String, T>> batchLoader) {
+        if (contexts == null || contexts.isEmpty()) {
+            return Map.of();
+        }
+        log.info("Processing batch request: size={}", contexts.size());
+
+        // 1. 访问统计：整批记录
+        List<CacheVariantRegistry.ResolvedKey> resolvedKeys = new ArrayList<>(contexts.size());
+        List<AccessStatisticsService.AccessKey> accessKeys = new ArrayList<>(contexts.size());
+        for (RequestContext context : contexts) {
+            if (RequestType.orDefault(context.getRequestType()) == RequestType.WRITE) {
+                throw new IllegalArgumentException("批量处理不支持写请求: key=" + context.getCacheKey());
+            }
+            resolvedKeys.add(cacheVariantRegistry.resolve(context));
+            accessKeys.add(new AccessStatisticsService.AccessKey(
+                    context.resolveBizType(), context.getCacheKey(), context.getUserId()));
+        }
+        long stageStart = System.nanoTime();
+        List<StatResult> stats = accessStatisticsService.recordAll(accessKeys);
+        long recordNanos = (System.nanoTime() - stageStart) / contexts.size();
+        for (int i = 0; i < contexts.size(); i++) {
+            metrics.recordStageNanos(SchedulerMetrics.Stage.RECORD, recordNanos);
+        }
+
+        // 2. 热点识别与策略决策（强一致读与完全个性化请求不参与缓存访问）
+        Map<String, DispatchDecision> decisions = new LinkedHashMap<>(contexts.size() * 2);
+        Map<String, String> originalKeys = new HashMap<>(contexts.size() * 2);
+        Set<String> directKeys = new LinkedHashSet<>();
+        for (int i = 0; i < contexts.size(); i++) {
+            RequestContext context = contexts.get(i);
+            stageStart = System.nanoTime();
+            HotspotLevel hotspotLevel = hotspotPinRegistry.apply(context.getCacheKey(),
+                    hotspotDetector.detect(stats.get(i), context.resolveBizType()));
+            context.setHotspotLevel(hotspotLevel);
+            metrics.recordStage(SchedulerMetrics.Stage.DETECT, stageStart);
+            if (resolvedKeys.get(i).personal()) {
+                directKeys.add(context.getCacheKey());
+                continue;
+            }
+
+            String cacheKey = resolvedKeys.get(i).cacheKey();
+            stageStart = System.nanoTime();
+            DispatchDecision decision = decisionStrategyEngine.decide(hotspotLevel, context);
+            metrics.recordStage(SchedulerMetrics.Stage.DECIDE, stageStart);
+            rememberDecision(cacheKey, decision);
+            if (!RequestType.orDefault(context.getRequestType()).usesCache()) {
+                directKeys.add(context.getCacheKey());
+                continue;
+            }
+            decisions.put(cacheKey, decision);
+            originalKeys.put(cacheKey, context.getCacheKey());
+        }
+
+        // 3. 缓存访问：按决策分组批量访问，回源时将缓存键还原为 cacheKey
+        stageStart = System.nanoTime();
+        Map<String, T> found = decisions.isEmpty() ? Map.of() : cacheAccessProxy.accessAll(decisions.keySet(), type,
+                missing -> {
+                    Set<String> originals = new LinkedHashSet<>();
+                    for (String key : missing) {
+                        originals.add(originalKeys.get(key));
+                    }
+                    Map<String, T> loaded = batchLoader.apply(originals);
+                    Map<String, T> byCacheKey = new HashMap<>(missing.size() * 2);
+                    for (String key : missing) {
+                        T value = loaded != null ? loaded.get(originalKeys.get(key)) : null;
+                        if (value != null) {
+                            byCacheKey.put(key, value);
+                        }
+                    }
+                    return byCacheKey;
+                }, decisions);
+        Map<String, T> direct = directKeys.isEmpty() ? Map.of() : batchLoader.apply(directKeys);
+        long accessNanos = (System.nanoTime() - stageStart) / contexts.size();
+
+        Map<String, T> result = new LinkedHashMap<>(contexts.size() * 2);
+        for (int i = 0; i < contexts.size(); i++) {
+            RequestContext context = contexts.get(i);
+            metrics.recordStageNanos(SchedulerMetrics.Stage.ACCESS, accessNanos);
+            T value = directKeys.contains(context.getCacheKey()) && direct != null
+                    ? direct.get(context.getCacheKey())
+                    : found.get(resolvedKeys.get(i).cacheKey());
+            if (value != null) {
+                result.putIfAbsent(context.getCacheKey(), value);
+            }
+        }
+        log.info("Batch request completed: size={}, found={}", contexts.size(), result.size());
+        return result;
+    }
+
+    /**
+     * 乐观模式：按最近一次决策读取缓存，同时异步记录访问统计
+     * 
+     * 1. 发出访问统计（异步），在当前线程按最近决策只读缓存（不回源）
+     * 2. 统计完成后识别热点并重新决策，记录为最近决策
+     * 3. 缓存命中且新决策仍使用缓存：直接返回
+     * 4. 否则按新决策访问；缓存模式未变时 Redis 已读过，不再重复读取
+     */
+    private <T> T processOptimistic(RequestContext context, Class<T> type, Supplier<T> dbLoader,
+                                    String cacheKey, DispatchDecision lastDecision) {
+        String bizType = context.resolveBizType();
+        // 访问统计与乐观读取并行：统计耗时在统计完成时单独记录，不包含乐观读取的耗时
+        long recordStart = System.nanoTime();
+        CompletableFuture<StatResult> recorded =
+                accessStatisticsService.recordAsync(bizType, context.getCacheKey(), context.getUserId());
+        recorded.whenComplete((v, e) -> metrics.recordStage(SchedulerMetrics.Stage.RECORD, recordStart));
+        long peekStart = System.nanoTime();
+        T cached = cacheAccessProxy.peek(cacheKey, type, lastDecision);
+        long peekNanos = System.nanoTime() - peekStart;
+
+        StatResult stat;
+        try {
+            stat = recorded.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        long stageStart = System.nanoTime();
+        HotspotLevel hotspotLevel = hotspotPinRegistry.apply(context.getCacheKey(),
+                hotspotDetector.detect(stat, bizType));
+        context.setHotspotLevel(hotspotLevel);
+        metrics.recordStage(SchedulerMetrics.Stage.DETECT, stageStart);
+        stageStart = System.nanoTime();
+        DispatchDecision decision = decisionStrategyEngine.decide(hotspotLevel, context);
+        metrics.recordStage(SchedulerMetrics.Stage.DECIDE, stageStart);
+        rememberDecision(cacheKey, decision);
+
+        // 缓存访问耗时 = 乐观读取耗时 + 改道后的访问耗时（两段分别计时后相加）
+        stageStart = System.nanoTime();
+        T result;
+        if (cached != null && decision.getCacheMode() != CacheMode.NONE) {
+            result = cached;
+        } else if (cached == null && decision.getCacheMode() == lastDecision.getCacheMode()) {
+            result = cacheAccessProxy.access(cacheKey, type, dbLoader, decision, FusedReadResult.miss(stat));
+        } else {
+            log.debug("Optimistic read re-routed: key={}, lastMode={}, cacheMode={}",
+                    cacheKey, lastDecision.getCacheMode(), decision.getCacheMode());
+            result = cacheAccessProxy.access(cacheKey, type, dbLoader, decision);
+        }
+        metrics.recordStageNanos(SchedulerMetrics.Stage.ACCESS, peekNanos + (System.nanoTime() - stageStart));
+        log.info("Request {} completed (optimistic), hotspot={}, cacheMode={}, hit={}",
+                context.getRequestId(), hotspotLevel, decision.getCacheMode(), cached != null);
+        return result;
+    }
+
+    /**
+     * 异步处理请求（完整流程）
+     * 
+     * 与 {@link #process(RequestContext, Class, Supplier)} 流程一致，但全程不阻塞调用线程：
+     * - 访问统计的双窗口脚本同时发出
+     * - Redis 读写基于异步命令
+     * - 回源通过 asyncLoader 返回的 Future 完成
+     * 
+     * 注意：后续阶段可能在 Redis I/O 线程上执行，asyncLoader 不应包含阻塞操作
+     *
+     * @param context     请求上下文
+     * @param type        值类型，为 null 时 Redis 命中返回编解码器的自然类型
+     * @param asyncLoader 异步回源函数（仅在缓存未命中时调用）
+     * @param <T>         返回值类型
+     * @return 数据 Future
+     */
+    public <T> CompletableFuture<T> processAsync(RequestContext context, Class<T> type,
+                                                 Supplier<CompletableFuture<T>> asyncLoader) {
+        log.debug("Processing async request: {}", context.getRequestId());
+
+        RequestType requestType = RequestType.orDefault(context.getRequestType());
+        if (requestType == RequestType.WRITE) {
+            return processWriteAsync(context, asyncLoader);
+        }
+
+        // 1. 访问统计（异步，开启合并读取时同时预读缓存值）
+        String bizType = context.resolveBizType();
+        CacheVariantRegistry.ResolvedKey resolved = cacheVariantRegistry.resolve(context);
+        String cacheKey = resolved.cacheKey();
+        long recordStart = System.nanoTime();
+        CompletableFuture<FusedReadResult> recorded = fusesFetch(resolved, requestType, bizType)
+                ? accessStatisticsService.recordAndGetAsync(bizType, context.getCacheKey(), context.getUserId(),
+                        cacheKey)
+                : accessStatisticsService.recordAsync(bizType, context.getCacheKey(), context.getUserId())
+                        .thenApply(FusedReadResult::notFetched);
+        return recorded.thenCompose(fused -> {
+                    metrics.recordStage(SchedulerMetrics.Stage.RECORD, recordStart);
+
+                    // 2. 热点识别
+                    long stageStart = System.nanoTime();
+                    HotspotLevel hotspotLevel = hotspotPinRegistry.apply(
+                            context.getCacheKey(), hotspotDetector.detect(fused.stat(), bizType));
+                    context.setHotspotLevel(hotspotLevel);
+                    metrics.recordStage(SchedulerMetrics.Stage.DETECT, stageStart);
+
+                    // 完全个性化请求：不读写共享缓存，直接回源
+                    if (resolved.personal()) {
+                        long accessStart = System.nanoTime();
+                        return asyncLoader.get().whenComplete((v, e) -> metrics.recordStage(
+                                SchedulerMetrics.Stage.ACCESS, accessStart));
+                    }
+
+                    // 3. 策略决策
+                    stageStart = System.nanoTime();
+                    DispatchDecision decision = decisionStrategyEngine.decide(hotspotLevel, context);
+                    metrics.recordStage(SchedulerMetrics.Stage.DECIDE, stageStart);
+                    rememberDecision(cacheKey, decision);
+                    log.debug("Async decision made: key={}, hotspot={}, cacheMode={}, ttlLevel={}",
+                            cacheKey, hotspotLevel, decision.getCacheMode(), decision.getTtlLevel());
+
+                    // 4. 缓存访问（异步，强一致读直连数据库）
+                    long accessStart = System.nanoTime();
+                    CompletableFuture<T> result;
+                    if (!requestType.usesCache()) {
+                        result = asyncLoader.get();
+                    } else if (fused.fetched()) {
+                        result = cacheAccessProxy.accessAsync(cacheKey, type, asyncLoader, decision, fused);
+                    } else {
+                        result = cacheAccessProxy.accessAsync(cacheKey, type, asyncLoader, decision);
+                    }
+                    return result.whenComplete((v, e) -> metrics.recordStage(SchedulerMetrics.Stage.ACCESS,
+                            accessStart));
+                });
+    }
+
+    /**
+     * 记录为该 key 的最近决策，热点等级变化时记录等级变化指标
+     */
+    private void rememberDecision(String cacheKey, DispatchDecision decision) {
+        DispatchDecision previous = lastDecisionCache.get(cacheKey);
+        if (previous != null) {
+            metrics.recordTransition(previous.getHotspotLevel(), decision.getHotspotLevel());
+        }
+        lastDecisionCache.put(cacheKey, decision);
+    }
+
+    /**
+     * 是否使用乐观模式：开启乐观模式、读缓存且非完全个性化的请求
+     */
+    private boolean optimistic(CacheVariantRegistry.ResolvedKey resolved, RequestType requestType) {
+        return Boolean.TRUE.equals(schedulerProperties.getStrategy().getOptimisticEnabled())
+                && requestType.usesCache()
+                && !resolved.personal();
+    }
+
+    /**
+     * 是否在访问统计时预读缓存值：开启合并读取、读缓存且非完全个性化的请求，本地缓存已有该 key 时不预读
+     */
+    private boolean fusesFetch(CacheVariantRegistry.ResolvedKey resolved, RequestType requestType, String bizType) {
+        return Boolean.TRUE.equals(schedulerProperties.getStat().getFusedFetchEnabled())
+                && requestType.usesCache()
+                && !resolved.personal()
+                && !cacheAccessProxy.cachedLocally(resolved.cacheKey(), bizType);
+    }
+
+    /**
+     * 写请求：直连数据库，完成后使缓存（含分群变体）失效
+     * 写操作抛出异常时同样失效（数据库可能已部分更新），异常交给调用方
+     */
+    private <T> T processWrite(RequestContext context, Supplier<T> dbLoader) {
+        try {
+            return dbLoader.get();
+        } finally {
+            invalidateAfterWrite(context);
+        }
+    }
+
+    private <T> CompletableFuture<T> processWriteAsync(RequestContext context,
+                                                       Supplier<CompletableFuture<T>> asyncLoader) {
+        CompletableFuture<T> future;
+        try {
+            future = asyncLoader.get();
+        } catch (RuntimeException e) {
+            invalidateAfterWrite(context);
+            throw e;
+        }
+        return future.whenComplete((value, e) -> invalidateAfterWrite(context));
+    }
+
+    private void invalidateAfterWrite(RequestContext context) {
+        String key = context.getCacheKey();
+        if (key == null) {
+            return;
+        }
+        for (String variantKey : cacheVariantRegistry.variantKeys(context.resolveBizType(), key)) {
+            try {
+                cacheAccessProxy.invalidate(variantKey);
+                log.debug("写请求完成，缓存已失效: key={}", variantKey);
+            } catch (Exception e) {
+                log.warn("写请求后缓存失效失败: key={}, error={}", variantKey, e.getMessage());
+            }
+        }
+    }
+
     /**
      * 使缓存失效
      * 
@@ -81,4 +499,17 @@ public class SchedulerFacade {
         log.info("Invalidating cache for key: {}", key);
         cacheAccessProxy.invalidate(key);
     }
+
+    /**
+     * 使缓存及其全部分群变体失效
+     * 
+     * @param bizType 业务类型
+     * @param key     缓存键
+     */
+    public void invalidateCache(String bizType, String key) {
+        log.info("Invalidating cache for key: {}, bizType: {}", key, bizType);
+        for (String variantKey : cacheVariantRegistry.variantKeys(bizType, key)) {
+            cacheAccessProxy.invalidate(variantKey);
+        }
+    }
 }
@@ -1,7 +1,14 @@
 package com.example.aliintern.scheduler.cache;
 
 import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.FusedReadResult;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -15,7 +22,8 @@ import java.util.function.Supplier;
  * 约束：
  * - 不参与策略决策
  * - 不做热点识别
- * - 不引入限流/降级
+ * - 回源受准入控制（单 key / 全局限流），被限流时返回旧值或 null
+ * - 决策允许兜底时，回源超时或数据库熔断返回旧值、兜底副本或静态兜底数据
  * - 纯执行层，只负责缓存访问
  */
 public interface CacheAccessProxy {
@@ -26,7 +34,7 @@ public interface CacheAccessProxy {
      * 执行流程：
      * 1. 根据 decision.cacheMode 决定是否访问本地缓存
      * 2. 本地未命中，根据 decision.cacheMode 决定是否访问 Redis
-     * 3. 仍未命中，调用 dbLoader 回源
+     * 3. 仍未命中，经回源准入后调用 dbLoader 回源（被限流时返回旧值或兜底数据，NONE 模式不经过准入控制）
      * 4. 回源成功后，根据 decision 决定是否写缓存
      * 
      * @param key       缓存键
@@ -34,9 +42,142 @@ public interface CacheAccessProxy {
      * @param decision  策略决策结果（来自 DecisionStrategyEngine）
      * @param <T>       返回值类型
      * @return 数据（可能来自缓存或 DB）
+     * @throws com.example.aliintern.scheduler.cache.guard.LoadRejectedException 回源被限流且没有旧值或兜底数据
      */
     <T> T access(String key, Supplier<T> dbLoader, DispatchDecision decision);
 
+    /**
+     * 缓存访问核心方法（类型化版本）
+     * 
+     * 与 {@link #access(String, Supplier, DispatchDecision)} 流程一致，
+     * Redis 命中时按 type 解码，保证非 String 值也能得到正确类型
+     * 
+     * @param key       缓存键
+     * @param type      值类型
+     * @param dbLoader  数据库回源函数（仅在缓存未命中时调用）
+     * @param decision  策略决策结果（来自 DecisionStrategyEngine）
+     * @param <T>       返回值类型
+     * @return 数据（可能来自缓存或 DB）
+     */
+    <T> T access(String key, Class<T> type, Supplier<T> dbLoader, DispatchDecision decision);
+
+    /**
+     * 异步缓存访问
+     * 
+     * 与 {@link #access(String, Class, Supplier, DispatchDecision)} 流程一致：
+     * - 本地缓存为内存操作，同步完成
+     * - Redis 读写基于异步命令，不占用调用线程
+     * - 回源通过 asyncLoader 返回的 Future 完成，写缓存不阻塞结果返回
+     * 
+     * 注意：后续阶段可能在 Redis I/O 线程上执行，asyncLoader 不应包含阻塞操作
+     * 
+     * @param key         缓存键
+     * @param type        值类型，为 null 时 Redis 命中返回编解码器的自然类型
+     * @param asyncLoader 异步回源函数（仅在缓存未命中时调用）
+     * @param decision    策略决策结果
+     * @param <T>         返回值类型
+     * @return 数据 Future
+     */
+    <T> CompletableFuture<T> accessAsync(String key, Class<T> type,
+                                         Supplier<CompletableFuture<T>> asyncLoader,
+                                         DispatchDecision decision);
+
+    /**
+     * 缓存访问（使用访问统计时预读的 Redis 值）
+     * 
+     * 预读结果 fetched 为 true 时，需要读取 Redis 的步骤直接使用预读值，不再单独读取；
+     * 其余流程与 {@link #access(String, Class, Supplier, DispatchDecision)} 一致
+     * 默认实现忽略预读值
+     * 
+     * @param key        缓存键
+     * @param type       值类型
+     * @param dbLoader   数据库回源函数（仅在缓存未命中时调用）
+     * @param decision   策略决策结果
+     * @param prefetched 访问统计时预读的结果，可为 null
+     * @param <T>        返回值类型
+     * @return 数据（可能来自缓存或 DB）
+     */
+    default <T> T access(String key, Class<T> type, Supplier<T> dbLoader, DispatchDecision decision,
+                         FusedReadResult prefetched) {
+        return access(key, type, dbLoader, decision);
+    }
+
+    /**
+     * 异步缓存访问（使用访问统计时预读的 Redis 值）
+     * 
+     * @see #access(String, Class, Supplier, DispatchDecision, FusedReadResult)
+     */
+    default <T> CompletableFuture<T> accessAsync(String key, Class<T> type,
+                                                 Supplier<CompletableFuture<T>> asyncLoader,
+                                                 DispatchDecision decision,
+                                                 FusedReadResult prefetched) {
+        return accessAsync(key, type, asyncLoader, decision);
+    }
+
+    /**
+     * 只读缓存访问：按决策依次读取本地缓存与 Redis（Redis 命中时按决策回填本地缓存），不回源、不写 Redis
+     * 用于乐观模式在决策完成前提前读取缓存
+     * 只记录命中指标：未命中时调用方随后调用 access，由 access 记录各层结果，避免同一请求重复计数
+     * 默认实现返回 null（未命中）
+     * 
+     * @param key      缓存键
+     * @param type     值类型，为 null 时 Redis 命中返回编解码器的自然类型
+     * @param decision 策略决策（通常为该 key 最近一次的决策）
+     * @param <T>      返回值类型
+     * @return 缓存值，未命中返回 null
+     */
+    default <T> T peek(String key, Class<T> type, DispatchDecision decision) {
+        return null;
+    }
+
+    /**
+     * 本地缓存（含堆外缓存）中是否已有该 key（用于判断是否需要预读 Redis）
+     * 默认实现返回 false
+     * 
+     * @param key     缓存键
+     * @param bizType 业务类型，用于定位本地缓存分区
+     * @return 已有返回 true
+     */
+    default boolean cachedLocally(String key, String bizType) {
+        return false;
+    }
+
+    /**
+     * 批量缓存访问
+     * 
+     * 执行流程（每层最多一次往返）：
+     * 1. 对使用本地缓存的 key 批量查本地缓存
+     * 2. 剩余使用 Redis 的 key 一次 MGET，命中的按决策批量回填本地缓存
+     * 3. 仍未命中的 key（含 NONE 模式）经回源准入（NONE 模式除外）后合并为一次 batchLoader 调用，被限流的 key 返回旧值，
+     *    被限流且没有旧值或兜底数据的 key 不包含在结果中（不抛出 LoadRejectedException，避免丢弃其余 key 的结果）
+     * 4. 回源结果按各自决策批量回写 Redis（pipeline）和本地缓存
+     * 
+     * @param keys        缓存键集合
+     * @param type        值类型，为 null 时 Redis 命中返回编解码器的自然类型
+     * @param batchLoader 批量回源函数，入参为未命中的 key 集合，返回查到的键值对
+     * @param decisions   每个 key 的策略决策，缺失的 key 按不缓存处理
+     * @param <T>         值类型
+     * @return 查到的键值对（保持 keys 的迭代顺序），不存在的 key 不包含在结果中
+     */
+    <T> Map<String, T> accessAll(Collection<String> keys, Class<T> type,
+                                 Function<Set<String>, Map<String, T>> batchLoader,
+                                 Map<String, DispatchDecision> decisions);
+
+    /**
+     * 批量缓存访问（所有 key 使用同一决策）
+     * 
+     * @see #accessAll(Collection, Class, Function, Map)
+     */
+    default <T> Map<String, T> accessAll(Collection<String> keys, Class<T> type,
+                                         Function<Set<String>, Map<String, T>> batchLoader,
+                                         DispatchDecision decision) {
+        Map<String, DispatchDecision> decisions = new HashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            decisions.put(key, decision);
+        }
+        return accessAll(keys, type, batchLoader, decisions);
+    }
+
     /**
      * 删除缓存（用于数据更新时的缓存失效）
      * 
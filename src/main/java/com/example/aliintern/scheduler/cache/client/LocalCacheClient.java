@@ -1,48 +1,124 @@
 package com.example.aliintern.scheduler.cache.client;
 
+import com.example.aliintern.scheduler.cache.support.CacheExpirationPolicy;
+import com.example.aliintern.scheduler.cache.support.CacheValueSizer;
 import com.example.aliintern.scheduler.config.SchedulerProperties;
 import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 本地缓存客户端
  * 基于 Caffeine 实现的本地缓存访问封装
- * 
+ *
  * 职责：
  * - 提供本地缓存读写接口
- * - 管理 TTL（基于 Caffeine 的 expireAfterWrite）
+ * - 按估算字节数限制容量（Caffeine maximumWeight），大小由 {@link CacheValueSizer} 在写入时估算一次
+ * - 管理 TTL（基于 Caffeine 的可变过期时间，按 TTL 等级 + 随机抖动逐条设置）
+ * - 概率提前过期（XFetch），避免热点 key 同时失效
+ * - 导出最热条目 / 按剩余 TTL 恢复条目，用于快照预热
+ * - 按业务类型隔离：配置了本地缓存配额的业务类型（scheduler.profiles.{bizType}.local-maximum-weight-bytes）
+ *   使用独立分区，容量互不挤占；其他业务类型共用默认分区
  * - 异常容错，不影响主流程
+ *
+ * 分区本身也是 LocalCacheClient，通过 {@link #partition(String)} 获取；
+ * 删除、占用统计、最热条目导出在默认分区上调用时覆盖所有分区
  */
 @Slf4j
 @Component
 public class LocalCacheClient {
 
-    private final Cache<String, Object> cache;
+    private final Cache<String, Entry> cache;
     private final SchedulerProperties schedulerProperties;
+    private final CacheExpirationPolicy expirationPolicy;
+    private final CacheValueSizer valueSizer;
+    private final long maximumWeightBytes;
 
-    public LocalCacheClient(SchedulerProperties schedulerProperties) {
+    /**
+     * 分区所属业务类型，默认分区为 null
+     */
+    private final String bizType;
+
+    /**
+     * 业务类型独立分区（只在默认分区上维护）
+     */
+    private final Map<String, LocalCacheClient> partitions;
+
+    @Autowired
+    public LocalCacheClient(SchedulerProperties schedulerProperties,
+                            CacheExpirationPolicy expirationPolicy,
+                            CacheValueSizer valueSizer) {
+        this(schedulerProperties, expirationPolicy, valueSizer, null,
+                schedulerProperties.getCache().getLocal().getMaximumWeightBytes());
+    }
+
+    private LocalCacheClient(SchedulerProperties schedulerProperties,
+                             CacheExpirationPolicy expirationPolicy,
+                             CacheValueSizer valueSizer,
+                             String bizType,
+                             long maximumWeightBytes) {
         this.schedulerProperties = schedulerProperties;
-        
+        this.expirationPolicy = expirationPolicy;
+        this.valueSizer = valueSizer;
+        this.bizType = bizType;
+        this.maximumWeightBytes = maximumWeightBytes;
+
         // 初始化 Caffeine 缓存
-        // 最大容量 10000，使用最长 TTL 作为统一过期时间
-        // 注意：这里为了简化，使用固定 TTL，实际可以根据需要优化为动态 TTL
+        // 按估算字节数限制容量，每条记录的过期时间由写入时的 TTL 等级决定
         this.cache = Caffeine.newBuilder()
-                .maximumSize(10000)
-                .expireAfterWrite(schedulerProperties.getCache().getTtl().getLocal().getLongTtl(), TimeUnit.SECONDS)
+                .maximumWeight(maximumWeightBytes)
+                .weigher((String key, Entry entry) -> entry.weight())
+                .expireAfter(new EntryExpiry())
                 .recordStats()
                 .build();
-        
-        log.info("本地缓存初始化完成，最大容量: 10000");
+
+        if (bizType != null) {
+            this.partitions = Map.of();
+            log.info("本地缓存分区初始化完成: bizType={}, 最大占用: {} bytes", bizType, maximumWeightBytes);
+            return;
+        }
+
+        Map<String, LocalCacheClient> partitions = new HashMap<>();
+        schedulerProperties.getProfiles().forEach((profileBizType, profile) -> {
+            Long quota = profile.getLocalMaximumWeightBytes();
+            if (quota != null && quota > 0) {
+                partitions.put(profileBizType, new LocalCacheClient(
+                        schedulerProperties, expirationPolicy, valueSizer, profileBizType, quota));
+            }
+        });
+        this.partitions = Map.copyOf(partitions);
+        log.info("本地缓存初始化完成，最大占用: {} bytes，独立分区: {}", maximumWeightBytes, this.partitions.keySet());
+    }
+
+    /**
+     * 获取业务类型的本地缓存分区
+     *
+     * @param bizType 业务类型
+     * @return 独立分区，业务类型未配置本地缓存配额时返回默认分区
+     */
+    public LocalCacheClient partition(String bizType) {
+        if (bizType == null) {
+            return this;
+        }
+        return partitions.getOrDefault(bizType, this);
     }
 
     /**
      * 从本地缓存获取数据
-     * 
+     *
+     * 若 XFetch 判定需要提前刷新，本次读取视为未命中，由调用方回源后重新写入
+     *
      * @param key 缓存键
      * @return 缓存值，未命中返回 null
      */
@@ -51,53 +127,231 @@ public class LocalCacheClient {
         if (key == null) {
             return null;
         }
-        
+
         try {
-            Object value = cache.getIfPresent(key);
-            if (value != null) {
-                log.debug("本地缓存命中: key={}", key);
-                return (T) value;
+            Entry entry = cache.getIfPresent(key);
+            if (entry == null) {
+                log.debug("本地缓存未命中: key={}", key);
+                return null;
+            }
+
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(entry.expireAtNanos() - System.nanoTime());
+            if (expirationPolicy.shouldRefreshEarly(entry.loadMillis(), remainingMillis)) {
+                log.debug("本地缓存提前过期: key={}, remaining={}ms, loadCost={}ms",
+                        key, remainingMillis, entry.loadMillis());
+                return null;
             }
-            log.debug("本地缓存未命中: key={}", key);
+
+            log.debug("本地缓存命中: key={}", key);
+            return (T) entry.value();
+        } catch (Exception e) {
+            log.warn("本地缓存读取异常: key={}, error={}", key, e.getMessage());
             return null;
+        }
+    }
+
+    /**
+     * 读取旧值（忽略概率提前过期）
+     * 用于回源被限流时返回仍在缓存中的值
+     *
+     * @param key 缓存键
+     * @return 缓存值，不存在返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getStale(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        try {
+            Entry entry = cache.getIfPresent(key);
+            return entry != null ? (T) entry.value() : null;
         } catch (Exception e) {
             log.warn("本地缓存读取异常: key={}, error={}", key, e.getMessage());
             return null;
         }
     }
 
+    /**
+     * 本地缓存中是否存在该 key（不计入访问统计、不刷新过期时间）
+     * 用于判断是否需要预读 Redis，不判断提前过期
+     *
+     * @param key 缓存键
+     * @return 存在返回 true
+     */
+    public boolean contains(String key) {
+        return key != null && cache.policy().getIfPresentQuietly(key) != null;
+    }
+
+    /**
+     * 批量从本地缓存获取数据
+     *
+     * @param keys 缓存键集合
+     * @return 命中的键值对，未命中的 key 不包含在结果中
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> getAll(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Map.of();
+        }
+
+        try {
+            Map<String, Entry> present = cache.getAllPresent(keys);
+            Map<String, T> result = new HashMap<>(present.size() * 2);
+            long now = System.nanoTime();
+            for (Map.Entry<String, Entry> e : present.entrySet()) {
+                Entry entry = e.getValue();
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(entry.expireAtNanos() - now);
+                if (!expirationPolicy.shouldRefreshEarly(entry.loadMillis(), remainingMillis)) {
+                    result.put(e.getKey(), (T) entry.value());
+                }
+            }
+            log.debug("本地缓存批量读取: total={}, hit={}", keys.size(), result.size());
+            return result;
+        } catch (Exception e) {
+            log.warn("本地缓存批量读取异常: size={}, error={}", keys.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
     /**
      * 写入本地缓存
-     * 
+     *
      * @param key      缓存键
      * @param value    缓存值
      * @param ttlLevel TTL 等级
      */
     public void put(String key, Object value, CacheTtlLevel ttlLevel) {
+        put(key, value, ttlLevel, 0L);
+    }
+
+    /**
+     * 写入本地缓存（携带回源耗时，用于概率提前过期）
+     *
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttlLevel   TTL 等级
+     * @param loadMillis 本次回源耗时（毫秒）
+     */
+    public void put(String key, Object value, CacheTtlLevel ttlLevel, long loadMillis) {
         if (key == null || value == null) {
             return;
         }
-        
+
         try {
-            cache.put(key, value);
-            log.debug("本地缓存写入成功: key={}, ttlLevel={}", key, ttlLevel);
+            long ttlNanos = expirationPolicy.localTtl(ttlLevel).toNanos();
+            int weight = weigh(key, value);
+            cache.put(key, new Entry(value, ttlLevel, loadMillis, ttlNanos, System.nanoTime() + ttlNanos, weight));
+            log.debug("本地缓存写入成功: key={}, ttlLevel={}, ttl={}ms, size={}B",
+                    key, ttlLevel, TimeUnit.NANOSECONDS.toMillis(ttlNanos), weight);
         } catch (Exception e) {
             log.warn("本地缓存写入失败: key={}, error={}", key, e.getMessage());
         }
     }
 
+    /**
+     * 恢复条目（快照预热）
+     * 使用快照记录的剩余 TTL，不重新计算；key 已存在时不覆盖
+     *
+     * @param key             缓存键
+     * @param value           缓存值
+     * @param ttlLevel        TTL 等级
+     * @param remainingMillis 剩余 TTL（毫秒）
+     * @param loadMillis      回源耗时（毫秒）
+     * @return 是否写入
+     */
+    public boolean restore(String key, Object value, CacheTtlLevel ttlLevel, long remainingMillis, long loadMillis) {
+        return restore(null, key, value, ttlLevel, remainingMillis, loadMillis);
+    }
+
+    /**
+     * 恢复条目到业务类型的分区（快照预热）
+     * 业务类型未配置本地缓存配额时写入默认分区
+     *
+     * @param bizType 业务类型，为 null 时写入默认分区
+     * @see #restore(String, Object, CacheTtlLevel, long, long)
+     */
+    public boolean restore(String bizType, String key, Object value, CacheTtlLevel ttlLevel, long remainingMillis,
+                           long loadMillis) {
+        LocalCacheClient target = partition(bizType);
+        if (target != this) {
+            return target.restore(null, key, value, ttlLevel, remainingMillis, loadMillis);
+        }
+        if (key == null || value == null || remainingMillis <= 0) {
+            return false;
+        }
+
+        try {
+            long ttlNanos = TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+            Entry entry = new Entry(value, ttlLevel, loadMillis, ttlNanos, System.nanoTime() + ttlNanos, weigh(key, value));
+            return cache.asMap().putIfAbsent(key, entry) == null;
+        } catch (Exception e) {
+            log.warn("本地缓存恢复失败: key={}, error={}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 导出访问频率最高的条目（快照）
+     * 已过期的条目不包含在结果中
+     *
+     * @param limit 最大条目数
+     * @return 按热度从高到低排列的条目
+     */
+    public List<HotEntry> hottest(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (partitions.isEmpty()) {
+            return hottestInPartition(limit);
+        }
+
+        // 按各分区容量比例分配条数，避免默认分区占满快照
+        long totalBytes = getMaximumWeightBytes();
+        List<HotEntry> result = new ArrayList<>(limit);
+        result.addAll(hottestInPartition(share(limit, maximumWeightBytes, totalBytes)));
+        for (LocalCacheClient partition : partitions.values()) {
+            result.addAll(partition.hottestInPartition(share(limit, partition.maximumWeightBytes, totalBytes)));
+        }
+        return result;
+    }
+
+    private static int share(int limit, long partitionBytes, long totalBytes) {
+        return (int) Math.max(1L, limit * partitionBytes / Math.max(1L, totalBytes));
+    }
+
+    private List<HotEntry> hottestInPartition(int limit) {
+        Map<String, Entry> hottest = cache.policy().eviction()
+                .map(eviction -> eviction.hottest(limit))
+                .orElse(Map.of());
+        List<HotEntry> result = new ArrayList<>(hottest.size());
+        long now = System.nanoTime();
+        for (Map.Entry<String, Entry> e : hottest.entrySet()) {
+            Entry entry = e.getValue();
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(entry.expireAtNanos() - now);
+            if (remainingMillis > 0) {
+                result.add(new HotEntry(e.getKey(), entry.value(), entry.ttlLevel(), remainingMillis, entry.loadMillis(),
+                        bizType));
+            }
+        }
+        return result;
+    }
+
     /**
      * 删除本地缓存
-     * 
+     *
      * @param key 缓存键
      */
     public void invalidate(String key) {
         if (key == null) {
             return;
         }
-        
+
         try {
             cache.invalidate(key);
+            for (LocalCacheClient partition : partitions.values()) {
+                partition.invalidate(key);
+            }
             log.debug("本地缓存删除: key={}", key);
         } catch (Exception e) {
             log.warn("本地缓存删除失败: key={}, error={}", key, e.getMessage());
@@ -110,5 +364,106 @@ public class LocalCacheClient {
     public String getStats() {
         return cache.stats().toString();
     }
-}
 
+    /**
+     * 当前估算占用（字节）
+     * Caffeine 异步维护占用与淘汰，读取前先执行一次维护，使结果包含最近的写入
+     */
+    public long getEstimatedBytes() {
+        cache.cleanUp();
+        long bytes = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        for (LocalCacheClient partition : partitions.values()) {
+            bytes += partition.getEstimatedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * 最大占用（字节，含独立分区）
+     */
+    public long getMaximumWeightBytes() {
+        long bytes = maximumWeightBytes;
+        for (LocalCacheClient partition : partitions.values()) {
+            bytes += partition.maximumWeightBytes;
+        }
+        return bytes;
+    }
+
+    /**
+     * 当前条目数（近似值，含独立分区）
+     */
+    public long getEntryCount() {
+        long count = cache.estimatedSize();
+        for (LocalCacheClient partition : partitions.values()) {
+            count += partition.getEntryCount();
+        }
+        return count;
+    }
+
+    /**
+     * 估算一条记录的占用：key + 值 + 固定开销
+     */
+    private int weigh(String key, Object value) {
+        SchedulerProperties.CacheConfig.LocalConfig config = schedulerProperties.getCache().getLocal();
+        long size;
+        try {
+            size = valueSizer.sizeOf(value);
+        } catch (Exception e) {
+            log.debug("缓存值大小估算失败，使用默认值: key={}, error={}", key, e.getMessage());
+            size = config.getDefaultEntryBytes();
+        }
+        long weight = 40L + key.length() * 2L + size + config.getEntryOverheadBytes();
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 对外导出的条目视图
+     *
+     * @param key             缓存键
+     * @param value           缓存值
+     * @param ttlLevel        TTL 等级
+     * @param remainingMillis 剩余 TTL（毫秒）
+     * @param loadMillis      回源耗时（毫秒）
+     * @param bizType         所属分区的业务类型，默认分区为 null
+     */
+    public record HotEntry(String key, Object value, CacheTtlLevel ttlLevel, long remainingMillis, long loadMillis,
+                           String bizType) {
+    }
+
+    /**
+     * 本地缓存条目
+     *
+     * @param value         缓存值
+     * @param ttlLevel      TTL 等级
+     * @param loadMillis    回源耗时（毫秒），0 表示未知
+     * @param ttlNanos      本条记录的 TTL（已含抖动）
+     * @param expireAtNanos 过期时刻（System.nanoTime 基准）
+     * @param weight        估算占用（字节）
+     */
+    private record Entry(Object value, CacheTtlLevel ttlLevel, long loadMillis, long ttlNanos, long expireAtNanos,
+                         int weight) {
+    }
+
+    /**
+     * 按条目 TTL 设置过期时间，读取不续期
+     */
+    private static class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
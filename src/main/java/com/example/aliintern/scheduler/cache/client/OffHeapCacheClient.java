@@ -0,0 +1,200 @@
+package com.example.aliintern.scheduler.cache.client;
+
+import com.example.aliintern.scheduler.cache.codec.CacheValueSerializer;
+import com.example.aliintern.scheduler.cache.offheap.OffHeapSlabStore;
+import com.example.aliintern.scheduler.cache.support.CacheExpirationPolicy;
+import com.example.aliintern.scheduler.cache.support.CacheValueSizer;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 堆外缓存客户端
+ * 位于本地缓存（Caffeine）与 Redis 之间的 L1.5 层
+ *
+ * 职责：
+ * - 将 HOT 及以上等级、序列化后超过阈值的大对象存入堆外 slab，避免大对象长期驻留堆内拉长 GC 停顿
+ * - 读取时反序列化为堆上对象返回
+ * - 管理 TTL（与本地缓存使用同一 TTL 等级 + 抖动）
+ * - 异常容错，不影响主流程
+ *
+ * 说明：
+ * - 值的编码与 Redis 一致（{@link CacheValueSerializer}），大对象同样会被压缩
+ * - 反序列化需要目标类型，未指定类型时只接受 String 值
+ * - 写入前先用本地缓存的大小估算（{@link CacheValueSizer}）预判，明显小于阈值的值不再序列化
+ */
+@Slf4j
+@Component
+public class OffHeapCacheClient {
+
+    /**
+     * 预判余量：估算值为堆上大小，编码（及压缩）后通常更小，但中文字符串 UTF-8 编码可达估算的 1.5 倍，
+     * 估算值的 2 倍仍低于阈值时才跳过序列化，避免误判
+     */
+    private static final int ESTIMATE_MARGIN = 2;
+
+    private final SchedulerProperties schedulerProperties;
+    private final CacheExpirationPolicy expirationPolicy;
+    private final CacheValueSerializer serializer;
+    private final OffHeapSlabStore store;
+    private final CacheValueSizer sizer;
+    private final HotspotLevel minHotspotLevel;
+
+    public OffHeapCacheClient(SchedulerProperties schedulerProperties,
+                              CacheExpirationPolicy expirationPolicy,
+                              CacheValueSerializer serializer,
+                              CacheValueSizer sizer) {
+        this.schedulerProperties = schedulerProperties;
+        this.expirationPolicy = expirationPolicy;
+        this.serializer = serializer;
+        this.sizer = sizer;
+
+        SchedulerProperties.CacheConfig.OffHeapConfig config = schedulerProperties.getCache().getOffHeap();
+        this.store = new OffHeapSlabStore(config.getCapacityBytes(), config.getBlockSizeBytes(), config.getSlabSizeBytes());
+        this.minHotspotLevel = parseLevel(config.getMinHotspotLevel());
+
+        log.info("堆外缓存初始化完成: enabled={}, capacity={} bytes, threshold={} bytes, minLevel={}",
+                config.getEnabled(), store.getCapacityBytes(), config.getThresholdBytes(), minHotspotLevel);
+    }
+
+    /**
+     * 从堆外缓存获取数据
+     *
+     * @param key  缓存键
+     * @param type 目标类型，为 null 时按编解码器自然类型返回
+     * @return 缓存值，未命中或未开启时返回 null
+     */
+    public <T> T get(String key, Class<T> type) {
+        if (key == null || !isEnabled()) {
+            return null;
+        }
+
+        try {
+            byte[] data = store.get(key);
+            if (data == null) {
+                return null;
+            }
+            log.debug("堆外缓存命中: key={}, size={}B", key, data.length);
+            return serializer.decode(data, type);
+        } catch (Exception e) {
+            log.warn("堆外缓存读取异常: key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 堆外缓存中是否已有该 key（不反序列化）
+     *
+     * @param key 缓存键
+     * @return 已有返回 true，未开启或异常时返回 false
+     */
+    public boolean contains(String key) {
+        if (key == null || !isEnabled()) {
+            return false;
+        }
+
+        try {
+            return store.contains(key);
+        } catch (Exception e) {
+            log.warn("堆外缓存查询异常: key={}, error={}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 尝试写入堆外缓存
+     *
+     * 满足以下条件时写入：
+     * - 已开启，且决策的热点等级不低于配置的最低等级
+     * - 可还原类型（指定了 type 或值本身是 String）
+     * - 大小估算未明显低于阈值（预判，避免对小对象做无用的序列化），且序列化后的大小不低于阈值
+     *
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param type       读取时的目标类型
+     * @param decision   调度决策
+     * @return 是否已写入堆外缓存，false 时调用方应写入本地缓存
+     */
+    public boolean putIfEligible(String key, Object value, Class<?> type, DispatchDecision decision) {
+        if (key == null || value == null || decision == null || !isEligible(value, type, decision)) {
+            return false;
+        }
+
+        try {
+            int thresholdBytes = schedulerProperties.getCache().getOffHeap().getThresholdBytes();
+            if (sizer.sizeOf(value) * ESTIMATE_MARGIN < thresholdBytes) {
+                return false;
+            }
+            byte[] data = serializer.encode(value);
+            if (data.length < thresholdBytes) {
+                return false;
+            }
+
+            long ttlNanos = expirationPolicy.localTtl(decision.getTtlLevel()).toNanos();
+            boolean stored = store.put(key, data, ttlNanos);
+            if (stored) {
+                log.debug("堆外缓存写入成功: key={}, size={}B", key, data.length);
+            }
+            return stored;
+        } catch (Exception e) {
+            log.warn("堆外缓存写入失败: key={}, error={}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 删除堆外缓存
+     *
+     * @param key 缓存键
+     */
+    public void invalidate(String key) {
+        if (key == null) {
+            return;
+        }
+
+        try {
+            store.remove(key);
+        } catch (Exception e) {
+            log.warn("堆外缓存删除失败: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(schedulerProperties.getCache().getOffHeap().getEnabled());
+    }
+
+    /**
+     * 获取底层存储（用于统计）
+     */
+    public OffHeapSlabStore getStore() {
+        return store;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        store.clear();
+    }
+
+    private boolean isEligible(Object value, Class<?> type, DispatchDecision decision) {
+        if (!isEnabled()) {
+            return false;
+        }
+        HotspotLevel level = decision.getHotspotLevel();
+        if (level == null || level.ordinal() < minHotspotLevel.ordinal()) {
+            return false;
+        }
+        return type != null || value instanceof String;
+    }
+
+    private static HotspotLevel parseLevel(String level) {
+        try {
+            return HotspotLevel.valueOf(level);
+        } catch (Exception e) {
+            log.warn("无效的堆外缓存最低热点等级: {}, 使用 HOT", level);
+            return HotspotLevel.HOT;
+        }
+    }
+}
@@ -1,14 +1,34 @@
 package com.example.aliintern.scheduler.cache.client;
 
+import com.example.aliintern.scheduler.cache.codec.CacheValueSerializer;
+import com.example.aliintern.scheduler.cache.support.CacheExpirationPolicy;
+import com.example.aliintern.scheduler.common.metrics.SchedulerMetrics;
+import com.example.aliintern.scheduler.common.redis.AsyncRedisCommandsProvider;
+import com.example.aliintern.scheduler.common.redis.AsyncRedisScript;
 import com.example.aliintern.scheduler.config.SchedulerProperties;
 import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Redis 缓存客户端
@@ -16,18 +36,66 @@ import java.time.Duration;
  * 
  * 职责：
  * - 提供 Redis 缓存读写接口
- * - 管理 TTL（基于 Redis 的 expire）
+ * - 管理 TTL（基于 Redis 的 expire，按 TTL 等级 + 随机抖动设置）
+ * - 概率提前过期（XFetch），避免同批 key 同时失效击穿 DB
  * - 异常容错，不影响主流程
- * - 序列化/反序列化处理
+ * - 序列化/反序列化处理（值以 byte[] 存储，编解码由 CacheValueSerializer 按头字节自动识别）
+ * - 异步读写（基于 Lettuce 异步命令，不占用调用线程等待 Redis 响应）
+ * - 极热 key 副本：EXTREMELY_HOT 的值额外写入 key#0 ~ key#N-1，读取随机副本，删除时一并删除
+ * 
+ * 副本说明：
+ * - 副本 key 按完整字符串计算槽位，key 中包含 {hashtag} 时副本会落在同一分片，无法分散
+ * - 原 key 始终写入，非极热调用方与副本未命中时仍读取原 key
+ * - 副本未命中而原 key 命中时，按原 key 的剩余 TTL 补写该副本
+ * - 以 0 个副本重写 key 时（等级降为非极热）一并删除已有副本，避免副本返回旧值
+ * - 批量读取（getAll）只读取原 key，批量写入（putAll）按每个 key 的副本数写入
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class RemoteCacheClient {
 
-    private final StringRedisTemplate redisTemplate;
+    /**
+     * Redis Lua脚本：一次往返同时获取值和剩余 TTL（毫秒）
+     */
+    private static final String GET_WITH_PTTL_SCRIPT =
+            "return {redis.call('GET', KEYS[1]), redis.call('PTTL', KEYS[1])}";
+
+    /**
+     * 异步路径的 GET + PTTL 脚本（EVALSHA，NOSCRIPT 时回退 EVAL）
+     */
+    private static final AsyncRedisScript GET_WITH_PTTL_ASYNC =
+            new AsyncRedisScript(GET_WITH_PTTL_SCRIPT, ScriptOutputType.MULTI);
+
+    /**
+     * 副本 key 分隔符：{key}#{index}
+     * 分群变体键使用不同的分隔符（见 CacheVariantRegistry.VARIANT_SEPARATOR），两者不会相同
+     */
+    private static final String REPLICA_SEPARATOR = "#";
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
     private final SchedulerProperties schedulerProperties;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CacheExpirationPolicy expirationPolicy;
+    private final CacheValueSerializer serializer;
+    private final AsyncRedisCommandsProvider asyncCommandsProvider;
+    private final SchedulerMetrics metrics;
+
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> getWithPttlScript;
+
+    public RemoteCacheClient(RedisTemplate<String, byte[]> redisTemplate,
+                             SchedulerProperties schedulerProperties,
+                             CacheExpirationPolicy expirationPolicy,
+                             CacheValueSerializer serializer,
+                             AsyncRedisCommandsProvider asyncCommandsProvider,
+                             SchedulerMetrics metrics) {
+        this.redisTemplate = redisTemplate;
+        this.schedulerProperties = schedulerProperties;
+        this.expirationPolicy = expirationPolicy;
+        this.serializer = serializer;
+        this.asyncCommandsProvider = asyncCommandsProvider;
+        this.metrics = metrics;
+        this.getWithPttlScript = new DefaultRedisScript<>(GET_WITH_PTTL_SCRIPT, List.class);
+    }
 
     /**
      * 从 Redis 获取数据
@@ -42,50 +110,221 @@ public class RemoteCacheClient {
         }
         
         try {
-            String json = redisTemplate.opsForValue().get(key);
-            if (json != null) {
+            byte[] data = readValue(key);
+            if (data != null) {
                 log.debug("Redis 缓存命中: key={}", key);
-                // 如果是 String 类型，直接返回
-                if (clazz == String.class) {
-                    return clazz.cast(json);
-                }
-                // 否则反序列化
-                return objectMapper.readValue(json, clazz);
+                return serializer.decode(data, clazz);
             }
             log.debug("Redis 缓存未命中: key={}", key);
             return null;
         } catch (Exception e) {
             log.warn("Redis 缓存读取异常: key={}, error={}", key, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.READ);
             return null;
         }
     }
 
     /**
-     * 从 Redis 获取数据（泛型版本，无需指定 Class）
-     * 注意：此方法返回的是 String，调用方需要自行处理类型转换
+     * 从 Redis 获取数据（无类型版本，无需指定 Class）
+     * 注意：String 值原样返回，其他值按编解码器的自然类型返回（Map / List 等），
+     * 需要具体类型时请使用 {@link #get(String, Class)}
      * 
      * @param key 缓存键
-     * @return 缓存值（String），未命中返回 null
+     * @return 缓存值，未命中返回 null
      */
-    public String get(String key) {
+    public Object get(String key) {
         if (key == null) {
             return null;
         }
         
         try {
-            String value = redisTemplate.opsForValue().get(key);
-            if (value != null) {
+            byte[] data = readValue(key);
+            if (data != null) {
                 log.debug("Redis 缓存命中: key={}", key);
-            } else {
-                log.debug("Redis 缓存未命中: key={}", key);
+                return serializer.decode(data, null);
             }
-            return value;
+            log.debug("Redis 缓存未命中: key={}", key);
+            return null;
         } catch (Exception e) {
             log.warn("Redis 缓存读取异常: key={}, error={}", key, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.READ);
             return null;
         }
     }
 
+    /**
+     * 从 Redis 获取数据（极热 key 读取随机副本）
+     * 副本未命中时回退到原 key
+     * 
+     * @param key      缓存键
+     * @param clazz    值类型，为 null 时返回编解码器的自然类型
+     * @param replicas 副本数量，0 表示不使用副本
+     * @return 缓存值，未命中返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Class<T> clazz, int replicas) {
+        if (replicas <= 0) {
+            return clazz != null ? get(key, clazz) : (T) get(key);
+        }
+        if (key == null) {
+            return null;
+        }
+        
+        try {
+            String replicaKey = replicaKey(key, ThreadLocalRandom.current().nextInt(replicas));
+            byte[] data = readValue(replicaKey);
+            if (data == null) {
+                data = readBaseAndFillReplica(key, replicaKey);
+            }
+            if (data != null) {
+                log.debug("Redis 缓存命中: key={}, replica={}", key, replicaKey);
+                return serializer.decode(data, clazz);
+            }
+            log.debug("Redis 缓存未命中: key={}", key);
+            return null;
+        } catch (Exception e) {
+            log.warn("Redis 缓存读取异常: key={}, error={}", key, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.READ);
+            return null;
+        }
+    }
+
+    /**
+     * 读取旧值（普通 GET，忽略概率提前过期）
+     * 用于回源被限流时返回仍在 Redis 中的值
+     * 
+     * @param key   缓存键
+     * @param clazz 值类型，为 null 时返回编解码器的自然类型
+     * @return 缓存值，不存在返回 null
+     */
+    public <T> T getStale(String key, Class<T> clazz) {
+        if (key == null) {
+            return null;
+        }
+        
+        try {
+            byte[] data = redisTemplate.opsForValue().get(key);
+            return data != null ? serializer.decode(data, clazz) : null;
+        } catch (Exception e) {
+            log.warn("Redis 缓存读取异常: key={}, error={}", key, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.READ);
+            return null;
+        }
+    }
+
+    /**
+     * 批量从 Redis 获取数据（单次 MGET）
+     * 注意：批量读取不做提前过期判断，临近过期的 key 由单 key 访问或自然过期刷新
+     * 
+     * @param keys  缓存键集合
+     * @param clazz 值类型，为 null 时返回编解码器的自然类型
+     * @return 命中的键值对，未命中或解码失败的 key 不包含在结果中
+     */
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> clazz) {
+        if (keys == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        
+        try {
+            List<String> keyList = new ArrayList<>(keys);
+            List<byte[]> values = redisTemplate.opsForValue().multiGet(keyList);
+            if (values == null) {
+                return Map.of();
+            }
+            
+            Map<String, T> result = new HashMap<>(keyList.size() * 2);
+            for (int i = 0; i < keyList.size() && i < values.size(); i++) {
+                byte[] data = values.get(i);
+                if (data == null) {
+                    continue;
+                }
+                try {
+                    T value = serializer.decode(data, clazz);
+                    if (value != null) {
+                        result.put(keyList.get(i), value);
+                    }
+                } catch (Exception e) {
+                    log.warn("Redis 缓存解码失败: key={}, error={}", keyList.get(i), e.getMessage());
+                }
+            }
+            log.debug("Redis 缓存批量读取: total={}, hit={}", keyList.size(), result.size());
+            return result;
+        } catch (Exception e) {
+            log.warn("Redis 缓存批量读取异常: size={}, error={}", keys.size(), e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.READ);
+            return Map.of();
+        }
+    }
+
+    /**
+     * 批量写入 Redis 缓存（单次 pipeline，每个 key 独立 TTL，不写副本）
+     * 
+     * @param values     键值对
+     * @param ttlLevels  每个 key 的 TTL 等级
+     * @param loadMillis 本次批量回源耗时（毫秒）
+     */
+    public void putAll(Map<String, ?> values, Map<String, CacheTtlLevel> ttlLevels, long loadMillis) {
+        putAll(values, ttlLevels, Map.of(), loadMillis);
+    }
+
+    /**
+     * 批量写入 Redis 缓存（单次 pipeline，每个 key 独立 TTL，极热 key 同时写入副本）
+     * 
+     * @param values     键值对
+     * @param ttlLevels  每个 key 的 TTL 等级
+     * @param replicas   每个 key 的副本数量，缺省为 0
+     * @param loadMillis 本次批量回源耗时（毫秒）
+     */
+    public void putAll(Map<String, ?> values, Map<String, CacheTtlLevel> ttlLevels, Map<String, Integer> replicas,
+                       long loadMillis) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        
+        try {
+            // 先完成编码，pipeline 内只做网络写入
+            int configured = configuredReplicas();
+            List<byte[]> rawKeys = new ArrayList<>(values.size());
+            List<byte[]> rawValues = new ArrayList<>(values.size());
+            List<CacheTtlLevel> rawTtlLevels = new ArrayList<>(values.size());
+            List<byte[]> staleKeys = new ArrayList<>();
+            for (Map.Entry<String, ?> e : values.entrySet()) {
+                if (e.getKey() == null || e.getValue() == null) {
+                    continue;
+                }
+                try {
+                    byte[] data = serializer.encode(e.getValue(), loadMillis);
+                    int count = Math.max(replicas.getOrDefault(e.getKey(), 0), 0);
+                    for (byte[] rawKey : rawKeysWithReplicas(e.getKey(), count)) {
+                        rawKeys.add(rawKey);
+                        rawValues.add(data);
+                        rawTtlLevels.add(ttlLevels.get(e.getKey()));
+                    }
+                    staleKeys.addAll(staleReplicaKeys(e.getKey(), count, configured));
+                } catch (Exception ex) {
+                    log.warn("Redis 缓存编码失败: key={}, error={}", e.getKey(), ex.getMessage());
+                }
+            }
+            
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < rawKeys.size(); i++) {
+                    connection.stringCommands().set(rawKeys.get(i), rawValues.get(i),
+                            Expiration.milliseconds(expirationPolicy.remoteTtl(rawTtlLevels.get(i)).toMillis()),
+                            RedisStringCommands.SetOption.upsert());
+                }
+                if (!staleKeys.isEmpty()) {
+                    connection.keyCommands().del(staleKeys.toArray(new byte[0][]));
+                }
+                return null;
+            });
+            
+            log.debug("Redis 缓存批量写入成功: size={}", rawKeys.size());
+        } catch (Exception e) {
+            log.warn("Redis 缓存批量写入失败: size={}, error={}", values.size(), e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.WRITE);
+        }
+    }
+
     /**
      * 写入 Redis 缓存
      * 
@@ -94,46 +333,376 @@ public class RemoteCacheClient {
      * @param ttlLevel TTL 等级
      */
     public void put(String key, Object value, CacheTtlLevel ttlLevel) {
+        put(key, value, ttlLevel, 0L);
+    }
+
+    /**
+     * 写入 Redis 缓存（携带回源耗时，用于概率提前过期）
+     * 
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttlLevel   TTL 等级
+     * @param loadMillis 本次回源耗时（毫秒）
+     */
+    public void put(String key, Object value, CacheTtlLevel ttlLevel, long loadMillis) {
         if (key == null || value == null) {
             return;
         }
+        if (configuredReplicas() > 0) {
+            // 开启副本时走 pipeline 写入，同时删除 key 曾为极热时留下的副本
+            put(key, value, ttlLevel, loadMillis, 0);
+            return;
+        }
         
         try {
-            String json;
-            if (value instanceof String) {
-                json = (String) value;
-            } else {
-                json = objectMapper.writeValueAsString(value);
-            }
+            byte[] data = serializer.encode(value, loadMillis);
             
-            Duration ttl = getTtlDuration(ttlLevel);
-            redisTemplate.opsForValue().set(key, json, ttl);
+            Duration ttl = expirationPolicy.remoteTtl(ttlLevel);
+            redisTemplate.opsForValue().set(key, data, ttl);
             
-            log.debug("Redis 缓存写入成功: key={}, ttlLevel={}, ttl={}s", 
-                    key, ttlLevel, ttl.getSeconds());
+            log.debug("Redis 缓存写入成功: key={}, ttlLevel={}, ttl={}ms", 
+                    key, ttlLevel, ttl.toMillis());
         } catch (Exception e) {
             log.warn("Redis 缓存写入失败: key={}, error={}", key, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.WRITE);
         }
     }
 
     /**
-     * 获取 Redis 的 TTL（Duration）
+     * 写入 Redis 缓存（极热 key 同时写入副本）
+     * 原 key 与副本在同一个 pipeline 中写入，各自使用独立抖动的 TTL，避免同时过期；
+     * 超出本次副本数的已有副本在同一 pipeline 中删除
+     * 
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttlLevel   TTL 等级
+     * @param loadMillis 本次回源耗时（毫秒）
+     * @param replicas   副本数量，0 表示不写副本
      */
-    private Duration getTtlDuration(CacheTtlLevel level) {
-        SchedulerProperties.CacheConfig.TtlConfig.TtlLevelConfig remote = 
-                schedulerProperties.getCache().getTtl().getRemote();
+    public void put(String key, Object value, CacheTtlLevel ttlLevel, long loadMillis, int replicas) {
+        int configured = configuredReplicas();
+        if (replicas <= 0 && configured == 0) {
+            put(key, value, ttlLevel, loadMillis);
+            return;
+        }
+        if (key == null || value == null) {
+            return;
+        }
         
-        if (level == null) {
-            return Duration.ofSeconds(remote.getNormalTtl());
+        try {
+            byte[] data = serializer.encode(value, loadMillis);
+            List<byte[]> rawKeys = rawKeysWithReplicas(key, Math.max(replicas, 0));
+            List<byte[]> staleKeys = staleReplicaKeys(key, replicas, configured);
+            
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (byte[] rawKey : rawKeys) {
+                    connection.stringCommands().set(rawKey, data,
+                            Expiration.milliseconds(expirationPolicy.remoteTtl(ttlLevel).toMillis()),
+                            RedisStringCommands.SetOption.upsert());
+                }
+                if (!staleKeys.isEmpty()) {
+                    connection.keyCommands().del(staleKeys.toArray(new byte[0][]));
+                }
+                return null;
+            });
+            
+            log.debug("Redis 缓存写入成功（含副本）: key={}, ttlLevel={}, replicas={}", key, ttlLevel, replicas);
+        } catch (Exception e) {
+            log.warn("Redis 缓存写入失败: key={}, error={}", key, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.WRITE);
+        }
+    }
+
+    /**
+     * 解码预读的原始值（访问统计时已在同一次往返中读取）
+     * 值中携带回源耗时时按预读时的剩余 TTL 做 XFetch 判断，判定提前过期时返回 null
+     * 
+     * @param key             缓存键
+     * @param data            预读的原始值，未命中时为 null
+     * @param remainingMillis 预读时的剩余 TTL（毫秒）
+     * @param clazz           值类型，为 null 时返回编解码器的自然类型
+     * @return 缓存值，未命中、提前过期或解码失败时返回 null
+     */
+    public <T> T decodePrefetched(String key, byte[] data, long remainingMillis, Class<T> clazz) {
+        if (key == null || data == null) {
+            log.debug("Redis 缓存未命中（预读）: key={}", key);
+            return null;
+        }
+
+        long loadMillis = CacheValueSerializer.loadMillis(data);
+        if (loadMillis > 0
+                && Boolean.TRUE.equals(schedulerProperties.getCache().getExpire().getEarlyRefreshEnabled())
+                && remainingMillis >= 0
+                && expirationPolicy.shouldRefreshEarly(loadMillis, remainingMillis)) {
+            log.debug("Redis 缓存提前过期（预读）: key={}, remaining={}ms, loadCost={}ms",
+                    key, remainingMillis, loadMillis);
+            return null;
+        }
+
+        try {
+            log.debug("Redis 缓存命中（预读）: key={}", key);
+            return serializer.decode(data, clazz);
+        } catch (Exception e) {
+            log.warn("Redis 缓存解码失败: key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 按热点等级获取副本数量
+     * 
+     * @param level 热点等级
+     * @return 副本数量，非 EXTREMELY_HOT 或未开启副本时为 0
+     */
+    public int replicaCount(HotspotLevel level) {
+        return level == HotspotLevel.EXTREMELY_HOT ? configuredReplicas() : 0;
+    }
+
+    /**
+     * 读取原始值
+     * 开启提前过期时通过 GET + PTTL 脚本读取，按值中携带的回源耗时做 XFetch 判断，判定提前过期时返回 null
+     * 
+     * @param redisKey 实际读取的 key（原 key 或副本 key）
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] readValue(String redisKey) {
+        if (!Boolean.TRUE.equals(schedulerProperties.getCache().getExpire().getEarlyRefreshEnabled())) {
+            return redisTemplate.opsForValue().get(redisKey);
+        }
+
+        List<Object> result = redisTemplate.execute(getWithPttlScript, Collections.singletonList(redisKey));
+        return filterEarlyRefresh(redisKey, result);
+    }
+
+    /**
+     * 异步读取原始值，XFetch 规则同 {@link #readValue(String)}
+     */
+    private CompletableFuture<byte[]> readValueAsync(RedisClusterAsyncCommands<byte[], byte[]> commands,
+                                                     String redisKey) {
+        byte[] rawKey = RedisSerializer.string().serialize(redisKey);
+        if (!Boolean.TRUE.equals(schedulerProperties.getCache().getExpire().getEarlyRefreshEnabled())) {
+            return commands.get(rawKey).toCompletableFuture();
+        }
+        return GET_WITH_PTTL_ASYNC.<List<Object>>execute(commands, new byte[][]{rawKey})
+                .thenApply(result -> filterEarlyRefresh(redisKey, result));
+    }
+
+    /**
+     * 解析 GET + PTTL 脚本结果，值中携带回源耗时且判定提前过期时返回 null
+     */
+    private byte[] filterEarlyRefresh(String key, List<Object> result) {
+        if (result == null || result.isEmpty() || !(result.get(0) instanceof byte[] value)) {
+            return null;
+        }
+
+        long loadMillis = CacheValueSerializer.loadMillis(value);
+        if (loadMillis <= 0) {
+            return value;
+        }
+        long remainingMillis = remainingMillis(result);
+        // PTTL 为 -1 表示未设置过期时间，不参与提前过期
+        if (remainingMillis >= 0 && expirationPolicy.shouldRefreshEarly(loadMillis, remainingMillis)) {
+            log.debug("Redis 缓存提前过期: key={}, remaining={}ms, loadCost={}ms", key, remainingMillis, loadMillis);
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * 副本未命中时读取原 key（GET + PTTL），命中则按原 key 的剩余 TTL 补写该副本
+     * 
+     * @param key        原 key
+     * @param replicaKey 未命中的副本 key
+     * @return 原 key 的值，未命中或判定提前过期时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] readBaseAndFillReplica(String key, String replicaKey) {
+        List<Object> result = redisTemplate.execute(getWithPttlScript, Collections.singletonList(key));
+        byte[] data = baseValue(key, result);
+        long remainingMillis = remainingMillis(result);
+        if (data != null && remainingMillis > 0) {
+            try {
+                redisTemplate.opsForValue().set(replicaKey, data, Duration.ofMillis(remainingMillis));
+                log.debug("Redis 副本补写: replica={}, ttl={}ms", replicaKey, remainingMillis);
+            } catch (Exception e) {
+                log.warn("Redis 副本补写失败: replica={}, error={}", replicaKey, e.getMessage());
+            }
+        }
+        return data;
+    }
+
+    /**
+     * 异步版本的 {@link #readBaseAndFillReplica(String, String)}，补写不等待结果
+     */
+    private CompletableFuture<byte[]> readBaseAndFillReplicaAsync(RedisClusterAsyncCommands<byte[], byte[]> commands,
+                                                                  String key, String replicaKey) {
+        byte[] rawKey = RedisSerializer.string().serialize(key);
+        return GET_WITH_PTTL_ASYNC.<List<Object>>execute(commands, new byte[][]{rawKey})
+                .thenApply(result -> {
+                    byte[] data = baseValue(key, result);
+                    long remainingMillis = remainingMillis(result);
+                    if (data != null && remainingMillis > 0) {
+                        commands.set(RedisSerializer.string().serialize(replicaKey), data,
+                                        SetArgs.Builder.px(remainingMillis))
+                                .exceptionally(error -> {
+                                    log.warn("Redis 副本补写失败: replica={}, error={}", replicaKey, error.getMessage());
+                                    return null;
+                                });
+                    }
+                    return data;
+                });
+    }
+
+    /**
+     * GET + PTTL 脚本结果中的值，开启提前过期时按 XFetch 规则过滤
+     */
+    private byte[] baseValue(String key, List<Object> result) {
+        if (Boolean.TRUE.equals(schedulerProperties.getCache().getExpire().getEarlyRefreshEnabled())) {
+            return filterEarlyRefresh(key, result);
+        }
+        return result != null && !result.isEmpty() && result.get(0) instanceof byte[] value ? value : null;
+    }
+
+    private static long remainingMillis(List<Object> result) {
+        return result != null && result.size() > 1 && result.get(1) instanceof Long pttl ? pttl : -1L;
+    }
+
+    /**
+     * 异步从 Redis 获取数据
+     * 
+     * 返回的 Future 不会异常完成：读取或解码失败时以 null（未命中）完成
+     * 注意：回调在 Lettuce I/O 线程上执行，后续阶段不应有阻塞操作
+     * 
+     * @param key   缓存键
+     * @param clazz 值类型，为 null 时返回编解码器的自然类型
+     * @return 缓存值 Future，未命中时结果为 null
+     */
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> clazz) {
+        return getAsync(key, clazz, 0);
+    }
+
+    /**
+     * 异步从 Redis 获取数据（极热 key 读取随机副本，副本未命中时回退到原 key）
+     * 
+     * @param key      缓存键
+     * @param clazz    值类型，为 null 时返回编解码器的自然类型
+     * @param replicas 副本数量，0 表示不使用副本
+     * @return 缓存值 Future，未命中时结果为 null
+     */
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> clazz, int replicas) {
+        if (key == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        RedisClusterAsyncCommands<byte[], byte[]> commands = asyncCommandsProvider.commands();
+        if (commands == null) {
+            // 异步连接不可用，降级为同步读取
+            return CompletableFuture.completedFuture(get(key, clazz, replicas));
+        }
+        
+        try {
+            CompletableFuture<byte[]> raw;
+            if (replicas > 0) {
+                String replicaKey = replicaKey(key, ThreadLocalRandom.current().nextInt(replicas));
+                raw = readValueAsync(commands, replicaKey).thenCompose(data -> data != null
+                        ? CompletableFuture.completedFuture(data)
+                        : readBaseAndFillReplicaAsync(commands, key, replicaKey));
+            } else {
+                raw = readValueAsync(commands, key);
+            }
+            
+            return raw.handle((data, error) -> {
+                if (error != null) {
+                    log.warn("Redis 异步读取异常: key={}, error={}", key, error.getMessage());
+                    metrics.recordRedisError(SchedulerMetrics.RedisOperation.READ);
+                    return null;
+                }
+                if (data == null) {
+                    log.debug("Redis 缓存未命中: key={}", key);
+                    return null;
+                }
+                try {
+                    log.debug("Redis 缓存命中: key={}", key);
+                    return serializer.decode(data, clazz);
+                } catch (Exception e) {
+                    log.warn("Redis 缓存解码失败: key={}, error={}", key, e.getMessage());
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Redis 异步读取异常: key={}, error={}", key, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.READ);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * 异步写入 Redis 缓存
+     * 
+     * 返回的 Future 不会异常完成，写入失败只记录日志
+     * 
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttlLevel   TTL 等级
+     * @param loadMillis 本次回源耗时（毫秒）
+     * @return 写入完成的 Future
+     */
+    public CompletableFuture<Void> putAsync(String key, Object value, CacheTtlLevel ttlLevel, long loadMillis) {
+        return putAsync(key, value, ttlLevel, loadMillis, 0);
+    }
+
+    /**
+     * 异步写入 Redis 缓存（极热 key 同时写入副本）
+     * 
+     * @param key        缓存键
+     * @param value      缓存值
+     * @param ttlLevel   TTL 等级
+     * @param loadMillis 本次回源耗时（毫秒）
+     * @param replicas   副本数量，0 表示不写副本
+     * @return 写入完成的 Future
+     */
+    public CompletableFuture<Void> putAsync(String key, Object value, CacheTtlLevel ttlLevel, long loadMillis,
+                                            int replicas) {
+        if (key == null || value == null) {
+            return CompletableFuture.completedFuture(null);
         }
         
-        long seconds = switch (level) {
-            case SHORT -> remote.getShortTtl();
-            case NORMAL -> remote.getNormalTtl();
-            case LONG -> remote.getLongTtl();
-        };
+        RedisClusterAsyncCommands<byte[], byte[]> commands = asyncCommandsProvider.commands();
+        if (commands == null) {
+            put(key, value, ttlLevel, loadMillis, replicas);
+            return CompletableFuture.completedFuture(null);
+        }
         
-        return Duration.ofSeconds(seconds);
+        try {
+            byte[] data = serializer.encode(value, loadMillis);
+            
+            // 同一连接上的多条命令由 Lettuce 自动管道化发送
+            List<byte[]> rawKeys = rawKeysWithReplicas(key, Math.max(replicas, 0));
+            List<byte[]> staleKeys = staleReplicaKeys(key, replicas, configuredReplicas());
+            CompletableFuture<?>[] writes = new CompletableFuture<?>[rawKeys.size() + (staleKeys.isEmpty() ? 0 : 1)];
+            for (int i = 0; i < rawKeys.size(); i++) {
+                long ttlMillis = expirationPolicy.remoteTtl(ttlLevel).toMillis();
+                writes[i] = commands.set(rawKeys.get(i), data, SetArgs.Builder.px(ttlMillis)).toCompletableFuture();
+            }
+            if (!staleKeys.isEmpty()) {
+                writes[rawKeys.size()] = commands.del(staleKeys.toArray(new byte[0][])).toCompletableFuture();
+            }
+            return CompletableFuture.allOf(writes)
+                    .handle((ok, error) -> {
+                        if (error != null) {
+                            log.warn("Redis 异步写入失败: key={}, error={}", key, error.getMessage());
+                            metrics.recordRedisError(SchedulerMetrics.RedisOperation.WRITE);
+                        } else {
+                            log.debug("Redis 缓存异步写入成功: key={}, ttlLevel={}, replicas={}",
+                                    key, ttlLevel, replicas);
+                        }
+                        return null;
+                    });
+        } catch (Exception e) {
+            log.warn("Redis 异步写入失败: key={}, error={}", key, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.WRITE);
+            return CompletableFuture.completedFuture(null);
+        }
     }
 
     /**
@@ -147,11 +716,64 @@ public class RemoteCacheClient {
         }
         
         try {
-            redisTemplate.delete(key);
+            // 同时删除所有副本（key 是否为极热 key 未知，统一按配置的副本数删除）
+            int replicas = configuredReplicas();
+            if (replicas > 0) {
+                List<String> keys = new ArrayList<>(replicas + 1);
+                keys.add(key);
+                for (int i = 0; i < replicas; i++) {
+                    keys.add(replicaKey(key, i));
+                }
+                redisTemplate.delete(keys);
+            } else {
+                redisTemplate.delete(key);
+            }
             log.debug("Redis 缓存删除: key={}", key);
         } catch (Exception e) {
             log.warn("Redis 缓存删除失败: key={}, error={}", key, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.WRITE);
+        }
+    }
+
+    /**
+     * 副本 key：{key}#{index}
+     */
+    public static String replicaKey(String key, int index) {
+        return key + REPLICA_SEPARATOR + index;
+    }
+
+    /**
+     * 原 key 与全部副本 key 的序列化结果
+     */
+    private static List<byte[]> rawKeysWithReplicas(String key, int replicas) {
+        RedisSerializer<String> keySerializer = RedisSerializer.string();
+        List<byte[]> rawKeys = new ArrayList<>(replicas + 1);
+        rawKeys.add(keySerializer.serialize(key));
+        for (int i = 0; i < replicas; i++) {
+            rawKeys.add(keySerializer.serialize(replicaKey(key, i)));
         }
+        return rawKeys;
+    }
+
+    /**
+     * 需要删除的旧副本 key：本次写入 replicas 个副本时，下标 replicas ~ configured-1 的副本
+     */
+    private static List<byte[]> staleReplicaKeys(String key, int replicas, int configured) {
+        int from = Math.max(replicas, 0);
+        if (from >= configured) {
+            return List.of();
+        }
+        RedisSerializer<String> keySerializer = RedisSerializer.string();
+        List<byte[]> rawKeys = new ArrayList<>(configured - from);
+        for (int i = from; i < configured; i++) {
+            rawKeys.add(keySerializer.serialize(replicaKey(key, i)));
+        }
+        return rawKeys;
+    }
+
+    private int configuredReplicas() {
+        SchedulerProperties.CacheConfig.ReplicaConfig config = schedulerProperties.getCache().getReplica();
+        return Boolean.TRUE.equals(config.getEnabled()) ? Math.max(0, config.getCount()) : 0;
     }
 
     /**
@@ -0,0 +1,54 @@
+package com.example.aliintern.scheduler.cache.codec;
+
+import java.io.IOException;
+
+/**
+ * 缓存值编解码 SPI
+ *
+ * 职责：
+ * - 将缓存值编码为 byte[] 写入 Redis
+ * - 按调用方指定的类型解码
+ *
+ * 约束：
+ * - 每个实现有唯一的 id，写入时作为头字节，读取时据此自动选择编解码器
+ * - id 必须小于 0x20，保证与无头字节的历史数据（JSON / 纯文本）可区分
+ * - 实现需线程安全
+ */
+public interface CacheCodec {
+
+    /**
+     * 编解码器标识（写入头字节）
+     */
+    byte id();
+
+    /**
+     * 编解码器名称（用于配置选择，如 json、smile）
+     */
+    String name();
+
+    /**
+     * 是否支持编码该值
+     */
+    default boolean supports(Object value) {
+        return true;
+    }
+
+    /**
+     * 编码
+     *
+     * @param value 缓存值（非 null）
+     * @return 编码后的字节（不含头字节）
+     */
+    byte[] encode(Object value) throws IOException;
+
+    /**
+     * 解码
+     *
+     * @param data   字节数组
+     * @param offset 负载起始位置（跳过头字节）
+     * @param length 负载长度
+     * @param type   目标类型，为 null 时返回编解码器的自然类型（String / Map / List 等）
+     * @return 解码后的值
+     */
+    <T> T decode(byte[] data, int offset, int length, Class<T> type) throws IOException;
+}
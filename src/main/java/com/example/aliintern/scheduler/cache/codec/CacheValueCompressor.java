@@ -0,0 +1,214 @@
+package com.example.aliintern.scheduler.cache.codec;
+
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 缓存值压缩器（JDK Deflate）
+ *
+ * 压缩格式：[原始长度 4 字节][deflate 数据]
+ * 是否压缩由 CacheValueSerializer 在头字节中标记，本类只负责压缩 / 解压和统计
+ *
+ * 统计指标：
+ * - 压缩次数、压缩前后字节数（压缩率）
+ * - 压缩 / 解压累计耗时（CPU 成本）
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheValueCompressor {
+
+    private static final int LENGTH_PREFIX_BYTES = 4;
+
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * Deflater / Inflater 持有本地内存，按线程复用避免频繁创建
+     */
+    private final ThreadLocal<Deflater> deflaters = new ThreadLocal<>();
+    private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(Inflater::new);
+
+    private final LongAdder compressCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder decompressCount = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressNanos = new LongAdder();
+    private final LongAdder decompressNanos = new LongAdder();
+
+    /**
+     * 是否需要尝试压缩
+     *
+     * @param length 编码后负载长度
+     */
+    public boolean shouldCompress(int length) {
+        SchedulerProperties.CacheConfig.CompressConfig config = schedulerProperties.getCache().getCompress();
+        return Boolean.TRUE.equals(config.getEnabled()) && length > config.getThresholdBytes();
+    }
+
+    /**
+     * 压缩
+     *
+     * @param data   原始数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 压缩结果（含长度前缀）；收益不足时返回 null，调用方按原格式写入
+     */
+    public byte[] compress(byte[] data, int offset, int length) {
+        long start = System.nanoTime();
+        Deflater deflater = deflater();
+        try {
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+
+            // 超过上限说明收益不足，直接放弃
+            double minSaving = schedulerProperties.getCache().getCompress().getMinSavingRatio();
+            int limit = (int) (length * (1 - minSaving));
+            byte[] buffer = new byte[LENGTH_PREFIX_BYTES + limit];
+            int written = 0;
+            while (!deflater.finished() && written < limit) {
+                written += deflater.deflate(buffer, LENGTH_PREFIX_BYTES + written, limit - written);
+            }
+            if (!deflater.finished()) {
+                skippedCount.increment();
+                return null;
+            }
+
+            writeInt(buffer, length);
+            byte[] result = new byte[LENGTH_PREFIX_BYTES + written];
+            System.arraycopy(buffer, 0, result, 0, result.length);
+
+            compressCount.increment();
+            rawBytes.add(length);
+            compressedBytes.add(result.length);
+            return result;
+        } finally {
+            deflater.reset();
+            compressNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 解压
+     *
+     * @param data   压缩数据（含长度前缀）
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 原始数据
+     * @throws DataFormatException 数据损坏，或记录的原始长度为负数 / 超过 scheduler.cache.compress.max-raw-bytes
+     */
+    public byte[] decompress(byte[] data, int offset, int length) throws DataFormatException {
+        if (length < LENGTH_PREFIX_BYTES) {
+            throw new DataFormatException("压缩数据长度不足: length=" + length);
+        }
+        long start = System.nanoTime();
+        Inflater inflater = inflaters.get();
+        try {
+            int rawLength = readInt(data, offset);
+            int maxRawBytes = schedulerProperties.getCache().getCompress().getMaxRawBytes();
+            if (rawLength < 0 || rawLength > maxRawBytes) {
+                throw new DataFormatException("解压长度非法: rawLength=" + rawLength + ", max=" + maxRawBytes);
+            }
+            byte[] result = new byte[rawLength];
+            inflater.setInput(data, offset + LENGTH_PREFIX_BYTES, length - LENGTH_PREFIX_BYTES);
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(result, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new DataFormatException("解压长度不一致: expected=" + rawLength + ", actual=" + read);
+            }
+
+            decompressCount.increment();
+            return result;
+        } finally {
+            inflater.reset();
+            decompressNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 压缩率（压缩后 / 压缩前），未发生压缩时返回 1.0
+     */
+    public double getCompressionRatio() {
+        long raw = rawBytes.sum();
+        return raw == 0 ? 1.0 : (double) compressedBytes.sum() / raw;
+    }
+
+    public long getCompressCount() {
+        return compressCount.sum();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    public long getDecompressCount() {
+        return decompressCount.sum();
+    }
+
+    public long getRawBytes() {
+        return rawBytes.sum();
+    }
+
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    public long getCompressNanos() {
+        return compressNanos.sum();
+    }
+
+    public long getDecompressNanos() {
+        return decompressNanos.sum();
+    }
+
+    /**
+     * 获取压缩统计信息
+     */
+    public String getStats() {
+        long compressed = compressCount.sum();
+        long decompressed = decompressCount.sum();
+        return String.format(
+                "CompressStats{compressCount=%d, skippedCount=%d, ratio=%.3f, rawBytes=%d, compressedBytes=%d, "
+                        + "avgCompressMicros=%.1f, decompressCount=%d, avgDecompressMicros=%.1f}",
+                compressed, skippedCount.sum(), getCompressionRatio(), rawBytes.sum(), compressedBytes.sum(),
+                compressed == 0 ? 0.0 : compressNanos.sum() / 1000.0 / compressed,
+                decompressed, decompressed == 0 ? 0.0 : decompressNanos.sum() / 1000.0 / decompressed);
+    }
+
+    private Deflater deflater() {
+        Deflater deflater = deflaters.get();
+        if (deflater == null) {
+            Integer level = schedulerProperties.getCache().getCompress().getLevel();
+            deflater = new Deflater(level != null ? level : Deflater.BEST_SPEED);
+            deflaters.set(deflater);
+        }
+        return deflater;
+    }
+
+    private static void writeInt(byte[] buffer, int value) {
+        buffer[0] = (byte) (value >>> 24);
+        buffer[1] = (byte) (value >>> 16);
+        buffer[2] = (byte) (value >>> 8);
+        buffer[3] = (byte) value;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24)
+                | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8)
+                | (data[offset + 3] & 0xFF);
+    }
+}
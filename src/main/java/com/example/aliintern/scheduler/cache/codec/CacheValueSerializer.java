@@ -0,0 +1,183 @@
+package com.example.aliintern.scheduler.cache.codec;
+
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.DataFormatException;
+
+/**
+ * 缓存值序列化器
+ *
+ * 存储格式：[头字节][负载]
+ * - 头字节：低 7 位为编解码器 id（见 {@link CacheCodec#id()}），最高位为压缩标记
+ * - 负载：编解码器输出；带压缩标记时为 {@link CacheValueCompressor} 的压缩结果
+ *
+ * 携带回源耗时时，外层再加一段耗时信封：[0x1F][回源耗时（毫秒，4 字节大端）][头字节][负载]
+ * 回源耗时随值一起存入 Redis，任一实例读取时都能做 XFetch 提前过期判断
+ *
+ * 写入规则：
+ * - String 值使用 {@link StringCacheCodec}
+ * - 其他值使用配置的默认编解码器（scheduler.cache.codec，默认 smile）
+ * - 编码结果超过压缩阈值且压缩收益足够时压缩
+ *
+ * 读取规则：
+ * - 根据头字节自动解压并选择编解码器，与写入时的配置无关，切换默认编解码器或压缩开关不影响已有数据
+ * - 首字节不是已注册的 id 时按无头字节的历史数据处理（UTF-8 文本 / JSON）
+ */
+@Slf4j
+@Component
+public class CacheValueSerializer {
+
+    /**
+     * 头字节压缩标记
+     */
+    private static final int COMPRESSED_FLAG = 0x80;
+
+    /**
+     * 回源耗时信封标记，占用编解码器 id 0x1F，编解码器不能使用该 id
+     */
+    private static final int COST_ENVELOPE = 0x1F;
+
+    /**
+     * 耗时信封长度：标记 1 字节 + 耗时 4 字节
+     */
+    private static final int COST_ENVELOPE_LENGTH = 5;
+
+    private final CacheCodec[] codecsById = new CacheCodec[0x20];
+    private final CacheCodec stringCodec;
+    private final CacheCodec jsonCodec;
+    private final CacheCodec defaultCodec;
+    private final CacheValueCompressor compressor;
+
+    public CacheValueSerializer(List<CacheCodec> codecs,
+                                CacheValueCompressor compressor,
+                                SchedulerProperties schedulerProperties) {
+        this.compressor = compressor;
+        CacheCodec configured = null;
+        String codecName = schedulerProperties.getCache().getCodec();
+        for (CacheCodec codec : codecs) {
+            int id = codec.id();
+            if (id <= 0 || id >= COST_ENVELOPE) {
+                throw new IllegalStateException("编解码器 id 超出范围 (0x01 ~ 0x1E): " + codec.name());
+            }
+            if (codecsById[id] != null) {
+                throw new IllegalStateException("编解码器 id 冲突: " + codec.name() + ", " + codecsById[id].name());
+            }
+            codecsById[id] = codec;
+            if (codec.name().equalsIgnoreCase(codecName)) {
+                configured = codec;
+            }
+        }
+
+        this.stringCodec = codecsById[StringCacheCodec.ID];
+        this.jsonCodec = codecsById[JacksonCacheCodec.ID];
+        if (configured == null) {
+            log.warn("未找到编解码器: {}, 使用 json 作为默认编解码器", codecName);
+            configured = jsonCodec;
+        }
+        this.defaultCodec = configured;
+
+        log.info("缓存序列化器初始化完成，默认编解码器: {}", defaultCodec.name());
+    }
+
+    /**
+     * 编码缓存值
+     *
+     * @param value 缓存值（非 null）
+     * @return [头字节][负载]
+     */
+    public byte[] encode(Object value) throws IOException {
+        return encode(value, 0L);
+    }
+
+    /**
+     * 编码缓存值，并附带回源耗时
+     *
+     * @param value      缓存值（非 null）
+     * @param loadMillis 回源耗时（毫秒），不大于 0 时不写耗时信封
+     * @return [耗时信封][头字节][负载]，未携带耗时时为 [头字节][负载]
+     */
+    public byte[] encode(Object value, long loadMillis) throws IOException {
+        CacheCodec codec = stringCodec != null && stringCodec.supports(value) ? stringCodec : defaultCodec;
+        byte[] payload = codec.encode(value);
+        int header = codec.id();
+
+        if (compressor.shouldCompress(payload.length)) {
+            byte[] compressed = compressor.compress(payload, 0, payload.length);
+            if (compressed != null) {
+                payload = compressed;
+                header |= COMPRESSED_FLAG;
+            }
+        }
+
+        int offset = loadMillis > 0 ? COST_ENVELOPE_LENGTH : 0;
+        byte[] data = new byte[offset + payload.length + 1];
+        if (offset > 0) {
+            int cost = (int) Math.min(loadMillis, Integer.MAX_VALUE);
+            data[0] = (byte) COST_ENVELOPE;
+            data[1] = (byte) (cost >>> 24);
+            data[2] = (byte) (cost >>> 16);
+            data[3] = (byte) (cost >>> 8);
+            data[4] = (byte) cost;
+        }
+        data[offset] = (byte) header;
+        System.arraycopy(payload, 0, data, offset + 1, payload.length);
+        return data;
+    }
+
+    /**
+     * 读取编码结果中携带的回源耗时
+     *
+     * @param data 字节数组
+     * @return 回源耗时（毫秒），未携带时返回 0
+     */
+    public static long loadMillis(byte[] data) {
+        if (!hasCostEnvelope(data)) {
+            return 0L;
+        }
+        return ((data[1] & 0xFFL) << 24) | ((data[2] & 0xFFL) << 16) | ((data[3] & 0xFFL) << 8) | (data[4] & 0xFFL);
+    }
+
+    private static boolean hasCostEnvelope(byte[] data) {
+        return data != null && data.length > COST_ENVELOPE_LENGTH && (data[0] & 0xFF) == COST_ENVELOPE;
+    }
+
+    /**
+     * 解码缓存值
+     *
+     * @param data 字节数组
+     * @param type 目标类型，为 null 时返回编解码器的自然类型
+     * @return 缓存值，data 为空时返回 null
+     */
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+
+        int offset = hasCostEnvelope(data) ? COST_ENVELOPE_LENGTH : 0;
+        int header = data[offset] & 0xFF;
+        int id = header & ~COMPRESSED_FLAG;
+        CacheCodec codec = id > 0 && id < codecsById.length ? codecsById[id] : null;
+        if (codec != null) {
+            int start = offset + 1;
+            if ((header & COMPRESSED_FLAG) == 0) {
+                return codec.decode(data, start, data.length - start, type);
+            }
+            try {
+                byte[] raw = compressor.decompress(data, start, data.length - start);
+                return codec.decode(raw, 0, raw.length, type);
+            } catch (DataFormatException e) {
+                throw new IOException("缓存值解压失败", e);
+            }
+        }
+
+        // 历史数据：无头字节的 UTF-8 文本或 JSON
+        if (type == null || type == String.class || type == Object.class) {
+            return stringCodec.decode(data, 0, data.length, type);
+        }
+        return jsonCodec.decode(data, 0, data.length, type);
+    }
+}
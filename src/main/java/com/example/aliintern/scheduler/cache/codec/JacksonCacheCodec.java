@@ -0,0 +1,42 @@
+package com.example.aliintern.scheduler.cache.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * JSON 编解码器（Jackson）
+ * 可读性好，便于排查；体积和 CPU 开销高于 Smile
+ */
+@Component
+public class JacksonCacheCodec implements CacheCodec {
+
+    public static final byte ID = 0x02;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] data, int offset, int length, Class<T> type) throws IOException {
+        Class<?> target = type != null ? type : Object.class;
+        return (T) objectMapper.readValue(data, offset, length, target);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.aliintern.scheduler.cache.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Smile 编解码器（Jackson 二进制 JSON）
+ *
+ * 与 JSON 数据模型一致，无需为缓存对象额外定义 schema：
+ * - 数值、长度等以变长二进制编码，体积明显小于 JSON
+ * - 开启字段名共享，列表中重复的字段名只写一次
+ * - 解析无需处理转义和数字文本转换，CPU 开销更低
+ * - 不写 Smile 自身的 4 字节头，格式识别由外层头字节负责
+ */
+@Component
+public class SmileCacheCodec implements CacheCodec {
+
+    public static final byte ID = 0x03;
+
+    private final ObjectMapper objectMapper;
+
+    public SmileCacheCodec() {
+        SmileFactory factory = SmileFactory.builder()
+                .disable(SmileGenerator.Feature.WRITE_HEADER)
+                .disable(SmileParser.Feature.REQUIRE_HEADER)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .build();
+        this.objectMapper = new ObjectMapper(factory)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return "smile";
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] data, int offset, int length, Class<T> type) throws IOException {
+        Class<?> target = type != null ? type : Object.class;
+        return (T) objectMapper.readValue(data, offset, length, target);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.aliintern.scheduler.cache.codec;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 字符串编解码器
+ * String 值直接按 UTF-8 写入，避免 JSON 引号转义和额外的序列化开销
+ */
+@Component
+public class StringCacheCodec implements CacheCodec {
+
+    public static final byte ID = 0x01;
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return "string";
+    }
+
+    @Override
+    public boolean supports(Object value) {
+        return value instanceof String;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return ((String) value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T decode(byte[] data, int offset, int length, Class<T> type) {
+        String value = new String(data, offset, length, StandardCharsets.UTF_8);
+        if (type == null || type == Object.class) {
+            return (T) value;
+        }
+        return type.cast(value);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.aliintern.scheduler.cache.fallback;
+
+import com.example.aliintern.scheduler.common.enums.CircuitState;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据库熔断器
+ *
+ * 状态流转：
+ * - CLOSED：连续失败（异常或超时）达到阈值后进入 OPEN
+ * - OPEN：拒绝回源，持续 circuitOpenMillis
+ * - HALF_OPEN：熔断到期后只放行一个探测请求，成功则 CLOSED，失败则重新 OPEN
+ *
+ * 无锁实现，只统计经过兜底路径（决策允许兜底）的回源
+ */
+@Slf4j
+@Component
+public class DbCircuitBreaker {
+
+    private final SchedulerProperties schedulerProperties;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /**
+     * 熔断开始时间（毫秒），0 表示未熔断
+     */
+    private final AtomicLong openedAtMillis = new AtomicLong();
+
+    /**
+     * 半开状态下是否已有探测请求
+     */
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    public DbCircuitBreaker(SchedulerProperties schedulerProperties) {
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    /**
+     * 是否允许回源
+     */
+    public boolean allowRequest() {
+        long openedAt = openedAtMillis.get();
+        if (openedAt == 0) {
+            return true;
+        }
+        if (System.currentTimeMillis() - openedAt < openMillis()) {
+            return false;
+        }
+        return probing.compareAndSet(false, true);
+    }
+
+    /**
+     * 记录一次成功回源
+     */
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        probing.set(false);
+        if (openedAtMillis.getAndSet(0) != 0) {
+            log.info("数据库熔断恢复");
+        }
+    }
+
+    /**
+     * 放弃一次已放行的回源（本地回源线程耗尽，未访问数据库）
+     * 不计入失败；若为半开状态的探测请求，交还探测名额
+     */
+    public void recordAbandoned() {
+        if (openedAtMillis.get() != 0) {
+            probing.set(false);
+        }
+    }
+
+    /**
+     * 记录一次失败回源（异常或超时）
+     */
+    public void recordFailure() {
+        if (probing.compareAndSet(true, false)) {
+            openedAtMillis.set(System.currentTimeMillis());
+            log.warn("数据库熔断探测失败，继续熔断 {}ms", openMillis());
+            return;
+        }
+        int failures = consecutiveFailures.incrementAndGet();
+        int threshold = schedulerProperties.getCache().getFallback().getCircuitFailureThreshold();
+        if (failures >= threshold && openedAtMillis.compareAndSet(0, System.currentTimeMillis())) {
+            log.warn("数据库连续失败 {} 次，熔断 {}ms", failures, openMillis());
+        }
+    }
+
+    /**
+     * 当前状态
+     */
+    public CircuitState getState() {
+        long openedAt = openedAtMillis.get();
+        if (openedAt == 0) {
+            return CircuitState.CLOSED;
+        }
+        return System.currentTimeMillis() - openedAt < openMillis() ? CircuitState.OPEN : CircuitState.HALF_OPEN;
+    }
+
+    private long openMillis() {
+        return schedulerProperties.getCache().getFallback().getCircuitOpenMillis();
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.aliintern.scheduler.cache.fallback;
+
+import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 兜底回源
+ *
+ * 对决策允许兜底的 key，回源改为：
+ * 1. 熔断器打开时不回源
+ * 2. 在独立线程池中带超时回源，线程耗尽时直接返回不可用
+ * 3. 成功时重置熔断计数并异步保存兜底副本；异常或超时计入熔断，线程耗尽属于本地过载，不计入熔断
+ *
+ * 回源不可用时由缓存访问代理依次返回缓存旧值、兜底副本（{@link LastKnownGoodStore}）、
+ * 静态兜底数据（{@link StaticFallbackRegistry}）
+ *
+ * 说明：
+ * - 同步回源超时后取消任务（中断回源线程），释放线程池容量；回源函数需响应中断才能及时结束
+ * - 异步回源超时后不等待结果，结果不回写缓存
+ * - 同步回源函数在 cache-fallback-loader 线程中执行，调用线程的 ThreadLocal、事务与 MDC 上下文不会传递，
+ *   依赖这些上下文的回源函数不应开启兜底
+ * - 线程耗尽时不在调用线程回源：此时通常已有回源阻塞在数据库上，调用线程回源没有超时保护，会继续加重数据库压力
+ */
+@Slf4j
+@Component
+public class FallbackLoader {
+
+    private final DbCircuitBreaker circuitBreaker;
+    private final LastKnownGoodStore lastKnownGoodStore;
+    private final StaticFallbackRegistry staticFallbackRegistry;
+    private final SchedulerProperties schedulerProperties;
+    private final ThreadPoolExecutor loaderExecutor;
+
+    public FallbackLoader(DbCircuitBreaker circuitBreaker,
+                          LastKnownGoodStore lastKnownGoodStore,
+                          StaticFallbackRegistry staticFallbackRegistry,
+                          SchedulerProperties schedulerProperties) {
+        this.circuitBreaker = circuitBreaker;
+        this.lastKnownGoodStore = lastKnownGoodStore;
+        this.staticFallbackRegistry = staticFallbackRegistry;
+        this.schedulerProperties = schedulerProperties;
+        int threads = Math.max(1, schedulerProperties.getCache().getFallback().getLoaderThreads());
+        this.loaderExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "cache-fallback-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.loaderExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 该决策是否走兜底路径
+     */
+    public boolean isEnabled(DispatchDecision decision) {
+        return decision != null && decision.isFallbackEnabled()
+                && Boolean.TRUE.equals(schedulerProperties.getCache().getFallback().getEnabled());
+    }
+
+    /**
+     * 带超时回源
+     *
+     * @param key      缓存键
+     * @param dbLoader 回源函数
+     * @return 回源结果；loaded 为 false 表示熔断、超时、异常或线程耗尽
+     */
+    public <T> Outcome<T> load(String key, Supplier<T> dbLoader) {
+        if (!circuitBreaker.allowRequest()) {
+            log.debug("数据库熔断中，跳过回源: key={}", key);
+            return Outcome.unavailable();
+        }
+
+        Future<T> future;
+        try {
+            future = loaderExecutor.submit(dbLoader::get);
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.recordAbandoned();
+            log.warn("回源线程已耗尽，返回兜底数据: key={}", key);
+            return Outcome.unavailable();
+        }
+
+        long timeoutMillis = schedulerProperties.getCache().getFallback().getLoaderTimeoutMillis();
+        try {
+            T value = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            onLoaded(key, value);
+            return Outcome.loaded(value);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.recordFailure();
+            log.warn("回源超时，返回兜底数据: key={}, timeout={}ms", key, timeoutMillis);
+        } catch (ExecutionException e) {
+            circuitBreaker.recordFailure();
+            log.warn("回源异常，返回兜底数据: key={}, error={}", key, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            circuitBreaker.recordFailure();
+        }
+        return Outcome.unavailable();
+    }
+
+    /**
+     * 带超时异步回源，规则同 {@link #load(String, Supplier)}
+     *
+     * @return 回源结果 Future，不会异常完成
+     */
+    public <T> CompletableFuture<Outcome<T>> loadAsync(String key, Supplier<CompletableFuture<T>> asyncLoader) {
+        if (!circuitBreaker.allowRequest()) {
+            log.debug("数据库熔断中，跳过回源: key={}", key);
+            return CompletableFuture.completedFuture(Outcome.unavailable());
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = asyncLoader.get();
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            log.warn("回源异常，返回兜底数据: key={}, error={}", key, e.getMessage());
+            return CompletableFuture.completedFuture(Outcome.unavailable());
+        }
+
+        long timeoutMillis = schedulerProperties.getCache().getFallback().getLoaderTimeoutMillis();
+        return future.copy()
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    if (error != null) {
+                        circuitBreaker.recordFailure();
+                        log.warn("异步回源失败，返回兜底数据: key={}, error={}", key, error.toString());
+                        return Outcome.unavailable();
+                    }
+                    onLoaded(key, value);
+                    return Outcome.loaded(value);
+                });
+    }
+
+    /**
+     * 兜底数据：先读兜底副本，再查静态兜底数据
+     *
+     * @param key  缓存键
+     * @param type 值类型，为 null 时不校验静态兜底数据的类型
+     * @return 兜底数据，没有时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fallback(String key, Class<T> type) {
+        T value = lastKnownGoodStore.get(key, type);
+        if (value != null) {
+            log.debug("返回兜底副本: key={}", key);
+            return value;
+        }
+
+        Object staticValue = staticFallbackRegistry.get(key);
+        if (staticValue != null && (type == null || type.isInstance(staticValue))) {
+            log.debug("返回静态兜底数据: key={}", key);
+            return (T) staticValue;
+        }
+        return null;
+    }
+
+    /**
+     * 异步获取兜底数据
+     * 兜底副本为同步 Redis 读取，切换到回源线程池执行，避免阻塞 Redis I/O 线程，也不占用公共线程池；
+     * 线程池已满时只查静态兜底数据（内存读取）
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> fallbackAsync(String key, Class<T> type) {
+        try {
+            return CompletableFuture.supplyAsync(() -> fallback(key, type), loaderExecutor);
+        } catch (RejectedExecutionException e) {
+            log.debug("回源线程已耗尽，只查静态兜底数据: key={}", key);
+            Object staticValue = staticFallbackRegistry.get(key);
+            return CompletableFuture.completedFuture(
+                    staticValue != null && (type == null || type.isInstance(staticValue)) ? (T) staticValue : null);
+        }
+    }
+
+    /**
+     * 保存兜底副本（批量回源成功时由调用方逐条保存）
+     */
+    public void saveLastKnownGood(String key, Object value) {
+        lastKnownGoodStore.save(key, value);
+    }
+
+    /**
+     * 删除兜底副本（缓存失效时由调用方调用）
+     */
+    public void invalidateLastKnownGood(String key) {
+        lastKnownGoodStore.delete(key);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loaderExecutor.shutdownNow();
+    }
+
+    private void onLoaded(String key, Object value) {
+        circuitBreaker.recordSuccess();
+        if (value != null) {
+            lastKnownGoodStore.save(key, value);
+        }
+    }
+
+    /**
+     * 回源结果
+     *
+     * @param value  回源得到的值（可能为 null，表示数据不存在）
+     * @param loaded 是否完成回源
+     */
+    public record Outcome<T>(T value, boolean loaded) {
+
+        static <T> Outcome<T> loaded(T value) {
+            return new Outcome<>(value, true);
+        }
+
+        static <T> Outcome<T> unavailable() {
+            return new Outcome<>(null, false);
+        }
+    }
+}
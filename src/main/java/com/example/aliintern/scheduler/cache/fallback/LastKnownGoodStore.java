@@ -0,0 +1,134 @@
+package com.example.aliintern.scheduler.cache.fallback;
+
+import com.example.aliintern.scheduler.cache.codec.CacheValueSerializer;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 兜底副本存储（last-known-good）
+ *
+ * 职责：
+ * - 回源成功时另存一份长期有效的副本：{lkgKeyPrefix}{key}，有效期 lkgTtlSeconds（远长于缓存 TTL）
+ * - 回源不可用时读取副本作为兜底数据
+ *
+ * 说明：
+ * - 副本与缓存使用同一套编解码；缓存失效（写请求、手动删除）时同时删除副本，避免回源不可用时返回更新前的数据
+ * - 删除与写入在同一线程按提交顺序执行，失效前已排队的写入不会覆盖删除结果；
+ *   失效后才完成的回源仍可能写入旧值，与缓存本身的并发窗口一致
+ * - 写入在独立线程异步执行，队列满时丢弃，不阻塞回源路径（异步回源时可能位于 Redis I/O 线程）
+ */
+@Slf4j
+@Component
+public class LastKnownGoodStore {
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final CacheValueSerializer serializer;
+    private final SchedulerProperties schedulerProperties;
+    private final ThreadPoolExecutor saveExecutor;
+
+    public LastKnownGoodStore(RedisTemplate<String, byte[]> redisTemplate,
+                              CacheValueSerializer serializer,
+                              SchedulerProperties schedulerProperties) {
+        this.redisTemplate = redisTemplate;
+        this.serializer = serializer;
+        this.schedulerProperties = schedulerProperties;
+        this.saveExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(schedulerProperties.getCache().getFallback().getSaveQueueSize()),
+                r -> {
+                    Thread thread = new Thread(r, "cache-lkg-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 异步保存副本
+     *
+     * @param key   缓存键
+     * @param value 回源成功的值
+     */
+    public void save(String key, Object value) {
+        if (key == null || value == null) {
+            return;
+        }
+
+        try {
+            saveExecutor.execute(() -> {
+                try {
+                    SchedulerProperties.CacheConfig.FallbackConfig config = schedulerProperties.getCache().getFallback();
+                    redisTemplate.opsForValue().set(lkgKey(key), serializer.encode(value),
+                            config.getLkgTtlSeconds(), TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    log.warn("兜底副本写入失败: key={}, error={}", key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("兜底副本写入队列已满，丢弃: key={}", key);
+        }
+    }
+
+    /**
+     * 删除副本（缓存失效时调用）
+     * 与写入共用同一线程，排在已提交的写入之后执行；队列满时在当前线程直接删除
+     *
+     * @param key 缓存键
+     */
+    public void delete(String key) {
+        if (key == null) {
+            return;
+        }
+
+        try {
+            saveExecutor.execute(() -> deleteNow(key));
+        } catch (RejectedExecutionException e) {
+            deleteNow(key);
+        }
+    }
+
+    /**
+     * 读取副本
+     *
+     * @param key  缓存键
+     * @param type 值类型，为 null 时返回编解码器的自然类型
+     * @return 副本值，不存在或读取失败返回 null
+     */
+    public <T> T get(String key, Class<T> type) {
+        if (key == null) {
+            return null;
+        }
+
+        try {
+            byte[] data = redisTemplate.opsForValue().get(lkgKey(key));
+            return data != null ? serializer.decode(data, type) : null;
+        } catch (Exception e) {
+            log.warn("兜底副本读取失败: key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveExecutor.shutdown();
+    }
+
+    private void deleteNow(String key) {
+        try {
+            redisTemplate.delete(lkgKey(key));
+        } catch (Exception e) {
+            log.warn("兜底副本删除失败: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private String lkgKey(String key) {
+        return schedulerProperties.getCache().getFallback().getLkgKeyPrefix() + key;
+    }
+}
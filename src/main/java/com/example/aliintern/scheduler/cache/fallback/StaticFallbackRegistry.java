@@ -0,0 +1,73 @@
+package com.example.aliintern.scheduler.cache.fallback;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 静态兜底数据注册表
+ *
+ * 业务方按 key 前缀注册兜底函数（如默认商品详情、"活动火爆"占位数据），
+ * 在没有缓存旧值和兜底副本时使用；多个前缀匹配时使用最长的前缀
+ */
+@Slf4j
+@Component
+public class StaticFallbackRegistry {
+
+    private final Map<String, Function<String, ?>> suppliers = new ConcurrentHashMap<>();
+
+    /**
+     * 注册兜底函数，同一前缀重复注册时覆盖
+     *
+     * @param keyPrefix key 前缀，空字符串表示匹配全部 key
+     * @param supplier  兜底函数，入参为缓存键
+     */
+    public void register(String keyPrefix, Function<String, ?> supplier) {
+        if (keyPrefix == null || supplier == null) {
+            throw new IllegalArgumentException("keyPrefix 与 supplier 不能为空");
+        }
+        suppliers.put(keyPrefix, supplier);
+        log.info("注册静态兜底数据: keyPrefix={}", keyPrefix);
+    }
+
+    /**
+     * 注销兜底函数
+     */
+    public void unregister(String keyPrefix) {
+        if (keyPrefix != null) {
+            suppliers.remove(keyPrefix);
+        }
+    }
+
+    /**
+     * 获取兜底数据
+     *
+     * @param key 缓存键
+     * @return 兜底数据，没有匹配的前缀或兜底函数异常时返回 null
+     */
+    public Object get(String key) {
+        if (key == null || suppliers.isEmpty()) {
+            return null;
+        }
+
+        String matched = null;
+        for (String prefix : suppliers.keySet()) {
+            if (key.startsWith(prefix) && (matched == null || prefix.length() > matched.length())) {
+                matched = prefix;
+            }
+        }
+        if (matched == null) {
+            return null;
+        }
+
+        try {
+            return suppliers.get(matched).apply(key);
+        } catch (Exception e) {
+            log.warn("静态兜底数据获取失败: key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+}
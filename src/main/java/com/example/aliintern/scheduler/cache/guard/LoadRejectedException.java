@@ -0,0 +1,30 @@
+package com.example.aliintern.scheduler.cache.guard;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 回源被准入控制拒绝，且没有可返回的旧值或兜底数据
+ *
+ * 与"数据不存在"（返回 null）区分：调用方可据此重试、返回限流提示或走自己的降级逻辑
+ */
+public class LoadRejectedException extends RuntimeException {
+
+    private final List<String> keys;
+
+    public LoadRejectedException(String key) {
+        this(List.of(key));
+    }
+
+    public LoadRejectedException(Collection<String> keys) {
+        super("回源被限流且无旧值: keys=" + keys);
+        this.keys = List.copyOf(keys);
+    }
+
+    /**
+     * 被拒绝且无旧值的 key
+     */
+    public List<String> getKeys() {
+        return keys;
+    }
+}
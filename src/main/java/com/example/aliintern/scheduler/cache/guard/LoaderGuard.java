@@ -0,0 +1,206 @@
+package com.example.aliintern.scheduler.cache.guard;
+
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 回源准入控制
+ *
+ * 在缓存未命中、调用数据库回源函数之前检查，三层限制依次生效：
+ * 1. 单 key 令牌桶：仅对 HOT 及以上等级（可配置）的 key 生效，限制单个热点 key 的回源频率
+ * 2. 本实例全局令牌桶：对所有回源生效，保证单实例对数据库的 QPS 上限
+ * 3. Redis 全局预算（可选）：所有实例共享的每秒预算
+ *
+ * 被拒绝时由调用方返回旧值（已过期但未清除的缓存）或兜底数据，都没有时抛出 {@link LoadRejectedException}
+ *
+ * 说明：
+ * - 默认关闭，开启前需按数据库容量配置全局速率
+ * - 不使用缓存（CacheMode.NONE）的请求由调用方直接回源，不经过准入控制
+ * - 后一层拒绝时归还前面各层已取得的令牌，被拒绝的请求不消耗配额
+ * - 异步回源使用 {@link #tryAcquireAsync(String, HotspotLevel)}，Redis 全局预算以异步命令检查，不阻塞调用线程
+ * - 令牌桶均为无锁实现，单 key 令牌桶按访问过期，最多保留 maxTrackedKeys 个
+ * - 速率与容量在创建令牌桶时读取，修改配置后对新建的令牌桶生效
+ */
+@Slf4j
+@Component
+public class LoaderGuard {
+
+    private final SchedulerProperties schedulerProperties;
+    private final RedisLoadBudget redisBudget;
+    private final HotspotLevel minHotspotLevel;
+    private final Cache<String, TokenBucket> keyBuckets;
+    private final TokenBucket globalBucket;
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public LoaderGuard(SchedulerProperties schedulerProperties, RedisLoadBudget redisBudget) {
+        this.schedulerProperties = schedulerProperties;
+        this.redisBudget = redisBudget;
+
+        SchedulerProperties.CacheConfig.GuardConfig config = schedulerProperties.getCache().getGuard();
+        this.minHotspotLevel = parseLevel(config.getMinHotspotLevel());
+        this.keyBuckets = Caffeine.newBuilder()
+                .maximumSize(config.getMaxTrackedKeys())
+                .expireAfterAccess(60, TimeUnit.SECONDS)
+                .build();
+        this.globalBucket = new TokenBucket(config.getGlobalPermitsPerSecond(), config.getGlobalBurst());
+
+        log.info("回源准入控制初始化完成: enabled={}, minLevel={}, perKey={}/s, global={}/s, redisBudget={}",
+                config.getEnabled(), minHotspotLevel, config.getPerKeyPermitsPerSecond(),
+                config.getGlobalPermitsPerSecond(),
+                Boolean.TRUE.equals(config.getRedisBudgetEnabled()) ? config.getRedisBudgetPerSecond() + "/s" : "off");
+    }
+
+    /**
+     * 单 key 回源准入（单 key 令牌桶 + 全局限制）
+     *
+     * @param key   缓存键
+     * @param level 热点等级，为 null 时只检查全局限制
+     * @return 是否允许回源
+     */
+    public boolean tryAcquire(String key, HotspotLevel level) {
+        if (!isEnabled()) {
+            return true;
+        }
+        if (!tryAcquireKey(key, level)) {
+            log.debug("单 key 回源限流: key={}, level={}", key, level);
+            return false;
+        }
+        if (!tryAcquireGlobal()) {
+            releaseKey(key, level);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 单 key 异步回源准入，与 {@link #tryAcquire(String, HotspotLevel)} 规则相同
+     * 本地令牌桶同步检查，Redis 全局预算通过异步命令检查，调用线程不等待 Redis 响应
+     *
+     * @param key   缓存键
+     * @param level 热点等级，为 null 时只检查全局限制
+     * @return 是否允许回源
+     */
+    public CompletableFuture<Boolean> tryAcquireAsync(String key, HotspotLevel level) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!tryAcquireKey(key, level)) {
+            log.debug("单 key 回源限流: key={}, level={}", key, level);
+            return CompletableFuture.completedFuture(false);
+        }
+        if (!tryAcquireLocalGlobal()) {
+            releaseKey(key, level);
+            return CompletableFuture.completedFuture(false);
+        }
+        return redisBudget.tryAcquireAsync().thenApply(acquired -> {
+            if (!acquired) {
+                rejectRedisBudget();
+                releaseKey(key, level);
+            }
+            return acquired;
+        });
+    }
+
+    /**
+     * 批量回源中单个 key 的准入（只检查单 key 令牌桶）
+     * 批量回源为一次数据库调用，全局限制由 {@link #tryAcquireGlobal()} 按调用次数检查
+     *
+     * @param key   缓存键
+     * @param level 热点等级
+     * @return 是否允许回源
+     */
+    public boolean tryAcquireKey(String key, HotspotLevel level) {
+        if (!isEnabled() || key == null || level == null || level.ordinal() < minHotspotLevel.ordinal()) {
+            return true;
+        }
+        SchedulerProperties.CacheConfig.GuardConfig config = schedulerProperties.getCache().getGuard();
+        TokenBucket bucket = keyBuckets.get(key,
+                k -> new TokenBucket(config.getPerKeyPermitsPerSecond(), config.getPerKeyBurst()));
+        boolean acquired = bucket.tryAcquire();
+        if (!acquired) {
+            rejectedCount.increment();
+        }
+        return acquired;
+    }
+
+    /**
+     * 归还 {@link #tryAcquireKey(String, HotspotLevel)} 取得的令牌（全局限制拒绝时调用）
+     *
+     * @param key   缓存键
+     * @param level 热点等级
+     */
+    public void releaseKey(String key, HotspotLevel level) {
+        if (!isEnabled() || key == null || level == null || level.ordinal() < minHotspotLevel.ordinal()) {
+            return;
+        }
+        TokenBucket bucket = keyBuckets.getIfPresent(key);
+        if (bucket != null) {
+            bucket.release();
+        }
+    }
+
+    /**
+     * 全局回源准入（本实例令牌桶 + Redis 全局预算）
+     *
+     * @return 是否允许回源
+     */
+    public boolean tryAcquireGlobal() {
+        if (!isEnabled()) {
+            return true;
+        }
+        if (!tryAcquireLocalGlobal()) {
+            return false;
+        }
+        if (!redisBudget.tryAcquire()) {
+            rejectRedisBudget();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean tryAcquireLocalGlobal() {
+        if (!globalBucket.tryAcquire()) {
+            rejectedCount.increment();
+            log.debug("全局回源限流: 本实例令牌不足");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Redis 全局预算拒绝：归还本实例令牌
+     */
+    private void rejectRedisBudget() {
+        globalBucket.release();
+        rejectedCount.increment();
+        log.debug("全局回源限流: Redis 全局预算不足");
+    }
+
+    /**
+     * 累计被拒绝的回源次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(schedulerProperties.getCache().getGuard().getEnabled());
+    }
+
+    private static HotspotLevel parseLevel(String level) {
+        try {
+            return HotspotLevel.valueOf(level);
+        } catch (Exception e) {
+            log.warn("无效的回源限流最低热点等级: {}, 使用 HOT", level);
+            return HotspotLevel.HOT;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.aliintern.scheduler.cache.guard;
+
+import com.example.aliintern.scheduler.common.redis.AsyncRedisCommandsProvider;
+import com.example.aliintern.scheduler.common.redis.AsyncRedisScript;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Redis 的全局回源预算
+ *
+ * 所有实例共享按秒划分的计数器：{keyPrefix}:{epochSecond}，INCR 后不超过每秒预算即放行
+ * 用于实例数量变化时仍能把数据库总 QPS 控制在安全范围内
+ *
+ * 同步回源使用 {@link #tryAcquire()}；异步回源使用 {@link #tryAcquireAsync()}，
+ * 通过异步命令执行脚本，不阻塞调用线程（异步路径可能位于 Redis I/O 线程）
+ *
+ * 容错：Redis 异常时放行（仍受本地令牌桶限制），并在 1 秒内跳过 Redis，避免每次回源都等待超时
+ */
+@Slf4j
+@Component
+public class RedisLoadBudget {
+
+    /**
+     * INCR + 首次写入时设置过期时间，返回当前计数
+     */
+    private static final String INCR_WITH_EXPIRE_SCRIPT =
+            "local count = redis.call('INCR', KEYS[1]) " +
+            "if count == 1 then " +
+            "    redis.call('EXPIRE', KEYS[1], ARGV[1]) " +
+            "end " +
+            "return count";
+
+    /**
+     * 异步路径的脚本（EVALSHA，NOSCRIPT 时回退 EVAL）
+     */
+    private static final AsyncRedisScript INCR_WITH_EXPIRE_ASYNC =
+            new AsyncRedisScript(INCR_WITH_EXPIRE_SCRIPT, ScriptOutputType.INTEGER);
+
+    private static final long BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final byte[] KEY_TTL_SECONDS = "2".getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SchedulerProperties schedulerProperties;
+    private final AsyncRedisCommandsProvider asyncCommandsProvider;
+    private final DefaultRedisScript<Long> incrWithExpireScript;
+
+    /**
+     * Redis 异常后的跳过截止时刻（System.nanoTime 基准），0 表示正常
+     */
+    private volatile long backoffUntilNanos;
+
+    public RedisLoadBudget(StringRedisTemplate redisTemplate, SchedulerProperties schedulerProperties,
+                           AsyncRedisCommandsProvider asyncCommandsProvider) {
+        this.redisTemplate = redisTemplate;
+        this.schedulerProperties = schedulerProperties;
+        this.asyncCommandsProvider = asyncCommandsProvider;
+        this.incrWithExpireScript = new DefaultRedisScript<>(INCR_WITH_EXPIRE_SCRIPT, Long.class);
+    }
+
+    /**
+     * 尝试占用一次全局回源预算
+     *
+     * @return 是否放行；未开启或 Redis 不可用时返回 true
+     */
+    public boolean tryAcquire() {
+        if (!isActive()) {
+            return true;
+        }
+
+        SchedulerProperties.CacheConfig.GuardConfig config = schedulerProperties.getCache().getGuard();
+        try {
+            Long count = redisTemplate.execute(incrWithExpireScript, Collections.singletonList(budgetKey(config)),
+                    "2");
+            backoffUntilNanos = 0;
+            return count == null || count <= config.getRedisBudgetPerSecond();
+        } catch (Exception e) {
+            onError(e);
+            return true;
+        }
+    }
+
+    /**
+     * 异步占用一次全局回源预算，不阻塞调用线程
+     * 异步连接不可用时放行（仍受本地令牌桶限制），不回退为同步调用
+     *
+     * @return 是否放行；未开启或 Redis 不可用时为 true
+     */
+    public CompletableFuture<Boolean> tryAcquireAsync() {
+        if (!isActive()) {
+            return CompletableFuture.completedFuture(true);
+        }
+        RedisClusterAsyncCommands<byte[], byte[]> commands =
+                asyncCommandsProvider != null ? asyncCommandsProvider.commands() : null;
+        if (commands == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        SchedulerProperties.CacheConfig.GuardConfig config = schedulerProperties.getCache().getGuard();
+        try {
+            byte[][] keys = {budgetKey(config).getBytes(StandardCharsets.UTF_8)};
+            return INCR_WITH_EXPIRE_ASYNC.<Long>execute(commands, keys, KEY_TTL_SECONDS)
+                    .handle((count, e) -> {
+                        if (e != null) {
+                            onError(e);
+                            return true;
+                        }
+                        backoffUntilNanos = 0;
+                        return count == null || count <= config.getRedisBudgetPerSecond();
+                    });
+        } catch (Exception e) {
+            onError(e);
+            return CompletableFuture.completedFuture(true);
+        }
+    }
+
+    /**
+     * 已开启且不在异常后的跳过期内
+     */
+    private boolean isActive() {
+        if (!Boolean.TRUE.equals(schedulerProperties.getCache().getGuard().getRedisBudgetEnabled())) {
+            return false;
+        }
+        long backoffUntil = backoffUntilNanos;
+        return backoffUntil == 0 || System.nanoTime() - backoffUntil >= 0;
+    }
+
+    private static String budgetKey(SchedulerProperties.CacheConfig.GuardConfig config) {
+        return config.getRedisBudgetKeyPrefix() + ":" + TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    }
+
+    private void onError(Throwable e) {
+        backoffUntilNanos = System.nanoTime() + BACKOFF_NANOS;
+        log.warn("全局回源预算检查失败，暂时仅使用本地限流: error={}", e.getMessage());
+    }
+}
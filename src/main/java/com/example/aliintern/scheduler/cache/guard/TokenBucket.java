@@ -0,0 +1,62 @@
+package com.example.aliintern.scheduler.cache.guard;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶
+ *
+ * 以 GCRA（通用信元速率算法）实现：只维护一个“理论到达时间”，每取一个令牌向后推进一个发放间隔，
+ * 推进后超出当前时间的部分不超过桶容量对应的时长即放行。单个 AtomicLong + CAS，无锁、无后台线程
+ *
+ * 等价于：速率为 permitsPerSecond、容量为 burst 的令牌桶，空闲时桶是满的
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    /**
+     * 理论到达时间（System.nanoTime 基准）
+     */
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond 每秒发放的令牌数，必须大于 0
+     * @param burst            桶容量（允许的突发请求数），至少为 1
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond 必须大于 0");
+        }
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 尝试获取一个令牌
+     *
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + intervalNanos;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 归还一个已获取的令牌（获取后因其他限制未使用时调用）
+     */
+    public void release() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+}
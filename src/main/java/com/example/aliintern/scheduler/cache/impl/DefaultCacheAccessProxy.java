@@ -2,13 +2,35 @@ package com.example.aliintern.scheduler.cache.impl;
 
 import com.example.aliintern.scheduler.cache.CacheAccessProxy;
 import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.client.OffHeapCacheClient;
 import com.example.aliintern.scheduler.cache.client.RemoteCacheClient;
+import com.example.aliintern.scheduler.cache.fallback.FallbackLoader;
+import com.example.aliintern.scheduler.cache.guard.LoadRejectedException;
+import com.example.aliintern.scheduler.cache.guard.LoaderGuard;
+import com.example.aliintern.scheduler.cache.invalidation.LocalCacheInvalidationBroadcaster;
 import com.example.aliintern.scheduler.common.enums.CacheMode;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.common.metrics.LoadSignalRecorder;
+import com.example.aliintern.scheduler.common.metrics.LoaderCostTracker;
+import com.example.aliintern.scheduler.common.metrics.SchedulerMetrics;
 import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.FusedReadResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -24,6 +46,19 @@ import java.util.function.Supplier;
  * - LOCAL_ONLY: 仅访问本地缓存
  * - REMOTE_ONLY: 仅访问 Redis
  * - LOCAL_AND_REMOTE: 先本地，再 Redis，最后 DB
+ * 
+ * 本地层包含 Caffeine 与堆外缓存：HOT 及以上等级的大对象写入堆外缓存，
+ * 读取时 Caffeine 未命中再查堆外缓存；决策携带业务类型时 Caffeine 使用该业务类型的分区
+ * 
+ * EXTREMELY_HOT 的 Redis 读写使用副本 key，分散单个分片的压力
+ * 
+ * 回源前经过 {@link LoaderGuard} 准入控制，被限流时返回缓存中的旧值（忽略提前过期），没有旧值时返回 null
+ * 决策允许兜底时经 {@link FallbackLoader} 带超时回源，超时或数据库熔断时同样返回旧值，
+ * 再依次尝试兜底副本和静态兜底数据；兜底返回的数据不回写缓存
+ * 回源时记录耗时并随写入传给缓存客户端，作为概率提前过期（XFetch）的依据
+ * 删除缓存时广播失效消息，其他实例同步清理本地缓存
+ * Redis 读取耗时、回源耗时与回源并发记录到 {@link LoadSignalRecorder}，供负载感知决策采样
+ * 回源成功后按 key 记录回源耗时与值大小到 {@link LoaderCostTracker}，供成本感知决策使用
  */
 @Slf4j
 @Service
@@ -31,10 +66,28 @@ import java.util.function.Supplier;
 public class DefaultCacheAccessProxy implements CacheAccessProxy {
 
     private final LocalCacheClient localCache;
+    private final OffHeapCacheClient offHeapCache;
     private final RemoteCacheClient remoteCache;
+    private final LocalCacheInvalidationBroadcaster invalidationBroadcaster;
+    private final LoaderGuard loaderGuard;
+    private final FallbackLoader fallbackLoader;
+    private final LoadSignalRecorder loadSignals;
+    private final LoaderCostTracker costTracker;
+    private final SchedulerMetrics metrics;
 
     @Override
     public <T> T access(String key, Supplier<T> dbLoader, DispatchDecision decision) {
+        return access(key, null, dbLoader, decision);
+    }
+
+    @Override
+    public <T> T access(String key, Class<T> type, Supplier<T> dbLoader, DispatchDecision decision) {
+        return access(key, type, dbLoader, decision, null);
+    }
+
+    @Override
+    public <T> T access(String key, Class<T> type, Supplier<T> dbLoader, DispatchDecision decision,
+                        FusedReadResult prefetched) {
         if (key == null || dbLoader == null || decision == null) {
             log.warn("无效参数: key={}, dbLoader={}, decision={}", key, dbLoader, decision);
             if (dbLoader != null) {
@@ -47,13 +100,291 @@ public class DefaultCacheAccessProxy implements CacheAccessProxy {
         
         // 根据 CacheMode 决定访问路径
         return switch (mode) {
-            case NONE -> accessDbOnly(key, dbLoader);
-            case LOCAL_ONLY -> accessLocalOnly(key, dbLoader, decision);
-            case REMOTE_ONLY -> accessRemoteOnly(key, dbLoader, decision);
-            case LOCAL_AND_REMOTE -> accessLocalAndRemote(key, dbLoader, decision);
+            case NONE -> accessDbOnly(key, dbLoader, decision);
+            case LOCAL_ONLY -> accessLocalOnly(key, type, dbLoader, decision);
+            case REMOTE_ONLY -> accessRemoteOnly(key, type, dbLoader, decision, prefetched);
+            case LOCAL_AND_REMOTE -> accessLocalAndRemote(key, type, dbLoader, decision, prefetched);
         };
     }
 
+    @Override
+    public <T> CompletableFuture<T> accessAsync(String key, Class<T> type,
+                                                Supplier<CompletableFuture<T>> asyncLoader,
+                                                DispatchDecision decision) {
+        return accessAsync(key, type, asyncLoader, decision, null);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> accessAsync(String key, Class<T> type,
+                                                Supplier<CompletableFuture<T>> asyncLoader,
+                                                DispatchDecision decision,
+                                                FusedReadResult prefetched) {
+        if (key == null || asyncLoader == null || decision == null) {
+            log.warn("无效参数: key={}, asyncLoader={}, decision={}", key, asyncLoader, decision);
+            return asyncLoader != null ? asyncLoader.get() : CompletableFuture.completedFuture(null);
+        }
+
+        CacheMode mode = decision.getCacheMode();
+        log.debug("异步访问模式: {}, key={}", mode, key);
+
+        // 1. 本地缓存（内存操作，同步完成）
+        if (mode.usesLocal()) {
+            try {
+                T value = readLocal(key, type, decision);
+                if (value != null) {
+                    return CompletableFuture.completedFuture(value);
+                }
+            } catch (Exception e) {
+                log.warn("本地缓存读取异常，降级到下一层: key={}, error={}", key, e.getMessage());
+            }
+        }
+
+        // 2. Redis（异步读取或使用预读值，命中时回填本地缓存）
+        if (mode.usesRemote()) {
+            CompletableFuture<T> remoteRead;
+            if (prefetched != null && prefetched.fetched()) {
+                remoteRead = CompletableFuture.completedFuture(
+                        remoteCache.decodePrefetched(key, prefetched.value(), prefetched.remainingMillis(), type));
+            } else {
+                int replicas = remoteCache.replicaCount(decision.getHotspotLevel());
+                long readStart = System.nanoTime();
+                remoteRead = replicas > 0
+                        ? remoteCache.getAsync(key, type, replicas)
+                        : remoteCache.getAsync(key, type);
+                remoteRead.whenComplete((v, e) -> loadSignals.recordRedisLatency(System.nanoTime() - readStart));
+            }
+            return remoteRead.thenCompose(cachedValue -> {
+                metrics.recordLookup(SchedulerMetrics.Tier.REMOTE, decision.getHotspotLevel(), cachedValue != null);
+                if (cachedValue != null) {
+                    if (mode.usesLocal()) {
+                        try {
+                            writeLocal(key, cachedValue, type, decision);
+                        } catch (Exception e) {
+                            log.warn("回填本地缓存失败: key={}, error={}", key, e.getMessage());
+                        }
+                    }
+                    return CompletableFuture.completedFuture(cachedValue);
+                }
+                return loadAsync(key, type, asyncLoader, decision);
+            });
+        }
+
+        // 3. 回源
+        return loadAsync(key, type, asyncLoader, decision);
+    }
+
+    @Override
+    public <T> Map<String, T> accessAll(Collection<String> keys, Class<T> type,
+                                        Function<Set<String>, Map<String, T>> batchLoader,
+                                        Map<String, DispatchDecision> decisions) {
+        if (keys == null || keys.isEmpty() || batchLoader == null) {
+            return Map.of();
+        }
+        if (decisions == null) {
+            decisions = Map.of();
+        }
+
+        Map<String, T> found = new HashMap<>(keys.size() * 2);
+        Set<String> pending = new LinkedHashSet<>(keys);
+        pending.remove(null);
+
+        // 1. 批量查本地缓存
+        List<String> localKeys = filterByMode(pending, decisions, true);
+        if (!localKeys.isEmpty()) {
+            try {
+                Map<String, T> localHits = new HashMap<>(localKeys.size() * 2);
+                for (Map.Entry<LocalCacheClient, List<String>> group : groupByPartition(localKeys, decisions).entrySet()) {
+                    localHits.putAll(group.getKey().getAll(group.getValue()));
+                }
+                found.putAll(localHits);
+                pending.removeAll(localHits.keySet());
+                if (offHeapCache.isEnabled()) {
+                    for (String key : localKeys) {
+                        if (!localHits.containsKey(key)) {
+                            T value = offHeapCache.get(key, type);
+                            if (value != null) {
+                                found.put(key, value);
+                                pending.remove(key);
+                            }
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("本地缓存批量读取异常，降级到 Redis: size={}, error={}", localKeys.size(), e.getMessage());
+            }
+            for (String key : localKeys) {
+                metrics.recordLookup(SchedulerMetrics.Tier.LOCAL, decisions.get(key).getHotspotLevel(),
+                        found.containsKey(key));
+            }
+        }
+
+        // 2. 剩余 key 一次 MGET，命中的回填本地缓存
+        List<String> remoteKeys = filterByMode(pending, decisions, false);
+        if (!remoteKeys.isEmpty()) {
+            Map<String, T> remoteHits = remoteCache.getAll(remoteKeys, type);
+            for (Map.Entry<String, T> e : remoteHits.entrySet()) {
+                DispatchDecision decision = decisions.get(e.getKey());
+                if (decision.getCacheMode().usesLocal()) {
+                    try {
+                        writeLocal(e.getKey(), e.getValue(), type, decision);
+                    } catch (Exception ex) {
+                        log.warn("回填本地缓存失败: key={}, error={}", e.getKey(), ex.getMessage());
+                    }
+                }
+            }
+            found.putAll(remoteHits);
+            pending.removeAll(remoteHits.keySet());
+            for (String key : remoteKeys) {
+                metrics.recordLookup(SchedulerMetrics.Tier.REMOTE, decisions.get(key).getHotspotLevel(),
+                        remoteHits.containsKey(key));
+            }
+        }
+
+        // 3. 剩余 key 经回源准入后一次批量回源，被限流的 key 返回旧值（不使用缓存的 key 不经过准入控制）
+        if (!pending.isEmpty()) {
+            Set<String> rejected = new LinkedHashSet<>();
+            List<String> acquired = new ArrayList<>(pending.size());
+            for (String key : pending) {
+                DispatchDecision decision = decisions.get(key);
+                if (!guarded(decision)) {
+                    continue;
+                }
+                if (loaderGuard.tryAcquireKey(key, decision.getHotspotLevel())) {
+                    acquired.add(key);
+                } else {
+                    rejected.add(key);
+                }
+            }
+            if (!acquired.isEmpty() && !loaderGuard.tryAcquireGlobal()) {
+                // 全局限制拒绝：归还已取得的单 key 令牌
+                for (String key : acquired) {
+                    loaderGuard.releaseKey(key, decisions.get(key).getHotspotLevel());
+                }
+                rejected.addAll(acquired);
+            }
+            pending.removeAll(rejected);
+            List<String> unavailable = new ArrayList<>();
+            for (String key : rejected) {
+                DispatchDecision decision = decisions.get(key);
+                T stale = readDegraded(key, type, decision, fallbackLoader.isEnabled(decision));
+                if (stale != null) {
+                    found.put(key, stale);
+                } else {
+                    unavailable.add(key);
+                }
+            }
+            if (!unavailable.isEmpty()) {
+                // 不抛出异常：保留已命中的结果，已通过准入的 key 照常回源，被拒绝的 key 不包含在结果中
+                log.warn("批量回源被限流，部分 key 无旧值或兜底数据: size={}, keys={}", unavailable.size(), unavailable);
+            }
+        }
+        if (!pending.isEmpty()) {
+            long loadStart = System.nanoTime();
+            Map<String, T> loaded;
+            boolean succeeded = false;
+            loadSignals.loadStarted();
+            try {
+                loaded = batchLoader.apply(pending);
+                succeeded = true;
+            } catch (RuntimeException e) {
+                // 没有允许兜底的 key 时保持原有行为，异常交给调用方
+                List<String> fallbackKeys = new ArrayList<>();
+                for (String key : pending) {
+                    if (fallbackLoader.isEnabled(decisions.get(key))) {
+                        fallbackKeys.add(key);
+                    }
+                }
+                if (fallbackKeys.isEmpty()) {
+                    throw e;
+                }
+                log.warn("批量回源失败，允许兜底的 key 返回兜底数据: size={}, fallback={}, error={}",
+                        pending.size(), fallbackKeys.size(), e.getMessage());
+                for (String key : fallbackKeys) {
+                    T value = readDegraded(key, type, decisions.get(key), true);
+                    if (value != null) {
+                        found.put(key, value);
+                    }
+                }
+                loaded = null;
+            } finally {
+                loadSignals.loadFinished();
+                loadSignals.recordLoaderLatency(System.nanoTime() - loadStart);
+                metrics.recordLoad(System.nanoTime() - loadStart, succeeded);
+            }
+            long loadNanos = System.nanoTime() - loadStart;
+            long loadMillis = TimeUnit.NANOSECONDS.toMillis(loadNanos);
+            log.debug("批量回源 DB: requested={}, loaded={}, cost={}ms",
+                    pending.size(), loaded != null ? loaded.size() : 0, loadMillis);
+
+            if (loaded != null && !loaded.isEmpty()) {
+                backfillLoaded(loaded, type, decisions, loadMillis);
+                // 批量回源无法区分单个 key 的耗时，按 key 数均摊
+                long perKeyNanos = loadNanos / pending.size();
+                for (Map.Entry<String, T> e : loaded.entrySet()) {
+                    if (e.getValue() != null) {
+                        costTracker.record(e.getKey(), perKeyNanos, e.getValue());
+                        found.put(e.getKey(), e.getValue());
+                    }
+                }
+            }
+        }
+
+        // 按入参顺序组装结果
+        Map<String, T> result = new LinkedHashMap<>(found.size() * 2);
+        for (String key : keys) {
+            T value = found.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <T> T peek(String key, Class<T> type, DispatchDecision decision) {
+        if (key == null || decision == null) {
+            return null;
+        }
+
+        // 只记录命中：未命中时调用方随后按新决策访问，由 access 记录各层结果，同一请求不重复计数
+        CacheMode mode = decision.getCacheMode();
+        if (mode.usesLocal()) {
+            try {
+                T value = lookupLocal(key, type, decision);
+                if (value != null) {
+                    metrics.recordLookup(SchedulerMetrics.Tier.LOCAL, decision.getHotspotLevel(), true);
+                    return value;
+                }
+            } catch (Exception e) {
+                log.warn("本地缓存读取异常，降级到 Redis: key={}, error={}", key, e.getMessage());
+            }
+        }
+        if (!mode.usesRemote()) {
+            return null;
+        }
+
+        T cachedValue = lookupRemote(key, type, decision);
+        if (cachedValue != null) {
+            if (mode.usesLocal()) {
+                metrics.recordLookup(SchedulerMetrics.Tier.LOCAL, decision.getHotspotLevel(), false);
+            }
+            metrics.recordLookup(SchedulerMetrics.Tier.REMOTE, decision.getHotspotLevel(), true);
+            if (mode.usesLocal()) {
+                try {
+                    writeLocal(key, cachedValue, type, decision);
+                } catch (Exception e) {
+                    log.warn("回填本地缓存失败: key={}, error={}", key, e.getMessage());
+                }
+            }
+        }
+        return cachedValue;
+    }
+
+    @Override
+    public boolean cachedLocally(String key, String bizType) {
+        return localCache.partition(bizType).contains(key) || offHeapCache.contains(key);
+    }
+
     @Override
     public void invalidate(String key) {
         if (key == null) {
@@ -68,12 +399,22 @@ public class DefaultCacheAccessProxy implements CacheAccessProxy {
         } catch (Exception e) {
             log.warn("删除本地缓存失败: key={}, error={}", key, e.getMessage());
         }
+        offHeapCache.invalidate(key);
         
         try {
             remoteCache.delete(key);
         } catch (Exception e) {
             log.warn("删除 Redis 缓存失败: key={}, error={}", key, e.getMessage());
         }
+        // 兜底副本同时删除，避免回源不可用时返回更新前的数据
+        fallbackLoader.invalidateLastKnownGood(key);
+        
+        // 通知其他实例清理本地缓存
+        try {
+            invalidationBroadcaster.broadcast(key);
+        } catch (Exception e) {
+            log.warn("失效广播失败: key={}, error={}", key, e.getMessage());
+        }
     }
 
     // ==================== 私有方法：不同的访问模式 ====================
@@ -81,30 +422,35 @@ public class DefaultCacheAccessProxy implements CacheAccessProxy {
     /**
      * 模式 1: 不使用缓存，直接回源
      */
-    private <T> T accessDbOnly(String key, Supplier<T> dbLoader) {
+    private <T> T accessDbOnly(String key, Supplier<T> dbLoader, DispatchDecision decision) {
         log.debug("访问模式: NONE, 直接回源 DB, key={}", key);
-        return dbLoader.get();
+        return load(key, null, dbLoader, decision).value();
     }
 
     /**
      * 模式 2: 仅使用本地缓存
      */
-    private <T> T accessLocalOnly(String key, Supplier<T> dbLoader, DispatchDecision decision) {
+    private <T> T accessLocalOnly(String key, Class<T> type, Supplier<T> dbLoader, DispatchDecision decision) {
         log.debug("访问模式: LOCAL_ONLY, key={}", key);
         
         // 1. 尝试从本地缓存获取
-        T value = localCache.get(key);
+        T value = readLocal(key, type, decision);
         if (value != null) {
             return value;
         }
         
-        // 2. 本地缓存未命中，回源 DB
-        value = dbLoader.get();
+        // 2. 本地缓存未命中，回源 DB（被限流、超时或熔断时返回旧值 / 兜底数据）
+        Loaded<T> loaded = load(key, type, dbLoader, decision);
+        if (!loaded.fresh()) {
+            return loaded.value();
+        }
+        value = loaded.value();
+        long loadMillis = loaded.loadMillis();
         
         // 3. 回源成功，写入本地缓存
         if (value != null) {
             try {
-                localCache.put(key, value, decision.getTtlLevel());
+                writeLocal(key, value, type, decision, loadMillis);
             } catch (Exception e) {
                 log.warn("写入本地缓存失败: key={}, error={}", key, e.getMessage());
             }
@@ -116,24 +462,28 @@ public class DefaultCacheAccessProxy implements CacheAccessProxy {
     /**
      * 模式 3: 仅使用 Redis
      */
-    private <T> T accessRemoteOnly(String key, Supplier<T> dbLoader, DispatchDecision decision) {
+    private <T> T accessRemoteOnly(String key, Class<T> type, Supplier<T> dbLoader, DispatchDecision decision,
+                                   FusedReadResult prefetched) {
         log.debug("访问模式: REMOTE_ONLY, key={}", key);
         
         // 1. 尝试从 Redis 获取
-        String cachedValue = remoteCache.get(key);
+        T cachedValue = readRemote(key, type, decision, prefetched);
         if (cachedValue != null) {
-            // 注意：这里返回的是 String，调用方需要自行转换
-            // 为了类型安全，实际使用时可能需要传入 Class<T> 参数
-            return (T) cachedValue;
+            return cachedValue;
         }
         
-        // 2. Redis 未命中，回源 DB
-        T value = dbLoader.get();
+        // 2. Redis 未命中，回源 DB（被限流、超时或熔断时返回旧值 / 兜底数据）
+        Loaded<T> loaded = load(key, type, dbLoader, decision);
+        if (!loaded.fresh()) {
+            return loaded.value();
+        }
+        T value = loaded.value();
+        long loadMillis = loaded.loadMillis();
         
         // 3. 回源成功，写入 Redis
         if (value != null) {
             try {
-                remoteCache.put(key, value, decision.getTtlLevel());
+                writeRemote(key, value, decision, loadMillis);
             } catch (Exception e) {
                 log.warn("写入 Redis 失败: key={}, error={}", key, e.getMessage());
             }
@@ -145,13 +495,14 @@ public class DefaultCacheAccessProxy implements CacheAccessProxy {
     /**
      * 模式 4: 双层缓存（本地 + Redis）
      */
-    private <T> T accessLocalAndRemote(String key, Supplier<T> dbLoader, DispatchDecision decision) {
+    private <T> T accessLocalAndRemote(String key, Class<T> type, Supplier<T> dbLoader, DispatchDecision decision,
+                                       FusedReadResult prefetched) {
         log.debug("访问模式: LOCAL_AND_REMOTE, key={}", key);
         
         // 1. 尝试从本地缓存获取
         T value = null;
         try {
-            value = localCache.get(key);
+            value = readLocal(key, type, decision);
             if (value != null) {
                 return value;
             }
@@ -160,32 +511,37 @@ public class DefaultCacheAccessProxy implements CacheAccessProxy {
         }
         
         // 2. 本地未命中，尝试从 Redis 获取
-        String cachedValue = remoteCache.get(key);
+        T cachedValue = readRemote(key, type, decision, prefetched);
         if (cachedValue != null) {
             // Redis 命中，回填本地缓存
             try {
-                localCache.put(key, cachedValue, decision.getTtlLevel());
+                writeLocal(key, cachedValue, type, decision);
             } catch (Exception e) {
                 log.warn("回填本地缓存失败: key={}, error={}", key, e.getMessage());
             }
-            return (T) cachedValue;
+            return cachedValue;
         }
         
-        // 3. Redis 也未命中，回源 DB
-        value = dbLoader.get();
+        // 3. Redis 也未命中，回源 DB（被限流、超时或熔断时返回旧值 / 兜底数据）
+        Loaded<T> loaded = load(key, type, dbLoader, decision);
+        if (!loaded.fresh()) {
+            return loaded.value();
+        }
+        value = loaded.value();
+        long loadMillis = loaded.loadMillis();
         
         // 4. 回源成功，写入 Redis 和本地缓存
         if (value != null) {
             // 写 Redis
             try {
-                remoteCache.put(key, value, decision.getTtlLevel());
+                writeRemote(key, value, decision, loadMillis);
             } catch (Exception e) {
                 log.warn("写入 Redis 失败: key={}, error={}", key, e.getMessage());
             }
             
             // 写本地缓存
             try {
-                localCache.put(key, value, decision.getTtlLevel());
+                writeLocal(key, value, type, decision, loadMillis);
             } catch (Exception e) {
                 log.warn("写入本地缓存失败: key={}, error={}", key, e.getMessage());
             }
@@ -193,4 +549,396 @@ public class DefaultCacheAccessProxy implements CacheAccessProxy {
         
         return value;
     }
+
+    /**
+     * 异步回源，成功后按决策写缓存
+     * Redis 写入不阻塞结果返回
+     * 被限流或兜底时只读取本地旧值：当前可能位于 Redis I/O 线程，不再同步读取 Redis
+     * 回源准入同理使用异步检查，Redis 全局预算不阻塞当前线程
+     */
+    private <T> CompletableFuture<T> loadAsync(String key, Class<T> type,
+                                               Supplier<CompletableFuture<T>> asyncLoader,
+                                               DispatchDecision decision) {
+        boolean fallback = fallbackLoader.isEnabled(decision);
+        if (!guarded(decision)) {
+            return admittedLoadAsync(key, type, asyncLoader, decision, fallback);
+        }
+        return loaderGuard.tryAcquireAsync(key, decision.getHotspotLevel()).thenCompose(admitted -> admitted
+                ? admittedLoadAsync(key, type, asyncLoader, decision, fallback)
+                : degradedAsync(key, type, decision, fallback).thenApply(value -> {
+                    if (value == null) {
+                        throw new LoadRejectedException(key);
+                    }
+                    return value;
+                }));
+    }
+
+    /**
+     * 已通过准入的异步回源
+     */
+    private <T> CompletableFuture<T> admittedLoadAsync(String key, Class<T> type,
+                                                       Supplier<CompletableFuture<T>> asyncLoader,
+                                                       DispatchDecision decision, boolean fallback) {
+        long loadStart = System.nanoTime();
+        Supplier<CompletableFuture<T>> trackedLoader = () -> {
+            loadSignals.loadStarted();
+            CompletableFuture<T> future;
+            try {
+                future = asyncLoader.get();
+            } catch (RuntimeException e) {
+                loadSignals.loadFinished();
+                throw e;
+            }
+            future.whenComplete((v, e) -> {
+                loadSignals.loadFinished();
+                loadSignals.recordLoaderLatency(System.nanoTime() - loadStart);
+                metrics.recordLoad(System.nanoTime() - loadStart, e == null);
+            });
+            return future;
+        };
+        if (!fallback) {
+            return trackedLoader.get()
+                    .thenApply(value -> writeLoaded(key, value, type, decision, loadStart));
+        }
+        return fallbackLoader.loadAsync(key, trackedLoader).thenCompose(outcome -> outcome.loaded()
+                ? CompletableFuture.completedFuture(
+                        writeLoaded(key, outcome.value(), type, decision, loadStart))
+                : degradedAsync(key, type, decision, true));
+    }
+
+    /**
+     * 异步回源成功：按决策写缓存，Redis 写入不等待完成
+     */
+    private <T> T writeLoaded(String key, T value, Class<T> type, DispatchDecision decision, long loadStart) {
+        if (value == null) {
+            return null;
+        }
+
+        long loadMillis = elapsedMillis(loadStart);
+        costTracker.record(key, System.nanoTime() - loadStart, value);
+
+        CacheMode mode = decision.getCacheMode();
+        if (mode.usesRemote()) {
+            int replicas = remoteCache.replicaCount(decision.getHotspotLevel());
+            if (replicas > 0) {
+                remoteCache.putAsync(key, value, decision.getTtlLevel(), loadMillis, replicas);
+            } else {
+                remoteCache.putAsync(key, value, decision.getTtlLevel(), loadMillis);
+            }
+        }
+        if (mode.usesLocal()) {
+            try {
+                writeLocal(key, value, type, decision, loadMillis);
+            } catch (Exception e) {
+                log.warn("写入本地缓存失败: key={}, error={}", key, e.getMessage());
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 异步路径的降级结果：本地旧值，没有时按决策返回兜底数据
+     */
+    private <T> CompletableFuture<T> degradedAsync(String key, Class<T> type, DispatchDecision decision,
+                                                   boolean fallback) {
+        T stale = decision.getCacheMode().usesLocal() ? local(decision).getStale(key) : null;
+        log.debug("回源不可用，返回本地旧值: key={}, hit={}", key, stale != null);
+        if (stale == null && fallback) {
+            return fallbackLoader.fallbackAsync(key, type);
+        }
+        return CompletableFuture.completedFuture(stale);
+    }
+
+    /**
+     * 批量回源结果回写：Redis 一次 pipeline（极热 key 同时写入副本），本地缓存逐条写入
+     */
+    private <T> void backfillLoaded(Map<String, T> loaded, Class<T> type,
+                                    Map<String, DispatchDecision> decisions, long loadMillis) {
+        Map<String, T> remoteValues = new HashMap<>(loaded.size() * 2);
+        Map<String, CacheTtlLevel> remoteTtlLevels = new HashMap<>(loaded.size() * 2);
+        Map<String, Integer> remoteReplicas = new HashMap<>();
+
+        for (Map.Entry<String, T> e : loaded.entrySet()) {
+            DispatchDecision decision = decisions.get(e.getKey());
+            if (e.getValue() == null || decision == null || decision.getCacheMode() == null) {
+                continue;
+            }
+            if (decision.getCacheMode().usesRemote()) {
+                remoteValues.put(e.getKey(), e.getValue());
+                remoteTtlLevels.put(e.getKey(), decision.getTtlLevel());
+                int replicas = remoteCache.replicaCount(decision.getHotspotLevel());
+                if (replicas > 0) {
+                    remoteReplicas.put(e.getKey(), replicas);
+                }
+            }
+            if (decision.getCacheMode().usesLocal()) {
+                try {
+                    writeLocal(e.getKey(), e.getValue(), type, decision, loadMillis);
+                } catch (Exception ex) {
+                    log.warn("写入本地缓存失败: key={}, error={}", e.getKey(), ex.getMessage());
+                }
+            }
+            if (fallbackLoader.isEnabled(decision)) {
+                fallbackLoader.saveLastKnownGood(e.getKey(), e.getValue());
+            }
+        }
+
+        if (!remoteValues.isEmpty()) {
+            try {
+                remoteCache.putAll(remoteValues, remoteTtlLevels, remoteReplicas, loadMillis);
+            } catch (Exception e) {
+                log.warn("批量写入 Redis 失败: size={}, error={}", remoteValues.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 决策对应的本地缓存分区：决策携带业务类型时使用该业务类型的分区（未配置配额时仍为默认分区）
+     */
+    private LocalCacheClient local(DispatchDecision decision) {
+        String bizType = decision != null ? decision.getBizType() : null;
+        return bizType != null ? localCache.partition(bizType) : localCache;
+    }
+
+    /**
+     * 读取本地层：先 Caffeine，未命中再查堆外缓存
+     */
+    private <T> T readLocal(String key, Class<T> type, DispatchDecision decision) {
+        T value = lookupLocal(key, type, decision);
+        metrics.recordLookup(SchedulerMetrics.Tier.LOCAL, decision.getHotspotLevel(), value != null);
+        return value;
+    }
+
+    /**
+     * 读取本地层，不记录命中指标
+     */
+    private <T> T lookupLocal(String key, Class<T> type, DispatchDecision decision) {
+        T value = local(decision).get(key);
+        if (value == null) {
+            value = offHeapCache.get(key, type);
+        }
+        return value;
+    }
+
+    /**
+     * 写入本地层（Redis 回填，无回源耗时）
+     * 满足条件的大对象写入堆外缓存，其余写入 Caffeine；写入一层时删除另一层的同 key 数据，
+     * 避免等级或大小变化后 Caffeine 中残留旧值遮挡堆外缓存中的新值（读取先查 Caffeine）
+     */
+    private void writeLocal(String key, Object value, Class<?> type, DispatchDecision decision) {
+        if (offHeapCache.putIfEligible(key, value, type, decision)) {
+            local(decision).invalidate(key);
+        } else {
+            local(decision).put(key, value, decision.getTtlLevel());
+            invalidateOffHeap(key);
+        }
+    }
+
+    /**
+     * 写入本地层（回源结果，携带回源耗时），规则同 {@link #writeLocal(String, Object, Class, DispatchDecision)}
+     */
+    private void writeLocal(String key, Object value, Class<?> type, DispatchDecision decision, long loadMillis) {
+        if (offHeapCache.putIfEligible(key, value, type, decision)) {
+            local(decision).invalidate(key);
+        } else {
+            local(decision).put(key, value, decision.getTtlLevel(), loadMillis);
+            invalidateOffHeap(key);
+        }
+    }
+
+    private void invalidateOffHeap(String key) {
+        if (offHeapCache.isEnabled()) {
+            offHeapCache.invalidate(key);
+        }
+    }
+
+    /**
+     * 单 key 回源
+     * 
+     * - 使用缓存的请求先经过回源准入控制，被拒绝且没有旧值 / 兜底数据时抛出 {@link LoadRejectedException}
+     * - 决策允许兜底时带超时回源并受熔断器保护
+     * - 回源不可用时返回旧值 / 兜底数据，此时 fresh 为 false，调用方不回写缓存
+     */
+    private <T> Loaded<T> load(String key, Class<T> type, Supplier<T> dbLoader, DispatchDecision decision) {
+        boolean fallback = fallbackLoader.isEnabled(decision);
+        if (guarded(decision) && !loaderGuard.tryAcquire(key, decision.getHotspotLevel())) {
+            T degraded = readDegraded(key, type, decision, fallback);
+            if (degraded == null) {
+                throw new LoadRejectedException(key);
+            }
+            return Loaded.degraded(degraded);
+        }
+
+        long loadStart = System.nanoTime();
+        FallbackLoader.Outcome<T> outcome = null;
+        loadSignals.loadStarted();
+        try {
+            outcome = fallback
+                    ? fallbackLoader.load(key, dbLoader)
+                    : new FallbackLoader.Outcome<>(dbLoader.get(), true);
+        } finally {
+            loadSignals.loadFinished();
+            loadSignals.recordLoaderLatency(System.nanoTime() - loadStart);
+            metrics.recordLoad(System.nanoTime() - loadStart, outcome != null && outcome.loaded());
+        }
+
+        if (outcome.loaded()) {
+            costTracker.record(key, System.nanoTime() - loadStart, outcome.value());
+            return Loaded.fresh(outcome.value(), elapsedMillis(loadStart));
+        }
+        return Loaded.degraded(readDegraded(key, type, decision, true));
+    }
+
+    /**
+     * 是否经过回源准入控制：不使用缓存（NONE）的请求每次都直接回源，限流只会把正常请求变成失败
+     */
+    private static boolean guarded(DispatchDecision decision) {
+        return decision != null && decision.getCacheMode() != null && decision.getCacheMode() != CacheMode.NONE;
+    }
+
+    /**
+     * 回源不可用时的降级结果：缓存旧值，没有时按决策返回兜底数据
+     */
+    private <T> T readDegraded(String key, Class<T> type, DispatchDecision decision, boolean fallback) {
+        T value = readStale(key, type, decision);
+        if (value == null && fallback) {
+            value = fallbackLoader.fallback(key, type);
+        }
+        return value;
+    }
+
+    /**
+     * 回源不可用时读取旧值：依次读取本地缓存与 Redis 中仍存在的值，忽略概率提前过期
+     */
+    private <T> T readStale(String key, Class<T> type, DispatchDecision decision) {
+        CacheMode mode = decision != null ? decision.getCacheMode() : null;
+        T value = null;
+        if (mode != null && mode.usesLocal()) {
+            value = local(decision).getStale(key);
+        }
+        if (value == null && mode != null && mode.usesRemote()) {
+            value = remoteCache.getStale(key, type);
+        }
+        log.debug("回源不可用，返回旧值: key={}, hit={}", key, value != null);
+        return value;
+    }
+
+    /**
+     * 按本地缓存分区对 key 分组，没有业务类型分区时只有一组
+     */
+    private Map<LocalCacheClient, List<String>> groupByPartition(List<String> keys,
+                                                                 Map<String, DispatchDecision> decisions) {
+        Map<LocalCacheClient, List<String>> groups = new IdentityHashMap<>();
+        for (String key : keys) {
+            groups.computeIfAbsent(local(decisions.get(key)), k -> new ArrayList<>(keys.size())).add(key);
+        }
+        return groups;
+    }
+
+    /**
+     * 按缓存层筛选 key
+     *
+     * @param local true 筛选使用本地缓存的 key，false 筛选使用 Redis 的 key
+     */
+    private static List<String> filterByMode(Collection<String> keys, Map<String, DispatchDecision> decisions,
+                                             boolean local) {
+        List<String> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            DispatchDecision decision = decisions.get(key);
+            if (decision == null || decision.getCacheMode() == null) {
+                continue;
+            }
+            if (local ? decision.getCacheMode().usesLocal() : decision.getCacheMode().usesRemote()) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 读取 Redis：访问统计时已预读的直接解码预读值，否则按原流程读取
+     */
+    private <T> T readRemote(String key, Class<T> type, DispatchDecision decision, FusedReadResult prefetched) {
+        if (prefetched != null && prefetched.fetched()) {
+            T value = remoteCache.decodePrefetched(key, prefetched.value(), prefetched.remainingMillis(), type);
+            metrics.recordLookup(SchedulerMetrics.Tier.REMOTE, decision.getHotspotLevel(), value != null);
+            return value;
+        }
+        return readRemote(key, type, decision);
+    }
+
+    /**
+     * 读取 Redis（极热 key 读取随机副本）
+     */
+    private <T> T readRemote(String key, Class<T> type, DispatchDecision decision) {
+        T value = null;
+        try {
+            value = lookupRemote(key, type, decision);
+            return value;
+        } finally {
+            metrics.recordLookup(SchedulerMetrics.Tier.REMOTE, decision.getHotspotLevel(), value != null);
+        }
+    }
+
+    /**
+     * 读取 Redis，不记录命中指标（仍记录 Redis 延迟信号）
+     */
+    private <T> T lookupRemote(String key, Class<T> type, DispatchDecision decision) {
+        long readStart = System.nanoTime();
+        try {
+            int replicas = remoteCache.replicaCount(decision.getHotspotLevel());
+            return replicas > 0 ? remoteCache.get(key, type, replicas) : readRemote(key, type);
+        } finally {
+            loadSignals.recordRedisLatency(System.nanoTime() - readStart);
+        }
+    }
+
+    /**
+     * 写入 Redis（极热 key 同时写入副本）
+     */
+    private void writeRemote(String key, Object value, DispatchDecision decision, long loadMillis) {
+        int replicas = remoteCache.replicaCount(decision.getHotspotLevel());
+        if (replicas > 0) {
+            remoteCache.put(key, value, decision.getTtlLevel(), loadMillis, replicas);
+        } else {
+            remoteCache.put(key, value, decision.getTtlLevel(), loadMillis);
+        }
+    }
+
+    /**
+     * 读取 Redis
+     * 指定 type 时按类型解码；未指定时返回编解码器的自然类型（String 值原样返回）
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T readRemote(String key, Class<T> type) {
+        if (type == null) {
+            return (T) remoteCache.get(key);
+        }
+        return remoteCache.get(key, type);
+    }
+
+    /**
+     * 计算回源耗时（毫秒）
+     */
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 单 key 回源结果
+     *
+     * @param value      数据
+     * @param loadMillis 回源耗时（毫秒）
+     * @param fresh      是否来自本次回源；为 false 时是旧值或兜底数据，不回写缓存
+     */
+    private record Loaded<T>(T value, long loadMillis, boolean fresh) {
+
+        static <T> Loaded<T> fresh(T value, long loadMillis) {
+            return new Loaded<>(value, loadMillis, true);
+        }
+
+        static <T> Loaded<T> degraded(T value) {
+            return new Loaded<>(value, 0L, false);
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package com.example.aliintern.scheduler.cache.invalidation;
+
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.client.OffHeapCacheClient;
+import com.example.aliintern.scheduler.common.cluster.ClusterMessageBus;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 本地缓存失效广播器
+ *
+ * 职责：
+ * - 将本实例的失效请求广播给其他实例，使所有实例的本地缓存在毫秒级内同步失效
+ * - 收到其他实例的广播后清理本地缓存（Caffeine 与堆外缓存）
+ *
+ * 发送策略：
+ * - 失效 key 先进入待发送集合（天然去重）
+ * - 首个 key 入队时调度一次延迟发送，间隔内的 key 合并为一条消息
+ * - 积压超过单条消息上限时立即发送
+ *
+ * 消息格式：{nodeId}\n{key1}\n{key2}...
+ * 本实例发出的消息在接收时跳过（发起失效时已清理过本地缓存）
+ */
+@Slf4j
+@Component
+public class LocalCacheInvalidationBroadcaster {
+
+    private final LocalCacheClient localCache;
+    private final OffHeapCacheClient offHeapCache;
+    private final ClusterMessageBus messageBus;
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * 实例标识，用于过滤自己发出的消息
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-invalidation-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LocalCacheInvalidationBroadcaster(LocalCacheClient localCache,
+                                             OffHeapCacheClient offHeapCache,
+                                             ClusterMessageBus messageBus,
+                                             SchedulerProperties schedulerProperties) {
+        this.localCache = localCache;
+        this.offHeapCache = offHeapCache;
+        this.messageBus = messageBus;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    @PostConstruct
+    public void init() {
+        SchedulerProperties.CacheConfig.InvalidationConfig config = schedulerProperties.getCache().getInvalidation();
+        if (!Boolean.TRUE.equals(config.getEnabled())) {
+            log.info("跨实例失效广播未开启");
+            return;
+        }
+        messageBus.subscribe(config.getChannel(), this::onMessage);
+        log.info("跨实例失效广播初始化完成: nodeId={}, channel={}, batchInterval={}ms",
+                nodeId, config.getChannel(), config.getBatchIntervalMillis());
+    }
+
+    /**
+     * 广播失效（异步批量发送）
+     *
+     * @param key 缓存键
+     */
+    public void broadcast(String key) {
+        SchedulerProperties.CacheConfig.InvalidationConfig config = schedulerProperties.getCache().getInvalidation();
+        if (key == null || !Boolean.TRUE.equals(config.getEnabled())) {
+            return;
+        }
+
+        pendingKeys.add(key);
+        if (pendingKeys.size() >= config.getMaxBatchSize()) {
+            flushExecutor.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.schedule(this::flush, config.getBatchIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 发送所有待发送的失效 key
+     */
+    void flush() {
+        flushScheduled.set(false);
+        SchedulerProperties.CacheConfig.InvalidationConfig config = schedulerProperties.getCache().getInvalidation();
+        int maxBatchSize = config.getMaxBatchSize();
+
+        while (!pendingKeys.isEmpty()) {
+            List<String> batch = new ArrayList<>(Math.min(pendingKeys.size(), maxBatchSize));
+            Iterator<String> iterator = pendingKeys.iterator();
+            while (iterator.hasNext() && batch.size() < maxBatchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            messageBus.publish(config.getChannel(), nodeId + "\n" + String.join("\n", batch));
+            log.debug("失效广播已发送: size={}", batch.size());
+        }
+    }
+
+    /**
+     * 处理其他实例的失效广播
+     */
+    void onMessage(String message) {
+        if (message == null || message.isEmpty()) {
+            return;
+        }
+
+        String[] parts = message.split("\n");
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        for (int i = 1; i < parts.length; i++) {
+            localCache.invalidate(parts[i]);
+            offHeapCache.invalidate(parts[i]);
+        }
+        log.debug("收到失效广播: from={}, size={}", parts[0], parts.length - 1);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 发出剩余的失效请求后再关闭
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("失效广播关闭前发送失败: {}", e.getMessage());
+        }
+        flushExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.aliintern.scheduler.cache.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 堆外 slab 存储
+ *
+ * 内存布局：
+ * - 堆外内存按 slab（DirectByteBuffer）分配，slab 在首次需要时才申请，总量不超过容量上限
+ * - 每个 slab 切分为等长 block，一条记录占用若干 block（不要求连续），通过空闲栈复用
+ * - 堆上只保留 key → block 下标的索引，值本身不进入 GC 扫描范围
+ *
+ * 淘汰策略：
+ * - 索引按访问顺序维护（LRU），空间不足时从最久未访问的记录开始淘汰
+ * - 记录带过期时间，读取时发现过期立即释放
+ *
+ * 线程安全：所有操作在同一把锁内完成，读取时将数据拷贝到堆上返回
+ */
+public class OffHeapSlabStore {
+
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final int slabSize;
+    private final int maxBlocks;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private final LinkedHashMap<String, Slot> index = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * 空闲 block 栈
+     */
+    private final int[] freeBlocks;
+    private int freeTop;
+
+    /**
+     * 已切分出的 block 数量（只增不减，释放的 block 进入空闲栈）
+     */
+    private int carvedBlocks;
+    private long usedBytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param capacityBytes 堆外内存上限（字节）
+     * @param blockSize     block 大小（字节）
+     * @param slabSize      单个 slab 大小（字节），需为 blockSize 的整数倍
+     */
+    public OffHeapSlabStore(long capacityBytes, int blockSize, int slabSize) {
+        if (blockSize <= 0 || slabSize < blockSize || slabSize % blockSize != 0) {
+            throw new IllegalArgumentException("slabSize 必须为 blockSize 的正整数倍: blockSize="
+                    + blockSize + ", slabSize=" + slabSize);
+        }
+        this.blockSize = blockSize;
+        this.slabSize = slabSize;
+        this.blocksPerSlab = slabSize / blockSize;
+        long slabCount = Math.max(1L, capacityBytes / slabSize);
+        this.maxBlocks = (int) Math.min(Integer.MAX_VALUE - 8L, slabCount * blocksPerSlab);
+        this.freeBlocks = new int[maxBlocks];
+    }
+
+    /**
+     * 写入记录，空间不足时按 LRU 淘汰
+     *
+     * @param key      键
+     * @param data     序列化后的值
+     * @param ttlNanos 存活时间（纳秒）
+     * @return 是否写入成功（单条记录超过总容量时返回 false）
+     */
+    public boolean put(String key, byte[] data, long ttlNanos) {
+        int needed = Math.max(1, (data.length + blockSize - 1) / blockSize);
+        if (needed > maxBlocks) {
+            return false;
+        }
+
+        lock.lock();
+        try {
+            Slot previous = index.remove(key);
+            if (previous != null) {
+                release(previous);
+            }
+
+            int[] blocks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                blocks[i] = allocateBlock();
+            }
+
+            int offset = 0;
+            for (int block : blocks) {
+                int length = Math.min(blockSize, data.length - offset);
+                slabOf(block).put(offsetOf(block), data, offset, length);
+                offset += length;
+            }
+
+            index.put(key, new Slot(blocks, data.length, System.nanoTime() + ttlNanos));
+            usedBytes += (long) needed * blockSize;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 读取记录
+     *
+     * @return 数据副本，不存在或已过期时返回 null
+     */
+    public byte[] get(String key) {
+        lock.lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null) {
+                missCount.increment();
+                return null;
+            }
+            if (slot.expireAtNanos() - System.nanoTime() <= 0) {
+                index.remove(key);
+                release(slot);
+                missCount.increment();
+                return null;
+            }
+
+            byte[] data = new byte[slot.length()];
+            int offset = 0;
+            for (int block : slot.blocks()) {
+                int length = Math.min(blockSize, data.length - offset);
+                slabOf(block).get(offsetOf(block), data, offset, length);
+                offset += length;
+            }
+            hitCount.increment();
+            return data;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 是否存在未过期的记录，不复制数据、不计入命中统计
+     * 调用方通常随后读取该记录，因此与 get 一样刷新 LRU 顺序；已过期的记录在此时释放
+     */
+    public boolean contains(String key) {
+        lock.lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return false;
+            }
+            if (slot.expireAtNanos() - System.nanoTime() <= 0) {
+                index.remove(key);
+                release(slot);
+                return false;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除记录
+     */
+    public void remove(String key) {
+        lock.lock();
+        try {
+            Slot slot = index.remove(key);
+            if (slot != null) {
+                release(slot);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空所有记录并释放 slab 引用（堆外内存随 DirectByteBuffer 回收）
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            slabs.clear();
+            freeTop = 0;
+            carvedBlocks = 0;
+            usedBytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 已占用的堆外内存（按 block 计，字节）
+     */
+    public long getUsedBytes() {
+        lock.lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 已申请的堆外内存（字节）
+     */
+    public long getAllocatedBytes() {
+        lock.lock();
+        try {
+            return (long) slabs.size() * slabSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 堆外内存上限（字节）
+     */
+    public long getCapacityBytes() {
+        return (long) maxBlocks * blockSize;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return index.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    // ==================== 私有方法 ====================
+
+    /**
+     * 分配一个 block：优先复用空闲 block，其次切分新 block，最后淘汰最久未访问的记录
+     * 调用方需持有锁
+     */
+    private int allocateBlock() {
+        while (true) {
+            if (freeTop > 0) {
+                return freeBlocks[--freeTop];
+            }
+            if (carvedBlocks < maxBlocks) {
+                int block = carvedBlocks++;
+                if (block / blocksPerSlab >= slabs.size()) {
+                    slabs.add(ByteBuffer.allocateDirect(slabSize));
+                }
+                return block;
+            }
+            evictEldest();
+        }
+    }
+
+    /**
+     * 淘汰最久未访问的记录，调用方需持有锁
+     */
+    private void evictEldest() {
+        Iterator<Map.Entry<String, Slot>> iterator = index.entrySet().iterator();
+        if (!iterator.hasNext()) {
+            throw new IllegalStateException("堆外存储无可淘汰记录");
+        }
+        Slot eldest = iterator.next().getValue();
+        iterator.remove();
+        release(eldest);
+        evictionCount.increment();
+    }
+
+    /**
+     * 归还记录占用的 block，调用方需持有锁
+     */
+    private void release(Slot slot) {
+        for (int block : slot.blocks()) {
+            freeBlocks[freeTop++] = block;
+        }
+        usedBytes -= (long) slot.blocks().length * blockSize;
+    }
+
+    private ByteBuffer slabOf(int block) {
+        return slabs.get(block / blocksPerSlab);
+    }
+
+    private int offsetOf(int block) {
+        return (block % blocksPerSlab) * blockSize;
+    }
+
+    /**
+     * 索引项
+     *
+     * @param blocks        占用的 block 下标
+     * @param length        数据长度（字节）
+     * @param expireAtNanos 过期时刻（System.nanoTime 基准）
+     */
+    private record Slot(int[] blocks, int length, long expireAtNanos) {
+    }
+}
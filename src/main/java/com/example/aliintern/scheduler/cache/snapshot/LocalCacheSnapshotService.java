@@ -0,0 +1,312 @@
+package com.example.aliintern.scheduler.cache.snapshot;
+
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.codec.CacheValueSerializer;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地缓存快照服务
+ *
+ * 职责：
+ * - 定期将本地缓存中最热的条目写入本地文件（关闭实例时再写一次）
+ * - 启动时并行加载快照，跳过已过期的条目，使新实例在秒级内达到稳定命中率
+ *
+ * 文件格式（大端）：
+ * - 文件头：magic(int) | version(byte) | createdAt(long) | count(int)
+ * - 条目：key | bizType | className | ttlLevel(byte) | expireAt(long, epoch ms) | loadMillis(long) | length(int) | value
+ *   （bizType 为本地缓存分区的业务类型，默认分区为空字符串；版本 1 的文件没有该字段）
+ * - 字符串为 length(int) + UTF-8 字节；value 为 {@link CacheValueSerializer} 的编码结果
+ *
+ * 说明：
+ * - 先写临时文件再原子替换，进程中途退出不会留下损坏的快照
+ * - 剩余 TTL 以绝对时间保存，重启耗时会从剩余 TTL 中扣除
+ * - 快照期间及停机期间 Redis 中的值可能已被更新，而失效广播不会送达尚未启动的实例，
+ *   因此恢复的条目剩余 TTL 不超过 scheduler.cache.snapshot.restore-max-ttl-seconds，过期后按正常流程重新加载
+ * - 值类型在加载时按类名解析，类不存在或解码失败的条目被跳过
+ * - 只包含 Caffeine 层，堆外缓存层（大对象）不写入快照，重启后由正常访问重新填充
+ */
+@Slf4j
+@Component
+public class LocalCacheSnapshotService {
+
+    private static final int MAGIC = 0x4C31534E;
+    private static final byte VERSION = 2;
+
+    private final LocalCacheClient localCache;
+    private final CacheValueSerializer serializer;
+    private final SchedulerProperties schedulerProperties;
+
+    private ScheduledExecutorService scheduler;
+
+    public LocalCacheSnapshotService(LocalCacheClient localCache,
+                                     CacheValueSerializer serializer,
+                                     SchedulerProperties schedulerProperties) {
+        this.localCache = localCache;
+        this.serializer = serializer;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    @PostConstruct
+    public void init() {
+        SchedulerProperties.CacheConfig.SnapshotConfig config = schedulerProperties.getCache().getSnapshot();
+        if (!Boolean.TRUE.equals(config.getEnabled())) {
+            return;
+        }
+
+        load();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "local-cache-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getIntervalSeconds();
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.SECONDS);
+        log.info("本地缓存快照已开启: path={}, interval={}s, maxEntries={}",
+                config.getPath(), interval, config.getMaxEntries());
+    }
+
+    /**
+     * 写入快照
+     *
+     * @return 写入的条目数
+     */
+    public int snapshot() throws IOException {
+        SchedulerProperties.CacheConfig.SnapshotConfig config = schedulerProperties.getCache().getSnapshot();
+        long start = System.nanoTime();
+        List<LocalCacheClient.HotEntry> entries = localCache.hottest(config.getMaxEntries());
+
+        // 先完成编码，编码失败的条目不写入
+        List<LocalCacheClient.HotEntry> encodedEntries = new ArrayList<>(entries.size());
+        List<byte[]> encodedValues = new ArrayList<>(entries.size());
+        for (LocalCacheClient.HotEntry entry : entries) {
+            try {
+                encodedValues.add(serializer.encode(entry.value()));
+                encodedEntries.add(entry);
+            } catch (Exception e) {
+                log.debug("快照条目编码失败，跳过: key={}, error={}", entry.key(), e.getMessage());
+            }
+        }
+
+        Path path = Paths.get(config.getPath()).toAbsolutePath();
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        long now = System.currentTimeMillis();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(now);
+            out.writeInt(encodedEntries.size());
+
+            for (int i = 0; i < encodedEntries.size(); i++) {
+                LocalCacheClient.HotEntry entry = encodedEntries.get(i);
+                byte[] value = encodedValues.get(i);
+                writeString(out, entry.key());
+                writeString(out, entry.bizType() != null ? entry.bizType() : "");
+                writeString(out, entry.value().getClass().getName());
+                out.writeByte(entry.ttlLevel() != null ? entry.ttlLevel().ordinal() : -1);
+                out.writeLong(now + entry.remainingMillis());
+                out.writeLong(entry.loadMillis());
+                out.writeInt(value.length);
+                out.write(value);
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("本地缓存快照完成: entries={}, cost={}ms", encodedEntries.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return encodedEntries.size();
+    }
+
+    /**
+     * 加载快照
+     * 顺序读取文件，解码与写入缓存并行执行
+     *
+     * @return 恢复的条目数
+     */
+    public int load() {
+        SchedulerProperties.CacheConfig.SnapshotConfig config = schedulerProperties.getCache().getSnapshot();
+        Path path = Paths.get(config.getPath()).toAbsolutePath();
+        if (!Files.exists(path)) {
+            log.info("本地缓存快照不存在，跳过预热: path={}", path);
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        List<Record> records;
+        try {
+            records = readRecords(path);
+        } catch (Exception e) {
+            log.warn("本地缓存快照读取失败，跳过预热: path={}, error={}", path, e.getMessage());
+            return 0;
+        }
+
+        int threads = Math.max(1, Math.min(config.getLoadThreads(), records.size()));
+        AtomicInteger restored = new AtomicInteger();
+        Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "local-cache-snapshot-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = offset; i < records.size(); i += threads) {
+                        if (restore(records.get(i), classes)) {
+                            restored.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            log.warn("本地缓存快照加载中断: error={}", e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("本地缓存快照加载完成: total={}, restored={}, cost={}ms", records.size(), restored.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return restored.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        snapshotQuietly();
+    }
+
+    // ==================== 私有方法 ====================
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.warn("本地缓存快照失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 读取快照中未过期的条目
+     */
+    private List<Record> readRecords(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("不是本地缓存快照文件");
+            }
+            byte version = in.readByte();
+            if (version != 1 && version != VERSION) {
+                throw new IOException("不支持的快照版本: " + version);
+            }
+            in.readLong();
+            int count = in.readInt();
+
+            long now = System.currentTimeMillis();
+            List<Record> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String key = readString(in);
+                String bizType = version >= 2 ? readString(in) : "";
+                String className = readString(in);
+                byte level = in.readByte();
+                long expireAt = in.readLong();
+                long loadMillis = in.readLong();
+                byte[] value = new byte[in.readInt()];
+                in.readFully(value);
+
+                if (expireAt > now) {
+                    CacheTtlLevel ttlLevel = level >= 0 && level < CacheTtlLevel.values().length
+                            ? CacheTtlLevel.values()[level] : CacheTtlLevel.SHORT;
+                    records.add(new Record(key, bizType.isEmpty() ? null : bizType, className, ttlLevel, expireAt,
+                            loadMillis, value));
+                }
+            }
+            return records;
+        }
+    }
+
+    private boolean restore(Record record, Map<String, Class<?>> classes) {
+        try {
+            Class<?> type = classes.computeIfAbsent(record.className(), this::resolveClass);
+            if (type == Void.class) {
+                return false;
+            }
+            Object value = serializer.decode(record.value(), type);
+            long maxMillis = TimeUnit.SECONDS.toMillis(
+                    schedulerProperties.getCache().getSnapshot().getRestoreMaxTtlSeconds());
+            long remainingMillis = Math.min(record.expireAt() - System.currentTimeMillis(), maxMillis);
+            return localCache.restore(record.bizType(), record.key(), value, record.ttlLevel(), remainingMillis,
+                    record.loadMillis());
+        } catch (Exception e) {
+            log.debug("快照条目恢复失败，跳过: key={}, error={}", record.key(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 解析值类型，类不存在时返回 Void.class 作为标记
+     */
+    private Class<?> resolveClass(String className) {
+        try {
+            return Class.forName(className, false, getClass().getClassLoader());
+        } catch (ClassNotFoundException e) {
+            log.warn("快照值类型不存在，相关条目将被跳过: {}", className);
+            return Void.class;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 快照条目（已读取、未解码）
+     */
+    private record Record(String key, String bizType, String className, CacheTtlLevel ttlLevel, long expireAt,
+                          long loadMillis, byte[] value) {
+    }
+}
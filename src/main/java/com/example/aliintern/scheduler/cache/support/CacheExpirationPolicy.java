@@ -0,0 +1,112 @@
+package com.example.aliintern.scheduler.cache.support;
+
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import com.example.aliintern.scheduler.tuning.TuningListener;
+import com.example.aliintern.scheduler.tuning.TuningSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 缓存过期策略
+ *
+ * 职责：
+ * - 将 TTL 等级映射为具体时长，并叠加随机抖动，打散同批写入 key 的过期时间
+ * - 实现 XFetch 概率提前过期：根据回源耗时和剩余 TTL 判断本次读取是否应提前回源
+ *
+ * XFetch 判定公式：
+ *   -delta * beta * ln(rand) >= remaining
+ * 其中 delta 为回源耗时，remaining 为剩余 TTL，rand ∈ (0, 1]
+ * 回源越慢、越接近过期，提前刷新的概率越大；同一时刻只有少数请求会命中，避免缓存击穿
+ *
+ * 运行时调参后 TTL 秒数取自调参快照，只影响之后写入的条目
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheExpirationPolicy implements TuningListener {
+
+    private final SchedulerProperties schedulerProperties;
+
+    /**
+     * 运行时调参快照，未调参时为 null（读取启动配置）
+     */
+    private volatile TuningSnapshot tuning;
+
+    @Override
+    public void onTuning(TuningSnapshot snapshot) {
+        tuning = snapshot;
+    }
+
+    /**
+     * 本地缓存 TTL（含抖动）
+     */
+    public Duration localTtl(CacheTtlLevel level) {
+        TuningSnapshot tuned = tuning;
+        return jitter(tuned != null
+                ? tuned.localTtl().seconds(level)
+                : resolveSeconds(schedulerProperties.getCache().getTtl().getLocal(), level));
+    }
+
+    /**
+     * Redis TTL（含抖动）
+     */
+    public Duration remoteTtl(CacheTtlLevel level) {
+        TuningSnapshot tuned = tuning;
+        return jitter(tuned != null
+                ? tuned.remoteTtl().seconds(level)
+                : resolveSeconds(schedulerProperties.getCache().getTtl().getRemote(), level));
+    }
+
+    /**
+     * 判断是否需要提前回源（XFetch）
+     *
+     * @param loadMillis      上次回源耗时（毫秒），未知时传 0
+     * @param remainingMillis 剩余 TTL（毫秒）
+     * @return true 表示本次读取应视为未命中并回源刷新
+     */
+    public boolean shouldRefreshEarly(long loadMillis, long remainingMillis) {
+        SchedulerProperties.CacheConfig.ExpireConfig config = schedulerProperties.getCache().getExpire();
+        if (!Boolean.TRUE.equals(config.getEarlyRefreshEnabled()) || loadMillis <= 0) {
+            return false;
+        }
+        if (remainingMillis <= 0) {
+            return true;
+        }
+
+        // 1.0 - nextDouble() ∈ (0, 1]，避免 ln(0)
+        double rand = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double beta = config.getEarlyRefreshBeta() != null ? config.getEarlyRefreshBeta() : 1.0;
+        return -loadMillis * beta * Math.log(rand) >= remainingMillis;
+    }
+
+    /**
+     * 叠加随机抖动：只缩短不延长，避免超出配置的最长缓存时间
+     */
+    private Duration jitter(long seconds) {
+        long baseMillis = seconds * 1000L;
+        Double ratio = schedulerProperties.getCache().getExpire().getJitterRatio();
+        if (ratio == null || ratio <= 0 || baseMillis <= 0) {
+            return Duration.ofMillis(baseMillis);
+        }
+
+        long maxJitter = (long) (baseMillis * Math.min(ratio, 1.0));
+        if (maxJitter <= 0) {
+            return Duration.ofMillis(baseMillis);
+        }
+        return Duration.ofMillis(baseMillis - ThreadLocalRandom.current().nextLong(maxJitter + 1));
+    }
+
+    private long resolveSeconds(SchedulerProperties.CacheConfig.TtlConfig.TtlLevelConfig config, CacheTtlLevel level) {
+        if (level == null) {
+            return config.getNormalTtl();
+        }
+        return switch (level) {
+            case SHORT -> config.getShortTtl();
+            case NORMAL -> config.getNormalTtl();
+            case LONG -> config.getLongTtl();
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.aliintern.scheduler.cache.support;
+
+/**
+ * 缓存值大小估算器
+ *
+ * 本地缓存按估算字节数限制容量（Caffeine maximumWeight），写入时对每条记录估算一次
+ * 默认实现见 {@link DefaultCacheValueSizer}，业务可注册 @Primary Bean 替换为更精确的实现
+ */
+public interface CacheValueSizer {
+
+    /**
+     * 估算缓存值占用的堆内存
+     *
+     * @param value 缓存值（非 null）
+     * @return 估算字节数
+     */
+    long sizeOf(Object value);
+}
@@ -0,0 +1,102 @@
+package com.example.aliintern.scheduler.cache.support;
+
+import com.example.aliintern.scheduler.cache.codec.SmileCacheCodec;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 默认缓存值大小估算器
+ *
+ * 估算规则（64 位 JVM，压缩指针）：
+ * - String：对象头 + 字符数组，按每字符 2 字节保守估算
+ * - byte[]：数组头 + 长度
+ * - 数值、布尔、枚举等：固定 16 字节
+ * - Collection / Map：容器开销 + 逐元素估算（元素数量超过上限时按已采样的均值外推）
+ * - 其他对象：Smile 编码长度 × 膨胀系数，编码失败时使用配置的默认值
+ *
+ * 估算只用于容量控制，不追求精确，关注的是让 200KB 的对象与 200B 的对象按各自的量级占用额度
+ */
+@Slf4j
+@Component
+public class DefaultCacheValueSizer implements CacheValueSizer {
+
+    private static final long OBJECT_HEADER = 16L;
+    private static final long REFERENCE = 8L;
+
+    /**
+     * 容器逐元素估算的采样上限
+     */
+    private static final int SAMPLE_LIMIT = 64;
+
+    /**
+     * 堆上对象相对 Smile 编码的膨胀系数（对象头、引用、包装类型等）
+     */
+    private static final int HEAP_EXPANSION = 3;
+
+    private final SmileCacheCodec smileCodec;
+    private final SchedulerProperties schedulerProperties;
+
+    public DefaultCacheValueSizer(SmileCacheCodec smileCodec, SchedulerProperties schedulerProperties) {
+        this.smileCodec = smileCodec;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    @Override
+    public long sizeOf(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof String s) {
+            return stringSize(s);
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_HEADER + bytes.length;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum<?>) {
+            return OBJECT_HEADER;
+        }
+        if (value instanceof Collection<?> collection) {
+            return OBJECT_HEADER * 2 + sampledSize(collection, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            // 每个 Map.Entry 约 32 字节 + 桶数组引用
+            return OBJECT_HEADER * 3 + (long) map.size() * (32 + REFERENCE)
+                    + sampledSize(map.keySet(), map.size()) + sampledSize(map.values(), map.size());
+        }
+
+        try {
+            return OBJECT_HEADER + (long) smileCodec.encode(value).length * HEAP_EXPANSION;
+        } catch (Exception e) {
+            log.debug("缓存值大小估算失败，使用默认值: type={}, error={}", value.getClass().getName(), e.getMessage());
+            return schedulerProperties.getCache().getLocal().getDefaultEntryBytes();
+        }
+    }
+
+    /**
+     * 逐元素估算，超过采样上限时按均值外推
+     */
+    private long sampledSize(Iterable<?> elements, int total) {
+        if (total == 0) {
+            return 0L;
+        }
+
+        long sampled = 0L;
+        int count = 0;
+        for (Object element : elements) {
+            sampled += REFERENCE + (element != null ? sizeOf(element) : 0L);
+            if (++count >= SAMPLE_LIMIT) {
+                break;
+            }
+        }
+        return count == 0 ? 0L : sampled * total / count;
+    }
+
+    private static long stringSize(String s) {
+        return OBJECT_HEADER * 2 + (long) s.length() * 2;
+    }
+}
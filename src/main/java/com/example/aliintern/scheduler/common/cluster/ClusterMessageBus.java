@@ -0,0 +1,33 @@
+package com.example.aliintern.scheduler.common.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 跨实例消息总线
+ *
+ * 职责：
+ * - 向指定频道广播消息，所有订阅该频道的实例（包括自身）都会收到
+ * - 只保证尽力送达，不保证可靠投递和顺序；调用方需容忍消息丢失（如依赖 TTL 兜底）
+ *
+ * 实现：
+ * - RedisClusterMessageBus：基于 Redis Pub/Sub，用于多实例部署
+ * - LocalClusterMessageBus：进程内实现，用于单实例运行和测试
+ */
+public interface ClusterMessageBus {
+
+    /**
+     * 广播消息
+     *
+     * @param channel 频道
+     * @param message 消息内容
+     */
+    void publish(String channel, String message);
+
+    /**
+     * 订阅频道
+     *
+     * @param channel  频道
+     * @param listener 消息处理函数（在总线的分发线程上执行，不应阻塞）
+     */
+    void subscribe(String channel, Consumer<String> listener);
+}
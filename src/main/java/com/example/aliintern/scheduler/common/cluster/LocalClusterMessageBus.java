@@ -0,0 +1,47 @@
+package com.example.aliintern.scheduler.common.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 进程内消息总线
+ *
+ * 消息在发布线程上同步分发给所有订阅者，用于单实例运行和测试
+ * 多个组件共用同一个实例即可模拟多节点之间的广播
+ *
+ * 启用方式：scheduler.cluster.transport=local
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "scheduler.cluster", name = "transport", havingValue = "local")
+public class LocalClusterMessageBus implements ClusterMessageBus {
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, String message) {
+        List<Consumer<String>> subscribers = listeners.get(channel);
+        if (subscribers == null) {
+            return;
+        }
+        for (Consumer<String> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (Exception e) {
+                log.warn("本地消息处理失败: channel={}, error={}", channel, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+}
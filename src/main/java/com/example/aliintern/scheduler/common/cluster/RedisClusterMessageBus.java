@@ -0,0 +1,82 @@
+package com.example.aliintern.scheduler.common.cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * 基于 Redis Pub/Sub 的消息总线
+ *
+ * 说明：
+ * - 发布使用 PUBLISH，订阅使用独立的监听容器（专用订阅连接）
+ * - 订阅连接断开后由容器按恢复间隔自动重连，期间的消息会丢失
+ * - Redis 不可用时发布失败只记录日志，不影响主流程
+ *
+ * 启用方式：scheduler.cluster.transport=redis（默认）
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "scheduler.cluster", name = "transport", havingValue = "redis", matchIfMissing = true)
+public class RedisClusterMessageBus implements ClusterMessageBus {
+
+    private static final long RECOVERY_INTERVAL_MILLIS = 5000L;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+
+    public RedisClusterMessageBus(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.setRecoveryInterval(RECOVERY_INTERVAL_MILLIS);
+        this.container.afterPropertiesSet();
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            log.warn("Redis 消息发布失败: channel={}, error={}", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        try {
+            // 容器已启动时添加监听会立即发起订阅，Redis 不可用时由容器按恢复间隔重试
+            container.addMessageListener((message, pattern) -> {
+                try {
+                    listener.accept(new String(message.getBody(), StandardCharsets.UTF_8));
+                } catch (Exception e) {
+                    log.warn("Redis 消息处理失败: channel={}, error={}", channel, e.getMessage());
+                }
+            }, new ChannelTopic(channel));
+
+            if (!container.isRunning()) {
+                container.start();
+            }
+        } catch (Exception e) {
+            log.warn("Redis 订阅启动失败，将按恢复间隔重试: channel={}, error={}", channel, e.getMessage());
+            return;
+        }
+        log.info("Redis 频道订阅成功: channel={}", channel);
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            log.warn("Redis 订阅容器关闭失败: {}", e.getMessage());
+        }
+    }
+}
@@ -28,5 +28,19 @@ public enum CacheMode {
      * 同时使用本地缓存 + Redis
      * 适用于：高频热点数据，追求极致性能
      */
-    LOCAL_AND_REMOTE
+    LOCAL_AND_REMOTE;
+
+    /**
+     * 是否使用本地缓存
+     */
+    public boolean usesLocal() {
+        return this == LOCAL_ONLY || this == LOCAL_AND_REMOTE;
+    }
+
+    /**
+     * 是否使用 Redis
+     */
+    public boolean usesRemote() {
+        return this == REMOTE_ONLY || this == LOCAL_AND_REMOTE;
+    }
 }
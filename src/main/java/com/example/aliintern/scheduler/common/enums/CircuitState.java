@@ -0,0 +1,22 @@
+package com.example.aliintern.scheduler.common.enums;
+
+/**
+ * 熔断器状态
+ */
+public enum CircuitState {
+
+    /**
+     * 关闭 - 正常放行
+     */
+    CLOSED,
+
+    /**
+     * 打开 - 拒绝请求，直接兜底
+     */
+    OPEN,
+
+    /**
+     * 半开 - 熔断到期，放行一次探测请求
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,30 @@
+package com.example.aliintern.scheduler.common.enums;
+
+/**
+ * 请求的个性化程度
+ * 决定响应能否在用户之间共享缓存，以及使用哪个缓存键
+ */
+public enum Personalization {
+
+    /**
+     * 非个性化：所有用户共享同一份缓存（缓存键为 cacheKey）
+     */
+    SHARED,
+
+    /**
+     * 按用户分群：同一分群共享缓存（缓存键为 cacheKey|v:segment，分群由业务注册的函数计算）
+     */
+    SEGMENTED,
+
+    /**
+     * 完全个性化：响应只属于当前用户，不写入任何共享缓存，直连数据库
+     */
+    PERSONAL;
+
+    /**
+     * 未指定时按非个性化处理
+     */
+    public static Personalization orDefault(Personalization personalization) {
+        return personalization != null ? personalization : SHARED;
+    }
+}
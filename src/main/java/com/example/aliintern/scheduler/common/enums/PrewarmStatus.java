@@ -0,0 +1,32 @@
+package com.example.aliintern.scheduler.common.enums;
+
+/**
+ * 预热任务状态
+ */
+public enum PrewarmStatus {
+
+    /**
+     * 已登记，等待预热时间
+     */
+    SCHEDULED,
+
+    /**
+     * 正在回源并写入缓存
+     */
+    WARMING,
+
+    /**
+     * 预热完成，活动期间 key 固定为指定热点等级
+     */
+    WARMED,
+
+    /**
+     * 预热失败（未注册回源函数或回源异常）
+     */
+    FAILED,
+
+    /**
+     * 活动已结束，固定等级解除
+     */
+    EXPIRED
+}
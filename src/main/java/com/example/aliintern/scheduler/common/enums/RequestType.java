@@ -0,0 +1,54 @@
+package com.example.aliintern.scheduler.common.enums;
+
+/**
+ * 请求类型
+ * 表达请求对数据一致性的要求，决定是否经过访问统计与缓存
+ */
+public enum RequestType {
+
+    /**
+     * 普通读请求
+     * 完整流程：访问统计 -> 热点识别 -> 策略决策 -> 缓存访问
+     */
+    READ,
+
+    /**
+     * 写请求（如订单提交、支付回调）
+     * 跳过访问统计与缓存，直连数据库，完成后使该 key 的缓存失效
+     */
+    WRITE,
+
+    /**
+     * 强一致读请求
+     * 记录访问频次（参与热点识别），但不读写缓存，直连数据库
+     */
+    CONSISTENT_READ;
+
+    /**
+     * 是否记录访问统计
+     */
+    public boolean recordsAccess() {
+        return this != WRITE;
+    }
+
+    /**
+     * 是否读写缓存
+     */
+    public boolean usesCache() {
+        return this == READ;
+    }
+
+    /**
+     * 完成后是否使缓存失效
+     */
+    public boolean invalidatesCache() {
+        return this == WRITE;
+    }
+
+    /**
+     * 未指定类型的请求按普通读处理
+     */
+    public static RequestType orDefault(RequestType type) {
+        return type != null ? type : READ;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.aliintern.scheduler.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 回源成本草图
+ *
+ * 固定内存的 Count-Min 结构：depth 行 × width 列，每个格子保存回源耗时与值大小的指数移动平均以及样本数，
+ * 三者打包在一个 long 中（高 28 位耗时微秒，中间 28 位大小字节，低 8 位样本数，饱和于 255），单次 CAS 更新
+ *
+ * 估算时取打包值最小的一行，耗时与大小来自同一个格子，不会把不同 key 的耗时和大小拼在一起；
+ * 格子为 0 表示没有记录，任一行为空或样本数不足时视为未知，由调用方按默认策略处理
+ */
+public class CostSketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+    private static final int COUNT_BITS = 8;
+    private static final int VALUE_BITS = 28;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+    private static final int SIZE_SHIFT = COUNT_BITS;
+    private static final int COST_SHIFT = COUNT_BITS + VALUE_BITS;
+
+    private final int width;
+    private final int shift;
+    private final int minSamples;
+    private final AtomicLongArray cells;
+
+    /**
+     * @param width 每行的列数，向上取整为 2 的幂
+     */
+    public CostSketch(int width) {
+        this(width, 1);
+    }
+
+    /**
+     * @param width      每行的列数，向上取整为 2 的幂
+     * @param minSamples 格子至少累计的样本数，不足时估算视为未知
+     */
+    public CostSketch(int width, int minSamples) {
+        int normalized = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.width = normalized;
+        this.shift = 64 - Integer.numberOfTrailingZeros(normalized);
+        this.minSamples = (int) Math.min(COUNT_MASK, Math.max(1, minSamples));
+        this.cells = new AtomicLongArray(DEPTH * normalized);
+    }
+
+    /**
+     * 记录一次回源
+     *
+     * @param key        缓存键
+     * @param costMicros 回源耗时（微秒，超过 2^28 - 1 时截断）
+     * @param sizeBytes  值大小（字节，超过 2^28 - 1 时截断）
+     */
+    public void record(String key, long costMicros, long sizeBytes) {
+        long cost = clamp(costMicros);
+        long size = clamp(sizeBytes);
+        int hash = key.hashCode();
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(row, hash);
+            while (true) {
+                long old = cells.get(index);
+                long updated = old == 0
+                        ? pack(cost, size, 1)
+                        : pack(ewma(cost(old), cost), ewma(size(old), size), Math.min(COUNT_MASK, count(old) + 1));
+                if (cells.compareAndSet(index, old, updated)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 估算回源成本
+     *
+     * @param key 缓存键
+     * @return [耗时微秒, 大小字节]，未知时返回 null
+     */
+    public long[] estimate(String key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            long cell = cells.get(index(row, hash));
+            if (cell == 0 || count(cell) < minSamples) {
+                return null;
+            }
+            min = Math.min(min, cell);
+        }
+        return new long[]{cost(min), size(min)};
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    private int index(int row, int hash) {
+        long h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+        h ^= h >>> 29;
+        return row * width + (int) (h >>> shift);
+    }
+
+    /**
+     * 平滑系数 1/4：新值 = 旧值 + (样本 - 旧值) / 4
+     */
+    private static long ewma(long old, long sample) {
+        return Math.max(1L, old + (sample - old) / 4);
+    }
+
+    /**
+     * 限制在 [1, 2^28 - 1]，0 保留给空格子
+     */
+    private static long clamp(long value) {
+        return Math.min(VALUE_MASK, Math.max(1L, value));
+    }
+
+    private static long pack(long cost, long size, long count) {
+        return (cost << COST_SHIFT) | (size << SIZE_SHIFT) | count;
+    }
+
+    private static long cost(long cell) {
+        return cell >>> COST_SHIFT;
+    }
+
+    private static long size(long cell) {
+        return (cell >>> SIZE_SHIFT) & VALUE_MASK;
+    }
+
+    private static long count(long cell) {
+        return cell & COUNT_MASK;
+    }
+}
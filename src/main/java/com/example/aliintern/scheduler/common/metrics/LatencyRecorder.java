@@ -0,0 +1,58 @@
+package com.example.aliintern.scheduler.common.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无锁延迟直方图
+ *
+ * 按微秒的 2 的幂分桶（[0,1)、[1,2)、[2,4) ...），记录只做一次原子自增；
+ * 百分位取所在桶的上界，精度在 2 倍以内，足够用于判断“是否变慢”
+ *
+ * 采样方读取后清零，每个采样周期独立统计
+ */
+public class LatencyRecorder {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0L, TimeUnit.NANOSECONDS.toMicros(nanos));
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        counts.incrementAndGet(bucket);
+    }
+
+    /**
+     * 读取本周期的百分位并清零
+     *
+     * @param percentile 百分位（0 ~ 1），如 0.99
+     * @return 百分位耗时（毫秒），本周期没有记录时返回 0
+     */
+    public double percentileAndReset(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.getAndSet(i, 0);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0.0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return (1L << i) / 1000.0;
+            }
+        }
+        return (1L << (BUCKETS - 1)) / 1000.0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.aliintern.scheduler.common.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 系统负载信号记录
+ *
+ * 由缓存访问代理在访问路径上记录（均为无锁操作），由 SystemLoadMonitor 在后台线程采样：
+ * - Redis 读取耗时
+ * - 回源耗时
+ * - 正在进行的回源数量（数据库并发）
+ */
+@Component
+public class LoadSignalRecorder {
+
+    private final LatencyRecorder redisLatency = new LatencyRecorder();
+    private final LatencyRecorder loaderLatency = new LatencyRecorder();
+    private final AtomicInteger loadsInFlight = new AtomicInteger();
+
+    public void recordRedisLatency(long nanos) {
+        redisLatency.record(nanos);
+    }
+
+    public void recordLoaderLatency(long nanos) {
+        loaderLatency.record(nanos);
+    }
+
+    /**
+     * 回源开始，需与 {@link #loadFinished()} 成对调用
+     */
+    public void loadStarted() {
+        loadsInFlight.incrementAndGet();
+    }
+
+    public void loadFinished() {
+        loadsInFlight.decrementAndGet();
+    }
+
+    public LatencyRecorder getRedisLatency() {
+        return redisLatency;
+    }
+
+    public LatencyRecorder getLoaderLatency() {
+        return loaderLatency;
+    }
+
+    public int getLoadsInFlight() {
+        return loadsInFlight.get();
+    }
+}
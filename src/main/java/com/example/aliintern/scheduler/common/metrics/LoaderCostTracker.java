@@ -0,0 +1,85 @@
+package com.example.aliintern.scheduler.common.metrics;
+
+import com.example.aliintern.scheduler.cache.support.CacheValueSizer;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 回源成本记录
+ *
+ * 缓存访问代理在每次回源成功后记录 key 的回源耗时与值大小（{@link CostSketch}，固定内存），
+ * 供成本感知决策按“节省的数据库时间 / 占用的缓存字节”选择缓存层与 TTL
+ *
+ * 未开启成本感知决策时不记录，避免回源路径上额外的大小估算
+ */
+@Slf4j
+@Component
+public class LoaderCostTracker {
+
+    private final CacheValueSizer valueSizer;
+    private final SchedulerProperties schedulerProperties;
+    private final CostSketch sketch;
+
+    public LoaderCostTracker(CacheValueSizer valueSizer, SchedulerProperties schedulerProperties) {
+        this.valueSizer = valueSizer;
+        this.schedulerProperties = schedulerProperties;
+        this.sketch = new CostSketch(schedulerProperties.getStrategy().getCostSketchWidth(),
+                schedulerProperties.getStrategy().getCostMinSamples());
+    }
+
+    /**
+     * 记录一次回源
+     *
+     * @param key       缓存键
+     * @param loadNanos 回源耗时（纳秒）
+     * @param value     回源结果，为 null 时不记录
+     */
+    public void record(String key, long loadNanos, Object value) {
+        if (key == null || value == null || !isEnabled()) {
+            return;
+        }
+
+        try {
+            sketch.record(key, TimeUnit.NANOSECONDS.toMicros(loadNanos), valueSizer.sizeOf(value));
+        } catch (Exception e) {
+            log.debug("回源成本记录失败: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 估算 key 的回源成本
+     *
+     * @param key 缓存键
+     * @return 回源成本，没有记录或样本数不足时返回 null
+     */
+    public KeyCost estimate(String key) {
+        if (key == null) {
+            return null;
+        }
+        long[] estimate = sketch.estimate(key);
+        return estimate != null ? new KeyCost(estimate[0] / 1000.0, estimate[1]) : null;
+    }
+
+    private boolean isEnabled() {
+        return Boolean.TRUE.equals(schedulerProperties.getStrategy().getCostAwareEnabled());
+    }
+
+    /**
+     * 回源成本
+     *
+     * @param loadMillis 回源耗时（毫秒，移动平均）
+     * @param sizeBytes  值大小（字节，移动平均）
+     */
+    public record KeyCost(double loadMillis, long sizeBytes) {
+
+        /**
+         * 每 KB 缓存节省的回源时间（毫秒），即 GreedyDual-Size 中的 cost / size
+         */
+        public double millisPerKb() {
+            return loadMillis / Math.max(1.0, sizeBytes / 1024.0);
+        }
+    }
+}
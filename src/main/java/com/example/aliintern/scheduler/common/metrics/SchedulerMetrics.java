@@ -0,0 +1,186 @@
+package com.example.aliintern.scheduler.common.metrics;
+
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 调度层 Micrometer 指标
+ *
+ * 所有指标在启动时预先注册，访问路径上只按枚举下标取出已注册的指标并递增，不按 key 打标签：
+ * - scheduler.stage.duration{stage}：调度流程各阶段耗时（record / detect / decide / access），每个请求计一次；
+ *   批量处理中整批执行的阶段按 key 数均摊，计时器总耗时与实际耗时一致
+ * - scheduler.cache.requests{tier, result, level}：本地缓存与 Redis 的命中 / 未命中次数（按热点等级）
+ * - scheduler.hotspot.transitions{from, to}：key 的热点等级变化次数
+ * - scheduler.loader.duration{outcome}：回源耗时（success / error）
+ * - scheduler.redis.errors{operation}：Redis 读 / 写 / 访问统计异常次数
+ *
+ * 通过 actuator 的 /actuator/metrics 端点导出
+ */
+@Component
+public class SchedulerMetrics {
+
+    /**
+     * 调度流程阶段
+     */
+    public enum Stage {
+        RECORD, DETECT, DECIDE, ACCESS
+    }
+
+    /**
+     * 缓存层
+     */
+    public enum Tier {
+        LOCAL, REMOTE
+    }
+
+    /**
+     * Redis 操作类型
+     */
+    public enum RedisOperation {
+        READ, WRITE, STAT
+    }
+
+    /**
+     * 未携带热点等级（如未经策略引擎的决策）时使用的标签值
+     */
+    private static final String UNKNOWN_LEVEL = "unknown";
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<RedisOperation, Counter> redisErrors = new EnumMap<>(RedisOperation.class);
+
+    /**
+     * 缓存命中计数：[tier][level（最后一位为 unknown）][0 = miss, 1 = hit]
+     */
+    private final Counter[][][] lookups;
+
+    /**
+     * 热点等级变化计数：[from][to]，from == to 时为 null
+     */
+    private final Counter[][] transitions;
+
+    private final Timer loaderSuccess;
+    private final Timer loaderError;
+
+    public SchedulerMetrics(MeterRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("scheduler.stage.duration")
+                    .description("调度流程各阶段耗时")
+                    .tag("stage", tagValue(stage))
+                    .register(registry));
+        }
+        for (RedisOperation operation : RedisOperation.values()) {
+            redisErrors.put(operation, Counter.builder("scheduler.redis.errors")
+                    .description("Redis 操作异常次数")
+                    .tag("operation", tagValue(operation))
+                    .register(registry));
+        }
+
+        HotspotLevel[] levels = HotspotLevel.values();
+        lookups = new Counter[Tier.values().length][levels.length + 1][2];
+        for (Tier tier : Tier.values()) {
+            for (int level = 0; level <= levels.length; level++) {
+                String levelTag = level < levels.length ? levels[level].name() : UNKNOWN_LEVEL;
+                for (int hit = 0; hit < 2; hit++) {
+                    lookups[tier.ordinal()][level][hit] = Counter.builder("scheduler.cache.requests")
+                            .description("缓存命中 / 未命中次数")
+                            .tag("tier", tagValue(tier))
+                            .tag("level", levelTag)
+                            .tag("result", hit == 1 ? "hit" : "miss")
+                            .register(registry);
+                }
+            }
+        }
+
+        transitions = new Counter[levels.length][levels.length];
+        for (HotspotLevel from : levels) {
+            for (HotspotLevel to : levels) {
+                if (from != to) {
+                    transitions[from.ordinal()][to.ordinal()] = Counter.builder("scheduler.hotspot.transitions")
+                            .description("热点等级变化次数")
+                            .tag("from", from.name())
+                            .tag("to", to.name())
+                            .register(registry);
+                }
+            }
+        }
+
+        loaderSuccess = Timer.builder("scheduler.loader.duration")
+                .description("回源耗时")
+                .tag("outcome", "success")
+                .register(registry);
+        loaderError = Timer.builder("scheduler.loader.duration")
+                .description("回源耗时")
+                .tag("outcome", "error")
+                .register(registry);
+    }
+
+    /**
+     * 记录阶段耗时
+     *
+     * @param stage      阶段
+     * @param startNanos 阶段开始时的 System.nanoTime()
+     */
+    public void recordStage(Stage stage, long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录阶段耗时（已计算好的时长，用于由多段组成的阶段）
+     *
+     * @param stage 阶段
+     * @param nanos 阶段耗时（纳秒）
+     */
+    public void recordStageNanos(Stage stage, long nanos) {
+        stageTimers.get(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次缓存读取结果
+     *
+     * @param tier  缓存层
+     * @param level 热点等级，可为 null
+     * @param hit   是否命中
+     */
+    public void recordLookup(Tier tier, HotspotLevel level, boolean hit) {
+        int levelIndex = level != null ? level.ordinal() : HotspotLevel.values().length;
+        lookups[tier.ordinal()][levelIndex][hit ? 1 : 0].increment();
+    }
+
+    /**
+     * 记录热点等级变化，前后等级相同或任一为 null 时不记录
+     */
+    public void recordTransition(HotspotLevel from, HotspotLevel to) {
+        if (from != null && to != null && from != to) {
+            transitions[from.ordinal()][to.ordinal()].increment();
+        }
+    }
+
+    /**
+     * 记录一次回源耗时
+     *
+     * @param nanos   回源耗时（纳秒）
+     * @param success 是否成功
+     */
+    public void recordLoad(long nanos, boolean success) {
+        (success ? loaderSuccess : loaderError).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次 Redis 操作异常
+     */
+    public void recordRedisError(RedisOperation operation) {
+        redisErrors.get(operation).increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.aliintern.scheduler.common.model;
 
 import com.example.aliintern.scheduler.common.enums.CacheMode;
 import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,11 +13,11 @@ import lombok.NoArgsConstructor;
  * 
  * 职责：
  * - 描述缓存行为意图（不涉及具体执行）
- * - 只包含缓存模式和 TTL 等级
+ * - 包含缓存模式、TTL 等级、是否允许兜底，以及决策依据的热点等级
  * 
  * 严格约束：
  * - 不包含具体 TTL 秒数
- * - 不包含限流/降级/异步刷新等执行细节
+ * - 不包含限流/降级/异步刷新等执行细节（兜底只表达意图，由执行层决定何时、如何兜底）
  * - 不感知 Redis/本地缓存 API
  */
 @Data
@@ -37,6 +38,24 @@ public class DispatchDecision {
      */
     private CacheTtlLevel ttlLevel;
 
+    /**
+     * 决策依据的热点等级
+     * 供执行层区分同一缓存模式下的不同热度（如大对象是否进入堆外缓存），未知时为 null
+     */
+    private HotspotLevel hotspotLevel;
+
+    /**
+     * 是否允许兜底
+     * 为 true 时执行层在回源超时、被限流或数据库熔断时返回最后一次成功的数据或静态兜底数据
+     */
+    private boolean fallbackEnabled;
+
+    /**
+     * 决策所属的业务类型
+     * 只有配置了业务类型策略时才设置，执行层据此选择本地缓存分区；为 null 时使用默认分区
+     */
+    private String bizType;
+
     /**
      * 创建一个"不缓存"的决策
      */
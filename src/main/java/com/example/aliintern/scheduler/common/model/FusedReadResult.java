@@ -0,0 +1,41 @@
+package com.example.aliintern.scheduler.common.model;
+
+/**
+ * 访问统计与 Redis 读取合并执行的结果
+ *
+ * 开启合并读取时，访问统计与缓存值读取在一次 Redis 往返内完成；
+ * 缓存访问代理直接使用预读的原始值，不再单独读取 Redis
+ *
+ * @param stat            访问统计结果
+ * @param fetched         是否已预读缓存值（为 false 时 value 无意义，由代理按原流程读取 Redis）
+ * @param value           预读的原始值（编码后的字节），未命中时为 null
+ * @param remainingMillis 预读时的剩余 TTL（毫秒），-1 表示未设置过期时间，{@link #ABSENT} 表示不存在
+ */
+public record FusedReadResult(StatResult stat, boolean fetched, byte[] value, long remainingMillis) {
+
+    /**
+     * 剩余 TTL：key 不存在（与 Redis PTTL 的返回值一致）
+     */
+    public static final long ABSENT = -2L;
+
+    /**
+     * 未预读缓存值的结果（只有访问统计）
+     */
+    public static FusedReadResult notFetched(StatResult stat) {
+        return new FusedReadResult(stat, false, null, ABSENT);
+    }
+
+    /**
+     * 已确认缓存中没有该 key 的结果，缓存访问代理不再读取 Redis，直接回源
+     */
+    public static FusedReadResult miss(StatResult stat) {
+        return new FusedReadResult(stat, true, null, ABSENT);
+    }
+
+    /**
+     * 已预读缓存值的结果，value 为 null 时应使用 {@link #miss(StatResult)}
+     */
+    public static FusedReadResult fetched(StatResult stat, byte[] value, long remainingMillis) {
+        return new FusedReadResult(stat, true, value, remainingMillis);
+    }
+}
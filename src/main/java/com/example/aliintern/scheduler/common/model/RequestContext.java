@@ -1,6 +1,8 @@
 package com.example.aliintern.scheduler.common.model;
 
 import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.enums.Personalization;
+import com.example.aliintern.scheduler.common.enums.RequestType;
 import lombok.Builder;
 import lombok.Data;
 
@@ -22,6 +24,23 @@ public class RequestContext {
      */
     private String cacheKey;
 
+    /**
+     * 业务类型（如 product、shop、promotion），为 null 时使用 "default"
+     * 决定访问统计的计数空间、热点阈值、缓存策略与本地缓存分区
+     */
+    private String bizType;
+
+    /**
+     * 请求类型（READ / WRITE / CONSISTENT_READ），为 null 时按 READ 处理
+     */
+    private RequestType requestType;
+
+    /**
+     * 个性化程度（SHARED / SEGMENTED / PERSONAL），为 null 时按业务类型配置，均未配置时为 SHARED
+     * 调度门面只读取该字段，解析结果不写回
+     */
+    private Personalization personalization;
+
     /**
      * 热点等级
      */
@@ -51,4 +70,16 @@ public class RequestContext {
      * 请求来源（如 Web、App、API）
      */
     private String source;
+
+    /**
+     * 未指定业务类型时使用的默认值
+     */
+    public static final String DEFAULT_BIZ_TYPE = "default";
+
+    /**
+     * 业务类型，未指定时返回 {@link #DEFAULT_BIZ_TYPE}
+     */
+    public String resolveBizType() {
+        return bizType != null && !bizType.isEmpty() ? bizType : DEFAULT_BIZ_TYPE;
+    }
 }
@@ -27,6 +27,12 @@ public class StatResult {
      */
     private Long count60s;
 
+    /**
+     * 长窗口内的去重用户数（HyperLogLog 估算值）
+     * 未开启去重用户统计或请求未携带 userId 时为 null
+     */
+    private Long distinctUsers;
+
     /**
      * 创建一个空的统计结果（计数均为0）
      */
@@ -50,4 +56,20 @@ public class StatResult {
                 .count60s(count60s)
                 .build();
     }
+
+    /**
+     * 创建携带去重用户数的统计结果
+     *
+     * @param count1s       1秒窗口计数
+     * @param count60s      60秒窗口计数
+     * @param distinctUsers 去重用户数，未统计时为 null
+     * @return StatResult实例
+     */
+    public static StatResult of(Long count1s, Long count60s, Long distinctUsers) {
+        return StatResult.builder()
+                .count1s(count1s)
+                .count60s(count60s)
+                .distinctUsers(distinctUsers)
+                .build();
+    }
 }
@@ -0,0 +1,76 @@
+package com.example.aliintern.scheduler.common.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 系统负载快照
+ * 由 SystemLoadMonitor 周期性采样生成，包含原始信号与判定后的负载状态
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SystemLoadSnapshot {
+
+    /**
+     * 采样周期内 Redis 读取耗时 p99（毫秒）
+     */
+    private double redisP99Millis;
+
+    /**
+     * 采样周期内回源耗时 p99（毫秒）
+     */
+    private double loaderP99Millis;
+
+    /**
+     * 采样时正在进行的回源数量
+     */
+    private int loadsInFlight;
+
+    /**
+     * 本地缓存占用比例（估算占用 / 最大占用）
+     */
+    private double localMemoryRatio;
+
+    /**
+     * 进程 CPU 使用率（0 ~ 1），不可用时为 0
+     */
+    private double cpuLoad;
+
+    /**
+     * Redis 变慢
+     */
+    private boolean redisSlow;
+
+    /**
+     * 数据库饱和（回源变慢或并发过高）
+     */
+    private boolean dbSaturated;
+
+    /**
+     * 本地缓存内存紧张
+     */
+    private boolean memoryPressure;
+
+    /**
+     * CPU 繁忙
+     */
+    private boolean cpuHigh;
+
+    /**
+     * 空闲快照（所有状态均为正常）
+     */
+    public static SystemLoadSnapshot idle() {
+        return new SystemLoadSnapshot();
+    }
+
+    /**
+     * 是否存在任一负载状态
+     */
+    public boolean isUnderLoad() {
+        return redisSlow || dbSaturated || memoryPressure || cpuHigh;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.aliintern.scheduler.common.redis;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lettuce 异步命令提供者
+ *
+ * 职责：
+ * - 基于 Spring 管理的 Lettuce 客户端建立一条 byte[] 编解码的专用连接
+ * - 对外暴露 RedisFuture 风格的异步命令，供异步访问链路使用
+ *
+ * 说明：
+ * - 连接懒加载，首次使用时建立；建立失败时返回 null，调用方需降级为同步调用
+ * - 建立失败后 5 秒内不再重试，避免 Redis 故障时每个请求都阻塞在建连上
+ * - 单机与集群模式共用 RedisClusterAsyncCommands 接口（集群模式下多 key 脚本要求 key 位于同一槽位，见 {@link #isCluster()}）
+ * - Lettuce 连接线程安全，多请求复用同一连接即可获得管道化的吞吐
+ */
+@Slf4j
+@Component
+public class AsyncRedisCommandsProvider {
+
+    private static final long RECONNECT_INTERVAL_MILLIS = 5000L;
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private volatile StatefulConnection<byte[], byte[]> connection;
+    private volatile RedisClusterAsyncCommands<byte[], byte[]> commands;
+    private volatile long lastFailureMillis;
+    private volatile boolean cluster;
+
+    public AsyncRedisCommandsProvider(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * 获取异步命令
+     *
+     * @return 异步命令，当前连接工厂不是 Lettuce 或连接失败时返回 null
+     */
+    public RedisClusterAsyncCommands<byte[], byte[]> commands() {
+        RedisClusterAsyncCommands<byte[], byte[]> current = commands;
+        if (current != null) {
+            return current;
+        }
+        if (System.currentTimeMillis() - lastFailureMillis < RECONNECT_INTERVAL_MILLIS) {
+            return null;
+        }
+        synchronized (this) {
+            if (commands == null) {
+                connect();
+                if (commands == null) {
+                    lastFailureMillis = System.currentTimeMillis();
+                }
+            }
+            return commands;
+        }
+    }
+
+    private void connect() {
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuceFactory)) {
+            log.warn("Redis 连接工厂不是 Lettuce，异步访问将降级为同步调用");
+            return;
+        }
+
+        try {
+            AbstractRedisClient client = lettuceFactory.getNativeClient();
+            if (client instanceof RedisClient redisClient) {
+                var conn = redisClient.connect(ByteArrayCodec.INSTANCE);
+                connection = conn;
+                commands = conn.async();
+            } else if (client instanceof RedisClusterClient clusterClient) {
+                var conn = clusterClient.connect(ByteArrayCodec.INSTANCE);
+                connection = conn;
+                cluster = true;
+                commands = conn.async();
+            } else {
+                log.warn("不支持的 Lettuce 客户端类型: {}", client);
+                return;
+            }
+            log.info("Redis 异步连接建立成功");
+        } catch (Exception e) {
+            log.warn("Redis 异步连接建立失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 当前连接是否为集群模式（连接建立后有效）
+     */
+    public boolean isCluster() {
+        return cluster;
+    }
+
+    @PreDestroy
+    public void close() {
+        StatefulConnection<byte[], byte[]> current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (Exception e) {
+                log.warn("Redis 异步连接关闭失败: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.aliintern.scheduler.common.redis;
+
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.springframework.data.redis.core.script.DigestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 异步 Lua 脚本
+ *
+ * 预先计算脚本 SHA1，执行时优先 EVALSHA，只传输摘要；
+ * Redis 返回 NOSCRIPT（脚本缓存被清空或首次在该节点执行）时回退为 EVAL，EVAL 会把脚本载入缓存，后续请求恢复为 EVALSHA
+ *
+ * 同步调用继续使用 Spring 的 DefaultRedisScript（同样按 EVALSHA / EVAL 回退执行）
+ */
+public final class AsyncRedisScript {
+
+    private final String script;
+    private final String sha1;
+    private final ScriptOutputType outputType;
+
+    public AsyncRedisScript(String script, ScriptOutputType outputType) {
+        this.script = script;
+        this.sha1 = DigestUtils.sha1DigestAsHex(script);
+        this.outputType = outputType;
+    }
+
+    /**
+     * 执行脚本
+     *
+     * @param commands 异步命令
+     * @param keys     KEYS
+     * @param args     ARGV
+     * @return 脚本结果
+     */
+    public <T> CompletableFuture<T> execute(RedisClusterAsyncCommands<byte[], byte[]> commands,
+                                            byte[][] keys, byte[]... args) {
+        return commands.<T>evalsha(sha1, outputType, keys, args)
+                .toCompletableFuture()
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(result);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof RedisNoScriptException) {
+                        return commands.<T>eval(script, outputType, keys, args).toCompletableFuture();
+                    }
+                    return CompletableFuture.<T>failedFuture(cause);
+                })
+                .thenCompose(future -> future);
+    }
+
+    public String getSha1() {
+        return sha1;
+    }
+}
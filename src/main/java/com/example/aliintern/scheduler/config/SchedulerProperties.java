@@ -4,6 +4,11 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 调度层统一配置类
  * 
@@ -14,6 +19,11 @@ import org.springframework.stereotype.Component;
  * - 访问统计模块（stat）
  * - 热点识别模块（hotspot）
  * - 策略决策引擎（decision）
+ * - 缓存访问代理（cache）
+ * - 跨实例通信（cluster）
+ * - 预热（prewarm）
+ * - 运行时调参（tuning）
+ * - 业务类型配置（profiles）
  */
 @Data
 @Component
@@ -40,6 +50,36 @@ public class SchedulerProperties {
      */
     private final CacheConfig cache = new CacheConfig();
 
+    /**
+     * 跨实例通信配置
+     */
+    private final ClusterConfig cluster = new ClusterConfig();
+
+    /**
+     * 预热配置
+     */
+    private final PrewarmConfig prewarm = new PrewarmConfig();
+
+    /**
+     * 运行时调参配置
+     */
+    private final TuningConfig tuning = new TuningConfig();
+
+    /**
+     * 按业务类型（bizType）覆盖的配置，key 为 bizType
+     */
+    private final Map<String, BizProfile> profiles = new LinkedHashMap<>();
+
+    /**
+     * 获取业务类型配置
+     *
+     * @param bizType 业务类型
+     * @return 配置，未配置时返回 null
+     */
+    public BizProfile profileOf(String bizType) {
+        return bizType != null ? profiles.get(bizType) : null;
+    }
+
     // ==================== 访问统计模块配置 ====================
     
     /**
@@ -93,6 +133,37 @@ public class SchedulerProperties {
          * Key格式：{keyPrefix}:{bizType}:{bizKey}:{window}
          */
         private String keyPrefix = "stat";
+        
+        // ========== 去重用户统计 ==========
+        
+        /**
+         * 是否统计长窗口内的去重用户数（HyperLogLog），默认 false
+         * 携带 userId 的请求记录用户，不携带的请求读取已有的去重用户数；
+         * 开启后热点识别按去重用户数限制热点等级，避免单个爬虫刷高热度
+         */
+        private Boolean distinctUsersEnabled = false;
+        
+        /**
+         * 单个用户在长窗口内对同一个 key 计入访问次数的上限，默认 0（不限制）
+         * 超过上限的访问只读取当前计数，不再递增（需开启 distinctUsersEnabled）
+         */
+        private Integer perUserCap = 0;
+        
+        /**
+         * 单用户计数 Hash 每个 key 最多记录的用户数，默认 10000
+         * 超出后新用户不再计数（不受单用户上限限制），避免访问用户极多的 key 占用无上限的内存
+         */
+        private Integer perUserCapMaxTrackedUsers = 10000;
+        
+        // ========== 合并读取 ==========
+        
+        /**
+         * 是否将访问统计与 Redis 读取合并为一次往返，默认 false
+         * 开启后单机模式下一个脚本同时递增双窗口计数并读取缓存值；集群模式下统计 key 与缓存 key 不在同一槽位，
+         * 改为三个命令同时发出（同样只等待一次网络往返）
+         * 本地缓存已有该 key、完全个性化请求、强一致读请求以及需要统计去重用户的请求不预读
+         */
+        private Boolean fusedFetchEnabled = false;
     }
 
     // ==================== 热点识别模块配置 ====================
@@ -145,6 +216,20 @@ public class SchedulerProperties {
          * 当 countLong >= 此值时判定为 WARM
          */
         private Long warmLongThreshold = 60L;
+        
+        // ========== 去重用户数要求 ==========
+        
+        /**
+         * HOT 级别要求的最少去重用户数，默认 3
+         * 统计结果携带去重用户数（scheduler.stat.distinct-users-enabled）且低于此值时，等级最高为 WARM
+         */
+        private Long hotMinDistinctUsers = 3L;
+        
+        /**
+         * EXTREMELY_HOT 级别要求的最少去重用户数，默认 10
+         * 统计结果携带去重用户数且低于此值时，等级最高为 HOT
+         */
+        private Long extremelyHotMinDistinctUsers = 10L;
     }
 
     // ==================== 策略决策引擎配置 ====================
@@ -198,6 +283,12 @@ public class SchedulerProperties {
          */
         private String hotTtlLevel = "NORMAL";
         
+        /**
+         * HOT 级别 - 是否允许兜底
+         * 默认 false
+         */
+        private Boolean hotFallbackEnabled = false;
+        
         // ========== EXTREMELY_HOT 级别策略 ==========
         
         /**
@@ -211,6 +302,116 @@ public class SchedulerProperties {
          * 默认 LONG
          */
         private String extremelyHotTtlLevel = "LONG";
+        
+        /**
+         * EXTREMELY_HOT 级别 - 是否允许兜底
+         * 默认 true（数据库过载时返回最后一次成功的数据，保证极热 key 可用）
+         */
+        private Boolean extremelyHotFallbackEnabled = true;
+        
+        // ========== 负载感知 ==========
+        
+        /**
+         * 是否开启负载感知决策（默认关闭）
+         * 开启后按后台采样的系统负载调整各级别的缓存模式与 TTL 等级：
+         * - Redis 变慢或 CPU 繁忙：WARM 及以上的 REMOTE_ONLY 升级为 LOCAL_AND_REMOTE
+         * - 数据库饱和：已缓存级别的 TTL 等级提升一级，COLD 改为 REMOTE_ONLY
+         * - 本地缓存内存紧张：WARM / HOT 的 LOCAL_AND_REMOTE 降级为 REMOTE_ONLY（优先于上面的升级）
+         */
+        private Boolean loadAwareEnabled = false;
+        
+        /**
+         * 负载采样间隔（毫秒），默认 1000
+         */
+        private Long loadSampleIntervalMillis = 1000L;
+        
+        /**
+         * Redis 读取 p99 阈值（毫秒），默认 20
+         */
+        private Double redisP99ThresholdMillis = 20.0;
+        
+        /**
+         * 回源 p99 阈值（毫秒），默认 200
+         */
+        private Double loaderP99ThresholdMillis = 200.0;
+        
+        /**
+         * 回源并发阈值，默认 50
+         */
+        private Integer loaderConcurrencyThreshold = 50;
+        
+        /**
+         * 本地缓存占用比例阈值，默认 0.9
+         */
+        private Double localMemoryThresholdRatio = 0.9;
+        
+        /**
+         * 进程 CPU 使用率阈值，默认 0.85
+         */
+        private Double cpuThresholdRatio = 0.85;
+        
+        /**
+         * 恢复比例，默认 0.8
+         * 进入负载状态后，信号低于 阈值 × 恢复比例 才退出，避免在阈值附近反复切换
+         */
+        private Double loadRecoverRatio = 0.8;
+        
+        // ========== 成本感知决策 ==========
+        
+        /**
+         * 是否按回源成本调整策略，默认 false
+         * 开启后记录每个 key 的回源耗时与值大小，按“每 KB 节省的回源时间”升级或降级缓存层与 TTL
+         */
+        private Boolean costAwareEnabled = false;
+        
+        /**
+         * 回源成本草图每行的列数（向上取整为 2 的幂），默认 4096
+         */
+        private Integer costSketchWidth = 4096;
+        
+        /**
+         * 回源成本估算所需的最少样本数，默认 3
+         * 样本不足的 key 视为成本未知，按等级查表，避免一次偶发的慢回源改变决策
+         */
+        private Integer costMinSamples = 3;
+        
+        /**
+         * 高成本阈值（每 KB 回源毫秒数），默认 10
+         * 达到阈值时升级缓存层并提升一级 TTL
+         */
+        private Double costAwareHighMillisPerKb = 10.0;
+        
+        /**
+         * 低成本阈值（每 KB 回源毫秒数），默认 0.1
+         * 低于阈值时 LOCAL_AND_REMOTE 降级为 REMOTE_ONLY（EXTREMELY_HOT 除外）并降低一级 TTL
+         */
+        private Double costAwareLowMillisPerKb = 0.1;
+        
+        // ========== 规则决策 ==========
+        
+        /**
+         * 决策规则（按顺序匹配，第一条命中的规则生效，均未命中时按热点等级查表）
+         * 格式：条件 && 条件 ... -> 缓存模式 TTL 等级 [fallback]
+         * 条件：level 比较（== != >= > <= <）、bizType / source 比较（== !=）、key ~ 通配模式（* 匹配任意字符）、
+         * 负载信号（redisSlow / dbSaturated / memoryPressure / cpuHigh，可加 ! 取反）、* 匹配全部
+         * 示例：source == App && level >= HOT && key ~ promo:* -> LOCAL_ONLY LONG
+         * 规则在启动时编译，不合法的规则记录告警并跳过
+         */
+        private List<String> rules = new ArrayList<>();
+        
+        // ========== 乐观模式 ==========
+        
+        /**
+         * 是否开启乐观模式，默认 false
+         * 开启后读请求按该 key 最近一次的决策读取缓存，同时异步记录访问统计；
+         * 统计完成后重新决策，新决策不再使用缓存时改为按新决策访问
+         */
+        private Boolean optimisticEnabled = false;
+        
+        /**
+         * 最近决策表（乐观模式与热点等级变化指标共用）的最大条目数，默认 10000
+         */
+        private Long optimisticMaximumSize = 10000L;
     }
 
     // ==================== 缓存访问代理配置 ====================
@@ -227,6 +428,58 @@ public class SchedulerProperties {
          */
         private final TtlConfig ttl = new TtlConfig();
         
+        /**
+         * 过期策略配置（TTL 抖动 + 概率提前过期）
+         */
+        private final ExpireConfig expire = new ExpireConfig();
+        
+        /**
+         * Redis 缓存值默认编解码器（json / smile）
+         * String 值始终按 UTF-8 原样写入；读取时按头字节自动识别，切换不影响已有数据
+         * 默认 smile（紧凑二进制）
+         */
+        private String codec = "smile";
+        
+        /**
+         * Redis 缓存值压缩配置
+         */
+        private final CompressConfig compress = new CompressConfig();
+        
+        /**
+         * 跨实例本地缓存失效广播配置
+         */
+        private final InvalidationConfig invalidation = new InvalidationConfig();
+        
+        /**
+         * 本地缓存容量配置
+         */
+        private final LocalConfig local = new LocalConfig();
+        
+        /**
+         * 堆外缓存配置
+         */
+        private final OffHeapConfig offHeap = new OffHeapConfig();
+        
+        /**
+         * 极热 key 副本配置
+         */
+        private final ReplicaConfig replica = new ReplicaConfig();
+        
+        /**
+         * 本地缓存快照配置
+         */
+        private final SnapshotConfig snapshot = new SnapshotConfig();
+        
+        /**
+         * 回源准入控制配置
+         */
+        private final GuardConfig guard = new GuardConfig();
+        
+        /**
+         * 兜底配置
+         */
+        private final FallbackConfig fallback = new FallbackConfig();
+        
         /**
          * TTL 配置类
          */
@@ -261,5 +514,471 @@ public class SchedulerProperties {
                 }
             }
         }
+        
+        /**
+         * 过期策略配置类
+         * 配置前缀：scheduler.cache.expire
+         */
+        @Data
+        public static class ExpireConfig {
+            
+            /**
+             * TTL 抖动比例
+             * 实际 TTL 在 [ttl * (1 - jitterRatio), ttl] 范围内随机，避免同批写入的 key 同时过期
+             * 默认 0.1，设置为 0 表示关闭抖动
+             */
+            private Double jitterRatio = 0.1;
+            
+            /**
+             * 是否开启概率提前过期（XFetch）
+             * 开启后，临近过期的 key 会按回源耗时和剩余 TTL 计算概率，由个别请求提前回源刷新
+             */
+            private Boolean earlyRefreshEnabled = true;
+            
+            /**
+             * 提前过期系数 beta
+             * 越大越倾向于提前刷新，默认 1.0
+             */
+            private Double earlyRefreshBeta = 1.0;
+        }
+        
+        /**
+         * 压缩配置类
+         * 配置前缀：scheduler.cache.compress
+         */
+        @Data
+        public static class CompressConfig {
+            
+            /**
+             * 是否开启压缩
+             * 读取时按头字节自动识别，关闭后已压缩的数据仍可正常读取
+             */
+            private Boolean enabled = true;
+            
+            /**
+             * 压缩阈值（字节）
+             * 编码后大小超过此值才压缩，小对象压缩收益低且浪费 CPU，默认 2048
+             */
+            private Integer thresholdBytes = 2048;
+            
+            /**
+             * Deflate 压缩级别（1 ~ 9）
+             * 缓存场景读多写少且对延迟敏感，默认 1（最快）
+             */
+            private Integer level = 1;
+            
+            /**
+             * 最小压缩收益比例
+             * 压缩后体积节省低于此比例时放弃压缩，按原格式写入，默认 0.1
+             */
+            private Double minSavingRatio = 0.1;
+            
+            /**
+             * 解压后最大长度（字节）
+             * 压缩数据中记录的原始长度超过此值时拒绝解压，防止异常数据导致超大内存分配，
+             * 默认 16MB（堆外 slab 默认大小的 4 倍）
+             */
+            private Integer maxRawBytes = 16 * 1024 * 1024;
+        }
+        
+        /**
+         * 本地缓存失效广播配置类
+         * 配置前缀：scheduler.cache.invalidation
+         */
+        @Data
+        public static class InvalidationConfig {
+            
+            /**
+             * 是否开启跨实例失效广播
+             * 关闭后只清理收到请求的实例，其他实例等待本地 TTL 过期
+             */
+            private Boolean enabled = true;
+            
+            /**
+             * 广播频道
+             */
+            private String channel = "scheduler:cache:invalidation";
+            
+            /**
+             * 批量发送间隔（毫秒）
+             * 间隔内的失效请求去重后合并为一条消息，默认 5ms
+             */
+            private Integer batchIntervalMillis = 5;
+            
+            /**
+             * 单条消息最多携带的 key 数量，积压超过此值时立即发送
+             */
+            private Integer maxBatchSize = 500;
+        }
+        
+        /**
+         * 本地缓存容量配置类
+         * 配置前缀：scheduler.cache.local
+         *
+         * 按估算字节数限制容量，而不是条目数，使大对象与小对象按实际占用分配额度
+         */
+        @Data
+        public static class LocalConfig {
+            
+            /**
+             * 本地缓存最大占用（字节），默认 64MB
+             */
+            private Long maximumWeightBytes = 64L * 1024 * 1024;
+            
+            /**
+             * 每条记录的固定开销（字节）
+             * 包含 key 之外的条目对象、Caffeine 节点与过期时间轮引用，默认 96
+             */
+            private Integer entryOverheadBytes = 96;
+            
+            /**
+             * 大小估算失败时使用的默认值（字节），默认 1KB
+             */
+            private Long defaultEntryBytes = 1024L;
+        }
+        
+        /**
+         * 堆外缓存配置类
+         * 配置前缀：scheduler.cache.off-heap
+         *
+         * 位于本地缓存与 Redis 之间，存放 HOT 及以上等级的大对象（序列化后存入直接内存），
+         * 获得接近本地缓存的访问延迟，同时不增加 GC 压力
+         */
+        @Data
+        public static class OffHeapConfig {
+            
+            /**
+             * 是否开启堆外缓存
+             */
+            private Boolean enabled = true;
+            
+            /**
+             * 堆外内存上限（字节），默认 128MB，按需分配
+             * 需小于 JVM 的 -XX:MaxDirectMemorySize
+             */
+            private Long capacityBytes = 128L * 1024 * 1024;
+            
+            /**
+             * 单个 slab 大小（字节），默认 4MB
+             */
+            private Integer slabSizeBytes = 4 * 1024 * 1024;
+            
+            /**
+             * block 大小（字节），默认 4KB，slab 大小需为其整数倍
+             */
+            private Integer blockSizeBytes = 4096;
+            
+            /**
+             * 进入堆外缓存的最小序列化大小（字节），默认 16KB
+             * 小于此值的对象仍放在本地缓存
+             */
+            private Integer thresholdBytes = 16 * 1024;
+            
+            /**
+             * 进入堆外缓存的最低热点等级，默认 HOT
+             */
+            private String minHotspotLevel = "HOT";
+        }
+        
+        /**
+         * 极热 key 副本配置类
+         * 配置前缀：scheduler.cache.replica
+         *
+         * EXTREMELY_HOT 的值除原 key 外再写入 N 个副本 key（key#0 ~ key#N-1），
+         * 副本按各自的 key 分布到不同的集群槽位，读取时随机选择一个副本，分散单个分片的读压力
+         */
+        @Data
+        public static class ReplicaConfig {
+            
+            /**
+             * 是否开启副本
+             */
+            private Boolean enabled = true;
+            
+            /**
+             * 副本数量，默认 4
+             * 调小后多出的副本不会再被读取，等待 TTL 自然过期
+             */
+            private Integer count = 4;
+        }
+        
+        /**
+         * 本地缓存快照配置类
+         * 配置前缀：scheduler.cache.snapshot
+         *
+         * 定期将本地缓存中最热的条目写入本地文件，实例重启后并行加载，缩短冷启动时间
+         */
+        @Data
+        public static class SnapshotConfig {
+            
+            /**
+             * 是否开启快照（默认关闭）
+             */
+            private Boolean enabled = false;
+            
+            /**
+             * 快照文件路径
+             */
+            private String path = "data/local-cache.snapshot";
+            
+            /**
+             * 快照间隔（秒），默认 60
+             */
+            private Integer intervalSeconds = 60;
+            
+            /**
+             * 快照最多包含的条目数（按热度取前 N 个），默认 5000
+             */
+            private Integer maxEntries = 5000;
+            
+            /**
+             * 启动加载的并行线程数，默认 4
+             */
+            private Integer loadThreads = 4;
+            
+            /**
+             * 恢复条目的最大剩余 TTL（秒），默认 30
+             * 快照写入后 Redis 中的值可能已更新，恢复的条目只在短时间内提供命中，到期后按正常流程从 Redis 重新加载
+             */
+            private Integer restoreMaxTtlSeconds = 30;
+        }
+        
+        /**
+         * 回源准入控制配置类
+         * 配置前缀：scheduler.cache.guard
+         *
+         * 限制缓存未命中时的数据库回源频率，被拒绝的请求返回旧值或 null，
+         * 保证数据库 QPS 不随流量无限增长
+         */
+        @Data
+        public static class GuardConfig {
+            
+            /**
+             * 是否开启回源准入控制（默认关闭）
+             * 开启后被拒绝且无旧值 / 兜底数据的单 key 请求会收到 LoadRejectedException（批量请求中该 key 不返回），
+             * 需按数据库容量配置全局速率
+             */
+            private Boolean enabled = false;
+            
+            /**
+             * 单 key 限流的最低热点等级，默认 HOT
+             */
+            private String minHotspotLevel = "HOT";
+            
+            /**
+             * 单 key 每秒回源次数，默认 5
+             */
+            private Double perKeyPermitsPerSecond = 5.0;
+            
+            /**
+             * 单 key 突发回源次数，默认 5
+             */
+            private Integer perKeyBurst = 5;
+            
+            /**
+             * 单 key 令牌桶最多保留的 key 数量，默认 10000
+             */
+            private Integer maxTrackedKeys = 10000;
+            
+            /**
+             * 本实例每秒回源次数上限，默认 1000
+             * 多实例部署时按 数据库安全 QPS / 实例数 设置
+             */
+            private Double globalPermitsPerSecond = 1000.0;
+            
+            /**
+             * 本实例突发回源次数，默认 1000
+             */
+            private Integer globalBurst = 1000;
+            
+            /**
+             * 是否开启 Redis 全局回源预算（所有实例共享，默认关闭）
+             */
+            private Boolean redisBudgetEnabled = false;
+            
+            /**
+             * 所有实例合计每秒回源次数上限，默认 2000
+             */
+            private Long redisBudgetPerSecond = 2000L;
+            
+            /**
+             * Redis 全局预算计数器 key 前缀
+             */
+            private String redisBudgetKeyPrefix = "scheduler:guard:budget";
+        }
+        
+        /**
+         * 兜底配置类
+         * 配置前缀：scheduler.cache.fallback
+         *
+         * 对决策允许兜底的 key：回源成功时另存一份长期有效的副本（last-known-good），
+         * 回源超时、被限流或数据库熔断时依次返回缓存旧值、副本、静态兜底数据
+         */
+        @Data
+        public static class FallbackConfig {
+            
+            /**
+             * 是否开启兜底（关闭后忽略决策中的兜底标记）
+             */
+            private Boolean enabled = true;
+            
+            /**
+             * 副本 key 前缀，副本 key 为 {lkgKeyPrefix}{key}
+             */
+            private String lkgKeyPrefix = "lkg:";
+            
+            /**
+             * 副本有效期（秒），默认 1 天
+             */
+            private Long lkgTtlSeconds = 86400L;
+            
+            /**
+             * 回源超时（毫秒），默认 500
+             * 超时后返回兜底数据，回源继续在后台完成
+             */
+            private Long loaderTimeoutMillis = 500L;
+            
+            /**
+             * 带超时回源的线程数上限，默认 32
+             * 线程全部占用时视为数据库繁忙，直接兜底
+             */
+            private Integer loaderThreads = 32;
+            
+            /**
+             * 副本异步写入队列长度，队列满时丢弃本次写入，默认 1000
+             */
+            private Integer saveQueueSize = 1000;
+            
+            /**
+             * 连续失败（异常或超时）多少次后熔断，默认 5
+             */
+            private Integer circuitFailureThreshold = 5;
+            
+            /**
+             * 熔断持续时间（毫秒），到期后放行一次探测请求，默认 10 秒
+             */
+            private Long circuitOpenMillis = 10000L;
+        }
+    }
+
+    // ==================== 跨实例通信配置 ====================
+    
+    /**
+     * 跨实例通信配置
+     * 配置前缀：scheduler.cluster
+     */
+    @Data
+    public static class ClusterConfig {
+        
+        /**
+         * 消息总线实现（redis / local）
+         * redis：基于 Redis Pub/Sub，用于多实例部署（默认）
+         * local：进程内实现，用于单实例运行和测试
+         */
+        private String transport = "redis";
+    }
+
+    // ==================== 预热配置 ====================
+    
+    /**
+     * 预热配置
+     * 配置前缀：scheduler.prewarm
+     */
+    @Data
+    public static class PrewarmConfig {
+        
+        /**
+         * 默认提前预热时间（秒），默认活动开始前 30 秒
+         */
+        private Integer leadSeconds = 30;
+        
+        /**
+         * 预热广播频道
+         */
+        private String channel = "scheduler:prewarm";
+        
+        /**
+         * 单批回源 / 广播的 key 数量，默认 200
+         */
+        private Integer batchSize = 200;
+        
+        /**
+         * 已结束任务的保留时间（秒），超过后从任务列表中移除，默认 1 小时
+         */
+        private Integer retainSeconds = 3600;
+    }
+
+    // ==================== 运行时调参配置 ====================
+    
+    /**
+     * 运行时调参配置
+     * 配置前缀：scheduler.tuning
+     */
+    @Data
+    public static class TuningConfig {
+        
+        /**
+         * 调参广播频道
+         */
+        private String channel = "scheduler:tuning";
+        
+        /**
+         * 调参快照存储的 key 前缀：{keyPrefix}:version 为版本号计数器，{keyPrefix}:snapshot 为最新快照
+         */
+        private String keyPrefix = "scheduler:tuning";
+        
+        /**
+         * 调参请求未指定时是否广播到其他实例，默认 true
+         */
+        private Boolean propagate = true;
+    }
+
+    // ==================== 业务类型配置 ====================
+    
+    /**
+     * 业务类型配置
+     * 配置前缀：scheduler.profiles.{bizType}
+     * 
+     * 未配置的字段使用全局配置（scheduler.hotspot / scheduler.strategy）
+     * 配置了本地缓存配额的业务类型使用独立的本地缓存分区，其他业务类型共用默认分区
+     */
+    @Data
+    public static class BizProfile {
+        
+        // ========== 热点阈值 ==========
+        
+        private Long extremelyHotShortThreshold;
+        private Long extremelyHotLongThreshold;
+        private Long hotShortThreshold;
+        private Long hotLongThreshold;
+        private Long warmShortThreshold;
+        private Long warmLongThreshold;
+        
+        // ========== 策略（缓存模式 / TTL 等级） ==========
+        
+        private String coldCacheMode;
+        private String coldTtlLevel;
+        private String warmCacheMode;
+        private String warmTtlLevel;
+        private String hotCacheMode;
+        private String hotTtlLevel;
+        private String extremelyHotCacheMode;
+        private String extremelyHotTtlLevel;
+        
+        // ========== 本地缓存配额 ==========
+        
+        /**
+         * 独立本地缓存分区的最大占用（字节）
+         * 为 null 或 <= 0 时与其他业务类型共用默认分区
+         */
+        private Long localMaximumWeightBytes;
+        
+        // ========== 个性化 ==========
+        
+        /**
+         * 请求未指定个性化程度时使用的默认值（SHARED / SEGMENTED / PERSONAL），为 null 时为 SHARED
+         * SEGMENTED 需要业务通过 CacheVariantRegistry 注册分群函数，未注册时按 PERSONAL 处理
+         */
+        private String personalization;
     }
 }
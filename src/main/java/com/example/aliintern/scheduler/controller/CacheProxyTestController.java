@@ -1,6 +1,10 @@
 package com.example.aliintern.scheduler.controller;
 
 import com.example.aliintern.scheduler.cache.CacheAccessProxy;
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.client.OffHeapCacheClient;
+import com.example.aliintern.scheduler.cache.offheap.OffHeapSlabStore;
+import com.example.aliintern.scheduler.cache.codec.CacheValueCompressor;
 import com.example.aliintern.scheduler.common.enums.CacheMode;
 import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
 import com.example.aliintern.scheduler.common.model.DispatchDecision;
@@ -24,6 +28,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class CacheProxyTestController {
 
     private final CacheAccessProxy cacheAccessProxy;
+    private final CacheValueCompressor cacheValueCompressor;
+    private final LocalCacheClient localCacheClient;
+    private final OffHeapCacheClient offHeapCacheClient;
     
     // 模拟 DB 访问计数器
     private final AtomicInteger dbAccessCount = new AtomicInteger(0);
@@ -271,6 +278,69 @@ public class CacheProxyTestController {
         return response;
     }
 
+    /**
+     * 查看 Redis 缓存值压缩统计
+     * 
+     * 示例请求：
+     * GET /test/cache/compress-stats
+     * 
+     * @return 压缩率、压缩/解压次数与平均耗时
+     */
+    @GetMapping("/compress-stats")
+    public Map<String, Object> compressStats() {
+        long compressCount = cacheValueCompressor.getCompressCount();
+        long decompressCount = cacheValueCompressor.getDecompressCount();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("compressCount", compressCount);
+        response.put("skippedCount", cacheValueCompressor.getSkippedCount());
+        response.put("decompressCount", decompressCount);
+        response.put("rawBytes", cacheValueCompressor.getRawBytes());
+        response.put("compressedBytes", cacheValueCompressor.getCompressedBytes());
+        response.put("compressionRatio", String.format("%.3f", cacheValueCompressor.getCompressionRatio()));
+        response.put("avgCompressMicros", compressCount == 0 ? 0
+                : cacheValueCompressor.getCompressNanos() / 1000 / compressCount);
+        response.put("avgDecompressMicros", decompressCount == 0 ? 0
+                : cacheValueCompressor.getDecompressNanos() / 1000 / decompressCount);
+        
+        return response;
+    }
+
+    /**
+     * 查看本地缓存占用
+     * 
+     * 示例请求：
+     * GET /test/cache/local-stats
+     * 
+     * @return 估算占用、容量上限、条目数与命中统计（含堆外缓存）
+     */
+    @GetMapping("/local-stats")
+    public Map<String, Object> localStats() {
+        long estimatedBytes = localCacheClient.getEstimatedBytes();
+        long maximumBytes = localCacheClient.getMaximumWeightBytes();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("estimatedBytes", estimatedBytes);
+        response.put("maximumBytes", maximumBytes);
+        response.put("usage", String.format("%.2f%%", maximumBytes == 0 ? 0.0 : estimatedBytes * 100.0 / maximumBytes));
+        response.put("entryCount", localCacheClient.getEntryCount());
+        response.put("stats", localCacheClient.getStats());
+        
+        OffHeapSlabStore offHeapStore = offHeapCacheClient.getStore();
+        Map<String, Object> offHeap = new HashMap<>();
+        offHeap.put("enabled", offHeapCacheClient.isEnabled());
+        offHeap.put("usedBytes", offHeapStore.getUsedBytes());
+        offHeap.put("allocatedBytes", offHeapStore.getAllocatedBytes());
+        offHeap.put("capacityBytes", offHeapStore.getCapacityBytes());
+        offHeap.put("entryCount", offHeapStore.size());
+        offHeap.put("hitCount", offHeapStore.getHitCount());
+        offHeap.put("missCount", offHeapStore.getMissCount());
+        offHeap.put("evictionCount", offHeapStore.getEvictionCount());
+        response.put("offHeap", offHeap);
+        
+        return response;
+    }
+
     /**
      * 重置 DB 访问计数器
      */
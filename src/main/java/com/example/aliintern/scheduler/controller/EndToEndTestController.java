@@ -2,11 +2,14 @@ package com.example.aliintern.scheduler.controller;
 
 import com.example.aliintern.scheduler.SchedulerFacade;
 import com.example.aliintern.scheduler.common.model.RequestContext;
+import com.example.aliintern.scheduler.prewarm.PrewarmLoaderRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -20,12 +23,28 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class EndToEndTestController {
 
     private final SchedulerFacade schedulerFacade;
+    private final PrewarmLoaderRegistry prewarmLoaderRegistry;
     
     // 模拟 DB 访问计数器
     private final AtomicInteger dbAccessCount = new AtomicInteger(0);
     
     // 模拟数据库
-    private final Map<String, String> mockDatabase = new HashMap<>();
+    private final Map<String, String> mockDatabase = new ConcurrentHashMap<>();
+
+    /**
+     * 注册模拟数据库的批量回源函数，供预热接口使用（bizType=product）
+     */
+    @PostConstruct
+    public void registerPrewarmLoader() {
+        prewarmLoaderRegistry.register("product", String.class, keys -> {
+            dbAccessCount.incrementAndGet();
+            Map<String, String> result = new HashMap<>();
+            for (String key : keys) {
+                result.put(key, mockDatabase.computeIfAbsent(key, k -> "db-value-" + k + "-" + System.currentTimeMillis()));
+            }
+            return result;
+        });
+    }
 
     /**
      * 端到端测试：完整的调度流程（含缓存访问）
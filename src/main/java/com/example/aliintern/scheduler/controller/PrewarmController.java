@@ -0,0 +1,73 @@
+package com.example.aliintern.scheduler.controller;
+
+import com.example.aliintern.scheduler.prewarm.PrewarmRequest;
+import com.example.aliintern.scheduler.prewarm.PrewarmService;
+import com.example.aliintern.scheduler.prewarm.PrewarmTask;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 预热接口
+ * 用于登记已知时间点的流量高峰（如秒杀），并查询预热状态
+ */
+@Slf4j
+@RestController
+@RequestMapping("/prewarm")
+@RequiredArgsConstructor
+public class PrewarmController {
+
+    private final PrewarmService prewarmService;
+
+    /**
+     * 登记预热任务
+     * 
+     * 示例请求：
+     * POST /prewarm/tasks
+     * {"bizType":"product","keys":["sku:1","sku:2"],"startTime":1760000000000,"durationSeconds":600}
+     * 
+     * @param request 预热请求
+     * @return 预热任务
+     */
+    @PostMapping("/tasks")
+    public ResponseEntity<Object> schedule(@RequestBody PrewarmRequest request) {
+        try {
+            return ResponseEntity.ok(prewarmService.schedule(request));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 查询预热任务状态（任务状态只保存在登记任务的实例上）
+     * 
+     * 示例请求：
+     * GET /prewarm/tasks/{taskId}
+     * 
+     * @param taskId 任务 ID
+     * @return 预热任务（状态、已加载数量、缺失 key）
+     */
+    @GetMapping("/tasks/{taskId}")
+    public ResponseEntity<PrewarmTask> getTask(@PathVariable String taskId) {
+        PrewarmTask task = prewarmService.getTask(taskId);
+        return task != null ? ResponseEntity.ok(task) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * 查询全部预热任务
+     * 
+     * 示例请求：
+     * GET /prewarm/tasks
+     */
+    @GetMapping("/tasks")
+    public Collection<PrewarmTask> listTasks() {
+        return prewarmService.listTasks();
+    }
+}
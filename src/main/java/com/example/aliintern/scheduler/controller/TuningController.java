@@ -0,0 +1,71 @@
+package com.example.aliintern.scheduler.controller;
+
+import com.example.aliintern.scheduler.tuning.RuntimeTuningService;
+import com.example.aliintern.scheduler.tuning.TuningRequest;
+import com.example.aliintern.scheduler.tuning.TuningSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 运行时调参接口
+ * 用于在不重启实例的情况下修改热点阈值、策略映射与 TTL，并查询当前生效的配置
+ */
+@Slf4j
+@RestController
+@RequestMapping("/tuning")
+@RequiredArgsConstructor
+public class TuningController {
+
+    private final RuntimeTuningService tuningService;
+
+    /**
+     * 查询当前生效的配置
+     * 
+     * 示例请求：
+     * GET /tuning
+     */
+    @GetMapping
+    public TuningSnapshot current() {
+        return tuningService.current();
+    }
+
+    /**
+     * 修改配置（只修改请求中的非空字段，整体校验后生效）
+     * 
+     * 示例请求：
+     * PUT /tuning
+     * {"hotShortThreshold":30,"hotCacheMode":"LOCAL_AND_REMOTE","remoteLongTtl":900}
+     * 
+     * @param request 调参请求
+     * @return 生效的新配置
+     */
+    @PutMapping
+    public ResponseEntity<Object> apply(@RequestBody TuningRequest request) {
+        try {
+            return ResponseEntity.ok(tuningService.apply(request));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 恢复为启动配置
+     * 
+     * 示例请求：
+     * DELETE /tuning?propagate=true
+     * 
+     * @param propagate 是否广播到其他实例
+     * @return 生效的配置
+     */
+    @DeleteMapping
+    public TuningSnapshot reset(@RequestParam(defaultValue = "true") boolean propagate) {
+        return tuningService.reset(propagate);
+    }
+}
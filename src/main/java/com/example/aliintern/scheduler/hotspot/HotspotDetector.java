@@ -14,7 +14,7 @@ import com.example.aliintern.scheduler.common.model.StatResult;
  * - 不进行任何 Redis / MySQL 操作
  * - 不参与缓存写入、限流、业务逻辑
  * - 不修改 StatResult
- * - 不感知业务类型
+ * - 只按业务类型选择阈值配置，不感知具体业务逻辑
  * - 只负责"判断热度等级"
  */
 public interface HotspotDetector {
@@ -32,6 +32,18 @@ public interface HotspotDetector {
      */
     HotspotLevel detect(StatResult stat);
 
+    /**
+     * 按业务类型的阈值识别热点等级
+     * 默认忽略业务类型，使用全局阈值
+     *
+     * @param stat    访问统计结果
+     * @param bizType 业务类型
+     * @return 热点等级
+     */
+    default HotspotLevel detect(StatResult stat, String bizType) {
+        return detect(stat);
+    }
+
     /**
      * 获取热点阈值配置
      *
@@ -4,6 +4,8 @@ import com.example.aliintern.scheduler.common.enums.HotspotLevel;
 import com.example.aliintern.scheduler.common.model.StatResult;
 import com.example.aliintern.scheduler.config.SchedulerProperties;
 import com.example.aliintern.scheduler.hotspot.HotspotDetector;
+import com.example.aliintern.scheduler.tuning.TuningListener;
+import com.example.aliintern.scheduler.tuning.TuningSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,20 +17,44 @@ import org.springframework.stereotype.Service;
  * 1. 瞬时热度（短窗口）用于识别突发热点
  * 2. 稳定热度（长窗口）用于识别长期热点
  * 3. 当多个条件命中时，取最高热度等级
+ * 4. 业务类型配置了阈值时（scheduler.profiles.{bizType}）覆盖全局阈值
+ * 5. 运行时调参后使用调参快照中的全局阈值（整体替换的不可变快照，读取无锁）
+ * 6. 统计结果携带去重用户数时，用户数不足的 key 限制热点等级（单个爬虫刷出的访问量不会使 key 成为热点）；
+ *    开启去重用户统计后，不携带 userId 的请求同样读取 key 已有的去重用户数，匿名访问不能绕过限制
  * 
  * 模块边界：
  * - 只读取 StatResult
  * - 只返回 HotspotLevel
  * - 不操作 Redis / MySQL
- * - 不感知业务类型
+ * - 只按业务类型选择阈值，不感知具体业务逻辑
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class DefaultHotspotDetector implements HotspotDetector {
+public class DefaultHotspotDetector implements HotspotDetector, TuningListener {
+
+    /**
+     * 未配置业务类型时的空覆盖（所有阈值使用全局配置）
+     */
+    private static final SchedulerProperties.BizProfile NO_OVERRIDES = new SchedulerProperties.BizProfile();
 
     private final SchedulerProperties schedulerProperties;
 
+    /**
+     * 运行时调参的全局阈值，未调参时为 null（读取启动配置）
+     */
+    private volatile TuningSnapshot.Thresholds tunedThresholds;
+
+    /**
+     * 按启动配置生成的全局阈值，未调参时复用，配置变化时重新生成
+     */
+    private volatile TuningSnapshot.Thresholds configuredThresholds;
+
+    @Override
+    public void onTuning(TuningSnapshot snapshot) {
+        tunedThresholds = snapshot.thresholds();
+    }
+
     /**
      * 核心方法：根据访问统计结果识别热点等级
      * 
@@ -40,6 +66,11 @@ public class DefaultHotspotDetector implements HotspotDetector {
      */
     @Override
     public HotspotLevel detect(StatResult stat) {
+        return detect(stat, null);
+    }
+
+    @Override
+    public HotspotLevel detect(StatResult stat, String bizType) {
         if (stat == null) {
             log.warn("StatResult 为空，返回 COLD");
             return HotspotLevel.COLD;
@@ -51,7 +82,8 @@ public class DefaultHotspotDetector implements HotspotDetector {
         log.debug("热点检测输入: countShort={}, countLong={}", count1s, count60s);
 
         // 按优先级从高到低判断
-        HotspotLevel level = doDetect(count1s, count60s);
+        HotspotLevel level = limitByDistinctUsers(
+                doDetect(count1s, count60s, schedulerProperties.profileOf(bizType)), stat.getDistinctUsers());
         
         log.debug("热点检测结果: level={}", level);
         return level;
@@ -60,24 +92,25 @@ public class DefaultHotspotDetector implements HotspotDetector {
     /**
      * 执行双窗口阈值判断
      */
-    private HotspotLevel doDetect(long count1s, long count60s) {
-        SchedulerProperties.HotspotConfig config = schedulerProperties.getHotspot();
+    private HotspotLevel doDetect(long count1s, long count60s, SchedulerProperties.BizProfile profile) {
+        TuningSnapshot.Thresholds config = globalThresholds();
+        SchedulerProperties.BizProfile overrides = profile != null ? profile : NO_OVERRIDES;
         
         // EXTREMELY_HOT: 突发流量或超高频访问
-        if (count1s >= config.getExtremelyHotShortThreshold() 
-                || count60s >= config.getExtremelyHotLongThreshold()) {
+        if (count1s >= threshold(overrides.getExtremelyHotShortThreshold(), config.extremelyHotShort())
+                || count60s >= threshold(overrides.getExtremelyHotLongThreshold(), config.extremelyHotLong())) {
             return HotspotLevel.EXTREMELY_HOT;
         }
 
         // HOT: 高频热点
-        if (count1s >= config.getHotShortThreshold() 
-                || count60s >= config.getHotLongThreshold()) {
+        if (count1s >= threshold(overrides.getHotShortThreshold(), config.hotShort())
+                || count60s >= threshold(overrides.getHotLongThreshold(), config.hotLong())) {
             return HotspotLevel.HOT;
         }
 
         // WARM: 中等热度
-        if (count1s >= config.getWarmShortThreshold() 
-                || count60s >= config.getWarmLongThreshold()) {
+        if (count1s >= threshold(overrides.getWarmShortThreshold(), config.warmShort())
+                || count60s >= threshold(overrides.getWarmLongThreshold(), config.warmLong())) {
             return HotspotLevel.WARM;
         }
 
@@ -85,15 +118,70 @@ public class DefaultHotspotDetector implements HotspotDetector {
         return HotspotLevel.COLD;
     }
 
+    /**
+     * 按去重用户数限制热点等级
+     * - 用户数低于 EXTREMELY_HOT 要求：最高为 HOT
+     * - 用户数低于 HOT 要求：最高为 WARM
+     * 未统计去重用户数（null）时不限制
+     */
+    private HotspotLevel limitByDistinctUsers(HotspotLevel level, Long distinctUsers) {
+        if (distinctUsers == null || level.ordinal() < HotspotLevel.HOT.ordinal()) {
+            return level;
+        }
+
+        SchedulerProperties.HotspotConfig config = schedulerProperties.getHotspot();
+        if (level == HotspotLevel.EXTREMELY_HOT && distinctUsers < config.getExtremelyHotMinDistinctUsers()) {
+            level = HotspotLevel.HOT;
+        }
+        if (level == HotspotLevel.HOT && distinctUsers < config.getHotMinDistinctUsers()) {
+            level = HotspotLevel.WARM;
+        }
+        log.debug("按去重用户数限制热点等级: distinctUsers={}, level={}", distinctUsers, level);
+        return level;
+    }
+
+    /**
+     * 业务类型配置了阈值时使用业务类型阈值，否则使用全局阈值
+     */
+    private static long threshold(Long profileValue, long globalValue) {
+        return profileValue != null ? profileValue : globalValue;
+    }
+
     @Override
     public Long getThreshold(HotspotLevel level) {
-        SchedulerProperties.HotspotConfig config = schedulerProperties.getHotspot();
+        TuningSnapshot.Thresholds config = globalThresholds();
         // 返回长窗口阈值作为参考值
         return switch (level) {
             case COLD -> 0L;
-            case WARM -> config.getWarmLongThreshold();
-            case HOT -> config.getHotLongThreshold();
-            case EXTREMELY_HOT -> config.getExtremelyHotLongThreshold();
+            case WARM -> config.warmLong();
+            case HOT -> config.hotLong();
+            case EXTREMELY_HOT -> config.extremelyHotLong();
         };
     }
+
+    /**
+     * 全局阈值：调参后使用调参快照，否则使用按启动配置生成的阈值（配置未变化时不重复创建）
+     */
+    private TuningSnapshot.Thresholds globalThresholds() {
+        TuningSnapshot.Thresholds tuned = tunedThresholds;
+        if (tuned != null) {
+            return tuned;
+        }
+        SchedulerProperties.HotspotConfig config = schedulerProperties.getHotspot();
+        TuningSnapshot.Thresholds configured = configuredThresholds;
+        if (configured == null || !matches(configured, config)) {
+            configured = TuningSnapshot.Thresholds.from(config);
+            configuredThresholds = configured;
+        }
+        return configured;
+    }
+
+    private static boolean matches(TuningSnapshot.Thresholds thresholds, SchedulerProperties.HotspotConfig config) {
+        return thresholds.extremelyHotShort() == config.getExtremelyHotShortThreshold()
+                && thresholds.extremelyHotLong() == config.getExtremelyHotLongThreshold()
+                && thresholds.hotShort() == config.getHotShortThreshold()
+                && thresholds.hotLong() == config.getHotLongThreshold()
+                && thresholds.warmShort() == config.getWarmShortThreshold()
+                && thresholds.warmLong() == config.getWarmLongThreshold();
+    }
 }
@@ -0,0 +1,76 @@
+package com.example.aliintern.scheduler.prewarm;
+
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 热点等级固定表
+ *
+ * 预热的 key 在活动期间固定为指定热点等级，不受访问统计波动影响
+ * 调度门面在热点识别后查询此表，固定等级高于识别结果时以固定等级为准
+ *
+ * 固定项到期后在下次查询时移除
+ */
+@Component
+public class HotspotPinRegistry {
+
+    private final Map<String, Pin> pins = new ConcurrentHashMap<>();
+
+    /**
+     * 固定热点等级
+     *
+     * @param keys        缓存键
+     * @param level       热点等级
+     * @param untilMillis 到期时间（epoch 毫秒）
+     */
+    public void pin(Collection<String> keys, HotspotLevel level, long untilMillis) {
+        Pin pin = new Pin(level, untilMillis);
+        for (String key : keys) {
+            pins.merge(key, pin, (old, current) -> old.untilMillis() > current.untilMillis()
+                    && old.level().ordinal() >= current.level().ordinal() ? old : current);
+        }
+    }
+
+    /**
+     * 查询固定的热点等级
+     *
+     * @param key 缓存键
+     * @return 固定等级，未固定或已到期时返回 null
+     */
+    public HotspotLevel pinnedLevel(String key) {
+        if (key == null || pins.isEmpty()) {
+            return null;
+        }
+        Pin pin = pins.get(key);
+        if (pin == null) {
+            return null;
+        }
+        if (pin.untilMillis() <= System.currentTimeMillis()) {
+            pins.remove(key, pin);
+            return null;
+        }
+        return pin.level();
+    }
+
+    /**
+     * 在识别结果与固定等级中取较高者
+     */
+    public HotspotLevel apply(String key, HotspotLevel detected) {
+        HotspotLevel pinned = pinnedLevel(key);
+        if (pinned == null || (detected != null && detected.ordinal() >= pinned.ordinal())) {
+            return detected;
+        }
+        return pinned;
+    }
+
+    public int size() {
+        return pins.size();
+    }
+
+    private record Pin(HotspotLevel level, long untilMillis) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.aliintern.scheduler.prewarm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 预热回源函数注册表
+ *
+ * 业务方按 bizType 注册批量回源函数与值类型：
+ * - 预热时用于批量回源
+ * - 各实例收到预热广播后按值类型从 Redis 解码并写入本地缓存
+ *
+ * 所有实例需注册相同的 bizType（通常在业务组件初始化时注册）
+ */
+@Slf4j
+@Component
+public class PrewarmLoaderRegistry {
+
+    private final Map<String, Registration<?>> registrations = new ConcurrentHashMap<>();
+
+    /**
+     * 注册批量回源函数
+     *
+     * @param bizType 业务类型
+     * @param type    值类型
+     * @param loader  批量回源函数，返回结果中缺失的 key 视为不存在
+     */
+    public <T> void register(String bizType, Class<T> type, Function<Set<String>, Map<String, T>> loader) {
+        registrations.put(bizType, new Registration<>(type, loader));
+        log.info("预热回源函数已注册: bizType={}, type={}", bizType, type.getSimpleName());
+    }
+
+    /**
+     * 获取注册信息
+     *
+     * @param bizType 业务类型
+     * @return 注册信息，未注册时返回 null
+     */
+    public Registration<?> get(String bizType) {
+        return bizType != null ? registrations.get(bizType) : null;
+    }
+
+    /**
+     * 注册信息
+     *
+     * @param type   值类型
+     * @param loader 批量回源函数
+     */
+    public record Registration<T>(Class<T> type, Function<Set<String>, Map<String, T>> loader) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.aliintern.scheduler.prewarm;
+
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 预热登记请求
+ */
+@Data
+public class PrewarmRequest {
+
+    /**
+     * 业务类型（决定使用哪个批量回源函数）
+     */
+    private String bizType;
+
+    /**
+     * 需要预热的缓存键
+     */
+    private List<String> keys;
+
+    /**
+     * 活动开始时间（epoch 毫秒）
+     */
+    private Long startTime;
+
+    /**
+     * 活动持续时间（秒），期间 key 固定为指定热点等级
+     */
+    private Long durationSeconds;
+
+    /**
+     * 固定的热点等级，默认 EXTREMELY_HOT
+     */
+    private HotspotLevel level = HotspotLevel.EXTREMELY_HOT;
+
+    /**
+     * 提前预热时间（秒），为空时使用 scheduler.prewarm.lead-seconds
+     */
+    private Integer leadSeconds;
+}
@@ -0,0 +1,301 @@
+package com.example.aliintern.scheduler.prewarm;
+
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.client.RemoteCacheClient;
+import com.example.aliintern.scheduler.common.cluster.ClusterMessageBus;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.enums.PrewarmStatus;
+import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.RequestContext;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import com.example.aliintern.scheduler.strategy.DecisionStrategyEngine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预热服务
+ *
+ * 面向已知时间点的流量高峰（如秒杀），在活动开始前主动加载缓存，而不是等流量到达后被动识别：
+ * 1. 登记任务：key 列表、bizType、活动开始时间、持续时间、固定热点等级
+ * 2. 预热时间到达（开始时间 - 提前量）：按 bizType 的批量回源函数加载，写入 Redis（极热等级同时写副本）
+ * 3. 广播预热消息：各实例（含本实例）固定热点等级，并从 Redis 读取写入本地缓存（使用 bizType 的策略与本地缓存分区）
+ * 4. 活动结束：固定等级到期，任务状态变为 EXPIRED
+ *
+ * 广播消息格式：{level}\n{untilMillis}\n{bizType}\n{key1}\n{key2}...
+ *
+ * 任务状态只保存在登记任务的实例内存中（预热与过期调度也在该实例执行）：
+ * 查询需要落到登记任务的实例，该实例重启后任务及其未执行的调度丢失，需要重新登记
+ */
+@Slf4j
+@Service
+public class PrewarmService {
+
+    private final RemoteCacheClient remoteCache;
+    private final LocalCacheClient localCache;
+    private final DecisionStrategyEngine decisionStrategyEngine;
+    private final ClusterMessageBus messageBus;
+    private final PrewarmLoaderRegistry loaderRegistry;
+    private final HotspotPinRegistry pinRegistry;
+    private final SchedulerProperties schedulerProperties;
+
+    private final Map<String, PrewarmTask> tasks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-prewarm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PrewarmService(RemoteCacheClient remoteCache,
+                          LocalCacheClient localCache,
+                          DecisionStrategyEngine decisionStrategyEngine,
+                          ClusterMessageBus messageBus,
+                          PrewarmLoaderRegistry loaderRegistry,
+                          HotspotPinRegistry pinRegistry,
+                          SchedulerProperties schedulerProperties) {
+        this.remoteCache = remoteCache;
+        this.localCache = localCache;
+        this.decisionStrategyEngine = decisionStrategyEngine;
+        this.messageBus = messageBus;
+        this.loaderRegistry = loaderRegistry;
+        this.pinRegistry = pinRegistry;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    @PostConstruct
+    public void init() {
+        messageBus.subscribe(schedulerProperties.getPrewarm().getChannel(), this::onMessage);
+    }
+
+    /**
+     * 登记预热任务
+     *
+     * @param request 预热请求
+     * @return 预热任务
+     * @throws IllegalArgumentException 参数不合法
+     */
+    public PrewarmTask schedule(PrewarmRequest request) {
+        validate(request);
+
+        long now = System.currentTimeMillis();
+        int leadSeconds = request.getLeadSeconds() != null
+                ? request.getLeadSeconds()
+                : schedulerProperties.getPrewarm().getLeadSeconds();
+
+        PrewarmTask task = new PrewarmTask();
+        task.setTaskId(UUID.randomUUID().toString());
+        task.setBizType(request.getBizType());
+        task.setKeys(List.copyOf(new LinkedHashSet<>(request.getKeys())));
+        task.setLevel(request.getLevel() != null ? request.getLevel() : HotspotLevel.EXTREMELY_HOT);
+        task.setStartTime(request.getStartTime());
+        task.setEndTime(request.getStartTime() + TimeUnit.SECONDS.toMillis(request.getDurationSeconds()));
+        task.setWarmAt(Math.max(now, request.getStartTime() - TimeUnit.SECONDS.toMillis(leadSeconds)));
+        task.setCreatedAt(now);
+        updateStatus(task, PrewarmStatus.SCHEDULED);
+        tasks.put(task.getTaskId(), task);
+
+        executor.schedule(() -> warm(task), task.getWarmAt() - now, TimeUnit.MILLISECONDS);
+        executor.schedule(() -> expire(task), task.getEndTime() - now, TimeUnit.MILLISECONDS);
+
+        log.info("预热任务已登记: taskId={}, bizType={}, keys={}, level={}, warmAt={}, endTime={}",
+                task.getTaskId(), task.getBizType(), task.getKeys().size(), task.getLevel(),
+                task.getWarmAt(), task.getEndTime());
+        return task;
+    }
+
+    /**
+     * 查询预热任务
+     *
+     * @param taskId 任务 ID
+     * @return 预热任务，不存在时返回 null
+     */
+    public PrewarmTask getTask(String taskId) {
+        return taskId != null ? tasks.get(taskId) : null;
+    }
+
+    /**
+     * 查询全部预热任务
+     */
+    public Collection<PrewarmTask> listTasks() {
+        return List.copyOf(tasks.values());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ==================== 预热流程 ====================
+
+    /**
+     * 执行预热：分批回源、写入 Redis、广播
+     */
+    void warm(PrewarmTask task) {
+        PrewarmLoaderRegistry.Registration<?> registration = loaderRegistry.get(task.getBizType());
+        if (registration == null) {
+            task.setMessage("未注册回源函数: bizType=" + task.getBizType());
+            updateStatus(task, PrewarmStatus.FAILED);
+            log.warn("预热失败，未注册回源函数: taskId={}, bizType={}", task.getTaskId(), task.getBizType());
+            return;
+        }
+
+        updateStatus(task, PrewarmStatus.WARMING);
+        DispatchDecision decision = decisionStrategyEngine.decide(task.getLevel(), bizContext(task.getBizType()));
+        int replicas = remoteCache.replicaCount(task.getLevel());
+        int loadedCount = 0;
+        List<String> missingKeys = new ArrayList<>();
+
+        try {
+            for (List<String> batch : partition(task.getKeys(), schedulerProperties.getPrewarm().getBatchSize())) {
+                Map<String, ?> loaded = registration.loader().apply(new LinkedHashSet<>(batch));
+                Map<String, Object> values = new LinkedHashMap<>(batch.size() * 2);
+                for (String key : batch) {
+                    Object value = loaded != null ? loaded.get(key) : null;
+                    if (value == null) {
+                        missingKeys.add(key);
+                    } else {
+                        values.put(key, value);
+                    }
+                }
+                // 每批一次 pipeline 写入（含副本）
+                if (!values.isEmpty()) {
+                    Map<String, CacheTtlLevel> ttlLevels = new HashMap<>(values.size() * 2);
+                    Map<String, Integer> replicaCounts = new HashMap<>(values.size() * 2);
+                    for (String key : values.keySet()) {
+                        ttlLevels.put(key, decision.getTtlLevel());
+                        replicaCounts.put(key, replicas);
+                    }
+                    remoteCache.putAll(values, ttlLevels, replicaCounts, 0L);
+                }
+                loadedCount += values.size();
+                task.setLoadedCount(loadedCount);
+
+                // 所有 key 均固定等级，回源缺失的 key 也不应被降级（避免活动开始后集中回源）
+                publish(task, batch);
+            }
+        } catch (Exception e) {
+            task.setMessage("回源异常: " + e.getMessage());
+            task.setMissingKeys(List.copyOf(missingKeys));
+            updateStatus(task, PrewarmStatus.FAILED);
+            log.warn("预热失败: taskId={}, error={}", task.getTaskId(), e.getMessage());
+            return;
+        }
+
+        task.setMissingKeys(List.copyOf(missingKeys));
+        updateStatus(task, PrewarmStatus.WARMED);
+        log.info("预热完成: taskId={}, loaded={}, missing={}", task.getTaskId(), loadedCount, missingKeys.size());
+    }
+
+    /**
+     * 活动结束：标记过期，到达保留时间后移除任务
+     */
+    void expire(PrewarmTask task) {
+        if (task.getStatus() == PrewarmStatus.WARMED || task.getStatus() == PrewarmStatus.SCHEDULED
+                || task.getStatus() == PrewarmStatus.WARMING) {
+            updateStatus(task, PrewarmStatus.EXPIRED);
+        }
+        executor.schedule(() -> tasks.remove(task.getTaskId()),
+                schedulerProperties.getPrewarm().getRetainSeconds(), TimeUnit.SECONDS);
+        log.info("预热任务结束: taskId={}, status={}", task.getTaskId(), task.getStatus());
+    }
+
+    private void publish(PrewarmTask task, List<String> keys) {
+        StringBuilder message = new StringBuilder(keys.size() * 24)
+                .append(task.getLevel().name()).append('\n')
+                .append(task.getEndTime()).append('\n')
+                .append(task.getBizType());
+        for (String key : keys) {
+            message.append('\n').append(key);
+        }
+        messageBus.publish(schedulerProperties.getPrewarm().getChannel(), message.toString());
+    }
+
+    /**
+     * 处理预热广播：固定热点等级，并从 Redis 读取写入本地缓存
+     */
+    void onMessage(String message) {
+        try {
+            String[] parts = message.split("\n");
+            if (parts.length < 4) {
+                return;
+            }
+            HotspotLevel level = HotspotLevel.valueOf(parts[0]);
+            long untilMillis = Long.parseLong(parts[1]);
+            String bizType = parts[2];
+            List<String> keys = List.of(parts).subList(3, parts.length);
+
+            pinRegistry.pin(keys, level, untilMillis);
+
+            DispatchDecision decision = decisionStrategyEngine.decide(level, bizContext(bizType));
+            if (decision.getCacheMode() == null || !decision.getCacheMode().usesLocal()) {
+                return;
+            }
+            PrewarmLoaderRegistry.Registration<?> registration = loaderRegistry.get(bizType);
+            Map<String, ?> values = remoteCache.getAll(keys, registration != null ? registration.type() : null);
+            LocalCacheClient target = decision.getBizType() != null
+                    ? localCache.partition(decision.getBizType()) : localCache;
+            for (Map.Entry<String, ?> e : values.entrySet()) {
+                target.put(e.getKey(), e.getValue(), decision.getTtlLevel());
+            }
+            log.info("收到预热广播: bizType={}, keys={}, localFilled={}", bizType, keys.size(), values.size());
+        } catch (Exception e) {
+            log.warn("预热广播处理失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按业务类型决策使用的上下文（使用业务类型的策略与本地缓存分区）
+     */
+    private static RequestContext bizContext(String bizType) {
+        return RequestContext.builder().bizType(bizType).build();
+    }
+
+    private void validate(PrewarmRequest request) {
+        if (request == null || request.getBizType() == null || request.getBizType().isBlank()) {
+            throw new IllegalArgumentException("bizType 不能为空");
+        }
+        if (request.getKeys() == null || request.getKeys().isEmpty()) {
+            throw new IllegalArgumentException("keys 不能为空");
+        }
+        if (request.getKeys().stream().anyMatch(key -> key == null || key.isEmpty() || key.indexOf('\n') >= 0)) {
+            throw new IllegalArgumentException("key 不能为空或包含换行符");
+        }
+        if (request.getStartTime() == null || request.getDurationSeconds() == null
+                || request.getDurationSeconds() <= 0) {
+            throw new IllegalArgumentException("startTime 与 durationSeconds 必须指定且 durationSeconds > 0");
+        }
+        long endTime = request.getStartTime() + TimeUnit.SECONDS.toMillis(request.getDurationSeconds());
+        if (endTime <= System.currentTimeMillis()) {
+            throw new IllegalArgumentException("活动已结束");
+        }
+    }
+
+    private static void updateStatus(PrewarmTask task, PrewarmStatus status) {
+        task.setStatus(status);
+        task.setUpdatedAt(System.currentTimeMillis());
+    }
+
+    private static List<List<String>> partition(List<String> keys, int size) {
+        int batchSize = Math.max(1, size);
+        List<List<String>> batches = new ArrayList<>((keys.size() + batchSize - 1) / batchSize);
+        for (int i = 0; i < keys.size(); i += batchSize) {
+            batches.add(keys.subList(i, Math.min(keys.size(), i + batchSize)));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.aliintern.scheduler.prewarm;
+
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.enums.PrewarmStatus;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 预热任务
+ * 状态由预热调度线程更新，查询接口读取
+ */
+@Data
+public class PrewarmTask {
+
+    private String taskId;
+
+    private String bizType;
+
+    private List<String> keys;
+
+    private HotspotLevel level;
+
+    /**
+     * 预热时间（epoch 毫秒）
+     */
+    private long warmAt;
+
+    /**
+     * 活动开始时间（epoch 毫秒）
+     */
+    private long startTime;
+
+    /**
+     * 活动结束时间（epoch 毫秒）
+     */
+    private long endTime;
+
+    private volatile PrewarmStatus status;
+
+    /**
+     * 成功写入缓存的 key 数量
+     */
+    private volatile int loadedCount;
+
+    /**
+     * 回源未返回值的 key
+     */
+    private volatile List<String> missingKeys = List.of();
+
+    /**
+     * 失败原因
+     */
+    private volatile String message;
+
+    private long createdAt;
+
+    private volatile long updatedAt;
+}
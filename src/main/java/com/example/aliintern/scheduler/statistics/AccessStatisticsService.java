@@ -1,7 +1,12 @@
 package com.example.aliintern.scheduler.statistics;
 
+import com.example.aliintern.scheduler.common.model.FusedReadResult;
 import com.example.aliintern.scheduler.common.model.StatResult;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 访问统计模块接口
  * 负责对有缓存潜力的请求key进行低成本、高并发的访问频次统计
@@ -35,4 +40,104 @@ public interface AccessStatisticsService {
      * @return StatResult 包含 countShort 和 countLong 的统计结果
      */
     StatResult record(String bizType, String bizKey);
+
+    /**
+     * 异步记录一次访问并返回双窗口统计结果
+     * 
+     * 与 {@link #record(String, String)} 语义一致，不占用调用线程等待 Redis 响应
+     * 默认实现为同步调用，实现类可基于异步客户端覆盖
+     *
+     * @param bizType 业务类型
+     * @param bizKey  业务键
+     * @return StatResult 的 Future
+     */
+    default CompletableFuture<StatResult> recordAsync(String bizType, String bizKey) {
+        return CompletableFuture.completedFuture(record(bizType, bizKey));
+    }
+
+    /**
+     * 记录一次携带用户标识的访问
+     * 
+     * 开启去重用户统计时，实现类额外统计长窗口内的去重用户数（{@link StatResult#getDistinctUsers()}），
+     * 并限制单个用户计入的访问次数；默认实现忽略 userId
+     *
+     * @param bizType 业务类型
+     * @param bizKey  业务键
+     * @param userId  用户标识，为 null 时等同于 {@link #record(String, String)}
+     * @return StatResult 统计结果
+     */
+    default StatResult record(String bizType, String bizKey, String userId) {
+        return record(bizType, bizKey);
+    }
+
+    /**
+     * 异步记录一次携带用户标识的访问
+     * 
+     * 与 {@link #record(String, String, String)} 语义一致，默认实现忽略 userId
+     *
+     * @param bizType 业务类型
+     * @param bizKey  业务键
+     * @param userId  用户标识，为 null 时等同于 {@link #recordAsync(String, String)}
+     * @return StatResult 的 Future
+     */
+    default CompletableFuture<StatResult> recordAsync(String bizType, String bizKey, String userId) {
+        return recordAsync(bizType, bizKey);
+    }
+
+    /**
+     * 批量记录访问（多 key 请求）
+     * 
+     * 默认实现逐个调用 {@link #record(String, String, String)}
+     *
+     * @param keys 访问键列表
+     * @return 统计结果列表，与 keys 一一对应
+     */
+    default List<StatResult> recordAll(List<AccessKey> keys) {
+        List<StatResult> results = new ArrayList<>(keys.size());
+        for (AccessKey key : keys) {
+            results.add(record(key.bizType(), key.bizKey(), key.userId()));
+        }
+        return results;
+    }
+
+    /**
+     * 记录一次访问并同时读取缓存值（合并为一次 Redis 往返）
+     * 
+     * 默认实现只记录访问，不预读缓存值（{@link FusedReadResult#fetched()} 为 false）
+     *
+     * @param bizType  业务类型
+     * @param bizKey   业务键
+     * @param userId   用户标识，可为 null
+     * @param cacheKey 要预读的缓存键
+     * @return 统计结果与预读的缓存值
+     */
+    default FusedReadResult recordAndGet(String bizType, String bizKey, String userId, String cacheKey) {
+        return FusedReadResult.notFetched(record(bizType, bizKey, userId));
+    }
+
+    /**
+     * 异步记录一次访问并同时读取缓存值
+     * 
+     * 与 {@link #recordAndGet(String, String, String, String)} 语义一致，默认实现只记录访问
+     *
+     * @param bizType  业务类型
+     * @param bizKey   业务键
+     * @param userId   用户标识，可为 null
+     * @param cacheKey 要预读的缓存键
+     * @return 统计结果与预读缓存值的 Future
+     */
+    default CompletableFuture<FusedReadResult> recordAndGetAsync(String bizType, String bizKey, String userId,
+                                                                 String cacheKey) {
+        return recordAsync(bizType, bizKey, userId).thenApply(FusedReadResult::notFetched);
+    }
+
+    /**
+     * 批量记录的访问键
+     *
+     * @param bizType 业务类型
+     * @param bizKey  业务键
+     * @param userId  用户标识，可为 null
+     */
+    record AccessKey(String bizType, String bizKey, String userId) {
+    }
 }
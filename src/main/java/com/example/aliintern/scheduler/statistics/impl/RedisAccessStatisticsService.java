@@ -1,8 +1,14 @@
 package com.example.aliintern.scheduler.statistics.impl;
 
+import com.example.aliintern.scheduler.common.metrics.SchedulerMetrics;
+import com.example.aliintern.scheduler.common.model.FusedReadResult;
 import com.example.aliintern.scheduler.common.model.StatResult;
+import com.example.aliintern.scheduler.common.redis.AsyncRedisCommandsProvider;
+import com.example.aliintern.scheduler.common.redis.AsyncRedisScript;
 import com.example.aliintern.scheduler.config.SchedulerProperties;
 import com.example.aliintern.scheduler.statistics.AccessStatisticsService;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,7 +16,12 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 访问统计模块实现
@@ -22,6 +33,16 @@ import java.util.Collections;
  * 3. 使用Lua脚本保证INCR + EXPIRE的原子性
  * 4. 不使用本地内存，支持多实例部署
  * 5. 完整的容错机制：超时、重试、降级
+ * 6. 支持异步记录：双窗口脚本同时发出，不阻塞调用线程
+ * 7. 可选去重用户统计：携带 userId 的请求按 HyperLogLog 统计长窗口内的去重用户数，
+ *    并按单用户计数上限过滤同一用户的重复访问（超过上限时只读取当前计数，不再递增）；
+ *    不携带 userId 的请求只读取已有的去重用户数，key 从未有过登录用户时不返回（不限制热点等级）；
+ *    单用户计数 Hash 最多记录 perUserCapMaxTrackedUsers 个用户，超出后新用户不再计数，内存有上界
+ *    Key格式：{keyPrefix}:{bizType:bizKey}:users:{window}（HLL）、{keyPrefix}:{bizType:bizKey}:user-counts:{window}（Hash），
+ *    两个 Key 使用相同的 hash tag，集群模式下可在一个脚本中访问
+ * 8. 批量记录：各 key 的计数脚本同时发出，由连接批量写出，整批共用一次网络等待
+ * 9. 可选合并读取：统计的同时读取缓存值与剩余 TTL，单机模式下在一个脚本内完成；
+ *    集群模式下统计 key 与缓存 key 不在同一槽位，改为计数脚本与 GET + PTTL 脚本同时发出
  */
 @Slf4j
 @Service
@@ -30,6 +51,8 @@ public class RedisAccessStatisticsService implements AccessStatisticsService {
 
     private final StringRedisTemplate redisTemplate;
     private final SchedulerProperties schedulerProperties;
+    private final AsyncRedisCommandsProvider asyncCommandsProvider;
+    private final SchedulerMetrics metrics;
 
     /**
      * Redis Lua脚本：原子性执行 INCR + 条件 EXPIRE
@@ -46,7 +69,87 @@ public class RedisAccessStatisticsService implements AccessStatisticsService {
             "end " +
             "return count";
 
+    /**
+     * Redis Lua脚本：读取当前计数（不存在时返回 0），用于超过单用户上限的访问
+     */
+    private static final String GET_COUNT_SCRIPT =
+            "local count = redis.call('GET', KEYS[1]) " +
+            "if count then " +
+            "    return tonumber(count) " +
+            "end " +
+            "return 0";
+
+    /**
+     * Redis Lua脚本：记录用户并返回 {去重用户数, 该用户的访问次数}
+     * 
+     * 逻辑：
+     * 1. 匿名请求（ARGV[1] 为空）：只读取 PFCOUNT，HLL 不存在时返回 -1
+     * 2. PFADD 用户到 HLL，首次创建时设置过期时间
+     * 3. 配置了单用户上限（ARGV[3] > 0）时 HINCRBY 该用户的访问次数，首次创建时设置过期时间；
+     *    Hash 已记录 ARGV[4] 个用户时不再加入新用户（新用户的访问次数为 0，不受上限限制）
+     * 4. 返回 PFCOUNT 与该用户的访问次数（未配置上限时为 0）
+     */
+    private static final String TRACK_USER_SCRIPT =
+            "if ARGV[1] == '' then " +
+            "    if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "        return {-1, 0} " +
+            "    end " +
+            "    return {redis.call('PFCOUNT', KEYS[1]), 0} " +
+            "end " +
+            "if redis.call('PFADD', KEYS[1], ARGV[1]) == 1 and redis.call('TTL', KEYS[1]) == -1 then " +
+            "    redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "local count = 0 " +
+            "if tonumber(ARGV[3]) > 0 and (redis.call('HLEN', KEYS[2]) < tonumber(ARGV[4]) " +
+            "        or redis.call('HEXISTS', KEYS[2], ARGV[1]) == 1) then " +
+            "    count = redis.call('HINCRBY', KEYS[2], ARGV[1], 1) " +
+            "    if redis.call('TTL', KEYS[2]) == -1 then " +
+            "        redis.call('EXPIRE', KEYS[2], ARGV[2]) " +
+            "    end " +
+            "end " +
+            "return {redis.call('PFCOUNT', KEYS[1]), count}";
+
+    /**
+     * Redis Lua脚本：递增双窗口计数并读取缓存值，返回 {短窗口计数, 长窗口计数, 缓存值, 缓存剩余 TTL（毫秒）}
+     * 
+     * KEYS[1] / KEYS[2] 为短 / 长窗口计数 key，KEYS[3] 为缓存 key；ARGV[1] / ARGV[2] 为两个窗口的过期时间
+     * 只用于单机模式（集群模式下三个 key 不在同一槽位）
+     */
+    private static final String INCR_AND_GET_SCRIPT =
+            "local function incr(key, ttl) " +
+            "    local count = redis.call('INCR', key) " +
+            "    if count == 1 then " +
+            "        redis.call('EXPIRE', key, ttl) " +
+            "    end " +
+            "    return count " +
+            "end " +
+            "return {incr(KEYS[1], ARGV[1]), incr(KEYS[2], ARGV[2]), " +
+            "        redis.call('GET', KEYS[3]), redis.call('PTTL', KEYS[3])}";
+
+    /**
+     * Redis Lua脚本：读取缓存值与剩余 TTL（集群模式下与计数脚本同时发出）
+     */
+    private static final String GET_WITH_PTTL_SCRIPT =
+            "return {redis.call('GET', KEYS[1]), redis.call('PTTL', KEYS[1])}";
+
+    /**
+     * 异步路径的脚本（EVALSHA，NOSCRIPT 时回退 EVAL）
+     */
+    private static final AsyncRedisScript INCR_WITH_EXPIRE_ASYNC =
+            new AsyncRedisScript(INCR_WITH_EXPIRE_SCRIPT, ScriptOutputType.INTEGER);
+    private static final AsyncRedisScript GET_COUNT_ASYNC =
+            new AsyncRedisScript(GET_COUNT_SCRIPT, ScriptOutputType.INTEGER);
+    private static final AsyncRedisScript TRACK_USER_ASYNC =
+            new AsyncRedisScript(TRACK_USER_SCRIPT, ScriptOutputType.MULTI);
+    private static final AsyncRedisScript INCR_AND_GET_ASYNC =
+            new AsyncRedisScript(INCR_AND_GET_SCRIPT, ScriptOutputType.MULTI);
+    private static final AsyncRedisScript GET_WITH_PTTL_ASYNC =
+            new AsyncRedisScript(GET_WITH_PTTL_SCRIPT, ScriptOutputType.MULTI);
+
     private DefaultRedisScript<Long> incrWithExpireScript;
+    private DefaultRedisScript<Long> getCountScript;
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> trackUserScript;
 
     @PostConstruct
     public void init() {
@@ -54,6 +157,8 @@ public class RedisAccessStatisticsService implements AccessStatisticsService {
         incrWithExpireScript = new DefaultRedisScript<>();
         incrWithExpireScript.setScriptText(INCR_WITH_EXPIRE_SCRIPT);
         incrWithExpireScript.setResultType(Long.class);
+        getCountScript = new DefaultRedisScript<>(GET_COUNT_SCRIPT, Long.class);
+        trackUserScript = new DefaultRedisScript<>(TRACK_USER_SCRIPT, List.class);
         
         SchedulerProperties.StatConfig config = schedulerProperties.getStat();
         log.info("访问统计模块初始化完成 - 配置: shortWindow={}s, longWindow={}s, keyPrefix={}, redisTimeout={}ms", 
@@ -63,6 +168,11 @@ public class RedisAccessStatisticsService implements AccessStatisticsService {
 
     @Override
     public StatResult record(String bizType, String bizKey) {
+        return record(bizType, bizKey, null);
+    }
+
+    @Override
+    public StatResult record(String bizType, String bizKey, String userId) {
         if (bizType == null || bizType.isEmpty() || bizKey == null || bizKey.isEmpty()) {
             log.warn("无效的统计参数: bizType={}, bizKey={}", bizType, bizKey);
             return StatResult.empty();
@@ -79,17 +189,22 @@ public class RedisAccessStatisticsService implements AccessStatisticsService {
             int ttlShort = (int) Math.ceil(config.getShortWindowSeconds());
             int ttlLong = config.getLongWindowSeconds();
 
-            // 执行Lua脚本更新计数（原子操作）
-            Long countShort = executeIncrWithExpire(keyShort, ttlShort);
-            Long countLong = executeIncrWithExpire(keyLong, ttlLong);
+            // 记录用户（开启去重用户统计时；匿名请求只读取去重用户数）
+            long[] user = tracksUsers(config) ? executeTrackUser(bizType, bizKey, userId, ttlLong) : null;
+            boolean capped = user != null && exceedsCap(config, user[1]);
+
+            // 执行Lua脚本更新计数（原子操作），超过单用户上限时只读取当前计数
+            Long countShort = capped ? executeGetCount(keyShort) : executeIncrWithExpire(keyShort, ttlShort);
+            Long countLong = capped ? executeGetCount(keyLong) : executeIncrWithExpire(keyLong, ttlLong);
 
-            log.debug("访问统计记录完成: bizType={}, bizKey={}, countShort={}, countLong={}", 
-                    bizType, bizKey, countShort, countLong);
+            log.debug("访问统计记录完成: bizType={}, bizKey={}, countShort={}, countLong={}, capped={}", 
+                    bizType, bizKey, countShort, countLong, capped);
 
-            return StatResult.of(countShort, countLong);
+            return StatResult.of(countShort, countLong, distinctUsers(user));
         } catch (Exception e) {
             log.error("访问统计记录失败: bizType={}, bizKey={}, error={}", 
                     bizType, bizKey, e.getMessage(), e);
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.STAT);
             
             // 根据降级开关决定是否返回空结果
             if (config.getFallbackEnabled()) {
@@ -101,6 +216,330 @@ public class RedisAccessStatisticsService implements AccessStatisticsService {
         }
     }
 
+    @Override
+    public CompletableFuture<StatResult> recordAsync(String bizType, String bizKey) {
+        return recordAsync(bizType, bizKey, null);
+    }
+
+    @Override
+    public CompletableFuture<StatResult> recordAsync(String bizType, String bizKey, String userId) {
+        if (bizType == null || bizType.isEmpty() || bizKey == null || bizKey.isEmpty()) {
+            log.warn("无效的统计参数: bizType={}, bizKey={}", bizType, bizKey);
+            return CompletableFuture.completedFuture(StatResult.empty());
+        }
+
+        RedisClusterAsyncCommands<byte[], byte[]> commands = asyncCommandsProvider.commands();
+        if (commands == null) {
+            // 异步连接不可用，降级为同步记录
+            return CompletableFuture.completedFuture(record(bizType, bizKey, userId));
+        }
+
+        SchedulerProperties.StatConfig config = schedulerProperties.getStat();
+        try {
+            String keyShort = buildStatKey(bizType, bizKey, formatWindowKey(config.getShortWindowSeconds()));
+            String keyLong = buildStatKey(bizType, bizKey, config.getLongWindowSeconds() + "s");
+            int ttlShort = (int) Math.ceil(config.getShortWindowSeconds());
+            int ttlLong = config.getLongWindowSeconds();
+
+            CompletableFuture<StatResult> result;
+            if (!tracksUsers(config)) {
+                // 两个窗口的脚本同时发出，共用一次网络等待
+                result = evalIncrWithExpireAsync(commands, keyShort, ttlShort)
+                        .thenCombine(evalIncrWithExpireAsync(commands, keyLong, ttlLong), StatResult::of);
+            } else if (config.getPerUserCap() == null || config.getPerUserCap() <= 0 || isAnonymous(userId)) {
+                // 未配置单用户上限或匿名请求：用户脚本与计数脚本同时发出
+                result = evalIncrWithExpireAsync(commands, keyShort, ttlShort)
+                        .thenCombine(evalIncrWithExpireAsync(commands, keyLong, ttlLong), StatResult::of)
+                        .thenCombine(evalTrackUserAsync(commands, bizType, bizKey, userId, ttlLong),
+                                (stat, user) -> StatResult.of(stat.getCount1s(), stat.getCount60s(),
+                                        distinctUsers(user)));
+            } else {
+                // 配置了单用户上限：先记录用户，再决定递增还是只读取计数
+                result = evalTrackUserAsync(commands, bizType, bizKey, userId, ttlLong).thenCompose(user -> {
+                    boolean capped = exceedsCap(config, user[1]);
+                    CompletableFuture<Long> countShort = capped
+                            ? evalGetCountAsync(commands, keyShort)
+                            : evalIncrWithExpireAsync(commands, keyShort, ttlShort);
+                    CompletableFuture<Long> countLong = capped
+                            ? evalGetCountAsync(commands, keyLong)
+                            : evalIncrWithExpireAsync(commands, keyLong, ttlLong);
+                    return countShort.thenCombine(countLong, (s, l) -> StatResult.of(s, l, distinctUsers(user)));
+                });
+            }
+
+            return result
+                    .exceptionally(e -> {
+                        log.error("访问统计异步记录失败: bizType={}, bizKey={}, error={}",
+                                bizType, bizKey, e.getMessage());
+                        metrics.recordRedisError(SchedulerMetrics.RedisOperation.STAT);
+                        if (config.getFallbackEnabled()) {
+                            log.warn("访问统计降级生效，返回空结果");
+                            return StatResult.empty();
+                        }
+                        throw new RuntimeException("访问统计失败且降级未开启", e);
+                    });
+        } catch (Exception e) {
+            log.error("访问统计异步记录失败: bizType={}, bizKey={}, error={}", bizType, bizKey, e.getMessage(), e);
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.STAT);
+            if (config.getFallbackEnabled()) {
+                return CompletableFuture.completedFuture(StatResult.empty());
+            }
+            return CompletableFuture.failedFuture(new RuntimeException("访问统计失败且降级未开启", e));
+        }
+    }
+
+    @Override
+    public List<StatResult> recordAll(List<AccessKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        if (asyncCommandsProvider.commands() == null) {
+            // 异步连接不可用，降级为逐个同步记录
+            return AccessStatisticsService.super.recordAll(keys);
+        }
+
+        List<CompletableFuture<StatResult>> futures = new ArrayList<>(keys.size());
+        for (AccessKey key : keys) {
+            futures.add(recordAsync(key.bizType(), key.bizKey(), key.userId()));
+        }
+
+        SchedulerProperties.StatConfig config = schedulerProperties.getStat();
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(config.getRedisTimeout(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("访问统计批量记录失败: size={}, error={}", keys.size(), e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.STAT);
+            if (!config.getFallbackEnabled()) {
+                throw new RuntimeException("访问统计失败且降级未开启", e);
+            }
+            log.warn("访问统计降级生效，未完成的 key 返回空结果");
+        }
+
+        List<StatResult> results = new ArrayList<>(keys.size());
+        for (CompletableFuture<StatResult> future : futures) {
+            results.add(future.isDone() && !future.isCompletedExceptionally() ? future.join() : StatResult.empty());
+        }
+        return results;
+    }
+
+    @Override
+    public FusedReadResult recordAndGet(String bizType, String bizKey, String userId, String cacheKey) {
+        if (!fusable(bizType, bizKey, userId, cacheKey)) {
+            return FusedReadResult.notFetched(record(bizType, bizKey, userId));
+        }
+
+        SchedulerProperties.StatConfig config = schedulerProperties.getStat();
+        try {
+            return evalRecordAndGetAsync(asyncCommandsProvider.commands(), bizType, bizKey, cacheKey)
+                    .get(config.getRedisTimeout(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("访问统计合并读取失败: bizType={}, bizKey={}, error={}", bizType, bizKey, e.getMessage());
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.STAT);
+            if (config.getFallbackEnabled()) {
+                log.warn("访问统计降级生效，返回空结果");
+                return FusedReadResult.notFetched(StatResult.empty());
+            }
+            throw new RuntimeException("访问统计失败且降级未开启", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<FusedReadResult> recordAndGetAsync(String bizType, String bizKey, String userId,
+                                                                String cacheKey) {
+        if (!fusable(bizType, bizKey, userId, cacheKey)) {
+            return recordAsync(bizType, bizKey, userId).thenApply(FusedReadResult::notFetched);
+        }
+
+        SchedulerProperties.StatConfig config = schedulerProperties.getStat();
+        try {
+            return evalRecordAndGetAsync(asyncCommandsProvider.commands(), bizType, bizKey, cacheKey)
+                    .exceptionally(e -> {
+                        log.error("访问统计合并读取失败: bizType={}, bizKey={}, error={}",
+                                bizType, bizKey, e.getMessage());
+                        metrics.recordRedisError(SchedulerMetrics.RedisOperation.STAT);
+                        if (config.getFallbackEnabled()) {
+                            log.warn("访问统计降级生效，返回空结果");
+                            return FusedReadResult.notFetched(StatResult.empty());
+                        }
+                        throw new RuntimeException("访问统计失败且降级未开启", e);
+                    });
+        } catch (Exception e) {
+            log.error("访问统计合并读取失败: bizType={}, bizKey={}, error={}", bizType, bizKey, e.getMessage(), e);
+            metrics.recordRedisError(SchedulerMetrics.RedisOperation.STAT);
+            if (config.getFallbackEnabled()) {
+                return CompletableFuture.completedFuture(FusedReadResult.notFetched(StatResult.empty()));
+            }
+            return CompletableFuture.failedFuture(new RuntimeException("访问统计失败且降级未开启", e));
+        }
+    }
+
+    /**
+     * 是否可以合并读取：参数有效、异步连接可用且未开启去重用户统计
+     * （去重用户数与单用户上限依赖用户脚本的结果，无法与读取合并）
+     */
+    private boolean fusable(String bizType, String bizKey, String userId, String cacheKey) {
+        return bizType != null && !bizType.isEmpty() && bizKey != null && !bizKey.isEmpty()
+                && cacheKey != null
+                && !tracksUsers(schedulerProperties.getStat())
+                && asyncCommandsProvider.commands() != null;
+    }
+
+    /**
+     * 异步递增双窗口计数并读取缓存值
+     * 单机模式下执行一个脚本；集群模式下计数脚本与 GET + PTTL 脚本同时发出，共用一次网络等待
+     */
+    private CompletableFuture<FusedReadResult> evalRecordAndGetAsync(
+            RedisClusterAsyncCommands<byte[], byte[]> commands, String bizType, String bizKey, String cacheKey) {
+        SchedulerProperties.StatConfig config = schedulerProperties.getStat();
+        String keyShort = buildStatKey(bizType, bizKey, formatWindowKey(config.getShortWindowSeconds()));
+        String keyLong = buildStatKey(bizType, bizKey, config.getLongWindowSeconds() + "s");
+        int ttlShort = (int) Math.ceil(config.getShortWindowSeconds());
+        int ttlLong = config.getLongWindowSeconds();
+        byte[] rawCacheKey = cacheKey.getBytes(StandardCharsets.UTF_8);
+
+        if (asyncCommandsProvider.isCluster()) {
+            return evalIncrWithExpireAsync(commands, keyShort, ttlShort)
+                    .thenCombine(evalIncrWithExpireAsync(commands, keyLong, ttlLong), StatResult::of)
+                    .thenCombine(GET_WITH_PTTL_ASYNC.<List<Object>>execute(commands, new byte[][]{rawCacheKey}),
+                            (stat, value) -> toFusedResult(stat, value, 0));
+        }
+
+        byte[][] keys = {
+                keyShort.getBytes(StandardCharsets.UTF_8),
+                keyLong.getBytes(StandardCharsets.UTF_8),
+                rawCacheKey
+        };
+        return INCR_AND_GET_ASYNC.<List<Object>>execute(commands, keys,
+                        String.valueOf(ttlShort).getBytes(StandardCharsets.UTF_8),
+                        String.valueOf(ttlLong).getBytes(StandardCharsets.UTF_8))
+                .thenApply(result -> toFusedResult(StatResult.of(longAt(result, 0), longAt(result, 1)), result, 2));
+    }
+
+    /**
+     * 解析 {缓存值, 剩余 TTL}（从 offset 开始）
+     */
+    private static FusedReadResult toFusedResult(StatResult stat, List<Object> result, int offset) {
+        byte[] value = result != null && result.size() > offset && result.get(offset) instanceof byte[] data
+                ? data : null;
+        return value != null
+                ? FusedReadResult.fetched(stat, value, longAt(result, offset + 1))
+                : FusedReadResult.miss(stat);
+    }
+
+    private static long longAt(List<?> result, int index) {
+        return result != null && result.size() > index && result.get(index) instanceof Number n ? n.longValue() : 0L;
+    }
+
+    /**
+     * 异步执行带过期时间的原子递增操作
+     */
+    private CompletableFuture<Long> evalIncrWithExpireAsync(RedisClusterAsyncCommands<byte[], byte[]> commands,
+                                                            String key, int ttl) {
+        byte[][] keys = {key.getBytes(StandardCharsets.UTF_8)};
+        return INCR_WITH_EXPIRE_ASYNC.<Long>execute(commands, keys,
+                        String.valueOf(ttl).getBytes(StandardCharsets.UTF_8))
+                .thenApply(result -> result != null ? result : 0L);
+    }
+
+    /**
+     * 异步读取当前计数
+     */
+    private CompletableFuture<Long> evalGetCountAsync(RedisClusterAsyncCommands<byte[], byte[]> commands,
+                                                      String key) {
+        byte[][] keys = {key.getBytes(StandardCharsets.UTF_8)};
+        return GET_COUNT_ASYNC.<Long>execute(commands, keys)
+                .thenApply(result -> result != null ? result : 0L);
+    }
+
+    /**
+     * 异步记录用户，返回 {去重用户数, 该用户的访问次数}
+     */
+    private CompletableFuture<long[]> evalTrackUserAsync(RedisClusterAsyncCommands<byte[], byte[]> commands,
+                                                         String bizType, String bizKey, String userId, int ttl) {
+        byte[][] keys = {
+                buildUserKey(bizType, bizKey, "users").getBytes(StandardCharsets.UTF_8),
+                buildUserKey(bizType, bizKey, "user-counts").getBytes(StandardCharsets.UTF_8)
+        };
+        return TRACK_USER_ASYNC.<List<Object>>execute(commands, keys,
+                        userArg(userId).getBytes(StandardCharsets.UTF_8),
+                        String.valueOf(ttl).getBytes(StandardCharsets.UTF_8),
+                        String.valueOf(perUserCap()).getBytes(StandardCharsets.UTF_8),
+                        String.valueOf(maxTrackedUsers()).getBytes(StandardCharsets.UTF_8))
+                .thenApply(RedisAccessStatisticsService::toUserStat);
+    }
+
+    /**
+     * 记录用户，返回 {去重用户数, 该用户的访问次数}
+     */
+    private long[] executeTrackUser(String bizType, String bizKey, String userId, int ttl) {
+        List<?> result = redisTemplate.execute(
+                trackUserScript,
+                List.of(buildUserKey(bizType, bizKey, "users"), buildUserKey(bizType, bizKey, "user-counts")),
+                userArg(userId),
+                String.valueOf(ttl),
+                String.valueOf(perUserCap()),
+                String.valueOf(maxTrackedUsers())
+        );
+        return toUserStat(result);
+    }
+
+    /**
+     * 读取当前计数
+     */
+    private Long executeGetCount(String key) {
+        Long result = redisTemplate.execute(getCountScript, Collections.singletonList(key));
+        return result != null ? result : 0L;
+    }
+
+    private static long[] toUserStat(List<?> result) {
+        long distinctUsers = result != null && result.size() > 0 ? ((Number) result.get(0)).longValue() : 0L;
+        long userCount = result != null && result.size() > 1 ? ((Number) result.get(1)).longValue() : 0L;
+        return new long[]{distinctUsers, userCount};
+    }
+
+    /**
+     * 去重用户数，key 没有去重用户记录（匿名请求读取到 -1）或未统计时返回 null
+     */
+    private static Long distinctUsers(long[] user) {
+        return user != null && user[0] >= 0 ? user[0] : null;
+    }
+
+    private static boolean tracksUsers(SchedulerProperties.StatConfig config) {
+        return Boolean.TRUE.equals(config.getDistinctUsersEnabled());
+    }
+
+    private static boolean isAnonymous(String userId) {
+        return userId == null || userId.isEmpty();
+    }
+
+    /**
+     * 脚本的用户参数，匿名请求为空字符串
+     */
+    private static String userArg(String userId) {
+        return isAnonymous(userId) ? "" : userId;
+    }
+
+    private static boolean exceedsCap(SchedulerProperties.StatConfig config, long userCount) {
+        return config.getPerUserCap() != null && config.getPerUserCap() > 0 && userCount > config.getPerUserCap();
+    }
+
+    private int perUserCap() {
+        Integer cap = schedulerProperties.getStat().getPerUserCap();
+        return cap != null ? Math.max(0, cap) : 0;
+    }
+
+    private int maxTrackedUsers() {
+        Integer max = schedulerProperties.getStat().getPerUserCapMaxTrackedUsers();
+        return max != null ? Math.max(1, max) : 10000;
+    }
+
     /**
      * 格式化窗口Key（支持小数）
      * 例如：2.0 -> "2s", 0.5 -> "0.5s"
@@ -137,4 +576,15 @@ public class RedisAccessStatisticsService implements AccessStatisticsService {
         String keyPrefix = schedulerProperties.getStat().getKeyPrefix();
         return String.format("%s:%s:%s:%s", keyPrefix, bizType, bizKey, window);
     }
+
+    /**
+     * 构建用户统计Key（长窗口）
+     * 格式：{keyPrefix}:{bizType:bizKey}:{type}:{window}
+     * 示例：stat:{product:12345}:users:120s
+     */
+    private String buildUserKey(String bizType, String bizKey, String type) {
+        SchedulerProperties.StatConfig config = schedulerProperties.getStat();
+        return String.format("%s:{%s:%s}:%s:%ss", config.getKeyPrefix(), bizType, bizKey, type,
+                config.getLongWindowSeconds());
+    }
 }
@@ -2,6 +2,7 @@ package com.example.aliintern.scheduler.strategy;
 
 import com.example.aliintern.scheduler.common.enums.HotspotLevel;
 import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.RequestContext;
 
 /**
  * 决策策略引擎接口
@@ -15,7 +16,8 @@ import com.example.aliintern.scheduler.common.model.DispatchDecision;
  * - 只做 HotspotLevel → 缓存策略映射
  * - 不操作 Redis / 本地缓存
  * - 不执行限流 / 降级 / 异步刷新
- * - 不感知 QPS / 线程 / 系统状态
+ * - 不直接采集 QPS / 线程 / 系统状态；开启负载感知时由 SystemLoadMonitor 在后台采样后推送，
+ *   decide 只读取预先计算好的结果
  * 
  * 模块边界：
  * - 访问统计模块：统计访问频次
@@ -32,4 +34,16 @@ public interface DecisionStrategyEngine {
      * @return 缓存策略决策（缓存模式 + TTL 等级）
      */
     DispatchDecision decide(HotspotLevel level);
+
+    /**
+     * 根据热点等级与请求上下文决定缓存策略
+     * 默认忽略上下文，实现类可按 key 维度的信息（如回源成本）调整决策
+     *
+     * @param level   热点等级
+     * @param context 请求上下文
+     * @return 缓存策略决策
+     */
+    default DispatchDecision decide(HotspotLevel level, RequestContext context) {
+        return decide(level);
+    }
 }
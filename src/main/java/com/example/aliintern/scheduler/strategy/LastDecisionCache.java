@@ -0,0 +1,52 @@
+package com.example.aliintern.scheduler.strategy;
+
+import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 最近决策表
+ *
+ * 记录每个缓存键最近一次的决策：
+ * - 调度门面的乐观模式在访问统计完成前按该决策提前读取缓存
+ * - 与新决策比较得出热点等级变化（见 {@link com.example.aliintern.scheduler.common.metrics.SchedulerMetrics}）
+ * 条目按容量淘汰，超过长窗口时长未更新的条目过期（热度可能已变化，不再作为预测依据）
+ */
+@Component
+public class LastDecisionCache {
+
+    private final Cache<String, DispatchDecision> decisions;
+
+    public LastDecisionCache(SchedulerProperties schedulerProperties) {
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(schedulerProperties.getStrategy().getOptimisticMaximumSize())
+                .expireAfterWrite(schedulerProperties.getStat().getLongWindowSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * 查询最近一次决策
+     *
+     * @param key 缓存键
+     * @return 最近一次决策，没有或已过期时返回 null
+     */
+    public DispatchDecision get(String key) {
+        return key != null ? decisions.getIfPresent(key) : null;
+    }
+
+    /**
+     * 记录决策
+     *
+     * @param key      缓存键
+     * @param decision 决策
+     */
+    public void put(String key, DispatchDecision decision) {
+        if (key != null && decision != null) {
+            decisions.put(key, decision);
+        }
+    }
+}
@@ -3,15 +3,27 @@ package com.example.aliintern.scheduler.strategy.impl;
 import com.example.aliintern.scheduler.common.enums.CacheMode;
 import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
 import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.enums.Personalization;
+import com.example.aliintern.scheduler.common.enums.RequestType;
+import com.example.aliintern.scheduler.common.metrics.LoaderCostTracker;
 import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.RequestContext;
+import com.example.aliintern.scheduler.common.model.SystemLoadSnapshot;
 import com.example.aliintern.scheduler.config.SchedulerProperties;
 import com.example.aliintern.scheduler.strategy.DecisionStrategyEngine;
+import com.example.aliintern.scheduler.strategy.load.SystemLoadListener;
+import com.example.aliintern.scheduler.strategy.rule.CompiledRule;
+import com.example.aliintern.scheduler.strategy.rule.RuleCompiler;
+import com.example.aliintern.scheduler.tuning.TuningListener;
+import com.example.aliintern.scheduler.tuning.TuningSnapshot;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * 决策策略引擎默认实现
@@ -20,71 +32,359 @@ import java.util.EnumMap;
  * - 使用 EnumMap 做 O(1) 查找
  * - 启动时根据配置一次性初始化策略映射表
  * - 纯内存操作，无 IO，线程安全
+ * - 负载感知：采样线程回调时按负载状态从基础映射表生成调整后的映射表，整体替换 volatile 引用，
+ *   decide 仍只做一次查表
+ * - 运行时调参：收到调参快照后重建基础映射表并重新应用负载调整，同样整体替换
+ * - 业务类型策略：每个配置了 scheduler.profiles.{bizType} 的业务类型有独立的映射表，
+ *   决策携带 bizType，执行层据此选择本地缓存分区
+ * - 写请求、强一致读请求与完全个性化请求：直接返回 NONE，不使用缓存，也不允许兜底
+ * - 成本感知：按 key 的回源耗时 / 值大小（GreedyDual-Size 的 cost / size）调整缓存层与 TTL，
+ *   只读取 LoaderCostTracker 中已记录的估算值
+ * - 规则决策：scheduler.strategy.rules 在构建映射表时编译为条件链，按顺序匹配等级、业务类型、来源、
+ *   key 模式与负载信号，命中时返回预先生成的决策，未命中时按等级查表
  * 
  * 职责边界：
- * - 只做 HotspotLevel → DispatchDecision 映射
+ * - 只做 HotspotLevel（及请求上下文）→ DispatchDecision 映射
  * - 不操作 Redis / 本地缓存
- * - 不执行限流 / 降级 / 异步刷新
+ * - 不执行限流 / 降级 / 异步刷新（只标记是否允许兜底）
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class DefaultDecisionStrategyEngine implements DecisionStrategyEngine {
+public class DefaultDecisionStrategyEngine implements DecisionStrategyEngine, SystemLoadListener, TuningListener {
 
     private final SchedulerProperties schedulerProperties;
+    private final LoaderCostTracker costTracker;
 
     /**
-     * 策略映射表（启动时初始化，运行时只读）
+     * 基础策略映射表（按配置与运行时调参构建，负载调整不修改）
      */
-    private EnumMap<HotspotLevel, DispatchDecision> strategyMap;
+    private StrategyTables baseTables;
+
+    /**
+     * 当前生效的策略映射表（未开启负载感知时与基础映射表相同，整体替换，不原地修改）
+     */
+    private volatile StrategyTables tables;
+
+    /**
+     * 最近一次负载快照（开启负载感知时记录），调参重建映射表后重新应用
+     */
+    private SystemLoadSnapshot lastLoad;
+
+    /**
+     * 规则求值使用的负载快照（开启负载感知后由采样线程更新）
+     */
+    private volatile SystemLoadSnapshot currentLoad = SystemLoadSnapshot.idle();
+
+    /**
+     * 运行时调参快照，未调参时为 null（读取启动配置）
+     */
+    private TuningSnapshot tuning;
 
     @PostConstruct
     public void init() {
-        strategyMap = new EnumMap<>(HotspotLevel.class);
+        rebuild();
+    }
+
+    /**
+     * 运行时调参：按新快照重建基础映射表，再按最近的负载状态调整，整体替换
+     */
+    @Override
+    public synchronized void onTuning(TuningSnapshot snapshot) {
+        this.tuning = snapshot;
+        rebuild();
+    }
+
+    private synchronized void rebuild() {
+        EnumMap<HotspotLevel, DispatchDecision> strategyMap = buildStrategyMap(null, null);
+
+        Map<String, EnumMap<HotspotLevel, DispatchDecision>> profileMaps = new HashMap<>();
+        schedulerProperties.getProfiles().forEach((bizType, profile) ->
+                profileMaps.put(bizType, buildStrategyMap(bizType, profile)));
+
+        CompiledRule[] rules = RuleCompiler.compileAll(schedulerProperties.getStrategy().getRules(),
+                profileMaps.keySet());
+
+        this.baseTables = new StrategyTables(strategyMap, profileMaps, rules);
+        this.tables = lastLoad != null ? adjust(baseTables, lastLoad) : baseTables;
+        log.info("DecisionStrategyEngine initialized with strategy map: {}, profiles: {}, rules: {}",
+                tables.global(), profileMaps.keySet(), rules.length);
+    }
+
+    /**
+     * 构建策略映射表，业务类型未配置的字段使用全局策略
+     *
+     * @param bizType 业务类型，为 null 时构建全局映射表
+     * @param profile 业务类型配置
+     */
+    private EnumMap<HotspotLevel, DispatchDecision> buildStrategyMap(String bizType,
+                                                                     SchedulerProperties.BizProfile profile) {
+        EnumMap<HotspotLevel, DispatchDecision> strategyMap = new EnumMap<>(HotspotLevel.class);
 
         SchedulerProperties.StrategyConfig config = schedulerProperties.getStrategy();
+        SchedulerProperties.BizProfile overrides = profile != null ? profile : new SchedulerProperties.BizProfile();
 
         // 初始化各级别策略
         strategyMap.put(HotspotLevel.COLD, buildDecision(
-                config.getColdCacheMode(),
-                config.getColdTtlLevel()
+                HotspotLevel.COLD,
+                orDefault(overrides.getColdCacheMode(), globalCacheMode(HotspotLevel.COLD, config.getColdCacheMode())),
+                orDefault(overrides.getColdTtlLevel(), globalTtlLevel(HotspotLevel.COLD, config.getColdTtlLevel())),
+                false,
+                bizType
         ));
 
         strategyMap.put(HotspotLevel.WARM, buildDecision(
-                config.getWarmCacheMode(),
-                config.getWarmTtlLevel()
+                HotspotLevel.WARM,
+                orDefault(overrides.getWarmCacheMode(), globalCacheMode(HotspotLevel.WARM, config.getWarmCacheMode())),
+                orDefault(overrides.getWarmTtlLevel(), globalTtlLevel(HotspotLevel.WARM, config.getWarmTtlLevel())),
+                false,
+                bizType
         ));
 
         strategyMap.put(HotspotLevel.HOT, buildDecision(
-                config.getHotCacheMode(),
-                config.getHotTtlLevel()
+                HotspotLevel.HOT,
+                orDefault(overrides.getHotCacheMode(), globalCacheMode(HotspotLevel.HOT, config.getHotCacheMode())),
+                orDefault(overrides.getHotTtlLevel(), globalTtlLevel(HotspotLevel.HOT, config.getHotTtlLevel())),
+                Boolean.TRUE.equals(config.getHotFallbackEnabled()),
+                bizType
         ));
 
         strategyMap.put(HotspotLevel.EXTREMELY_HOT, buildDecision(
-                config.getExtremelyHotCacheMode(),
-                config.getExtremelyHotTtlLevel()
+                HotspotLevel.EXTREMELY_HOT,
+                orDefault(overrides.getExtremelyHotCacheMode(),
+                        globalCacheMode(HotspotLevel.EXTREMELY_HOT, config.getExtremelyHotCacheMode())),
+                orDefault(overrides.getExtremelyHotTtlLevel(),
+                        globalTtlLevel(HotspotLevel.EXTREMELY_HOT, config.getExtremelyHotTtlLevel())),
+                Boolean.TRUE.equals(config.getExtremelyHotFallbackEnabled()),
+                bizType
         ));
 
-        log.info("DecisionStrategyEngine initialized with strategy map: {}", strategyMap);
+        return strategyMap;
+    }
+
+    /**
+     * 负载变化时调整策略映射表
+     * 每次都从基础映射表重新计算，负载恢复后自动回到配置的策略
+     */
+    @Override
+    public synchronized void onSystemLoad(SystemLoadSnapshot snapshot) {
+        if (!Boolean.TRUE.equals(schedulerProperties.getStrategy().getLoadAwareEnabled()) || snapshot == null) {
+            return;
+        }
+
+        lastLoad = snapshot;
+        currentLoad = snapshot;
+        StrategyTables adjusted = adjust(baseTables, snapshot);
+        if (!adjusted.equals(tables)) {
+            tables = adjusted;
+            log.info("按系统负载调整策略: redisSlow={}, dbSaturated={}, memoryPressure={}, cpuHigh={}, strategy={}",
+                    snapshot.isRedisSlow(), snapshot.isDbSaturated(), snapshot.isMemoryPressure(),
+                    snapshot.isCpuHigh(), adjusted.global());
+        }
     }
 
     @Override
     public DispatchDecision decide(HotspotLevel level) {
+        return lookup(tables.global(), level);
+    }
+
+    private static DispatchDecision lookup(EnumMap<HotspotLevel, DispatchDecision> map, HotspotLevel level) {
         if (level == null) {
             log.warn("HotspotLevel is null, using COLD as default");
             level = HotspotLevel.COLD;
         }
 
-        DispatchDecision decision = strategyMap.get(level);
+        DispatchDecision decision = map.get(level);
         log.debug("Decision for level {}: {}", level, decision);
         
         return decision;
     }
 
+    /**
+     * 按请求类型、规则、业务类型与回源成本调整决策
+     * - 写请求、强一致读请求与完全个性化请求：跳过缓存
+     * - 按顺序匹配决策规则，第一条命中的规则生效
+     * - 未命中规则时，配置了业务类型策略时使用业务类型的映射表
+     * - 未开启成本感知或 key 没有回源记录时返回按等级查表的结果
+     */
+    @Override
+    public DispatchDecision decide(HotspotLevel level, RequestContext context) {
+        if (context == null) {
+            return decide(level);
+        }
+        if (!RequestType.orDefault(context.getRequestType()).usesCache()
+                || context.getPersonalization() == Personalization.PERSONAL) {
+            return bypass(level);
+        }
+
+        StrategyTables current = tables;
+        EnumMap<HotspotLevel, DispatchDecision> profileMap = context.getBizType() != null
+                ? current.profiles().get(context.getBizType()) : null;
+        DispatchDecision decision = matchRule(current.rules(), level, context, profileMap != null);
+        if (decision == null) {
+            decision = lookup(profileMap != null ? profileMap : current.global(), level);
+        }
+        SchedulerProperties.StrategyConfig config = schedulerProperties.getStrategy();
+        if (!Boolean.TRUE.equals(config.getCostAwareEnabled())) {
+            return decision;
+        }
+
+        LoaderCostTracker.KeyCost cost = costTracker.estimate(context.getCacheKey());
+        if (cost == null) {
+            return decision;
+        }
+        double millisPerKb = cost.millisPerKb();
+        if (millisPerKb >= config.getCostAwareHighMillisPerKb()) {
+            return upgrade(decision);
+        }
+        if (millisPerKb <= config.getCostAwareLowMillisPerKb()) {
+            return downgrade(decision);
+        }
+        return decision;
+    }
+
+    /**
+     * 按顺序匹配决策规则
+     *
+     * @param partitioned 业务类型是否有独立的本地缓存分区
+     * @return 第一条命中规则的决策，均未命中时返回 null
+     */
+    private DispatchDecision matchRule(CompiledRule[] rules, HotspotLevel level, RequestContext context,
+                                       boolean partitioned) {
+        if (rules.length == 0) {
+            return null;
+        }
+        HotspotLevel effective = level != null ? level : HotspotLevel.COLD;
+        SystemLoadSnapshot load = currentLoad;
+        for (CompiledRule rule : rules) {
+            if (rule.matches(effective, context, load)) {
+                log.debug("Decision for level {} matched rule: {}", effective, rule);
+                return rule.decision(effective, partitioned ? context.getBizType() : null);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 跳过缓存的决策：直连数据库，不允许兜底
+     * （兜底数据可能是旧值，不满足一致性要求；个性化请求的兜底数据可能属于其他用户）
+     */
+    private static DispatchDecision bypass(HotspotLevel level) {
+        return DispatchDecision.builder()
+                .cacheMode(CacheMode.NONE)
+                .ttlLevel(CacheTtlLevel.SHORT)
+                .hotspotLevel(level != null ? level : HotspotLevel.COLD)
+                .fallbackEnabled(false)
+                .build();
+    }
+
+    /**
+     * 高成本 key：NONE 升级为 REMOTE_ONLY，WARM 及以上的 REMOTE_ONLY 升级为 LOCAL_AND_REMOTE，TTL 提升一级
+     * 每 KB 缓存节省的回源时间多，值得占用更近、更久的缓存空间
+     */
+    static DispatchDecision upgrade(DispatchDecision base) {
+        CacheMode cacheMode = base.getCacheMode();
+        CacheTtlLevel ttlLevel = base.getTtlLevel();
+
+        if (cacheMode == CacheMode.NONE) {
+            cacheMode = CacheMode.REMOTE_ONLY;
+        } else {
+            if (cacheMode == CacheMode.REMOTE_ONLY && base.getHotspotLevel() != HotspotLevel.COLD) {
+                cacheMode = CacheMode.LOCAL_AND_REMOTE;
+            }
+            ttlLevel = ttlLevel == CacheTtlLevel.SHORT ? CacheTtlLevel.NORMAL : CacheTtlLevel.LONG;
+        }
+        return rebuild(base, cacheMode, ttlLevel);
+    }
+
+    /**
+     * 低成本 key：LOCAL_AND_REMOTE 降级为 REMOTE_ONLY（EXTREMELY_HOT 除外），TTL 降低一级
+     * 回源便宜而值较大，把本地缓存空间留给更值得缓存的 key
+     */
+    static DispatchDecision downgrade(DispatchDecision base) {
+        CacheMode cacheMode = base.getCacheMode();
+        CacheTtlLevel ttlLevel = base.getTtlLevel();
+        if (cacheMode == CacheMode.NONE) {
+            return base;
+        }
+
+        if (cacheMode == CacheMode.LOCAL_AND_REMOTE && base.getHotspotLevel() != HotspotLevel.EXTREMELY_HOT) {
+            cacheMode = CacheMode.REMOTE_ONLY;
+        }
+        ttlLevel = ttlLevel == CacheTtlLevel.LONG ? CacheTtlLevel.NORMAL : CacheTtlLevel.SHORT;
+        return rebuild(base, cacheMode, ttlLevel);
+    }
+
+    private static DispatchDecision rebuild(DispatchDecision base, CacheMode cacheMode, CacheTtlLevel ttlLevel) {
+        if (cacheMode == base.getCacheMode() && ttlLevel == base.getTtlLevel()) {
+            return base;
+        }
+        return DispatchDecision.builder()
+                .cacheMode(cacheMode)
+                .ttlLevel(ttlLevel)
+                .hotspotLevel(base.getHotspotLevel())
+                .fallbackEnabled(base.isFallbackEnabled())
+                .bizType(base.getBizType())
+                .build();
+    }
+
+    /**
+     * 按负载状态调整全局与各业务类型的映射表
+     */
+    private static StrategyTables adjust(StrategyTables base, SystemLoadSnapshot snapshot) {
+        Map<String, EnumMap<HotspotLevel, DispatchDecision>> profiles = new HashMap<>();
+        base.profiles().forEach((bizType, map) -> profiles.put(bizType, adjust(map, snapshot)));
+        return new StrategyTables(adjust(base.global(), snapshot), profiles, base.rules());
+    }
+
+    /**
+     * 按负载状态调整映射表中的每个级别
+     */
+    private static EnumMap<HotspotLevel, DispatchDecision> adjust(EnumMap<HotspotLevel, DispatchDecision> base,
+                                                                  SystemLoadSnapshot snapshot) {
+        EnumMap<HotspotLevel, DispatchDecision> adjusted = new EnumMap<>(HotspotLevel.class);
+        for (HotspotLevel level : HotspotLevel.values()) {
+            adjusted.put(level, adjust(base.get(level), snapshot));
+        }
+        return adjusted;
+    }
+
+    /**
+     * 按负载状态调整单个级别的决策
+     * 
+     * - Redis 变慢或 CPU 繁忙：WARM 及以上的 REMOTE_ONLY 升级为 LOCAL_AND_REMOTE，减少 Redis 往返与解码
+     * - 数据库饱和：已缓存级别的 TTL 提升一级；COLD 改为 REMOTE_ONLY，减少重复回源
+     * - 本地缓存内存紧张：WARM / HOT 的 LOCAL_AND_REMOTE 降级为 REMOTE_ONLY，为 EXTREMELY_HOT 保留本地缓存
+     */
+    private static DispatchDecision adjust(DispatchDecision base, SystemLoadSnapshot snapshot) {
+        HotspotLevel level = base.getHotspotLevel();
+        CacheMode cacheMode = base.getCacheMode();
+        CacheTtlLevel ttlLevel = base.getTtlLevel();
+
+        if ((snapshot.isRedisSlow() || snapshot.isCpuHigh())
+                && level != HotspotLevel.COLD && cacheMode == CacheMode.REMOTE_ONLY) {
+            cacheMode = CacheMode.LOCAL_AND_REMOTE;
+        }
+        if (snapshot.isDbSaturated()) {
+            if (cacheMode == CacheMode.NONE) {
+                cacheMode = CacheMode.REMOTE_ONLY;
+            } else {
+                ttlLevel = ttlLevel == CacheTtlLevel.SHORT ? CacheTtlLevel.NORMAL : CacheTtlLevel.LONG;
+            }
+        }
+        if (snapshot.isMemoryPressure() && (level == HotspotLevel.WARM || level == HotspotLevel.HOT)
+                && cacheMode == CacheMode.LOCAL_AND_REMOTE) {
+            cacheMode = CacheMode.REMOTE_ONLY;
+        }
+
+        return rebuild(base, cacheMode, ttlLevel);
+    }
+
     /**
      * 根据配置字符串构建决策对象
      */
-    private DispatchDecision buildDecision(String cacheModeStr, String ttlLevelStr) {
+    private DispatchDecision buildDecision(HotspotLevel level, String cacheModeStr, String ttlLevelStr,
+                                           boolean fallbackEnabled, String bizType) {
         CacheMode cacheMode;
         CacheTtlLevel ttlLevel;
 
@@ -102,6 +402,42 @@ public class DefaultDecisionStrategyEngine implements DecisionStrategyEngine {
             ttlLevel = CacheTtlLevel.SHORT;
         }
 
-        return DispatchDecision.of(cacheMode, ttlLevel);
+        return DispatchDecision.builder()
+                .cacheMode(cacheMode)
+                .ttlLevel(ttlLevel)
+                .hotspotLevel(level)
+                .fallbackEnabled(fallbackEnabled)
+                .bizType(bizType)
+                .build();
+    }
+
+    /**
+     * 全局缓存模式：调参后使用调参快照，否则使用启动配置
+     */
+    private String globalCacheMode(HotspotLevel level, String configured) {
+        return tuning != null ? tuning.strategies().get(level).cacheMode().name() : configured;
+    }
+
+    /**
+     * 全局 TTL 等级：调参后使用调参快照，否则使用启动配置
+     */
+    private String globalTtlLevel(HotspotLevel level, String configured) {
+        return tuning != null ? tuning.strategies().get(level).ttlLevel().name() : configured;
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 全局与各业务类型的策略映射表及编译后的规则，作为一个整体替换
+     *
+     * @param global   全局映射表
+     * @param profiles 业务类型映射表
+     * @param rules    决策规则（负载调整不修改，规则按负载信号自行判断）
+     */
+    private record StrategyTables(EnumMap<HotspotLevel, DispatchDecision> global,
+                                  Map<String, EnumMap<HotspotLevel, DispatchDecision>> profiles,
+                                  CompiledRule[] rules) {
     }
 }
@@ -0,0 +1,17 @@
+package com.example.aliintern.scheduler.strategy.load;
+
+import com.example.aliintern.scheduler.common.model.SystemLoadSnapshot;
+
+/**
+ * 系统负载变化监听器
+ * 由 {@link SystemLoadMonitor} 在采样线程上回调，实现方不应执行耗时操作
+ */
+public interface SystemLoadListener {
+
+    /**
+     * 每个采样周期回调一次
+     *
+     * @param snapshot 本周期负载快照
+     */
+    void onSystemLoad(SystemLoadSnapshot snapshot);
+}
@@ -0,0 +1,158 @@
+package com.example.aliintern.scheduler.strategy.load;
+
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.common.metrics.LoadSignalRecorder;
+import com.example.aliintern.scheduler.common.model.SystemLoadSnapshot;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 系统负载监控
+ *
+ * 在后台线程周期性采样负载信号，判定负载状态后通知 {@link SystemLoadListener}：
+ * - Redis 读取 p99、回源 p99、回源并发（来自 {@link LoadSignalRecorder}）
+ * - 本地缓存占用比例
+ * - 进程 CPU 使用率
+ *
+ * 状态判定带滞后：超过阈值进入，低于 阈值 × 恢复比例 才退出
+ * 未开启负载感知（scheduler.strategy.load-aware-enabled）时不启动采样线程
+ */
+@Slf4j
+@Component
+public class SystemLoadMonitor {
+
+    private final LoadSignalRecorder signalRecorder;
+    private final LocalCacheClient localCache;
+    private final List<SystemLoadListener> listeners;
+    private final SchedulerProperties schedulerProperties;
+
+    private volatile SystemLoadSnapshot current = SystemLoadSnapshot.idle();
+    private ScheduledExecutorService sampler;
+
+    public SystemLoadMonitor(LoadSignalRecorder signalRecorder,
+                             LocalCacheClient localCache,
+                             List<SystemLoadListener> listeners,
+                             SchedulerProperties schedulerProperties) {
+        this.signalRecorder = signalRecorder;
+        this.localCache = localCache;
+        this.listeners = listeners;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    @PostConstruct
+    public void init() {
+        SchedulerProperties.StrategyConfig config = schedulerProperties.getStrategy();
+        if (!Boolean.TRUE.equals(config.getLoadAwareEnabled())) {
+            return;
+        }
+
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "system-load-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getLoadSampleIntervalMillis();
+        sampler.scheduleWithFixedDelay(this::sampleQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("负载感知决策已开启: sampleInterval={}ms", interval);
+    }
+
+    /**
+     * 采样一次并通知监听器
+     *
+     * @return 本周期负载快照
+     */
+    public SystemLoadSnapshot sample() {
+        SchedulerProperties.StrategyConfig config = schedulerProperties.getStrategy();
+        SystemLoadSnapshot previous = current;
+        double recover = config.getLoadRecoverRatio();
+
+        double redisP99 = signalRecorder.getRedisLatency().percentileAndReset(0.99);
+        double loaderP99 = signalRecorder.getLoaderLatency().percentileAndReset(0.99);
+        int inFlight = signalRecorder.getLoadsInFlight();
+        long maxBytes = localCache.getMaximumWeightBytes();
+        double memoryRatio = maxBytes > 0 ? (double) localCache.getEstimatedBytes() / maxBytes : 0.0;
+        double cpuLoad = processCpuLoad();
+
+        boolean dbSaturated = exceeds(loaderP99, config.getLoaderP99ThresholdMillis(), previous.isDbSaturated(), recover)
+                || exceeds(inFlight, config.getLoaderConcurrencyThreshold(), previous.isDbSaturated(), recover);
+
+        SystemLoadSnapshot snapshot = SystemLoadSnapshot.builder()
+                .redisP99Millis(redisP99)
+                .loaderP99Millis(loaderP99)
+                .loadsInFlight(inFlight)
+                .localMemoryRatio(memoryRatio)
+                .cpuLoad(cpuLoad)
+                .redisSlow(exceeds(redisP99, config.getRedisP99ThresholdMillis(), previous.isRedisSlow(), recover))
+                .dbSaturated(dbSaturated)
+                .memoryPressure(exceeds(memoryRatio, config.getLocalMemoryThresholdRatio(),
+                        previous.isMemoryPressure(), recover))
+                .cpuHigh(exceeds(cpuLoad, config.getCpuThresholdRatio(), previous.isCpuHigh(), recover))
+                .build();
+        current = snapshot;
+
+        if (snapshot.isUnderLoad() != previous.isUnderLoad()
+                || snapshot.isRedisSlow() != previous.isRedisSlow()
+                || snapshot.isDbSaturated() != previous.isDbSaturated()
+                || snapshot.isMemoryPressure() != previous.isMemoryPressure()
+                || snapshot.isCpuHigh() != previous.isCpuHigh()) {
+            log.info("系统负载状态变化: {}", snapshot);
+        }
+
+        for (SystemLoadListener listener : listeners) {
+            try {
+                listener.onSystemLoad(snapshot);
+            } catch (Exception e) {
+                log.warn("负载监听器处理失败: listener={}, error={}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 最近一次采样结果
+     */
+    public SystemLoadSnapshot getCurrent() {
+        return current;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+
+    private void sampleQuietly() {
+        try {
+            sample();
+        } catch (Exception e) {
+            log.warn("系统负载采样失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 带滞后的阈值判定：已处于负载状态时，低于 阈值 × 恢复比例 才退出
+     */
+    private static boolean exceeds(double value, double threshold, boolean previous, double recoverRatio) {
+        return previous ? value >= threshold * recoverRatio : value >= threshold;
+    }
+
+    private static double processCpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            double load = sunOs.getProcessCpuLoad();
+            return load >= 0 ? load : 0.0;
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.aliintern.scheduler.strategy.rule;
+
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.RequestContext;
+import com.example.aliintern.scheduler.common.model.SystemLoadSnapshot;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 编译后的决策规则
+ *
+ * 条件为组合好的 {@link RuleCondition}，决策结果按热点等级与本地缓存分区预先生成，
+ * 命中时直接返回共享的决策对象
+ *
+ * @param text       规则原文（用于日志）
+ * @param condition  条件
+ * @param decisions  默认分区的决策（按热点等级）
+ * @param partitions 业务类型分区的决策，key 为配置了 scheduler.profiles.{bizType} 的业务类型
+ */
+public record CompiledRule(String text,
+                           RuleCondition condition,
+                           EnumMap<HotspotLevel, DispatchDecision> decisions,
+                           Map<String, EnumMap<HotspotLevel, DispatchDecision>> partitions) {
+
+    /**
+     * 判断请求是否命中规则
+     */
+    public boolean matches(HotspotLevel level, RequestContext context, SystemLoadSnapshot load) {
+        return condition.test(level, context, load);
+    }
+
+    /**
+     * 命中后的决策
+     *
+     * @param level   热点等级（非 null）
+     * @param bizType 本地缓存分区的业务类型，默认分区为 null
+     */
+    public DispatchDecision decision(HotspotLevel level, String bizType) {
+        EnumMap<HotspotLevel, DispatchDecision> map = bizType != null ? partitions.get(bizType) : null;
+        return (map != null ? map : decisions).get(level);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
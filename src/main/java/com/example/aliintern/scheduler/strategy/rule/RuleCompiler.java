@@ -0,0 +1,232 @@
+package com.example.aliintern.scheduler.strategy.rule;
+
+import com.example.aliintern.scheduler.common.enums.CacheMode;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.RequestContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 决策规则编译器
+ *
+ * 规则格式：条件 && 条件 ... -> 缓存模式 TTL 等级 [fallback]
+ *
+ * 支持的条件：
+ * - level 比较：level >= HOT（== != >= > <= <，按 COLD < WARM < HOT < EXTREMELY_HOT 比较）
+ * - 字段比较：bizType == promotion、source != Web（未指定 bizType 时按 default 比较）
+ * - 通配匹配：key ~ promo:*（bizType / source 同样支持，* 匹配任意字符）
+ * - 负载信号：redisSlow、dbSaturated、memoryPressure、cpuHigh，可加 ! 取反（需开启负载感知）
+ * - *：匹配全部请求
+ *
+ * 规则在启动时编译为条件链与预先生成的决策对象，求值时不解析文本、不分配对象，耗时与规则数成正比
+ */
+@Slf4j
+public final class RuleCompiler {
+
+    private static final Pattern COMPARISON =
+            Pattern.compile("^(level|bizType|source|key)\\s*(==|!=|>=|<=|>|<|~)\\s*(\\S+)$");
+    private static final Pattern LOAD_SIGNAL =
+            Pattern.compile("^(!?)\\s*(redisSlow|dbSaturated|memoryPressure|cpuHigh)$");
+
+    private RuleCompiler() {
+    }
+
+    /**
+     * 编译规则列表，不合法的规则记录告警并跳过
+     *
+     * @param rules             规则原文
+     * @param partitionBizTypes 配置了本地缓存分区的业务类型
+     * @return 编译后的规则（保持原顺序）
+     */
+    public static CompiledRule[] compileAll(List<String> rules, Collection<String> partitionBizTypes) {
+        if (rules == null || rules.isEmpty()) {
+            return new CompiledRule[0];
+        }
+
+        List<CompiledRule> compiled = new ArrayList<>(rules.size());
+        for (String rule : rules) {
+            try {
+                compiled.add(compile(rule, partitionBizTypes));
+            } catch (IllegalArgumentException e) {
+                log.warn("决策规则不合法，已跳过: rule={}, error={}", rule, e.getMessage());
+            }
+        }
+        return compiled.toArray(new CompiledRule[0]);
+    }
+
+    /**
+     * 编译单条规则
+     *
+     * @param rule              规则原文
+     * @param partitionBizTypes 配置了本地缓存分区的业务类型
+     * @return 编译后的规则
+     * @throws IllegalArgumentException 规则不合法
+     */
+    public static CompiledRule compile(String rule, Collection<String> partitionBizTypes) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("规则不能为空");
+        }
+        int arrow = rule.indexOf("->");
+        if (arrow < 0) {
+            throw new IllegalArgumentException("缺少 ->");
+        }
+
+        RuleCondition condition = null;
+        for (String part : rule.substring(0, arrow).split("&&")) {
+            RuleCondition next = compileCondition(part.trim());
+            condition = condition == null ? next : condition.and(next);
+        }
+
+        String[] action = rule.substring(arrow + 2).trim().split("\\s+");
+        if (action.length < 2 || action.length > 3 || (action.length == 3 && !"fallback".equals(action[2]))) {
+            throw new IllegalArgumentException("动作格式应为：缓存模式 TTL 等级 [fallback]");
+        }
+        CacheMode cacheMode = parseEnum(CacheMode.class, action[0]);
+        CacheTtlLevel ttlLevel = parseEnum(CacheTtlLevel.class, action[1]);
+        boolean fallback = action.length == 3;
+
+        Map<String, EnumMap<HotspotLevel, DispatchDecision>> partitions = new HashMap<>();
+        for (String bizType : partitionBizTypes) {
+            partitions.put(bizType, decisions(cacheMode, ttlLevel, fallback, bizType));
+        }
+        return new CompiledRule(rule.trim(), condition,
+                decisions(cacheMode, ttlLevel, fallback, null), partitions);
+    }
+
+    // ==================== 私有方法 ====================
+
+    private static RuleCondition compileCondition(String condition) {
+        if (condition.isEmpty()) {
+            throw new IllegalArgumentException("条件不能为空");
+        }
+        if ("*".equals(condition)) {
+            return RuleCondition.ALWAYS;
+        }
+
+        Matcher signal = LOAD_SIGNAL.matcher(condition);
+        if (signal.matches()) {
+            RuleCondition test = loadSignal(signal.group(2));
+            return signal.group(1).isEmpty() ? test : (level, context, load) -> !test.test(level, context, load);
+        }
+
+        Matcher comparison = COMPARISON.matcher(condition);
+        if (!comparison.matches()) {
+            throw new IllegalArgumentException("无法识别的条件: " + condition);
+        }
+        String field = comparison.group(1);
+        String operator = comparison.group(2);
+        String operand = comparison.group(3);
+
+        if ("level".equals(field)) {
+            return levelCondition(operator, parseEnum(HotspotLevel.class, operand));
+        }
+        Function<RequestContext, String> getter = switch (field) {
+            case "bizType" -> RequestContext::resolveBizType;
+            case "source" -> RequestContext::getSource;
+            default -> RequestContext::getCacheKey;
+        };
+        return switch (operator) {
+            case "==" -> (level, context, load) -> operand.equals(getter.apply(context));
+            case "!=" -> (level, context, load) -> !Objects.equals(operand, getter.apply(context));
+            case "~" -> {
+                GlobPattern pattern = new GlobPattern(operand);
+                yield (level, context, load) -> pattern.matches(getter.apply(context));
+            }
+            default -> throw new IllegalArgumentException(field + " 不支持运算符 " + operator);
+        };
+    }
+
+    private static RuleCondition levelCondition(String operator, HotspotLevel target) {
+        int ordinal = target.ordinal();
+        return switch (operator) {
+            case "==" -> (level, context, load) -> level == target;
+            case "!=" -> (level, context, load) -> level != target;
+            case ">=" -> (level, context, load) -> level.ordinal() >= ordinal;
+            case ">" -> (level, context, load) -> level.ordinal() > ordinal;
+            case "<=" -> (level, context, load) -> level.ordinal() <= ordinal;
+            case "<" -> (level, context, load) -> level.ordinal() < ordinal;
+            default -> throw new IllegalArgumentException("level 不支持运算符 " + operator);
+        };
+    }
+
+    private static RuleCondition loadSignal(String name) {
+        return switch (name) {
+            case "redisSlow" -> (level, context, load) -> load.isRedisSlow();
+            case "dbSaturated" -> (level, context, load) -> load.isDbSaturated();
+            case "memoryPressure" -> (level, context, load) -> load.isMemoryPressure();
+            default -> (level, context, load) -> load.isCpuHigh();
+        };
+    }
+
+    private static EnumMap<HotspotLevel, DispatchDecision> decisions(CacheMode cacheMode, CacheTtlLevel ttlLevel,
+                                                                     boolean fallback, String bizType) {
+        EnumMap<HotspotLevel, DispatchDecision> decisions = new EnumMap<>(HotspotLevel.class);
+        for (HotspotLevel level : HotspotLevel.values()) {
+            decisions.put(level, DispatchDecision.builder()
+                    .cacheMode(cacheMode)
+                    .ttlLevel(ttlLevel)
+                    .hotspotLevel(level)
+                    .fallbackEnabled(fallback)
+                    .bizType(bizType)
+                    .build());
+        }
+        return decisions;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的 " + type.getSimpleName() + ": " + value);
+        }
+    }
+
+    /**
+     * 通配模式（* 匹配任意字符），按前缀、中间片段、后缀依次比较，不使用正则
+     */
+    private static final class GlobPattern {
+
+        private final String[] segments;
+
+        GlobPattern(String pattern) {
+            this.segments = pattern.split("\\*", -1);
+        }
+
+        boolean matches(String value) {
+            if (value == null) {
+                return false;
+            }
+            if (segments.length == 1) {
+                return segments[0].equals(value);
+            }
+
+            String prefix = segments[0];
+            String suffix = segments[segments.length - 1];
+            int end = value.length() - suffix.length();
+            if (end < prefix.length() || !value.startsWith(prefix) || !value.endsWith(suffix)) {
+                return false;
+            }
+            int position = prefix.length();
+            for (int i = 1; i < segments.length - 1; i++) {
+                int index = value.indexOf(segments[i], position);
+                if (index < 0 || index + segments[i].length() > end) {
+                    return false;
+                }
+                position = index + segments[i].length();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.aliintern.scheduler.strategy.rule;
+
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.model.RequestContext;
+import com.example.aliintern.scheduler.common.model.SystemLoadSnapshot;
+
+/**
+ * 编译后的规则条件
+ * 由 {@link RuleCompiler} 在启动时生成，求值时只读取参数，不分配对象
+ */
+@FunctionalInterface
+public interface RuleCondition {
+
+    /**
+     * 匹配全部请求的条件
+     */
+    RuleCondition ALWAYS = (level, context, load) -> true;
+
+    /**
+     * 判断请求是否满足条件
+     *
+     * @param level   热点等级（非 null）
+     * @param context 请求上下文（非 null）
+     * @param load    系统负载快照（非 null，未开启负载感知时为空闲快照）
+     * @return true 表示满足
+     */
+    boolean test(HotspotLevel level, RequestContext context, SystemLoadSnapshot load);
+
+    /**
+     * 与另一个条件组合（短路求值）
+     */
+    default RuleCondition and(RuleCondition other) {
+        return (level, context, load) -> test(level, context, load) && other.test(level, context, load);
+    }
+}
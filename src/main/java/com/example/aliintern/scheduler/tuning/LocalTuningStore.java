@@ -0,0 +1,40 @@
+package com.example.aliintern.scheduler.tuning;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内调参快照存储
+ *
+ * 多个调参服务共用同一个实例即可模拟多节点共享的存储
+ *
+ * 启用方式：scheduler.cluster.transport=local
+ */
+@Component
+@ConditionalOnProperty(prefix = "scheduler.cluster", name = "transport", havingValue = "local")
+public class LocalTuningStore implements TuningStore {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private long version;
+    private String snapshot;
+
+    @Override
+    public long nextVersion() {
+        return sequence.incrementAndGet();
+    }
+
+    @Override
+    public synchronized void save(long version, String snapshot) {
+        if (this.snapshot == null || version > this.version) {
+            this.version = version;
+            this.snapshot = snapshot;
+        }
+    }
+
+    @Override
+    public synchronized String load() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.aliintern.scheduler.tuning;
+
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+/**
+ * 基于 Redis 的调参快照存储
+ *
+ * - 版本号：INCR {keyPrefix}:version，所有实例共享同一个计数器
+ * - 快照：Hash {keyPrefix}:snapshot（version / snapshot 两个字段），Lua 脚本比较版本后写入，
+ *   并发调参时较旧的快照不会覆盖较新的快照
+ *
+ * 快照不设置过期时间，调用 /tuning/reset 后保存的是启动配置对应的快照
+ *
+ * 启用方式：scheduler.cluster.transport=redis（默认）
+ */
+@Component
+@ConditionalOnProperty(prefix = "scheduler.cluster", name = "transport", havingValue = "redis", matchIfMissing = true)
+public class RedisTuningStore implements TuningStore {
+
+    /**
+     * 存储中版本号不低于 ARGV[1] 时不覆盖，返回是否写入
+     */
+    private static final String SAVE_IF_NEWER_SCRIPT =
+            "local current = redis.call('HGET', KEYS[1], 'version') " +
+            "if current and tonumber(current) >= tonumber(ARGV[1]) then " +
+            "    return 0 " +
+            "end " +
+            "redis.call('HSET', KEYS[1], 'version', ARGV[1], 'snapshot', ARGV[2]) " +
+            "return 1";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SchedulerProperties schedulerProperties;
+    private final DefaultRedisScript<Long> saveIfNewerScript;
+
+    public RedisTuningStore(StringRedisTemplate redisTemplate, SchedulerProperties schedulerProperties) {
+        this.redisTemplate = redisTemplate;
+        this.schedulerProperties = schedulerProperties;
+        this.saveIfNewerScript = new DefaultRedisScript<>(SAVE_IF_NEWER_SCRIPT, Long.class);
+    }
+
+    @Override
+    public long nextVersion() {
+        Long version = redisTemplate.opsForValue().increment(keyPrefix() + ":version");
+        if (version == null) {
+            throw new IllegalStateException("调参版本号分配失败");
+        }
+        return version;
+    }
+
+    @Override
+    public void save(long version, String snapshot) {
+        redisTemplate.execute(saveIfNewerScript, Collections.singletonList(keyPrefix() + ":snapshot"),
+                String.valueOf(version), snapshot);
+    }
+
+    @Override
+    public String load() {
+        Object snapshot = redisTemplate.opsForHash().get(keyPrefix() + ":snapshot", "snapshot");
+        return snapshot != null ? snapshot.toString() : null;
+    }
+
+    private String keyPrefix() {
+        return schedulerProperties.getTuning().getKeyPrefix();
+    }
+}
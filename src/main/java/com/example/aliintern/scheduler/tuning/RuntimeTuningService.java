@@ -0,0 +1,228 @@
+package com.example.aliintern.scheduler.tuning;
+
+import com.example.aliintern.scheduler.common.cluster.ClusterMessageBus;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 运行时调参服务
+ *
+ * 无需重启即可修改热点阈值、策略映射与 TTL，避免滚动重启清空所有实例的本地缓存：
+ * 1. 在当前快照上应用调参请求，整体校验，不合法时拒绝且不修改任何配置
+ * 2. 新快照整体替换 volatile 引用，并推送给各 {@link TuningListener}（热点识别、策略引擎、过期策略）
+ * 3. 广播时保存到 {@link TuningStore}，实例启动时加载最新快照，滚动重启后调参仍然生效
+ * 4. 可选广播到其他实例，其他实例直接安装完整快照（而不是重放请求），各实例最终一致
+ *
+ * 不广播的调参只在本实例生效，不保存到共享存储，避免其他实例启动时加载
+ *
+ * 广播消息格式：{nodeId}\n{快照 JSON}
+ * 本实例发出的消息在接收时跳过；版本号不高于当前快照的消息被丢弃
+ * 版本号由存储统一分配（Redis INCR），不依赖各实例的系统时钟；存储不可用时退化为本地版本号 + 1，
+ * 本地版本号可能与存储分配的版本号重复，此时即使请求广播也只在本实例生效，不保存、不广播
+ */
+@Slf4j
+@Service
+public class RuntimeTuningService {
+
+    private final List<TuningListener> listeners;
+    private final ClusterMessageBus messageBus;
+    private final TuningStore tuningStore;
+    private final SchedulerProperties schedulerProperties;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 实例标识，用于过滤自己发出的消息
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 当前生效的调参快照，未调参时为 null（各组件直接读取启动配置）
+     */
+    private volatile TuningSnapshot current;
+
+    public RuntimeTuningService(List<TuningListener> listeners,
+                                ClusterMessageBus messageBus,
+                                TuningStore tuningStore,
+                                SchedulerProperties schedulerProperties) {
+        this.listeners = listeners;
+        this.messageBus = messageBus;
+        this.tuningStore = tuningStore;
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    @PostConstruct
+    public void init() {
+        messageBus.subscribe(schedulerProperties.getTuning().getChannel(), this::onMessage);
+        restore();
+    }
+
+    /**
+     * 当前生效的配置（未调参时为启动配置）
+     */
+    public TuningSnapshot current() {
+        TuningSnapshot snapshot = current;
+        return snapshot != null ? snapshot : TuningSnapshot.fromProperties(schedulerProperties);
+    }
+
+    /**
+     * 应用调参请求
+     *
+     * @param request 调参请求
+     * @return 生效的新快照
+     * @throws IllegalArgumentException 参数不合法
+     */
+    public synchronized TuningSnapshot apply(TuningRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("调参请求不能为空");
+        }
+
+        Long sharedVersion = allocateVersion();
+        long version = sharedVersion != null ? sharedVersion : current().version() + 1;
+        TuningSnapshot snapshot = current().apply(request, version, System.currentTimeMillis());
+        install(snapshot);
+        log.info("运行时调参已生效: version={}, snapshot={}", snapshot.version(), snapshot);
+
+        boolean propagate = request.getPropagate() != null
+                ? request.getPropagate()
+                : Boolean.TRUE.equals(schedulerProperties.getTuning().getPropagate());
+        if (propagate) {
+            share(snapshot, sharedVersion != null);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 恢复为启动配置
+     *
+     * @param propagate 是否广播到其他实例
+     * @return 生效的快照
+     */
+    public synchronized TuningSnapshot reset(boolean propagate) {
+        Long sharedVersion = allocateVersion();
+        long version = sharedVersion != null ? sharedVersion : current().version() + 1;
+        TuningSnapshot base = TuningSnapshot.fromProperties(schedulerProperties);
+        TuningSnapshot snapshot = new TuningSnapshot(version, System.currentTimeMillis(),
+                base.thresholds(), base.strategies(), base.localTtl(), base.remoteTtl());
+        install(snapshot);
+        log.info("运行时调参已恢复为启动配置: version={}", snapshot.version());
+        if (propagate) {
+            share(snapshot, sharedVersion != null);
+        }
+        return snapshot;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // ==================== 私有方法 ====================
+
+    /**
+     * 启动时加载存储中的最新快照，加载失败时使用启动配置
+     */
+    private void restore() {
+        try {
+            String json = tuningStore.load();
+            if (json == null) {
+                return;
+            }
+            TuningSnapshot snapshot = objectMapper.readValue(json, TuningSnapshot.class);
+            snapshot.validate();
+            synchronized (this) {
+                TuningSnapshot existing = current;
+                if (existing == null || snapshot.version() > existing.version()) {
+                    install(snapshot);
+                }
+            }
+            log.info("已加载保存的调参快照: version={}", snapshot.version());
+        } catch (Exception e) {
+            log.warn("调参快照加载失败，使用启动配置: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 由存储分配版本号
+     *
+     * @return 版本号，存储不可用时返回 null（调用方使用本地版本号，仅本实例生效）
+     */
+    private Long allocateVersion() {
+        try {
+            return tuningStore.nextVersion();
+        } catch (Exception e) {
+            log.warn("调参版本号分配失败，使用本地版本号，仅本实例生效: error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 保存并广播快照；本地版本号的快照可能与其他实例的版本号重复，不保存也不广播
+     */
+    private void share(TuningSnapshot snapshot, boolean sharedVersion) {
+        if (!sharedVersion) {
+            log.warn("调参快照使用本地版本号，不保存也不广播: version={}", snapshot.version());
+            return;
+        }
+        save(snapshot);
+        publish(snapshot);
+    }
+
+    private void save(TuningSnapshot snapshot) {
+        try {
+            tuningStore.save(snapshot.version(), objectMapper.writeValueAsString(snapshot));
+        } catch (Exception e) {
+            log.warn("调参快照保存失败，重启后不会恢复: version={}, error={}", snapshot.version(), e.getMessage());
+        }
+    }
+
+    private void install(TuningSnapshot snapshot) {
+        current = snapshot;
+        for (TuningListener listener : listeners) {
+            try {
+                listener.onTuning(snapshot);
+            } catch (Exception e) {
+                log.warn("调参快照推送失败: listener={}, error={}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void publish(TuningSnapshot snapshot) {
+        try {
+            messageBus.publish(schedulerProperties.getTuning().getChannel(),
+                    nodeId + "\n" + objectMapper.writeValueAsString(snapshot));
+        } catch (Exception e) {
+            log.warn("调参广播失败，仅本实例生效: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 处理其他实例的调参广播：校验后安装完整快照，不再转发
+     */
+    void onMessage(String message) {
+        int separator = message.indexOf('\n');
+        if (separator <= 0 || message.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        try {
+            TuningSnapshot snapshot = objectMapper.readValue(message.substring(separator + 1), TuningSnapshot.class);
+            snapshot.validate();
+            synchronized (this) {
+                TuningSnapshot existing = current;
+                if (existing != null && snapshot.version() <= existing.version()) {
+                    log.info("忽略较旧的调参广播: version={}, current={}", snapshot.version(), existing.version());
+                    return;
+                }
+                install(snapshot);
+            }
+            log.info("收到调参广播，已生效: version={}", snapshot.version());
+        } catch (Exception e) {
+            log.warn("调参广播处理失败: error={}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.aliintern.scheduler.tuning;
+
+/**
+ * 运行时调参监听器
+ * 由 {@link RuntimeTuningService} 在安装新快照时回调，实现方只替换自身持有的 volatile 引用，不应执行耗时操作
+ */
+public interface TuningListener {
+
+    /**
+     * 新的调参快照生效
+     *
+     * @param snapshot 已校验的完整快照
+     */
+    void onTuning(TuningSnapshot snapshot);
+}
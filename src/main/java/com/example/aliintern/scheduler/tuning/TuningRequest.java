@@ -0,0 +1,47 @@
+package com.example.aliintern.scheduler.tuning;
+
+import lombok.Data;
+
+/**
+ * 运行时调参请求
+ *
+ * 所有字段可选，只修改传入的字段，其余沿用当前生效的值
+ * 字段含义与 scheduler.hotspot / scheduler.strategy / scheduler.cache.ttl 下的同名配置一致
+ */
+@Data
+public class TuningRequest {
+
+    // ========== 热点阈值 ==========
+
+    private Long extremelyHotShortThreshold;
+    private Long extremelyHotLongThreshold;
+    private Long hotShortThreshold;
+    private Long hotLongThreshold;
+    private Long warmShortThreshold;
+    private Long warmLongThreshold;
+
+    // ========== 策略（缓存模式 / TTL 等级） ==========
+
+    private String coldCacheMode;
+    private String coldTtlLevel;
+    private String warmCacheMode;
+    private String warmTtlLevel;
+    private String hotCacheMode;
+    private String hotTtlLevel;
+    private String extremelyHotCacheMode;
+    private String extremelyHotTtlLevel;
+
+    // ========== TTL（秒） ==========
+
+    private Long localShortTtl;
+    private Long localNormalTtl;
+    private Long localLongTtl;
+    private Long remoteShortTtl;
+    private Long remoteNormalTtl;
+    private Long remoteLongTtl;
+
+    /**
+     * 是否广播到其他实例（同时保存快照，实例重启后恢复），为 null 时使用 scheduler.tuning.propagate
+     */
+    private Boolean propagate;
+}
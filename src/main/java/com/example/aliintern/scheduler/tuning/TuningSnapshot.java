@@ -0,0 +1,227 @@
+package com.example.aliintern.scheduler.tuning;
+
+import com.example.aliintern.scheduler.common.enums.CacheMode;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 运行时调参快照（不可变）
+ *
+ * 包含热点阈值、各热点等级的策略与各 TTL 等级的秒数；
+ * 每次调参生成一个新快照整体替换，读取方只读取一次引用，不会看到更新了一半的配置
+ *
+ * @param version    版本号，由 {@link TuningStore} 分配，全局单调递增，跨实例广播时用于丢弃较旧的快照
+ * @param updatedAt  生效时间（epoch ms），仅用于展示
+ * @param thresholds 热点阈值
+ * @param strategies 各热点等级的策略
+ * @param localTtl   本地缓存 TTL（秒）
+ * @param remoteTtl  Redis TTL（秒）
+ */
+public record TuningSnapshot(long version,
+                             long updatedAt,
+                             Thresholds thresholds,
+                             Map<HotspotLevel, LevelStrategy> strategies,
+                             TtlSeconds localTtl,
+                             TtlSeconds remoteTtl) {
+
+    public TuningSnapshot {
+        EnumMap<HotspotLevel, LevelStrategy> copy = new EnumMap<>(HotspotLevel.class);
+        if (strategies != null) {
+            copy.putAll(strategies);
+        }
+        strategies = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * 按启动配置生成快照（版本 0）
+     */
+    public static TuningSnapshot fromProperties(SchedulerProperties properties) {
+        SchedulerProperties.StrategyConfig strategy = properties.getStrategy();
+        SchedulerProperties.CacheConfig.TtlConfig ttl = properties.getCache().getTtl();
+
+        Map<HotspotLevel, LevelStrategy> strategies = new EnumMap<>(HotspotLevel.class);
+        strategies.put(HotspotLevel.COLD, LevelStrategy.parse(strategy.getColdCacheMode(), strategy.getColdTtlLevel()));
+        strategies.put(HotspotLevel.WARM, LevelStrategy.parse(strategy.getWarmCacheMode(), strategy.getWarmTtlLevel()));
+        strategies.put(HotspotLevel.HOT, LevelStrategy.parse(strategy.getHotCacheMode(), strategy.getHotTtlLevel()));
+        strategies.put(HotspotLevel.EXTREMELY_HOT,
+                LevelStrategy.parse(strategy.getExtremelyHotCacheMode(), strategy.getExtremelyHotTtlLevel()));
+
+        return new TuningSnapshot(0L, 0L,
+                Thresholds.from(properties.getHotspot()),
+                strategies,
+                TtlSeconds.from(ttl.getLocal()),
+                TtlSeconds.from(ttl.getRemote()));
+    }
+
+    /**
+     * 在当前快照上应用调参请求，生成新快照
+     *
+     * @param request   调参请求（只修改非空字段）
+     * @param version   新快照的版本号
+     * @param updatedAt 生效时间（epoch ms）
+     * @return 已校验的新快照
+     * @throws IllegalArgumentException 参数不合法
+     */
+    public TuningSnapshot apply(TuningRequest request, long version, long updatedAt) {
+        Thresholds newThresholds = new Thresholds(
+                orDefault(request.getExtremelyHotShortThreshold(), thresholds.extremelyHotShort()),
+                orDefault(request.getExtremelyHotLongThreshold(), thresholds.extremelyHotLong()),
+                orDefault(request.getHotShortThreshold(), thresholds.hotShort()),
+                orDefault(request.getHotLongThreshold(), thresholds.hotLong()),
+                orDefault(request.getWarmShortThreshold(), thresholds.warmShort()),
+                orDefault(request.getWarmLongThreshold(), thresholds.warmLong()));
+
+        Map<HotspotLevel, LevelStrategy> newStrategies = new EnumMap<>(strategies);
+        newStrategies.put(HotspotLevel.COLD, strategies.get(HotspotLevel.COLD)
+                .with(request.getColdCacheMode(), request.getColdTtlLevel()));
+        newStrategies.put(HotspotLevel.WARM, strategies.get(HotspotLevel.WARM)
+                .with(request.getWarmCacheMode(), request.getWarmTtlLevel()));
+        newStrategies.put(HotspotLevel.HOT, strategies.get(HotspotLevel.HOT)
+                .with(request.getHotCacheMode(), request.getHotTtlLevel()));
+        newStrategies.put(HotspotLevel.EXTREMELY_HOT, strategies.get(HotspotLevel.EXTREMELY_HOT)
+                .with(request.getExtremelyHotCacheMode(), request.getExtremelyHotTtlLevel()));
+
+        TtlSeconds newLocalTtl = new TtlSeconds(
+                orDefault(request.getLocalShortTtl(), localTtl.shortTtl()),
+                orDefault(request.getLocalNormalTtl(), localTtl.normalTtl()),
+                orDefault(request.getLocalLongTtl(), localTtl.longTtl()));
+        TtlSeconds newRemoteTtl = new TtlSeconds(
+                orDefault(request.getRemoteShortTtl(), remoteTtl.shortTtl()),
+                orDefault(request.getRemoteNormalTtl(), remoteTtl.normalTtl()),
+                orDefault(request.getRemoteLongTtl(), remoteTtl.longTtl()));
+
+        TuningSnapshot snapshot = new TuningSnapshot(version, updatedAt, newThresholds, newStrategies,
+                newLocalTtl, newRemoteTtl);
+        snapshot.validate();
+        return snapshot;
+    }
+
+    /**
+     * 校验快照
+     * 阈值为正且 WARM <= HOT <= EXTREMELY_HOT；各等级都有策略；TTL 为正且 SHORT <= NORMAL <= LONG
+     *
+     * @throws IllegalArgumentException 快照不合法
+     */
+    public void validate() {
+        if (thresholds == null || localTtl == null || remoteTtl == null) {
+            throw new IllegalArgumentException("阈值与 TTL 不能为空");
+        }
+        thresholds.validate();
+        for (HotspotLevel level : HotspotLevel.values()) {
+            LevelStrategy strategy = strategies.get(level);
+            if (strategy == null || strategy.cacheMode() == null || strategy.ttlLevel() == null) {
+                throw new IllegalArgumentException("缺少策略: level=" + level);
+            }
+        }
+        localTtl.validate("local");
+        remoteTtl.validate("remote");
+    }
+
+    private static long orDefault(Long value, long defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 热点阈值
+     */
+    public record Thresholds(long extremelyHotShort, long extremelyHotLong,
+                             long hotShort, long hotLong,
+                             long warmShort, long warmLong) {
+
+        public static Thresholds from(SchedulerProperties.HotspotConfig config) {
+            return new Thresholds(
+                    config.getExtremelyHotShortThreshold(), config.getExtremelyHotLongThreshold(),
+                    config.getHotShortThreshold(), config.getHotLongThreshold(),
+                    config.getWarmShortThreshold(), config.getWarmLongThreshold());
+        }
+
+        void validate() {
+            if (warmShort <= 0 || warmLong <= 0) {
+                throw new IllegalArgumentException("热点阈值必须大于 0");
+            }
+            if (warmShort > hotShort || hotShort > extremelyHotShort) {
+                throw new IllegalArgumentException("短窗口阈值必须满足 WARM <= HOT <= EXTREMELY_HOT");
+            }
+            if (warmLong > hotLong || hotLong > extremelyHotLong) {
+                throw new IllegalArgumentException("长窗口阈值必须满足 WARM <= HOT <= EXTREMELY_HOT");
+            }
+        }
+    }
+
+    /**
+     * 单个热点等级的策略
+     */
+    public record LevelStrategy(CacheMode cacheMode, CacheTtlLevel ttlLevel) {
+
+        static LevelStrategy parse(String cacheMode, String ttlLevel) {
+            return new LevelStrategy(parseEnum(CacheMode.class, cacheMode, CacheMode.NONE),
+                    parseEnum(CacheTtlLevel.class, ttlLevel, CacheTtlLevel.SHORT));
+        }
+
+        LevelStrategy with(String cacheMode, String ttlLevel) {
+            if (cacheMode == null && ttlLevel == null) {
+                return this;
+            }
+            return new LevelStrategy(
+                    cacheMode != null ? parseStrict(CacheMode.class, cacheMode) : this.cacheMode,
+                    ttlLevel != null ? parseStrict(CacheTtlLevel.class, ttlLevel) : this.ttlLevel);
+        }
+
+        /**
+         * 启动配置按引擎原有行为容错：非法值使用默认值
+         */
+        private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E defaultValue) {
+            try {
+                return Enum.valueOf(type, value);
+            } catch (RuntimeException e) {
+                return defaultValue;
+            }
+        }
+
+        /**
+         * 调参请求严格校验：非法值拒绝整个请求
+         */
+        private static <E extends Enum<E>> E parseStrict(Class<E> type, String value) {
+            try {
+                return Enum.valueOf(type, value);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("不支持的 " + type.getSimpleName() + ": " + value);
+            }
+        }
+    }
+
+    /**
+     * 各 TTL 等级的秒数
+     */
+    public record TtlSeconds(long shortTtl, long normalTtl, long longTtl) {
+
+        public static TtlSeconds from(SchedulerProperties.CacheConfig.TtlConfig.TtlLevelConfig config) {
+            return new TtlSeconds(config.getShortTtl(), config.getNormalTtl(), config.getLongTtl());
+        }
+
+        /**
+         * TTL 等级对应的秒数，等级为 null 时使用 NORMAL
+         */
+        public long seconds(CacheTtlLevel level) {
+            if (level == null) {
+                return normalTtl;
+            }
+            return switch (level) {
+                case SHORT -> shortTtl;
+                case NORMAL -> normalTtl;
+                case LONG -> longTtl;
+            };
+        }
+
+        void validate(String name) {
+            if (shortTtl <= 0 || shortTtl > normalTtl || normalTtl > longTtl) {
+                throw new IllegalArgumentException(name + " TTL 必须大于 0 且满足 SHORT <= NORMAL <= LONG");
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.aliintern.scheduler.tuning;
+
+/**
+ * 调参快照存储
+ *
+ * 职责：
+ * - 分配单调递增的快照版本号，跨实例广播按版本号排序，不依赖各实例的系统时钟
+ * - 保存最新快照，实例启动（或重启）时加载，调参不会因滚动重启丢失
+ *
+ * 实现：
+ * - RedisTuningStore：基于 Redis，用于多实例部署
+ * - LocalTuningStore：进程内实现，用于单实例运行和测试
+ */
+public interface TuningStore {
+
+    /**
+     * 分配下一个快照版本号
+     *
+     * @return 新版本号（大于此前分配的所有版本号）
+     * @throws RuntimeException 存储不可用
+     */
+    long nextVersion();
+
+    /**
+     * 保存快照，存储中已有相同或更高版本时不覆盖
+     *
+     * @param version  快照版本号
+     * @param snapshot 快照 JSON
+     */
+    void save(long version, String snapshot);
+
+    /**
+     * 加载最新快照
+     *
+     * @return 快照 JSON，没有保存过时返回 null
+     */
+    String load();
+}
@@ -0,0 +1,150 @@
+package com.example.aliintern.scheduler.variant;
+
+import com.example.aliintern.scheduler.common.enums.Personalization;
+import com.example.aliintern.scheduler.common.model.RequestContext;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 缓存变体注册表
+ *
+ * 按请求的个性化程度决定缓存键：
+ * - SHARED：cacheKey，所有用户共享
+ * - SEGMENTED：cacheKey|v:segment，分群由业务按 bizType 注册的函数根据 userId / source 等计算
+ * - PERSONAL：不使用共享缓存（由调度门面直接回源）
+ *
+ * 注册时需声明全部分群，写请求据此使所有变体失效；分群函数返回 null 或未声明的分群时按 PERSONAL 处理，
+ * 避免缓存无法失效或被其他用户读取的变体
+ *
+ * 解析结果通过返回值传递，不修改调用方的 RequestContext（同一个上下文可被复用或并发读取）
+ *
+ * 所有实例需注册相同的 bizType（通常在业务组件初始化时注册）
+ */
+@Slf4j
+@Component
+public class CacheVariantRegistry {
+
+    /**
+     * 缓存键与分群之间的分隔符
+     * 不能使用 Redis 副本 key 的分隔符 "#"（{key}#{index}），否则分群名为数字时变体键与副本键相同，
+     * 副本的写入与删除会覆盖或删除分群变体
+     */
+    public static final String VARIANT_SEPARATOR = "|v:";
+
+    private final SchedulerProperties schedulerProperties;
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    public CacheVariantRegistry(SchedulerProperties schedulerProperties) {
+        this.schedulerProperties = schedulerProperties;
+    }
+
+    /**
+     * 注册分群函数
+     *
+     * @param bizType   业务类型
+     * @param segments  全部分群（写请求时逐个失效）
+     * @param segmenter 分群函数，返回 null 表示无法分群
+     */
+    public void register(String bizType, Collection<String> segments, Function<RequestContext, String> segmenter) {
+        registrations.put(bizType, new Registration(Set.copyOf(segments), segmenter));
+        log.info("缓存分群函数已注册: bizType={}, segments={}", bizType, segments.size());
+    }
+
+    /**
+     * 解析请求的个性化程度与缓存键，不修改 context
+     *
+     * @param context 请求上下文
+     * @return 解析结果（SEGMENTED 时为变体键，其余为 cacheKey；无法分群时为 PERSONAL）
+     */
+    public ResolvedKey resolve(RequestContext context) {
+        Personalization personalization = personalizationOf(context);
+        if (personalization != Personalization.SEGMENTED) {
+            return new ResolvedKey(context.getCacheKey(), personalization);
+        }
+
+        String bizType = context.resolveBizType();
+        Registration registration = registrations.get(bizType);
+        String segment = registration != null ? registration.segmenter().apply(context) : null;
+        if (segment == null || !registration.segments().contains(segment)) {
+            log.debug("无法确定缓存分群，按完全个性化处理: bizType={}, key={}, segment={}",
+                    bizType, context.getCacheKey(), segment);
+            return new ResolvedKey(context.getCacheKey(), Personalization.PERSONAL);
+        }
+
+        return new ResolvedKey(context.getCacheKey() + VARIANT_SEPARATOR + segment, Personalization.SEGMENTED);
+    }
+
+    /**
+     * 缓存键及其全部分群变体（写请求失效时使用）
+     *
+     * @param bizType 业务类型
+     * @param key     缓存键
+     * @return 缓存键与各变体键，业务类型未注册分群函数时只有缓存键
+     */
+    public List<String> variantKeys(String bizType, String key) {
+        Registration registration = bizType != null ? registrations.get(bizType) : null;
+        if (registration == null) {
+            return List.of(key);
+        }
+        List<String> keys = new ArrayList<>(registration.segments().size() + 1);
+        keys.add(key);
+        for (String segment : registration.segments()) {
+            keys.add(key + VARIANT_SEPARATOR + segment);
+        }
+        return keys;
+    }
+
+    /**
+     * 请求指定的个性化程度优先，其次为业务类型配置，均未配置时为 SHARED
+     */
+    private Personalization personalizationOf(RequestContext context) {
+        if (context.getPersonalization() != null) {
+            return context.getPersonalization();
+        }
+        SchedulerProperties.BizProfile profile = schedulerProperties.profileOf(context.resolveBizType());
+        if (profile == null || profile.getPersonalization() == null) {
+            return Personalization.SHARED;
+        }
+        try {
+            return Personalization.valueOf(profile.getPersonalization());
+        } catch (IllegalArgumentException e) {
+            log.warn("不支持的个性化配置，按 SHARED 处理: bizType={}, value={}",
+                    context.resolveBizType(), profile.getPersonalization());
+            return Personalization.SHARED;
+        }
+    }
+
+    /**
+     * 缓存键解析结果
+     *
+     * @param cacheKey        缓存键（SEGMENTED 时为变体键）
+     * @param personalization 生效的个性化程度
+     */
+    public record ResolvedKey(String cacheKey, Personalization personalization) {
+
+        /**
+         * 是否完全个性化（不读写共享缓存）
+         */
+        public boolean personal() {
+            return personalization == Personalization.PERSONAL;
+        }
+    }
+
+    /**
+     * 注册信息
+     *
+     * @param segments  全部分群
+     * @param segmenter 分群函数
+     */
+    private record Registration(Set<String> segments, Function<RequestContext, String> segmenter) {
+    }
+}
@@ -0,0 +1,354 @@
+package com.example.aliintern.scheduler;
+
+import com.example.aliintern.scheduler.cache.CacheAccessProxy;
+import com.example.aliintern.scheduler.cache.client.RemoteCacheClient;
+import com.example.aliintern.scheduler.common.enums.CacheMode;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.enums.Personalization;
+import com.example.aliintern.scheduler.common.enums.RequestType;
+import com.example.aliintern.scheduler.common.metrics.LoaderCostTracker;
+import com.example.aliintern.scheduler.common.metrics.SchedulerMetrics;
+import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.FusedReadResult;
+import com.example.aliintern.scheduler.common.model.RequestContext;
+import com.example.aliintern.scheduler.common.model.StatResult;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import com.example.aliintern.scheduler.hotspot.HotspotDetector;
+import com.example.aliintern.scheduler.prewarm.HotspotPinRegistry;
+import com.example.aliintern.scheduler.statistics.AccessStatisticsService;
+import com.example.aliintern.scheduler.strategy.LastDecisionCache;
+import com.example.aliintern.scheduler.strategy.impl.DefaultDecisionStrategyEngine;
+import com.example.aliintern.scheduler.variant.CacheVariantRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 调度门面单元测试
+ *
+ * 测试覆盖：
+ * 1. 普通读请求走完整流程
+ * 2. 写请求跳过访问统计与缓存，完成后使缓存失效
+ * 3. 强一致读请求记录访问统计但不读写缓存
+ * 4. 个性化请求：分群变体缓存键、完全个性化请求跳过缓存
+ * 5. 合并读取：本地缓存未命中时访问统计同时预读缓存值
+ * 6. 乐观模式：按最近决策读取缓存，新决策不再使用缓存时改道
+ * 7. 批量处理：整批统计、按决策批量访问，强一致读单独回源
+ * 8. 指标：各阶段耗时与热点等级变化
+ */
+class SchedulerFacadeTest {
+
+    private AccessStatisticsService accessStatisticsService;
+    private HotspotDetector hotspotDetector;
+    private CacheAccessProxy cacheAccessProxy;
+    private SchedulerProperties schedulerProperties;
+    private CacheVariantRegistry variantRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private SchedulerMetrics metrics;
+    private SchedulerFacade facade;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        variantRegistry = new CacheVariantRegistry(schedulerProperties);
+        DefaultDecisionStrategyEngine engine = new DefaultDecisionStrategyEngine(schedulerProperties,
+                mock(LoaderCostTracker.class));
+        engine.init();
+
+        accessStatisticsService = mock(AccessStatisticsService.class);
+        hotspotDetector = mock(HotspotDetector.class);
+        cacheAccessProxy = mock(CacheAccessProxy.class);
+        when(accessStatisticsService.record(any(), any(), any())).thenReturn(StatResult.builder().build());
+        when(hotspotDetector.detect(any(), any())).thenReturn(HotspotLevel.HOT);
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new SchedulerMetrics(meterRegistry);
+
+        facade = new SchedulerFacade(accessStatisticsService, hotspotDetector, engine, cacheAccessProxy,
+                new HotspotPinRegistry(), variantRegistry, schedulerProperties,
+                new LastDecisionCache(schedulerProperties), metrics);
+    }
+
+    private static RequestContext context(RequestType requestType) {
+        return RequestContext.builder().requestId("req-1").cacheKey("order:1").requestType(requestType).build();
+    }
+
+    @Test
+    @DisplayName("普通读请求：未指定类型时走缓存访问")
+    void process_Read_UsesCache() {
+        when(cacheAccessProxy.access(eq("order:1"), any(), any(), any())).thenReturn("cached");
+
+        assertEquals("cached", facade.process(context(null), () -> "db"));
+
+        verify(accessStatisticsService).record("default", "order:1", null);
+        verify(cacheAccessProxy, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("写请求：不记录访问统计、不读缓存，完成后使缓存失效")
+    void process_Write_BypassesStatisticsAndInvalidates() {
+        assertEquals("written", facade.process(context(RequestType.WRITE), () -> "written"));
+
+        verifyNoInteractions(accessStatisticsService, hotspotDetector);
+        verify(cacheAccessProxy, never()).access(any(), any(), any(), any(DispatchDecision.class));
+        verify(cacheAccessProxy).invalidate("order:1");
+    }
+
+    @Test
+    @DisplayName("写请求失败：异常交给调用方，缓存同样失效")
+    void process_WriteFails_StillInvalidates() {
+        RequestContext context = context(RequestType.WRITE);
+
+        assertThrows(IllegalStateException.class, () -> facade.process(context, () -> {
+            throw new IllegalStateException("db down");
+        }));
+        verify(cacheAccessProxy).invalidate("order:1");
+    }
+
+    @Test
+    @DisplayName("异步写请求：完成后使缓存失效")
+    void processAsync_Write_InvalidatesOnCompletion() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> result = facade.processAsync(context(RequestType.WRITE), String.class,
+                () -> pending);
+        verify(cacheAccessProxy, never()).invalidate(any());
+
+        pending.complete("written");
+        assertEquals("written", result.join());
+        verify(cacheAccessProxy).invalidate("order:1");
+        verifyNoInteractions(accessStatisticsService);
+    }
+
+    @Test
+    @DisplayName("强一致读请求：记录访问统计，直连数据库")
+    void process_ConsistentRead_RecordsAccessButSkipsCache() {
+        RequestContext context = context(RequestType.CONSISTENT_READ);
+
+        assertEquals("db", facade.process(context, () -> "db"));
+
+        verify(accessStatisticsService).record("default", "order:1", null);
+        assertEquals(HotspotLevel.HOT, context.getHotspotLevel());
+        verifyNoInteractions(cacheAccessProxy);
+    }
+
+    @Test
+    @DisplayName("分群请求：按分群变体键访问缓存，访问统计按原 key 聚合；写请求使所有变体失效")
+    void process_Segmented_UsesVariantKeyAndInvalidatesAllVariants() {
+        variantRegistry.register("recommend", List.of("vip", "normal"),
+                context -> context.getUserId() != null && context.getUserId().startsWith("v") ? "vip" : "normal");
+        SchedulerProperties.BizProfile recommend = new SchedulerProperties.BizProfile();
+        recommend.setPersonalization("SEGMENTED");
+        schedulerProperties.getProfiles().put("recommend", recommend);
+        when(cacheAccessProxy.access(eq("feed:1|v:vip"), any(), any(), any())).thenReturn("vip-feed");
+
+        RequestContext read = RequestContext.builder().cacheKey("feed:1").bizType("recommend").userId("v1").build();
+        assertEquals("vip-feed", facade.process(read, () -> "db"));
+        assertNull(read.getPersonalization(), "解析结果不写回请求上下文");
+        verify(accessStatisticsService).record("recommend", "feed:1", "v1");
+
+        RequestContext write = RequestContext.builder().cacheKey("feed:1").bizType("recommend")
+                .requestType(RequestType.WRITE).build();
+        facade.process(write, () -> "written");
+        verify(cacheAccessProxy).invalidate("feed:1");
+        verify(cacheAccessProxy).invalidate("feed:1|v:vip");
+        verify(cacheAccessProxy).invalidate("feed:1|v:normal");
+    }
+
+    @Test
+    @DisplayName("分群变体键：分群名为数字时也不与 Redis 副本键（{key}#{index}）相同")
+    void variantKeys_DoNotCollideWithReplicaKeys() {
+        variantRegistry.register("rank", List.of("1", "2", "3"), context -> "1");
+
+        List<String> variants = variantRegistry.variantKeys("rank", "board:1");
+
+        assertEquals(4, variants.size());
+        for (int index = 1; index <= 3; index++) {
+            assertFalse(variants.contains(RemoteCacheClient.replicaKey("board:1", index)),
+                    "变体键与副本键冲突: index=" + index);
+        }
+        assertTrue(variants.contains("board:1|v:1"));
+    }
+
+    @Test
+    @DisplayName("完全个性化请求（含无法分群的请求）：不经过缓存访问与回源准入，直接回源")
+    void process_Personal_CallsLoaderDirectly() {
+        RequestContext personal = RequestContext.builder().cacheKey("cart:1").userId("u1")
+                .personalization(Personalization.PERSONAL).build();
+        assertEquals("db", facade.process(personal, () -> "db"));
+
+        RequestContext unsegmented = RequestContext.builder().cacheKey("feed:2")
+                .personalization(Personalization.SEGMENTED).build();
+        assertEquals("db", facade.process(unsegmented, () -> "db"));
+        assertEquals(Personalization.SEGMENTED, unsegmented.getPersonalization(), "解析结果不写回请求上下文");
+
+        RequestContext asyncPersonal = RequestContext.builder().cacheKey("cart:2")
+                .personalization(Personalization.PERSONAL).build();
+        when(accessStatisticsService.recordAsync(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(StatResult.builder().build()));
+        assertEquals("db", facade.processAsync(asyncPersonal, String.class,
+                () -> CompletableFuture.completedFuture("db")).join());
+
+        verify(accessStatisticsService).record("default", "cart:1", "u1");
+        verifyNoInteractions(cacheAccessProxy);
+    }
+
+    @Test
+    @DisplayName("合并读取：本地缓存没有该 key 时预读缓存值并交给缓存访问，已有时按原流程统计")
+    void process_FusedFetch_PrefetchesOnlyWhenNotCachedLocally() {
+        schedulerProperties.getStat().setFusedFetchEnabled(true);
+        FusedReadResult prefetched = FusedReadResult.fetched(StatResult.builder().build(), new byte[]{1}, 1000L);
+        when(accessStatisticsService.recordAndGet("default", "order:1", null, "order:1")).thenReturn(prefetched);
+        when(cacheAccessProxy.access(eq("order:1"), any(), any(), any(), eq(prefetched))).thenReturn("prefetched");
+
+        assertEquals("prefetched", facade.process(context(null), () -> "db"));
+        verify(accessStatisticsService, never()).record(any(), any(), any());
+
+        when(cacheAccessProxy.cachedLocally("order:1", "default")).thenReturn(true);
+        when(cacheAccessProxy.access(eq("order:1"), any(), any(), any(DispatchDecision.class))).thenReturn("local");
+
+        assertEquals("local", facade.process(context(null), () -> "db"));
+        verify(accessStatisticsService).record("default", "order:1", null);
+        verify(accessStatisticsService).recordAndGet(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("乐观模式：按最近决策读取缓存并异步统计，新决策不再使用缓存时按新决策访问")
+    void process_Optimistic_PeeksWithLastDecisionAndReroutes() {
+        schedulerProperties.getStrategy().setOptimisticEnabled(true);
+        when(accessStatisticsService.recordAsync(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(StatResult.builder().build()));
+        when(cacheAccessProxy.access(eq("order:1"), any(), any(), any(DispatchDecision.class))).thenReturn("seeded");
+        assertEquals("seeded", facade.process(context(null), () -> "db"));
+
+        // 已有最近决策（HOT）：命中时直接返回，不再调用缓存访问
+        when(cacheAccessProxy.peek(eq("order:1"), any(),
+                argThat((DispatchDecision d) -> d.getHotspotLevel() == HotspotLevel.HOT))).thenReturn("peeked");
+        assertEquals("peeked", facade.process(context(null), () -> "db"));
+        verify(accessStatisticsService).recordAsync("default", "order:1", null);
+        verify(cacheAccessProxy, times(1)).access(any(), any(), any(), any(DispatchDecision.class));
+
+        // 热度降为 COLD（不使用缓存）：丢弃乐观读取结果，按新决策访问
+        when(hotspotDetector.detect(any(), any())).thenReturn(HotspotLevel.COLD);
+        when(cacheAccessProxy.access(eq("order:1"), any(), any(),
+                argThat((DispatchDecision d) -> d.getCacheMode() == CacheMode.NONE))).thenReturn("db");
+        assertEquals("db", facade.process(context(null), () -> "db"));
+    }
+
+    @Test
+    @DisplayName("乐观模式指标：访问统计与乐观读取分别计时，统计耗时不包含乐观读取")
+    void process_Optimistic_RecordsStagesSeparately() {
+        schedulerProperties.getStrategy().setOptimisticEnabled(true);
+        CompletableFuture<StatResult> pending = new CompletableFuture<>();
+        when(accessStatisticsService.recordAsync(any(), any(), any())).thenReturn(pending);
+        facade.process(context(null), () -> "db");
+
+        // 乐观读取耗时 30ms，访问统计在读取开始前已完成
+        when(cacheAccessProxy.peek(eq("order:1"), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(30);
+            return "peeked";
+        });
+        pending.complete(StatResult.builder().build());
+        assertEquals("peeked", facade.process(context(null), () -> "db"));
+
+        Timer record = meterRegistry.get("scheduler.stage.duration").tag("stage", "record").timer();
+        Timer access = meterRegistry.get("scheduler.stage.duration").tag("stage", "access").timer();
+        assertEquals(2, record.count());
+        assertTrue(record.max(TimeUnit.MILLISECONDS) < 30, "统计耗时不应包含乐观读取");
+        assertTrue(access.max(TimeUnit.MILLISECONDS) >= 30, "缓存访问耗时包含乐观读取");
+    }
+
+    @Test
+    @DisplayName("异步处理指标：访问统计耗时从发出统计调用前开始计时")
+    void processAsync_RecordStageIncludesIssuingTheCall() {
+        when(accessStatisticsService.recordAsync(any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(30);
+            return CompletableFuture.completedFuture(StatResult.builder().build());
+        });
+        when(cacheAccessProxy.accessAsync(eq("order:1"), any(), any(), any(DispatchDecision.class)))
+                .thenReturn(CompletableFuture.completedFuture("cached"));
+
+        assertEquals("cached", facade.processAsync(context(null), String.class,
+                () -> CompletableFuture.completedFuture("db")).join());
+
+        Timer record = meterRegistry.get("scheduler.stage.duration").tag("stage", "record").timer();
+        assertEquals(1, record.count());
+        assertTrue(record.max(TimeUnit.MILLISECONDS) >= 30, "统计调用本身的耗时应计入访问统计阶段");
+    }
+
+    @Test
+    @DisplayName("批量处理：整批记录访问统计，读请求批量访问缓存，强一致读单独回源；逐个 key 记录决策与阶段耗时")
+    @SuppressWarnings("unchecked")
+    void processAll_BatchesStatisticsAndCacheAccess() {
+        when(accessStatisticsService.recordAll(any())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return List.of(StatResult.builder().build(), StatResult.builder().build(),
+                    StatResult.builder().build());
+        });
+        when(cacheAccessProxy.accessAll(any(), any(), any(), anyMap())).thenAnswer(invocation -> {
+            Function<Set<String>, Map<String, String>> loader = invocation.getArgument(2);
+            return loader.apply(Set.of("item:2"));
+        });
+
+        List<RequestContext> contexts = List.of(
+                RequestContext.builder().cacheKey("item:1").build(),
+                RequestContext.builder().cacheKey("item:2").build(),
+                RequestContext.builder().cacheKey("item:3").requestType(RequestType.CONSISTENT_READ).build());
+        Map<String, String> result = facade.processAll(contexts, String.class,
+                keys -> keys.stream().collect(Collectors.toMap(k -> k, k -> "db-" + k)));
+
+        assertEquals(Map.of("item:2", "db-item:2", "item:3", "db-item:3"), result);
+        verify(accessStatisticsService).recordAll(argThat(keys -> keys.size() == 3
+                && keys.get(0).equals(new AccessStatisticsService.AccessKey("default", "item:1", null))));
+        verify(cacheAccessProxy).accessAll(eq(Set.of("item:1", "item:2")), eq(String.class), any(),
+                argThat((Map<String, DispatchDecision> decisions) -> decisions.size() == 2
+                        && decisions.get("item:1").getCacheMode() == CacheMode.LOCAL_AND_REMOTE));
+        assertEquals(HotspotLevel.HOT, contexts.get(2).getHotspotLevel());
+        for (String stage : List.of("record", "detect", "decide", "access")) {
+            assertEquals(3, meterRegistry.get("scheduler.stage.duration").tag("stage", stage).timer().count());
+        }
+        // 整批访问统计耗时按 key 数均摊，总耗时不按 key 数放大
+        double recordMillis = meterRegistry.get("scheduler.stage.duration").tag("stage", "record").timer()
+                .totalTime(TimeUnit.MILLISECONDS);
+        assertTrue(recordMillis >= 45 && recordMillis < 120, "record total=" + recordMillis);
+
+        // 批量处理同样记录最近决策，之后的单个请求可走乐观模式
+        schedulerProperties.getStrategy().setOptimisticEnabled(true);
+        when(accessStatisticsService.recordAsync(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(StatResult.builder().build()));
+        when(cacheAccessProxy.peek(eq("item:1"), any(), any())).thenReturn("peeked");
+        assertEquals("peeked", facade.process(RequestContext.builder().cacheKey("item:1").build(), () -> "db"));
+        assertThrows(IllegalArgumentException.class, () -> facade.processAll(
+                List.of(context(RequestType.WRITE)), String.class, keys -> Map.of()));
+    }
+
+    @Test
+    @DisplayName("指标：记录各阶段耗时，热点等级变化时记录等级变化次数")
+    void process_RecordsStageTimersAndLevelTransitions() {
+        facade.process(context(null), () -> "db");
+        when(hotspotDetector.detect(any(), any())).thenReturn(HotspotLevel.COLD);
+        facade.process(context(null), () -> "db");
+        facade.process(context(null), () -> "db");
+
+        for (String stage : List.of("record", "detect", "decide", "access")) {
+            assertEquals(3, meterRegistry.get("scheduler.stage.duration").tag("stage", stage).timer().count());
+        }
+        assertEquals(1.0, meterRegistry.get("scheduler.hotspot.transitions")
+                .tag("from", "HOT").tag("to", "COLD").counter().count());
+        assertEquals(0.0, meterRegistry.get("scheduler.hotspot.transitions")
+                .tag("from", "COLD").tag("to", "HOT").counter().count());
+    }
+}
@@ -1,17 +1,36 @@
 package com.example.aliintern.scheduler.cache;
 
 import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.client.OffHeapCacheClient;
 import com.example.aliintern.scheduler.cache.client.RemoteCacheClient;
+import com.example.aliintern.scheduler.cache.fallback.FallbackLoader;
+import com.example.aliintern.scheduler.cache.guard.LoadRejectedException;
+import com.example.aliintern.scheduler.cache.guard.LoaderGuard;
+import com.example.aliintern.scheduler.cache.guard.RedisLoadBudget;
 import com.example.aliintern.scheduler.cache.impl.DefaultCacheAccessProxy;
+import com.example.aliintern.scheduler.cache.invalidation.LocalCacheInvalidationBroadcaster;
 import com.example.aliintern.scheduler.common.enums.CacheMode;
 import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.metrics.LoadSignalRecorder;
+import com.example.aliintern.scheduler.common.metrics.LoaderCostTracker;
+import com.example.aliintern.scheduler.common.metrics.SchedulerMetrics;
 import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.FusedReadResult;
+import com.example.aliintern.scheduler.common.model.StatResult;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +45,15 @@ import static org.mockito.Mockito.*;
  * 2. 缓存命中/未命中场景
  * 3. 异常容错处理
  * 4. 缓存失效操作
+ * 5. 批量访问
+ * 6. 异步访问
+ * 7. 堆外缓存层
+ * 8. 极热 key 副本
+ * 9. 回源准入控制（限流时返回旧值）
+ * 10. 兜底（回源不可用时返回兜底数据）
+ * 11. 回源成本记录
+ * 12. 合并读取（使用访问统计时预读的 Redis 值）
+ * 13. 命中率与回源耗时指标
  */
 @ExtendWith(MockitoExtension.class)
 class CacheAccessProxyTest {
@@ -33,14 +61,39 @@ class CacheAccessProxyTest {
     @Mock
     private LocalCacheClient localCache;
 
+    @Mock
+    private OffHeapCacheClient offHeapCache;
+
     @Mock
     private RemoteCacheClient remoteCache;
 
+    @Mock
+    private LocalCacheInvalidationBroadcaster invalidationBroadcaster;
+
+    @Mock
+    private FallbackLoader fallbackLoader;
+
+    @Mock
+    private LoaderCostTracker costTracker;
+
+    private SchedulerProperties schedulerProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private CacheAccessProxy proxy;
 
     @BeforeEach
     void setUp() {
-        proxy = new DefaultCacheAccessProxy(localCache, remoteCache);
+        schedulerProperties = new SchedulerProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        proxy = newProxy();
+    }
+
+    private CacheAccessProxy newProxy() {
+        LoaderGuard loaderGuard = new LoaderGuard(schedulerProperties, new RedisLoadBudget(null, schedulerProperties, null));
+        return new DefaultCacheAccessProxy(localCache, offHeapCache, remoteCache, invalidationBroadcaster,
+                loaderGuard, fallbackLoader, new LoadSignalRecorder(), costTracker,
+                new SchedulerMetrics(meterRegistry));
     }
 
     // ==================== 模式 1: NONE ====================
@@ -86,7 +139,7 @@ class CacheAccessProxyTest {
         // Then
         assertEquals("local-value", result);
         verify(localCache).get("test-key");
-        verify(localCache, never()).put(any(), any(), any());
+        verify(localCache, never()).put(any(), any(), any(), anyLong());
     }
 
     @Test
@@ -106,7 +159,7 @@ class CacheAccessProxyTest {
         // Then
         assertEquals("db-value", result);
         verify(localCache).get("test-key");
-        verify(localCache).put("test-key", "db-value", CacheTtlLevel.NORMAL);
+        verify(localCache).put(eq("test-key"), eq("db-value"), eq(CacheTtlLevel.NORMAL), anyLong());
     }
 
     // ==================== 模式 3: REMOTE_ONLY ====================
@@ -131,7 +184,7 @@ class CacheAccessProxyTest {
         // Then
         assertEquals("redis-value", result);
         verify(remoteCache).get("test-key");
-        verify(remoteCache, never()).put(any(), any(), any());
+        verify(remoteCache, never()).put(any(), any(), any(), anyLong());
     }
 
     @Test
@@ -151,7 +204,30 @@ class CacheAccessProxyTest {
         // Then
         assertEquals("db-value", result);
         verify(remoteCache).get("test-key");
-        verify(remoteCache).put("test-key", "db-value", CacheTtlLevel.SHORT);
+        verify(remoteCache).put(eq("test-key"), eq("db-value"), eq(CacheTtlLevel.SHORT), anyLong());
+    }
+
+    @Test
+    void testAccessRemoteOnly_Typed_ShouldDecodeWithType() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.SHORT)
+                .build();
+        
+        when(remoteCache.get("test-key", Integer.class)).thenReturn(42);
+        Supplier<Integer> dbLoader = () -> {
+            fail("DB should not be called");
+            return null;
+        };
+        
+        // When
+        Integer result = proxy.access("test-key", Integer.class, dbLoader, decision);
+        
+        // Then
+        assertEquals(42, result);
+        verify(remoteCache).get("test-key", Integer.class);
+        verify(remoteCache, never()).get("test-key");
     }
 
     // ==================== 模式 4: LOCAL_AND_REMOTE ====================
@@ -223,8 +299,617 @@ class CacheAccessProxyTest {
         assertEquals("db-value", result);
         verify(localCache).get("test-key");
         verify(remoteCache).get("test-key");
-        verify(remoteCache).put("test-key", "db-value", CacheTtlLevel.NORMAL);
-        verify(localCache).put("test-key", "db-value", CacheTtlLevel.NORMAL);
+        verify(remoteCache).put(eq("test-key"), eq("db-value"), eq(CacheTtlLevel.NORMAL), anyLong());
+        verify(localCache).put(eq("test-key"), eq("db-value"), eq(CacheTtlLevel.NORMAL), anyLong());
+    }
+
+    // ==================== 堆外缓存层 ====================
+
+    @Test
+    void testAccessLocalAndRemote_WhenOffHeapHit_ShouldSkipRedis() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        
+        when(localCache.get("doc-key")).thenReturn(null);
+        when(offHeapCache.get("doc-key", String.class)).thenReturn("large-doc");
+        
+        // When
+        String result = proxy.access("doc-key", String.class, () -> fail("DB should not be called"), decision);
+        
+        // Then
+        assertEquals("large-doc", result);
+        verify(remoteCache, never()).get(any(), any());
+    }
+
+    @Test
+    void testAccessLocalAndRemote_WhenOffHeapAccepts_ShouldNotWriteCaffeine() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        
+        when(remoteCache.get("doc-key", String.class)).thenReturn(null);
+        when(offHeapCache.putIfEligible("doc-key", "large-doc", String.class, decision)).thenReturn(true);
+        
+        // When
+        String result = proxy.access("doc-key", String.class, () -> "large-doc", decision);
+        
+        // Then
+        assertEquals("large-doc", result);
+        verify(remoteCache).put(eq("doc-key"), eq("large-doc"), eq(CacheTtlLevel.NORMAL), anyLong());
+        verify(localCache, never()).put(any(), any(), any(), anyLong());
+        verify(localCache).invalidate("doc-key");
+    }
+
+    @Test
+    void testAccessLocalAndRemote_WhenWrittenToCaffeine_ShouldInvalidateOffHeap() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        
+        when(remoteCache.get("doc-key", String.class)).thenReturn("small-doc");
+        when(offHeapCache.isEnabled()).thenReturn(true);
+        
+        // When
+        String result = proxy.access("doc-key", String.class, () -> fail("DB should not be called"), decision);
+        
+        // Then
+        assertEquals("small-doc", result);
+        verify(localCache).put("doc-key", "small-doc", CacheTtlLevel.NORMAL);
+        verify(offHeapCache).invalidate("doc-key");
+    }
+
+    @Test
+    void testCachedLocally_WhenOnlyInOffHeap_ShouldReturnTrue() {
+        // Given
+        when(localCache.partition("doc")).thenReturn(localCache);
+        when(localCache.contains("doc-key")).thenReturn(false);
+        when(offHeapCache.contains("doc-key")).thenReturn(true);
+
+        // When & Then: 大对象只在堆外缓存中时不需要预读 Redis
+        assertTrue(proxy.cachedLocally("doc-key", "doc"));
+    }
+
+    // ==================== 极热 key 副本 ====================
+
+    @Test
+    void testAccessLocalAndRemote_ExtremelyHot_ShouldUseReplicas() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.LONG)
+                .hotspotLevel(HotspotLevel.EXTREMELY_HOT)
+                .build();
+        
+        when(remoteCache.replicaCount(HotspotLevel.EXTREMELY_HOT)).thenReturn(4);
+        when(remoteCache.get("hot-key", String.class, 4)).thenReturn(null);
+        
+        // When
+        String result = proxy.access("hot-key", String.class, () -> "db-value", decision);
+        
+        // Then
+        assertEquals("db-value", result);
+        verify(remoteCache).put(eq("hot-key"), eq("db-value"), eq(CacheTtlLevel.LONG), anyLong(), eq(4));
+        verify(remoteCache, never()).get(eq("hot-key"), eq(String.class));
+        verify(remoteCache, never()).put(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void testAccessAll_ExtremelyHot_ShouldBackfillReplicas() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.LONG)
+                .hotspotLevel(HotspotLevel.EXTREMELY_HOT)
+                .build();
+        
+        when(remoteCache.getAll(List.of("hot-key"), String.class)).thenReturn(Map.of());
+        when(remoteCache.replicaCount(HotspotLevel.EXTREMELY_HOT)).thenReturn(4);
+        
+        // When
+        Map<String, String> result = proxy.accessAll(List.of("hot-key"), String.class,
+                missing -> Map.of("hot-key", "db-value"), decision);
+        
+        // Then
+        assertEquals("db-value", result.get("hot-key"));
+        verify(remoteCache).putAll(eq(Map.of("hot-key", "db-value")), eq(Map.of("hot-key", CacheTtlLevel.LONG)),
+                eq(Map.of("hot-key", 4)), anyLong());
+    }
+
+    // ==================== 批量访问 ====================
+
+    @Test
+    void testAccessAll_ShouldResolveTierByTierWithSingleBatchLoad() {
+        // Given: a 本地命中，b Redis 命中，c / d 均未命中
+        DispatchDecision decision = DispatchDecision.of(CacheMode.LOCAL_AND_REMOTE, CacheTtlLevel.NORMAL);
+        List<String> keys = List.of("a", "b", "c", "d");
+        
+        when(localCache.getAll(keys)).thenReturn(Map.of("a", "local-a"));
+        when(remoteCache.getAll(List.of("b", "c", "d"), String.class)).thenReturn(Map.of("b", "redis-b"));
+        AtomicInteger loaderCalls = new AtomicInteger();
+        
+        // When
+        Map<String, String> result = proxy.accessAll(keys, String.class, missing -> {
+            loaderCalls.incrementAndGet();
+            assertEquals(Set.of("c", "d"), missing);
+            return Map.of("c", "db-c");
+        }, decision);
+        
+        // Then
+        assertEquals(List.of("a", "b", "c"), List.copyOf(result.keySet()));
+        assertEquals("local-a", result.get("a"));
+        assertEquals("redis-b", result.get("b"));
+        assertEquals("db-c", result.get("c"));
+        assertEquals(1, loaderCalls.get());
+        verify(localCache).put("b", "redis-b", CacheTtlLevel.NORMAL);
+        verify(localCache).put(eq("c"), eq("db-c"), eq(CacheTtlLevel.NORMAL), anyLong());
+        verify(remoteCache).putAll(eq(Map.of("c", "db-c")), eq(Map.of("c", CacheTtlLevel.NORMAL)), eq(Map.of()),
+                anyLong());
+    }
+
+    @Test
+    void testAccessAll_MixedDecisions_ShouldOnlyTouchAllowedTiers() {
+        // Given: x 不缓存，y 仅 Redis
+        Map<String, DispatchDecision> decisions = Map.of(
+                "x", DispatchDecision.noCache(),
+                "y", DispatchDecision.of(CacheMode.REMOTE_ONLY, CacheTtlLevel.SHORT));
+        
+        when(remoteCache.getAll(List.of("y"), String.class)).thenReturn(Map.of());
+        
+        // When
+        Map<String, String> result = proxy.accessAll(List.of("x", "y"), String.class,
+                missing -> Map.of("x", "db-x", "y", "db-y"), decisions);
+        
+        // Then
+        assertEquals("db-x", result.get("x"));
+        assertEquals("db-y", result.get("y"));
+        verify(localCache, never()).getAll(any());
+        verify(localCache, never()).put(any(), any(), any(), anyLong());
+        verify(remoteCache).putAll(eq(Map.of("y", "db-y")), eq(Map.of("y", CacheTtlLevel.SHORT)), eq(Map.of()),
+                anyLong());
+    }
+
+    // ==================== 异步访问 ====================
+
+    @Test
+    void testAccessAsync_WhenLocalHit_ShouldCompleteWithoutRedis() {
+        // Given
+        DispatchDecision decision = DispatchDecision.of(CacheMode.LOCAL_AND_REMOTE, CacheTtlLevel.LONG);
+        when(localCache.get("test-key")).thenReturn("local-value");
+        
+        // When
+        CompletableFuture<String> future = proxy.accessAsync("test-key", String.class, () -> {
+            fail("DB should not be called");
+            return null;
+        }, decision);
+        
+        // Then
+        assertEquals("local-value", future.join());
+        verify(remoteCache, never()).getAsync(any(), any());
+    }
+
+    @Test
+    void testAccessAsync_WhenBothMiss_ShouldLoadAndWriteBoth() {
+        // Given
+        DispatchDecision decision = DispatchDecision.of(CacheMode.LOCAL_AND_REMOTE, CacheTtlLevel.NORMAL);
+        when(localCache.get("test-key")).thenReturn(null);
+        when(remoteCache.getAsync("test-key", String.class)).thenReturn(CompletableFuture.completedFuture(null));
+        when(remoteCache.putAsync(any(), any(), any(), anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+        
+        // When
+        CompletableFuture<String> future = proxy.accessAsync("test-key", String.class,
+                () -> CompletableFuture.completedFuture("db-value"), decision);
+        
+        // Then
+        assertEquals("db-value", future.join());
+        verify(remoteCache).putAsync(eq("test-key"), eq("db-value"), eq(CacheTtlLevel.NORMAL), anyLong());
+        verify(localCache).put(eq("test-key"), eq("db-value"), eq(CacheTtlLevel.NORMAL), anyLong());
+    }
+
+    @Test
+    void testAccessAsync_WhenRedisHit_ShouldBackfillLocal() {
+        // Given
+        DispatchDecision decision = DispatchDecision.of(CacheMode.LOCAL_AND_REMOTE, CacheTtlLevel.LONG);
+        when(localCache.get("test-key")).thenReturn(null);
+        when(remoteCache.getAsync("test-key", String.class))
+                .thenReturn(CompletableFuture.completedFuture("redis-value"));
+        
+        // When
+        CompletableFuture<String> future = proxy.accessAsync("test-key", String.class, () -> {
+            fail("DB should not be called");
+            return null;
+        }, decision);
+        
+        // Then
+        assertEquals("redis-value", future.join());
+        verify(localCache).put("test-key", "redis-value", CacheTtlLevel.LONG);
+    }
+
+    @Test
+    void testAccessAsync_WhenGuarded_ShouldNotCallRedisBudgetSynchronously() {
+        // Given
+        schedulerProperties.getCache().getGuard().setEnabled(true);
+        RedisLoadBudget budget = mock(RedisLoadBudget.class);
+        CompletableFuture<Boolean> admission = new CompletableFuture<>();
+        when(budget.tryAcquireAsync()).thenReturn(admission);
+        proxy = new DefaultCacheAccessProxy(localCache, offHeapCache, remoteCache, invalidationBroadcaster,
+                new LoaderGuard(schedulerProperties, budget), fallbackLoader, new LoadSignalRecorder(), costTracker,
+                new SchedulerMetrics(meterRegistry));
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        when(remoteCache.getAsync("test-key", String.class)).thenReturn(CompletableFuture.completedFuture(null));
+        when(remoteCache.putAsync(any(), any(), any(), anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+        AtomicInteger loads = new AtomicInteger();
+
+        // When: 预算结果返回前不回源
+        CompletableFuture<String> future = proxy.accessAsync("test-key", String.class, () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("db-value");
+        }, decision);
+        assertFalse(future.isDone());
+        assertEquals(0, loads.get());
+        admission.complete(true);
+
+        // Then
+        assertEquals("db-value", future.join());
+        verify(budget, never()).tryAcquire();
+        verify(budget).tryAcquireAsync();
+    }
+
+    // ==================== 回源准入控制 ====================
+
+    @Test
+    void testAccess_WhenLoaderRateLimited_ShouldReturnStaleValue() {
+        // Given: 单 key 每秒只允许回源 1 次
+        schedulerProperties.getCache().getGuard().setEnabled(true);
+        schedulerProperties.getCache().getGuard().setPerKeyPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setPerKeyBurst(1);
+        proxy = newProxy();
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        when(localCache.get("test-key")).thenReturn(null);
+        when(remoteCache.get("test-key", String.class)).thenReturn(null);
+        when(localCache.getStale("test-key")).thenReturn("stale-value");
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> dbLoader = () -> "db-value-" + loads.incrementAndGet();
+
+        // When
+        String first = proxy.access("test-key", String.class, dbLoader, decision);
+        String second = proxy.access("test-key", String.class, dbLoader, decision);
+
+        // Then: 第二次被限流，返回提前过期但仍在缓存中的旧值
+        assertEquals("db-value-1", first);
+        assertEquals("stale-value", second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testAccess_WhenWarmKey_ShouldNotApplyPerKeyLimit() {
+        // Given: 单 key 限流只对 HOT 及以上生效
+        schedulerProperties.getCache().getGuard().setEnabled(true);
+        schedulerProperties.getCache().getGuard().setPerKeyPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setPerKeyBurst(1);
+        proxy = newProxy();
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.SHORT)
+                .hotspotLevel(HotspotLevel.WARM)
+                .build();
+        when(remoteCache.get("test-key", String.class)).thenReturn(null);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            proxy.access("test-key", String.class, () -> "db-value-" + loads.incrementAndGet(), decision);
+        }
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testAccess_WhenRateLimitedWithoutStale_ShouldThrowRejected() {
+        // Given
+        schedulerProperties.getCache().getGuard().setEnabled(true);
+        schedulerProperties.getCache().getGuard().setPerKeyPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setPerKeyBurst(1);
+        proxy = newProxy();
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        when(remoteCache.get("test-key", String.class)).thenReturn(null);
+        proxy.access("test-key", String.class, () -> "db-value", decision);
+
+        // When / Then: 被限流且没有旧值，与"数据不存在"区分
+        LoadRejectedException e = assertThrows(LoadRejectedException.class,
+                () -> proxy.access("test-key", String.class, () -> "db-value", decision));
+        assertEquals(List.of("test-key"), e.getKeys());
+    }
+
+    @Test
+    void testAccessNone_ShouldBypassGuard() {
+        // Given: 全局每秒只允许 1 次回源
+        schedulerProperties.getCache().getGuard().setEnabled(true);
+        schedulerProperties.getCache().getGuard().setGlobalPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setGlobalBurst(1);
+        proxy = newProxy();
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            proxy.access("test-key", String.class, () -> "db-value-" + loads.incrementAndGet(),
+                    DispatchDecision.noCache());
+        }
+
+        // Then: 不使用缓存的请求不受限流影响
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testAccessAll_WhenGlobalLimitExceeded_ShouldReturnStaleValues() {
+        // Given: 本实例每秒只允许 1 次回源
+        schedulerProperties.getCache().getGuard().setEnabled(true);
+        schedulerProperties.getCache().getGuard().setGlobalPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setGlobalBurst(1);
+        proxy = newProxy();
+        DispatchDecision decision = DispatchDecision.of(CacheMode.REMOTE_ONLY, CacheTtlLevel.SHORT);
+        when(remoteCache.getAll(List.of("a", "b"), String.class)).thenReturn(Map.of());
+        when(remoteCache.getStale("a", String.class)).thenReturn("stale-a");
+        when(remoteCache.getStale("b", String.class)).thenReturn("stale-b");
+        AtomicInteger batches = new AtomicInteger();
+
+        // When
+        Map<String, String> first = proxy.accessAll(List.of("a", "b"), String.class, missing -> {
+            batches.incrementAndGet();
+            return Map.of("a", "db-a", "b", "db-b");
+        }, decision);
+        Map<String, String> second = proxy.accessAll(List.of("a", "b"), String.class, missing -> {
+            batches.incrementAndGet();
+            return Map.of("a", "db-a", "b", "db-b");
+        }, decision);
+
+        // Then: 第二次整批被拒绝，返回旧值
+        assertEquals(Map.of("a", "db-a", "b", "db-b"), first);
+        assertEquals(Map.of("a", "stale-a", "b", "stale-b"), second);
+        assertEquals(1, batches.get());
+    }
+
+    @Test
+    void testAccessAll_WhenRejectedWithoutStale_ShouldReturnPartialResult() {
+        // Given: 单 key 令牌为 1，先消耗 b 的令牌
+        schedulerProperties.getCache().getGuard().setEnabled(true);
+        schedulerProperties.getCache().getGuard().setPerKeyPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setPerKeyBurst(1);
+        proxy = newProxy();
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.SHORT)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        when(remoteCache.getAll(List.of("b"), String.class)).thenReturn(Map.of());
+        proxy.accessAll(List.of("b"), String.class, missing -> Map.of("b", "db-b"), decision);
+        when(remoteCache.getAll(List.of("hit", "a", "b"), String.class)).thenReturn(Map.of("hit", "redis-hit"));
+        AtomicInteger batches = new AtomicInteger();
+
+        // When: b 被限流且没有旧值
+        Map<String, String> result = proxy.accessAll(List.of("hit", "a", "b"), String.class, missing -> {
+            batches.incrementAndGet();
+            assertEquals(Set.of("a"), missing);
+            return Map.of("a", "db-a");
+        }, decision);
+
+        // Then: 保留命中结果，a 照常回源，b 不包含在结果中
+        assertEquals(Map.of("hit", "redis-hit", "a", "db-a"), result);
+        assertEquals(1, batches.get());
+    }
+
+    // ==================== 兜底 ====================
+
+    @Test
+    void testAccess_WhenFallbackEnabledAndDbUnavailable_ShouldReturnFallbackWithoutCaching() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.LONG)
+                .hotspotLevel(HotspotLevel.EXTREMELY_HOT)
+                .fallbackEnabled(true)
+                .build();
+        Supplier<String> dbLoader = () -> "db-value";
+        when(fallbackLoader.isEnabled(decision)).thenReturn(true);
+        when(fallbackLoader.load("test-key", dbLoader)).thenReturn(new FallbackLoader.Outcome<>(null, false));
+        when(fallbackLoader.fallback("test-key", String.class)).thenReturn("lkg-value");
+
+        // When
+        String result = proxy.access("test-key", String.class, dbLoader, decision);
+
+        // Then: 没有缓存旧值，返回兜底副本，且不回写缓存
+        assertEquals("lkg-value", result);
+        verify(localCache).getStale("test-key");
+        verify(remoteCache).getStale("test-key", String.class);
+        verify(localCache, never()).put(any(), any(), any(), anyLong());
+        verify(remoteCache, never()).put(any(), any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testAccess_WhenFallbackEnabledAndDbLoaded_ShouldWriteCaches() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .fallbackEnabled(true)
+                .build();
+        Supplier<String> dbLoader = () -> "db-value";
+        when(fallbackLoader.isEnabled(decision)).thenReturn(true);
+        when(fallbackLoader.load("test-key", dbLoader)).thenReturn(new FallbackLoader.Outcome<>("db-value", true));
+
+        // When
+        String result = proxy.access("test-key", String.class, dbLoader, decision);
+
+        // Then
+        assertEquals("db-value", result);
+        verify(remoteCache).put(eq("test-key"), eq("db-value"), eq(CacheTtlLevel.NORMAL), anyLong());
+        verify(fallbackLoader, never()).fallback(any(), any());
+    }
+
+    // ==================== 回源成本记录 ====================
+
+    @Test
+    void testAccess_DbLoaded_RecordsLoaderCost() {
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.SHORT)
+                .hotspotLevel(HotspotLevel.WARM)
+                .build();
+        when(remoteCache.get("test-key", String.class)).thenReturn(null);
+
+        proxy.access("test-key", String.class, () -> "db-value", decision);
+
+        verify(costTracker).record(eq("test-key"), anyLong(), eq("db-value"));
+    }
+
+    @Test
+    void testAccess_RemoteHit_DoesNotRecordLoaderCost() {
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.SHORT)
+                .hotspotLevel(HotspotLevel.WARM)
+                .build();
+        when(remoteCache.get("test-key", String.class)).thenReturn("cached");
+
+        proxy.access("test-key", String.class, () -> "db-value", decision);
+
+        verify(costTracker, never()).record(any(), anyLong(), any());
+    }
+
+    // ==================== 合并读取 ====================
+
+    @Test
+    void testAccess_WithPrefetchedValue_ShouldSkipRedisRead() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .build();
+        byte[] raw = {1, 2, 3};
+        FusedReadResult prefetched = FusedReadResult.fetched(StatResult.empty(), raw, 5000L);
+
+        when(remoteCache.decodePrefetched("test-key", raw, 5000L, String.class)).thenReturn("redis-value");
+
+        // When
+        String result = proxy.access("test-key", String.class, () -> fail("DB should not be called"),
+                decision, prefetched);
+
+        // Then
+        assertEquals("redis-value", result);
+        verify(remoteCache, never()).get(any(), any());
+        verify(localCache).put("test-key", "redis-value", CacheTtlLevel.NORMAL);
+    }
+
+    @Test
+    void testAccessAsync_WithPrefetchedMiss_ShouldLoadWithoutRedisRead() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.REMOTE_ONLY)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .build();
+        FusedReadResult prefetched = FusedReadResult.miss(StatResult.empty());
+        when(remoteCache.putAsync(any(), any(), any(), anyLong())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        String result = proxy.accessAsync("test-key", String.class,
+                () -> CompletableFuture.completedFuture("db-value"), decision, prefetched).join();
+
+        // Then
+        assertEquals("db-value", result);
+        verify(remoteCache, never()).getAsync(any(), any());
+        verify(remoteCache).putAsync(eq("test-key"), eq("db-value"), eq(CacheTtlLevel.NORMAL), anyLong());
+    }
+
+    // ==================== 指标 ====================
+
+    @Test
+    void testAccess_RecordsTierLookupsAndLoaderLatency() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        when(localCache.get("test-key")).thenReturn(null);
+        when(remoteCache.get("test-key")).thenReturn(null);
+
+        // When
+        proxy.access("test-key", () -> "db-value", decision);
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("scheduler.cache.requests")
+                .tags("tier", "local", "level", "HOT", "result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("scheduler.cache.requests")
+                .tags("tier", "remote", "level", "HOT", "result", "miss").counter().count());
+        assertEquals(0.0, meterRegistry.get("scheduler.cache.requests")
+                .tags("tier", "remote", "level", "HOT", "result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("scheduler.loader.duration").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testPeekMissThenAccess_RecordsEachTierOnce() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        when(localCache.get("test-key")).thenReturn(null);
+        when(remoteCache.get("test-key", String.class)).thenReturn(null);
+
+        // When: 乐观读取未命中，随后按预读结果（已确认未命中）访问
+        assertNull(proxy.peek("test-key", String.class, decision));
+        proxy.access("test-key", String.class, () -> "db-value", decision, FusedReadResult.miss(StatResult.empty()));
+
+        // Then: 每层各计一次未命中
+        assertEquals(1.0, meterRegistry.get("scheduler.cache.requests")
+                .tags("tier", "local", "level", "HOT", "result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("scheduler.cache.requests")
+                .tags("tier", "remote", "level", "HOT", "result", "miss").counter().count());
+    }
+
+    @Test
+    void testPeekRemoteHit_RecordsLocalMissAndRemoteHit() {
+        // Given
+        DispatchDecision decision = DispatchDecision.builder()
+                .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+                .ttlLevel(CacheTtlLevel.NORMAL)
+                .hotspotLevel(HotspotLevel.HOT)
+                .build();
+        when(localCache.get("test-key")).thenReturn(null);
+        when(remoteCache.get("test-key", String.class)).thenReturn("redis-value");
+
+        // When
+        assertEquals("redis-value", proxy.peek("test-key", String.class, decision));
+
+        // Then
+        assertEquals(1.0, meterRegistry.get("scheduler.cache.requests")
+                .tags("tier", "local", "level", "HOT", "result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("scheduler.cache.requests")
+                .tags("tier", "remote", "level", "HOT", "result", "hit").counter().count());
     }
 
     // ==================== 异常处理 ====================
@@ -277,7 +962,10 @@ class CacheAccessProxyTest {
         
         // Then
         verify(localCache).invalidate("test-key");
+        verify(offHeapCache).invalidate("test-key");
         verify(remoteCache).delete("test-key");
+        verify(fallbackLoader).invalidateLastKnownGood("test-key");
+        verify(invalidationBroadcaster).broadcast("test-key");
     }
 
     @Test
@@ -302,5 +990,6 @@ class CacheAccessProxyTest {
         // Then
         verify(localCache, never()).invalidate(any());
         verify(remoteCache, never()).delete(any());
+        verify(invalidationBroadcaster, never()).broadcast(any());
     }
 }
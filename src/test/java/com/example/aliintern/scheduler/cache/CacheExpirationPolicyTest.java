@@ -0,0 +1,99 @@
+package com.example.aliintern.scheduler.cache;
+
+import com.example.aliintern.scheduler.cache.support.CacheExpirationPolicy;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 缓存过期策略单元测试
+ *
+ * 测试覆盖：
+ * 1. TTL 抖动范围
+ * 2. 关闭抖动时 TTL 固定
+ * 3. XFetch 提前过期判定
+ */
+class CacheExpirationPolicyTest {
+
+    private SchedulerProperties schedulerProperties;
+    private CacheExpirationPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        policy = new CacheExpirationPolicy(schedulerProperties);
+    }
+
+    // ==================== TTL 抖动 ====================
+
+    @Test
+    @DisplayName("TTL 抖动：结果应落在 [ttl * (1 - ratio), ttl] 范围内且不完全相同")
+    void remoteTtl_WithJitter_StaysInRangeAndSpreads() {
+        // 默认 Redis NORMAL TTL = 120s，抖动比例 0.1
+        Set<Long> distinct = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            Duration ttl = policy.remoteTtl(CacheTtlLevel.NORMAL);
+            assertTrue(ttl.toMillis() <= 120_000L);
+            assertTrue(ttl.toMillis() >= 108_000L);
+            distinct.add(ttl.toMillis());
+        }
+        assertTrue(distinct.size() > 1, "同一等级的 TTL 应被打散");
+    }
+
+    @Test
+    @DisplayName("关闭抖动：TTL 等于配置值")
+    void localTtl_JitterDisabled_ReturnsConfiguredTtl() {
+        schedulerProperties.getCache().getExpire().setJitterRatio(0.0);
+
+        assertEquals(Duration.ofSeconds(30), policy.localTtl(CacheTtlLevel.SHORT));
+        assertEquals(Duration.ofSeconds(300), policy.localTtl(CacheTtlLevel.LONG));
+        assertEquals(Duration.ofSeconds(60), policy.localTtl(null));
+    }
+
+    // ==================== XFetch 提前过期 ====================
+
+    @Test
+    @DisplayName("XFetch：回源耗时未知时不提前过期")
+    void shouldRefreshEarly_UnknownLoadCost_ReturnsFalse() {
+        assertFalse(policy.shouldRefreshEarly(0L, 1L));
+    }
+
+    @Test
+    @DisplayName("XFetch：已过期时必定刷新")
+    void shouldRefreshEarly_Expired_ReturnsTrue() {
+        assertTrue(policy.shouldRefreshEarly(10L, 0L));
+    }
+
+    @Test
+    @DisplayName("XFetch：剩余 TTL 远大于回源耗时时几乎不刷新，临近过期时大概率刷新")
+    void shouldRefreshEarly_ProbabilityGrowsNearExpiry() {
+        int farHits = 0;
+        int nearHits = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (policy.shouldRefreshEarly(10L, 60_000L)) {
+                farHits++;
+            }
+            if (policy.shouldRefreshEarly(100L, 5L)) {
+                nearHits++;
+            }
+        }
+        assertEquals(0, farHits);
+        assertTrue(nearHits > 900);
+    }
+
+    @Test
+    @DisplayName("XFetch：关闭后不提前过期")
+    void shouldRefreshEarly_Disabled_ReturnsFalse() {
+        schedulerProperties.getCache().getExpire().setEarlyRefreshEnabled(false);
+
+        assertFalse(policy.shouldRefreshEarly(100L, 1L));
+    }
+}
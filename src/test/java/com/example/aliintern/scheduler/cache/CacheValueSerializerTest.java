@@ -0,0 +1,190 @@
+package com.example.aliintern.scheduler.cache;
+
+import com.example.aliintern.scheduler.cache.codec.CacheValueCompressor;
+import com.example.aliintern.scheduler.cache.codec.CacheValueSerializer;
+import com.example.aliintern.scheduler.cache.codec.JacksonCacheCodec;
+import com.example.aliintern.scheduler.cache.codec.SmileCacheCodec;
+import com.example.aliintern.scheduler.cache.codec.StringCacheCodec;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 缓存值序列化器单元测试
+ *
+ * 测试覆盖：
+ * 1. String / 对象的编解码往返
+ * 2. 头字节自动识别（与默认编解码器配置无关）
+ * 3. 无头字节历史数据兼容
+ * 4. 大对象压缩与自动解压
+ * 5. 回源耗时信封
+ */
+class CacheValueSerializerTest {
+
+    private SchedulerProperties schedulerProperties;
+    private CacheValueSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        serializer = newSerializer();
+    }
+
+    private CacheValueSerializer newSerializer() {
+        return new CacheValueSerializer(
+                List.of(new StringCacheCodec(), new JacksonCacheCodec(), new SmileCacheCodec()),
+                new CacheValueCompressor(schedulerProperties),
+                schedulerProperties);
+    }
+
+    // ==================== 编解码往返 ====================
+
+    @Test
+    @DisplayName("String 值：使用 String 编解码器原样往返")
+    void encodeDecode_String_RoundTrip() throws Exception {
+        byte[] data = serializer.encode("商品-12345");
+
+        assertEquals(StringCacheCodec.ID, data[0]);
+        assertEquals("商品-12345", serializer.decode(data, String.class));
+        assertEquals("商品-12345", serializer.decode(data, null));
+    }
+
+    @Test
+    @DisplayName("对象值：默认使用 Smile 编码并按类型解码")
+    void encodeDecode_Object_RoundTripWithSmile() throws Exception {
+        Product product = new Product(12345L, "手机", 399900L);
+
+        byte[] data = serializer.encode(product);
+
+        assertEquals(SmileCacheCodec.ID, data[0]);
+        assertEquals(product, serializer.decode(data, Product.class));
+    }
+
+    @Test
+    @DisplayName("对象值：无类型解码返回 Map")
+    void decode_WithoutType_ReturnsNaturalType() throws Exception {
+        byte[] data = serializer.encode(new Product(1L, "耳机", 9900L));
+
+        Object value = serializer.decode(data, null);
+
+        assertInstanceOf(Map.class, value);
+        assertEquals("耳机", ((Map<?, ?>) value).get("name"));
+    }
+
+    @Test
+    @DisplayName("切换默认编解码器：已写入数据仍可按头字节解码")
+    void decode_AfterCodecSwitch_StillReadable() throws Exception {
+        Product product = new Product(2L, "键盘", 19900L);
+        byte[] smileData = serializer.encode(product);
+
+        schedulerProperties.getCache().setCodec("json");
+        CacheValueSerializer jsonSerializer = newSerializer();
+        byte[] jsonData = jsonSerializer.encode(product);
+
+        assertEquals(JacksonCacheCodec.ID, jsonData[0]);
+        assertEquals(product, jsonSerializer.decode(smileData, Product.class));
+        assertEquals(product, serializer.decode(jsonData, Product.class));
+        assertTrue(smileData.length < jsonData.length, "Smile 编码应比 JSON 更紧凑");
+    }
+
+    // ==================== 压缩 ====================
+
+    @Test
+    @DisplayName("大对象：超过阈值时压缩，读取时自动解压")
+    void encodeDecode_LargeValue_CompressedAndRestored() throws Exception {
+        String large = "商品详情描述-".repeat(1000);
+
+        byte[] data = serializer.encode(large);
+
+        assertEquals(StringCacheCodec.ID | 0x80, data[0] & 0xFF);
+        assertTrue(data.length < large.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertEquals(large, serializer.decode(data, String.class));
+    }
+
+    @Test
+    @DisplayName("小对象：低于阈值时不压缩")
+    void encode_SmallValue_NotCompressed() throws Exception {
+        byte[] data = serializer.encode("short-value");
+
+        assertEquals(StringCacheCodec.ID, data[0]);
+    }
+
+    @Test
+    @DisplayName("关闭压缩：已压缩数据仍可读取，新数据不再压缩")
+    void decode_CompressionDisabled_StillReadsCompressed() throws Exception {
+        String large = "x".repeat(10_000);
+        byte[] compressed = serializer.encode(large);
+
+        schedulerProperties.getCache().getCompress().setEnabled(false);
+        byte[] plain = serializer.encode(large);
+
+        assertEquals(StringCacheCodec.ID, plain[0]);
+        assertEquals(large, serializer.decode(compressed, String.class));
+    }
+
+    @Test
+    @DisplayName("压缩数据：记录的原始长度超过上限时拒绝解压")
+    void decode_CompressedRawLengthTooLarge_Rejected() throws Exception {
+        byte[] data = serializer.encode("x".repeat(10_000));
+        // 篡改长度前缀（头字节之后 4 字节）为负数和超大值
+        data[1] = (byte) 0x80;
+        assertThrows(IOException.class, () -> serializer.decode(data, String.class));
+
+        data[1] = (byte) 0x7F;
+        assertThrows(IOException.class, () -> serializer.decode(data, String.class));
+    }
+
+    // ==================== 回源耗时 ====================
+
+    @Test
+    @DisplayName("携带回源耗时：耗时随值编码，解码时跳过耗时信封")
+    void encodeDecode_WithLoadMillis_CostReadBack() throws Exception {
+        Product product = new Product(4L, "显示器", 129900L);
+
+        byte[] data = serializer.encode(product, 350L);
+
+        assertEquals(350L, CacheValueSerializer.loadMillis(data));
+        assertEquals(product, serializer.decode(data, Product.class));
+        assertEquals(0L, CacheValueSerializer.loadMillis(serializer.encode(product)));
+    }
+
+    @Test
+    @DisplayName("携带回源耗时：压缩数据同样可读回耗时并解压")
+    void encodeDecode_CompressedWithLoadMillis_CostReadBack() throws Exception {
+        String large = "商品详情描述-".repeat(1000);
+
+        byte[] data = serializer.encode(large, 1200L);
+
+        assertEquals(1200L, CacheValueSerializer.loadMillis(data));
+        assertEquals(large, serializer.decode(data, String.class));
+    }
+
+    // ==================== 历史数据兼容 ====================
+
+    @Test
+    @DisplayName("历史数据：无头字节的 JSON 可按类型解码")
+    void decode_LegacyJson_ParsedAsJson() throws Exception {
+        byte[] legacy = "{\"id\":3,\"name\":\"鼠标\",\"price\":4900}".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(new Product(3L, "鼠标", 4900L), serializer.decode(legacy, Product.class));
+        assertEquals("{\"id\":3,\"name\":\"鼠标\",\"price\":4900}", serializer.decode(legacy, null));
+    }
+
+    @Test
+    @DisplayName("空数据：返回 null")
+    void decode_Empty_ReturnsNull() throws Exception {
+        assertNull(serializer.decode(null, String.class));
+        assertNull(serializer.decode(new byte[0], String.class));
+    }
+
+    record Product(Long id, String name, Long price) {
+    }
+}
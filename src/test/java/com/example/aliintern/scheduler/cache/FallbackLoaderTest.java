@@ -0,0 +1,205 @@
+package com.example.aliintern.scheduler.cache;
+
+import com.example.aliintern.scheduler.cache.fallback.DbCircuitBreaker;
+import com.example.aliintern.scheduler.cache.fallback.FallbackLoader;
+import com.example.aliintern.scheduler.cache.fallback.LastKnownGoodStore;
+import com.example.aliintern.scheduler.cache.fallback.StaticFallbackRegistry;
+import com.example.aliintern.scheduler.common.enums.CircuitState;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 兜底回源单元测试
+ *
+ * 测试覆盖：
+ * 1. 回源成功保存兜底副本
+ * 2. 回源超时 / 异常返回不可用
+ * 3. 连续失败熔断，熔断到期后探测恢复
+ * 4. 兜底数据顺序：兜底副本 → 静态兜底数据（最长前缀）
+ * 5. 异步回源超时
+ * 6. 超时取消回源任务，异步兜底数据使用回源线程池
+ * 7. 回源线程耗尽不计入熔断
+ */
+class FallbackLoaderTest {
+
+    private SchedulerProperties schedulerProperties;
+    private LastKnownGoodStore lastKnownGoodStore;
+    private StaticFallbackRegistry staticFallbackRegistry;
+    private DbCircuitBreaker circuitBreaker;
+    private FallbackLoader fallbackLoader;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        schedulerProperties.getCache().getFallback().setLoaderTimeoutMillis(50L);
+        schedulerProperties.getCache().getFallback().setCircuitFailureThreshold(2);
+        schedulerProperties.getCache().getFallback().setCircuitOpenMillis(100L);
+        lastKnownGoodStore = mock(LastKnownGoodStore.class);
+        staticFallbackRegistry = new StaticFallbackRegistry();
+        circuitBreaker = new DbCircuitBreaker(schedulerProperties);
+        fallbackLoader = new FallbackLoader(circuitBreaker, lastKnownGoodStore, staticFallbackRegistry,
+                schedulerProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fallbackLoader.shutdown();
+    }
+
+    @Test
+    @DisplayName("回源成功：返回结果并保存兜底副本")
+    void load_Success_SavesLastKnownGood() {
+        FallbackLoader.Outcome<String> outcome = fallbackLoader.load("product:1", () -> "db-value");
+
+        assertTrue(outcome.loaded());
+        assertEquals("db-value", outcome.value());
+        verify(lastKnownGoodStore).save("product:1", "db-value");
+    }
+
+    @Test
+    @DisplayName("回源超时或异常：返回不可用，不保存副本")
+    void load_TimeoutOrError_Unavailable() {
+        FallbackLoader.Outcome<String> timeout = fallbackLoader.load("product:1", () -> {
+            sleep(500);
+            return "late";
+        });
+        FallbackLoader.Outcome<String> error = fallbackLoader.load("product:1", () -> {
+            throw new IllegalStateException("db down");
+        });
+
+        assertFalse(timeout.loaded());
+        assertFalse(error.loaded());
+        verify(lastKnownGoodStore, never()).save(any(), any());
+    }
+
+    @Test
+    @DisplayName("熔断：连续失败后不再回源，到期后探测成功恢复")
+    void load_ConsecutiveFailures_OpensCircuitThenRecovers() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            fallbackLoader.load("product:1", () -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("db down");
+            });
+        }
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+
+        FallbackLoader.Outcome<String> rejected = fallbackLoader.load("product:1", () -> {
+            calls.incrementAndGet();
+            return "db-value";
+        });
+        assertFalse(rejected.loaded());
+        assertEquals(2, calls.get(), "熔断期间不应回源");
+
+        sleep(150);
+        assertEquals(CircuitState.HALF_OPEN, circuitBreaker.getState());
+        FallbackLoader.Outcome<String> probe = fallbackLoader.load("product:1", () -> "db-value");
+
+        assertTrue(probe.loaded());
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("兜底数据：优先兜底副本，其次最长前缀匹配的静态兜底数据")
+    void fallback_PrefersLastKnownGoodThenStatic() {
+        staticFallbackRegistry.register("product:", key -> "default-product");
+        staticFallbackRegistry.register("product:sku:", key -> "default-sku");
+        when(lastKnownGoodStore.get("product:1", String.class)).thenReturn("lkg-value");
+
+        assertEquals("lkg-value", fallbackLoader.fallback("product:1", String.class));
+        assertEquals("default-product", fallbackLoader.fallback("product:2", String.class));
+        assertEquals("default-sku", fallbackLoader.fallback("product:sku:3", String.class));
+        assertNull(fallbackLoader.fallback("order:1", String.class));
+        assertNull(fallbackLoader.fallback("product:2", Integer.class), "类型不匹配时不返回静态兜底数据");
+    }
+
+    @Test
+    @DisplayName("回源超时：取消任务并中断回源线程")
+    void load_Timeout_CancelsLoader() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        FallbackLoader.Outcome<String> outcome = fallbackLoader.load("product:1", () -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        });
+
+        assertFalse(outcome.loaded());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("异步兜底数据：在回源线程池中读取兜底副本")
+    void fallbackAsync_RunsOnLoaderExecutor() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(lastKnownGoodStore.get("product:1", String.class)).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return "last-known";
+        });
+
+        assertEquals("last-known", fallbackLoader.fallbackAsync("product:1", String.class).join());
+        assertEquals("cache-fallback-loader", thread.get());
+    }
+
+    @Test
+    @DisplayName("回源线程耗尽：返回不可用，不计入熔断")
+    void load_ExecutorSaturated_DoesNotOpenCircuit() throws InterruptedException {
+        schedulerProperties.getCache().getFallback().setLoaderThreads(1);
+        fallbackLoader.shutdown();
+        fallbackLoader = new FallbackLoader(circuitBreaker, lastKnownGoodStore, staticFallbackRegistry,
+                schedulerProperties);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(lastKnownGoodStore.get("product:0", String.class)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        CompletableFuture<String> busy = fallbackLoader.fallbackAsync("product:0", String.class);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertFalse(fallbackLoader.load("product:1", () -> "db-value").loaded());
+            }
+            assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+        } finally {
+            release.countDown();
+        }
+        busy.join();
+    }
+
+    @Test
+    @DisplayName("异步回源超时：返回不可用并计入熔断")
+    void loadAsync_Timeout_Unavailable() {
+        FallbackLoader.Outcome<String> outcome = fallbackLoader
+                .loadAsync("product:1", () -> new CompletableFuture<String>())
+                .join();
+
+        assertFalse(outcome.loaded());
+        verify(lastKnownGoodStore, never()).save(any(), any());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.aliintern.scheduler.cache;
+
+import com.example.aliintern.scheduler.cache.guard.LoaderGuard;
+import com.example.aliintern.scheduler.cache.guard.RedisLoadBudget;
+import com.example.aliintern.scheduler.cache.guard.TokenBucket;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 回源准入控制单元测试
+ *
+ * 测试覆盖：
+ * 1. 令牌桶突发容量与并发获取
+ * 2. 单 key 限流只对 HOT 及以上生效，且按 key 隔离
+ * 3. 全局限流对所有等级生效
+ * 4. Redis 全局预算拒绝
+ * 5. 关闭准入控制
+ * 6. 后一层拒绝时归还令牌
+ */
+class LoaderGuardTest {
+
+    private SchedulerProperties schedulerProperties;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        schedulerProperties.getCache().getGuard().setEnabled(true);
+        schedulerProperties.getCache().getGuard().setPerKeyPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setPerKeyBurst(2);
+    }
+
+    private LoaderGuard newGuard() {
+        return new LoaderGuard(schedulerProperties, new RedisLoadBudget(null, schedulerProperties, null));
+    }
+
+    @Test
+    @DisplayName("令牌桶：并发获取时放行数不超过突发容量")
+    void tokenBucket_ConcurrentAcquire_BoundedByBurst() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.1, 50);
+        AtomicInteger acquired = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (bucket.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        assertEquals(50, acquired.get());
+    }
+
+    @Test
+    @DisplayName("单 key 限流：HOT key 超过突发容量被拒绝，不影响其他 key 与 WARM key")
+    void tryAcquire_PerKeyLimit_OnlyForHotKeys() {
+        LoaderGuard guard = newGuard();
+
+        assertTrue(guard.tryAcquire("hot:1", HotspotLevel.HOT));
+        assertTrue(guard.tryAcquire("hot:1", HotspotLevel.HOT));
+        assertFalse(guard.tryAcquire("hot:1", HotspotLevel.EXTREMELY_HOT));
+        assertTrue(guard.tryAcquire("hot:2", HotspotLevel.HOT));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(guard.tryAcquire("warm:1", HotspotLevel.WARM));
+        }
+        assertEquals(1, guard.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("全局限流：对所有等级生效")
+    void tryAcquire_GlobalLimit_AppliesToAllLevels() {
+        schedulerProperties.getCache().getGuard().setGlobalPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setGlobalBurst(3);
+        LoaderGuard guard = newGuard();
+
+        assertTrue(guard.tryAcquire("cold:1", HotspotLevel.COLD));
+        assertTrue(guard.tryAcquire("cold:2", HotspotLevel.COLD));
+        assertTrue(guard.tryAcquire("hot:1", HotspotLevel.HOT));
+        assertFalse(guard.tryAcquire("cold:3", HotspotLevel.COLD));
+    }
+
+    @Test
+    @DisplayName("全局限流拒绝：归还已取得的单 key 令牌")
+    void tryAcquire_GlobalRejected_RefundsKeyToken() {
+        schedulerProperties.getCache().getGuard().setPerKeyBurst(1);
+        schedulerProperties.getCache().getGuard().setGlobalPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setGlobalBurst(1);
+        LoaderGuard guard = newGuard();
+
+        assertTrue(guard.tryAcquire("cold:1", HotspotLevel.COLD));
+        // 全局令牌耗尽，hot:1 被全局限制拒绝，其单 key 令牌被归还
+        assertFalse(guard.tryAcquire("hot:1", HotspotLevel.HOT));
+        assertTrue(guard.tryAcquireKey("hot:1", HotspotLevel.HOT));
+    }
+
+    @Test
+    @DisplayName("Redis 全局预算不足：拒绝回源")
+    void tryAcquire_RedisBudgetExhausted_Rejected() {
+        RedisLoadBudget budget = mock(RedisLoadBudget.class);
+        when(budget.tryAcquire()).thenReturn(true, false);
+        LoaderGuard guard = new LoaderGuard(schedulerProperties, budget);
+
+        assertTrue(guard.tryAcquire("cold:1", HotspotLevel.COLD));
+        assertFalse(guard.tryAcquire("cold:2", HotspotLevel.COLD));
+    }
+
+    @Test
+    @DisplayName("异步准入：Redis 全局预算只走异步检查，拒绝时归还本地令牌")
+    void tryAcquireAsync_RedisBudgetExhausted_RefundsLocalTokens() {
+        schedulerProperties.getCache().getGuard().setPerKeyBurst(1);
+        schedulerProperties.getCache().getGuard().setGlobalPermitsPerSecond(1.0);
+        schedulerProperties.getCache().getGuard().setGlobalBurst(1);
+        RedisLoadBudget budget = mock(RedisLoadBudget.class);
+        when(budget.tryAcquireAsync()).thenReturn(CompletableFuture.completedFuture(false),
+                CompletableFuture.completedFuture(true));
+        LoaderGuard guard = new LoaderGuard(schedulerProperties, budget);
+
+        assertFalse(guard.tryAcquireAsync("hot:1", HotspotLevel.HOT).join());
+        // 单 key 与本实例令牌均已归还
+        assertTrue(guard.tryAcquireAsync("hot:1", HotspotLevel.HOT).join());
+        verify(budget, never()).tryAcquire();
+        assertEquals(1, guard.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("关闭准入控制：全部放行")
+    void tryAcquire_Disabled_AlwaysAllowed() {
+        schedulerProperties.getCache().getGuard().setEnabled(false);
+        LoaderGuard guard = newGuard();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(guard.tryAcquire("hot:1", HotspotLevel.EXTREMELY_HOT));
+        }
+        assertEquals(0, guard.getRejectedCount());
+    }
+}
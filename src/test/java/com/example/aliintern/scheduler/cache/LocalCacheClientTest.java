@@ -0,0 +1,143 @@
+package com.example.aliintern.scheduler.cache;
+
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.codec.SmileCacheCodec;
+import com.example.aliintern.scheduler.cache.support.CacheExpirationPolicy;
+import com.example.aliintern.scheduler.cache.support.DefaultCacheValueSizer;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 本地缓存容量单元测试
+ *
+ * 测试覆盖：
+ * 1. 缓存值大小估算随内容量级变化
+ * 2. 估算占用指标
+ * 3. 按字节数淘汰
+ */
+class LocalCacheClientTest {
+
+    private SchedulerProperties schedulerProperties;
+    private DefaultCacheValueSizer sizer;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        schedulerProperties.getCache().getExpire().setEarlyRefreshEnabled(false);
+        sizer = new DefaultCacheValueSizer(new SmileCacheCodec(), schedulerProperties);
+    }
+
+    private LocalCacheClient newClient() {
+        return new LocalCacheClient(schedulerProperties, new CacheExpirationPolicy(schedulerProperties), sizer);
+    }
+
+    // ==================== 大小估算 ====================
+
+    @Test
+    @DisplayName("大小估算：按内容量级区分大对象与小对象")
+    void sizeOf_ScalesWithContent() {
+        long small = sizer.sizeOf("x".repeat(100));
+        long large = sizer.sizeOf("x".repeat(100_000));
+
+        assertTrue(small < 1_000);
+        assertTrue(large >= 200_000);
+        assertEquals(16 + 1024, sizer.sizeOf(new byte[1024]));
+    }
+
+    @Test
+    @DisplayName("大小估算：容器与普通对象")
+    void sizeOf_CollectionsAndObjects() {
+        long list = sizer.sizeOf(List.of("a".repeat(1000), "b".repeat(1000)));
+        long map = sizer.sizeOf(Map.of("name", "c".repeat(1000)));
+        long product = sizer.sizeOf(new Product(1L, "d".repeat(1000), 100L));
+
+        assertTrue(list > 4_000);
+        assertTrue(map > 2_000);
+        assertTrue(product > 1_000);
+    }
+
+    // ==================== 容量控制 ====================
+
+    @Test
+    @DisplayName("占用指标：写入大对象后估算占用相应增长")
+    void estimatedBytes_TracksWrites() {
+        LocalCacheClient client = newClient();
+        assertEquals(0L, client.getEstimatedBytes());
+
+        client.put("small", "v", CacheTtlLevel.NORMAL);
+        long afterSmall = client.getEstimatedBytes();
+        client.put("large", "x".repeat(50_000), CacheTtlLevel.NORMAL);
+        long afterLarge = client.getEstimatedBytes();
+
+        assertTrue(afterSmall > 0 && afterSmall < 1_000);
+        assertTrue(afterLarge - afterSmall >= 100_000);
+
+        client.invalidate("large");
+        assertEquals(afterSmall, client.getEstimatedBytes());
+    }
+
+    @Test
+    @DisplayName("按字节淘汰：大对象总量超过上限时占用回落到上限以内")
+    void put_ExceedsWeight_EvictsToBudget() throws InterruptedException {
+        schedulerProperties.getCache().getLocal().setMaximumWeightBytes(1024L * 1024);
+        LocalCacheClient client = newClient();
+
+        // 每条约 200KB，20 条约 4MB
+        for (int i = 0; i < 20; i++) {
+            client.put("doc:" + i, "x".repeat(100_000), CacheTtlLevel.NORMAL);
+        }
+
+        // Caffeine 异步执行淘汰
+        long deadline = System.currentTimeMillis() + 2000;
+        while (client.getEstimatedBytes() > client.getMaximumWeightBytes() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(client.getEstimatedBytes() <= client.getMaximumWeightBytes());
+        assertTrue(client.getEntryCount() <= 5);
+    }
+
+    @Test
+    @DisplayName("业务类型分区：配额内淘汰不影响其他分区，删除覆盖所有分区")
+    void partition_IsolatesEvictionAndSharesInvalidation() throws InterruptedException {
+        SchedulerProperties.BizProfile promotion = new SchedulerProperties.BizProfile();
+        promotion.setLocalMaximumWeightBytes(1024L * 1024);
+        schedulerProperties.getProfiles().put("promotion", promotion);
+        LocalCacheClient client = newClient();
+        LocalCacheClient promotions = client.partition("promotion");
+
+        assertNotSame(client, promotions);
+        assertSame(client, client.partition("product"));
+        assertSame(client, client.partition(null));
+
+        client.put("product:1", "x".repeat(100_000), CacheTtlLevel.NORMAL);
+        for (int i = 0; i < 20; i++) {
+            promotions.put("promotion:" + i, "x".repeat(100_000), CacheTtlLevel.NORMAL);
+        }
+        long deadline = System.currentTimeMillis() + 2000;
+        while (promotions.getEstimatedBytes() > 1024L * 1024 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(promotions.getEstimatedBytes() <= 1024L * 1024);
+        assertNotNull(client.get("product:1"), "其他业务类型的条目不应被挤出");
+        assertNull(client.get("promotion:19"), "分区之间不共享读取");
+        assertEquals(schedulerProperties.getCache().getLocal().getMaximumWeightBytes() + 1024L * 1024,
+                client.getMaximumWeightBytes());
+
+        promotions.put("shared-key", "v", CacheTtlLevel.NORMAL);
+        client.invalidate("shared-key");
+        assertNull(promotions.get("shared-key"));
+    }
+
+    record Product(Long id, String name, Long price) {
+    }
+}
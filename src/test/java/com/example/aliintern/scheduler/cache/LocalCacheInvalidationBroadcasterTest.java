@@ -0,0 +1,119 @@
+package com.example.aliintern.scheduler.cache;
+
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.client.OffHeapCacheClient;
+import com.example.aliintern.scheduler.cache.invalidation.LocalCacheInvalidationBroadcaster;
+import com.example.aliintern.scheduler.common.cluster.ClusterMessageBus;
+import com.example.aliintern.scheduler.common.cluster.LocalClusterMessageBus;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 跨实例失效广播单元测试
+ *
+ * 两个广播器共用同一个进程内消息总线，模拟两个实例
+ *
+ * 测试覆盖：
+ * 1. 其他实例收到广播后清理本地缓存
+ * 2. 本实例发出的消息被忽略
+ * 3. 间隔内的失效请求去重合并
+ * 4. 关闭广播
+ */
+class LocalCacheInvalidationBroadcasterTest {
+
+    private SchedulerProperties schedulerProperties;
+    private ClusterMessageBus messageBus;
+    private List<String> published;
+    private LocalCacheClient localCacheA;
+    private LocalCacheClient localCacheB;
+    private LocalCacheInvalidationBroadcaster nodeA;
+    private LocalCacheInvalidationBroadcaster nodeB;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        published = new CopyOnWriteArrayList<>();
+        messageBus = new LocalClusterMessageBus();
+        messageBus.subscribe(schedulerProperties.getCache().getInvalidation().getChannel(), published::add);
+
+        localCacheA = mock(LocalCacheClient.class);
+        localCacheB = mock(LocalCacheClient.class);
+        nodeA = new LocalCacheInvalidationBroadcaster(
+                localCacheA, mock(OffHeapCacheClient.class), messageBus, schedulerProperties);
+        nodeB = new LocalCacheInvalidationBroadcaster(
+                localCacheB, mock(OffHeapCacheClient.class), messageBus, schedulerProperties);
+        nodeA.init();
+        nodeB.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @Test
+    @DisplayName("广播失效：其他实例清理本地缓存，本实例不重复处理")
+    void broadcast_OtherNodeInvalidates() {
+        nodeA.broadcast("product:1");
+
+        verify(localCacheB, timeout(1000)).invalidate("product:1");
+        verify(localCacheA, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("批量合并：间隔内的重复 key 去重后合并为一条消息")
+    void broadcast_DeduplicatedAndBatched() {
+        schedulerProperties.getCache().getInvalidation().setBatchIntervalMillis(50);
+
+        nodeA.broadcast("product:1");
+        nodeA.broadcast("product:2");
+        nodeA.broadcast("product:1");
+
+        verify(localCacheB, timeout(1000)).invalidate("product:2");
+        verify(localCacheB, times(1)).invalidate("product:1");
+        assertEquals(1, published.size());
+        assertTrue(published.get(0).startsWith(nodeA.getNodeId() + "\n"));
+    }
+
+    @Test
+    @DisplayName("积压达到上限：按上限拆分为多条消息")
+    void broadcast_ExceedsMaxBatchSize_SplitIntoMessages() {
+        schedulerProperties.getCache().getInvalidation().setMaxBatchSize(2);
+        schedulerProperties.getCache().getInvalidation().setBatchIntervalMillis(50);
+
+        for (int i = 0; i < 5; i++) {
+            nodeA.broadcast("product:" + i);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            verify(localCacheB, timeout(1000)).invalidate("product:" + i);
+        }
+        assertTrue(published.size() >= 3);
+        for (String message : published) {
+            assertTrue(message.split("\n").length <= 3, "单条消息不应超过上限: " + message);
+        }
+    }
+
+    @Test
+    @DisplayName("关闭广播：不发送消息")
+    void broadcast_Disabled_NothingPublished() throws InterruptedException {
+        schedulerProperties.getCache().getInvalidation().setEnabled(false);
+
+        nodeA.broadcast("product:1");
+        Thread.sleep(50);
+
+        assertTrue(published.isEmpty());
+        verify(localCacheB, never()).invalidate(any());
+    }
+}
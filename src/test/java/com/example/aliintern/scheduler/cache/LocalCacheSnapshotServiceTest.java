@@ -0,0 +1,150 @@
+package com.example.aliintern.scheduler.cache;
+
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.codec.CacheValueCompressor;
+import com.example.aliintern.scheduler.cache.codec.CacheValueSerializer;
+import com.example.aliintern.scheduler.cache.codec.JacksonCacheCodec;
+import com.example.aliintern.scheduler.cache.codec.SmileCacheCodec;
+import com.example.aliintern.scheduler.cache.codec.StringCacheCodec;
+import com.example.aliintern.scheduler.cache.snapshot.LocalCacheSnapshotService;
+import com.example.aliintern.scheduler.cache.support.CacheExpirationPolicy;
+import com.example.aliintern.scheduler.cache.support.DefaultCacheValueSizer;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 本地缓存快照单元测试
+ *
+ * 测试覆盖：
+ * 1. 快照写入与加载往返（String / 对象值、TTL 等级）
+ * 2. 过期条目在加载时跳过
+ * 3. 快照文件不存在或损坏时不影响启动
+ * 4. 业务类型分区的条目恢复到原分区
+ * 5. 恢复条目的剩余 TTL 上限
+ */
+class LocalCacheSnapshotServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SchedulerProperties schedulerProperties;
+    private CacheValueSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        schedulerProperties.getCache().getExpire().setEarlyRefreshEnabled(false);
+        schedulerProperties.getCache().getSnapshot().setPath(tempDir.resolve("l1.snapshot").toString());
+        serializer = new CacheValueSerializer(
+                List.of(new StringCacheCodec(), new JacksonCacheCodec(), new SmileCacheCodec()),
+                new CacheValueCompressor(schedulerProperties),
+                schedulerProperties);
+    }
+
+    private LocalCacheClient newClient() {
+        return new LocalCacheClient(schedulerProperties, new CacheExpirationPolicy(schedulerProperties),
+                new DefaultCacheValueSizer(new SmileCacheCodec(), schedulerProperties));
+    }
+
+    @Test
+    @DisplayName("快照往返：新实例加载后直接命中，值类型保持不变")
+    void snapshotAndLoad_RestoresEntries() throws Exception {
+        LocalCacheClient source = newClient();
+        source.put("product:1", new Product(1L, "手机", 399900L), CacheTtlLevel.LONG);
+        source.put("title:1", "商品标题", CacheTtlLevel.NORMAL);
+
+        int written = new LocalCacheSnapshotService(source, serializer, schedulerProperties).snapshot();
+
+        LocalCacheClient target = newClient();
+        int restored = new LocalCacheSnapshotService(target, serializer, schedulerProperties).load();
+
+        assertEquals(2, written);
+        assertEquals(2, restored);
+        assertEquals(new Product(1L, "手机", 399900L), target.get("product:1"));
+        assertEquals("商品标题", target.get("title:1"));
+        LocalCacheClient.HotEntry entry = target.hottest(10).stream()
+                .filter(e -> e.key().equals("product:1"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(CacheTtlLevel.LONG, entry.ttlLevel());
+        assertTrue(entry.remainingMillis() <= 300_000L);
+    }
+
+    @Test
+    @DisplayName("恢复条目：剩余 TTL 不超过恢复上限")
+    void load_ClampsRemainingTtl() throws Exception {
+        schedulerProperties.getCache().getSnapshot().setRestoreMaxTtlSeconds(5);
+        LocalCacheClient source = newClient();
+        source.put("product:1", new Product(1L, "手机", 399900L), CacheTtlLevel.LONG);
+        new LocalCacheSnapshotService(source, serializer, schedulerProperties).snapshot();
+
+        LocalCacheClient target = newClient();
+        new LocalCacheSnapshotService(target, serializer, schedulerProperties).load();
+
+        LocalCacheClient.HotEntry entry = target.hottest(10).get(0);
+        assertEquals("product:1", entry.key());
+        assertTrue(entry.remainingMillis() <= 5_000L);
+    }
+
+    @Test
+    @DisplayName("过期条目：加载时跳过")
+    void load_SkipsExpiredEntries() throws Exception {
+        LocalCacheClient source = newClient();
+        source.restore("short-lived", "v", CacheTtlLevel.SHORT, 50, 0);
+        source.put("long-lived", "v", CacheTtlLevel.LONG);
+        new LocalCacheSnapshotService(source, serializer, schedulerProperties).snapshot();
+
+        Thread.sleep(100);
+
+        LocalCacheClient target = newClient();
+        int restored = new LocalCacheSnapshotService(target, serializer, schedulerProperties).load();
+
+        assertEquals(1, restored);
+        assertNull(target.get("short-lived"));
+        assertEquals("v", target.get("long-lived"));
+    }
+
+    @Test
+    @DisplayName("快照缺失或损坏：跳过预热")
+    void load_MissingOrCorruptFile_ReturnsZero() throws Exception {
+        LocalCacheSnapshotService service = new LocalCacheSnapshotService(newClient(), serializer, schedulerProperties);
+        assertEquals(0, service.load());
+
+        Files.write(tempDir.resolve("l1.snapshot"), new byte[]{1, 2, 3});
+        assertEquals(0, service.load());
+    }
+
+    @Test
+    @DisplayName("业务类型分区：条目恢复到原分区")
+    void snapshotAndLoad_RestoresIntoPartitions() throws Exception {
+        SchedulerProperties.BizProfile promotion = new SchedulerProperties.BizProfile();
+        promotion.setLocalMaximumWeightBytes(1024L * 1024);
+        schedulerProperties.getProfiles().put("promotion", promotion);
+
+        LocalCacheClient source = newClient();
+        source.put("product:1", "商品", CacheTtlLevel.NORMAL);
+        source.partition("promotion").put("promotion:1", "活动", CacheTtlLevel.NORMAL);
+        new LocalCacheSnapshotService(source, serializer, schedulerProperties).snapshot();
+
+        LocalCacheClient target = newClient();
+        int restored = new LocalCacheSnapshotService(target, serializer, schedulerProperties).load();
+
+        assertEquals(2, restored);
+        assertEquals("商品", target.get("product:1"));
+        assertEquals("活动", target.partition("promotion").get("promotion:1"));
+        assertNull(target.get("promotion:1"));
+    }
+
+    record Product(Long id, String name, Long price) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.aliintern.scheduler.cache;
+
+import com.example.aliintern.scheduler.cache.client.OffHeapCacheClient;
+import com.example.aliintern.scheduler.cache.codec.CacheValueSerializer;
+import com.example.aliintern.scheduler.cache.support.CacheExpirationPolicy;
+import com.example.aliintern.scheduler.common.enums.CacheMode;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 堆外缓存客户端单元测试
+ *
+ * 测试覆盖：
+ * 1. 大小估算明显低于阈值时不序列化
+ * 2. 序列化后达到阈值的值写入堆外缓存
+ */
+class OffHeapCacheClientTest {
+
+    private SchedulerProperties schedulerProperties;
+    private CacheValueSerializer serializer;
+    private OffHeapCacheClient client;
+
+    private final DispatchDecision hotDecision = DispatchDecision.builder()
+            .cacheMode(CacheMode.LOCAL_AND_REMOTE)
+            .ttlLevel(CacheTtlLevel.NORMAL)
+            .hotspotLevel(HotspotLevel.HOT)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        schedulerProperties.getCache().getOffHeap().setThresholdBytes(1024);
+        serializer = mock(CacheValueSerializer.class);
+        client = new OffHeapCacheClient(schedulerProperties, new CacheExpirationPolicy(schedulerProperties),
+                serializer, value -> ((String) value).length());
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    @DisplayName("预判：估算大小明显低于阈值时不序列化，写入本地缓存")
+    void putIfEligible_SmallEstimate_SkipsEncoding() throws Exception {
+        assertFalse(client.putIfEligible("doc", "x".repeat(100), String.class, hotDecision));
+
+        verify(serializer, never()).encode(any());
+    }
+
+    @Test
+    @DisplayName("大对象：序列化后达到阈值时写入堆外缓存")
+    void putIfEligible_LargeValue_StoredOffHeap() throws Exception {
+        String value = "x".repeat(2048);
+        when(serializer.encode(value)).thenReturn(new byte[2048]);
+
+        assertTrue(client.putIfEligible("doc", value, String.class, hotDecision));
+        assertTrue(client.contains("doc"));
+    }
+}
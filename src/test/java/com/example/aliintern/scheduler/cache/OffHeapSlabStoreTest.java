@@ -0,0 +1,123 @@
+package com.example.aliintern.scheduler.cache;
+
+import com.example.aliintern.scheduler.cache.offheap.OffHeapSlabStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 堆外 slab 存储单元测试
+ *
+ * 测试覆盖：
+ * 1. 跨 block 的数据读写往返
+ * 2. 覆盖写入与删除释放空间
+ * 3. 空间不足时按 LRU 淘汰
+ * 4. 过期记录读取时释放
+ * 5. 存在性查询不复制数据，过期记录视为不存在
+ */
+class OffHeapSlabStoreTest {
+
+    private static final long TTL = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * 容量 16KB，block 1KB，slab 4KB
+     */
+    private OffHeapSlabStore newStore() {
+        return new OffHeapSlabStore(16 * 1024, 1024, 4 * 1024);
+    }
+
+    private static byte[] data(int length, int seed) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + seed);
+        }
+        return data;
+    }
+
+    @Test
+    @DisplayName("读写往返：数据跨多个 block 和 slab 时保持一致")
+    void putGet_SpansBlocks_RoundTrip() {
+        OffHeapSlabStore store = newStore();
+        byte[] large = data(9 * 1024 + 7, 1);
+
+        assertTrue(store.put("doc", large, TTL));
+
+        assertArrayEquals(large, store.get("doc"));
+        assertEquals(10 * 1024, store.getUsedBytes());
+        assertEquals(12 * 1024, store.getAllocatedBytes(), "slab 应按需分配");
+    }
+
+    @Test
+    @DisplayName("覆盖与删除：旧记录占用的 block 被回收")
+    void putRemove_ReleasesBlocks() {
+        OffHeapSlabStore store = newStore();
+
+        store.put("doc", data(4 * 1024, 1), TTL);
+        store.put("doc", data(1024, 2), TTL);
+        assertEquals(1024, store.getUsedBytes());
+        assertArrayEquals(data(1024, 2), store.get("doc"));
+
+        store.remove("doc");
+        assertNull(store.get("doc"));
+        assertEquals(0, store.getUsedBytes());
+    }
+
+    @Test
+    @DisplayName("容量不足：淘汰最久未访问的记录")
+    void put_WhenFull_EvictsLeastRecentlyUsed() {
+        OffHeapSlabStore store = newStore();
+        for (int i = 0; i < 4; i++) {
+            store.put("doc:" + i, data(4 * 1024, i), TTL);
+        }
+        // 访问 doc:0，使 doc:1 成为最久未访问
+        assertNotNull(store.get("doc:0"));
+
+        store.put("doc:4", data(4 * 1024, 4), TTL);
+
+        assertNull(store.get("doc:1"));
+        assertArrayEquals(data(4 * 1024, 0), store.get("doc:0"));
+        assertArrayEquals(data(4 * 1024, 4), store.get("doc:4"));
+        assertEquals(1, store.getEvictionCount());
+        assertEquals(16 * 1024, store.getUsedBytes());
+    }
+
+    @Test
+    @DisplayName("超过总容量的记录：拒绝写入")
+    void put_LargerThanCapacity_Rejected() {
+        OffHeapSlabStore store = newStore();
+
+        assertFalse(store.put("huge", new byte[17 * 1024], TTL));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("过期记录：读取时返回 null 并释放空间")
+    void get_Expired_ReturnsNullAndReleases() throws InterruptedException {
+        OffHeapSlabStore store = newStore();
+        store.put("doc", data(2048, 1), TimeUnit.MILLISECONDS.toNanos(1));
+
+        Thread.sleep(5);
+
+        assertNull(store.get("doc"));
+        assertEquals(0, store.getUsedBytes());
+    }
+
+    @Test
+    @DisplayName("存在性查询：未过期时返回 true，过期后返回 false 并释放空间")
+    void contains_ChecksExpiry() throws InterruptedException {
+        OffHeapSlabStore store = newStore();
+        store.put("doc", data(2048, 1), TimeUnit.MILLISECONDS.toNanos(1));
+        store.put("page", data(512, 2), TTL);
+
+        assertTrue(store.contains("page"));
+        assertFalse(store.contains("missing"));
+
+        Thread.sleep(5);
+
+        assertFalse(store.contains("doc"));
+        assertEquals(1024, store.getUsedBytes());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.aliintern.scheduler.common;
+
+import com.example.aliintern.scheduler.common.redis.AsyncRedisScript;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 异步 Lua 脚本单元测试
+ *
+ * 测试覆盖：
+ * 1. 优先 EVALSHA，不传输脚本
+ * 2. NOSCRIPT 时回退 EVAL
+ * 3. 其他异常原样传递
+ */
+class AsyncRedisScriptTest {
+
+    private static final String SCRIPT = "return redis.call('INCR', KEYS[1])";
+    private static final byte[][] KEYS = {"k".getBytes()};
+
+    private RedisClusterAsyncCommands<byte[], byte[]> commands;
+    private AsyncRedisScript script;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        commands = mock(RedisClusterAsyncCommands.class);
+        script = new AsyncRedisScript(SCRIPT, ScriptOutputType.INTEGER);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> RedisFuture<T> future(CompletableFuture<T> result) {
+        RedisFuture<T> future = mock(RedisFuture.class);
+        when(future.toCompletableFuture()).thenReturn(result);
+        return future;
+    }
+
+    @Test
+    @DisplayName("脚本已缓存：只执行 EVALSHA")
+    void execute_ScriptCached_UsesEvalsha() throws Exception {
+        RedisFuture<Object> ok = future(CompletableFuture.completedFuture(1L));
+        when(commands.evalsha(eq(script.getSha1()), eq(ScriptOutputType.INTEGER), any(byte[][].class),
+                any(byte[].class))).thenReturn(ok);
+
+        assertEquals(1L, script.<Long>execute(commands, KEYS, "60".getBytes()).get());
+        verify(commands, never()).eval(anyString(), any(), any(byte[][].class), any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("NOSCRIPT：回退为 EVAL")
+    void execute_NoScript_FallsBackToEval() throws Exception {
+        RedisFuture<Object> noScript = future(CompletableFuture.failedFuture(
+                new RedisNoScriptException("NOSCRIPT No matching script")));
+        RedisFuture<Object> ok = future(CompletableFuture.completedFuture(2L));
+        when(commands.evalsha(eq(script.getSha1()), eq(ScriptOutputType.INTEGER), any(byte[][].class),
+                any(byte[].class))).thenReturn(noScript);
+        when(commands.eval(eq(SCRIPT), eq(ScriptOutputType.INTEGER), any(byte[][].class), any(byte[].class)))
+                .thenReturn(ok);
+
+        assertEquals(2L, script.<Long>execute(commands, KEYS, "60".getBytes()).get());
+    }
+
+    @Test
+    @DisplayName("其他异常：不回退，原样传递")
+    void execute_OtherError_Propagated() {
+        RedisFuture<Object> failed = future(CompletableFuture.failedFuture(new IllegalStateException("down")));
+        when(commands.evalsha(eq(script.getSha1()), eq(ScriptOutputType.INTEGER), any(byte[][].class),
+                any(byte[].class))).thenReturn(failed);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> script.execute(commands, KEYS, "60".getBytes()).get());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        verify(commands, never()).eval(anyString(), any(), any(byte[][].class), any(byte[].class));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.aliintern.scheduler.common;
+
+import com.example.aliintern.scheduler.common.metrics.CostSketch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 回源成本草图单元测试
+ *
+ * 测试覆盖：
+ * 1. 样本数不足时视为未知
+ * 2. 耗时与大小取自同一个格子，哈希冲突时不会拼出“又快又小”的组合
+ */
+class CostSketchTest {
+
+    @Test
+    @DisplayName("样本数不足：估算为未知，达到最少样本数后返回移动平均")
+    void estimate_BelowMinSamples_ReturnsNull() {
+        CostSketch sketch = new CostSketch(1024, 3);
+
+        assertNull(sketch.estimate("k"));
+        sketch.record("k", 1000, 200);
+        sketch.record("k", 1000, 200);
+        assertNull(sketch.estimate("k"), "2 个样本不足 3 个");
+
+        sketch.record("k", 1000, 200);
+        assertArrayEquals(new long[]{1000, 200}, sketch.estimate("k"));
+    }
+
+    @Test
+    @DisplayName("哈希冲突：耗时与大小来自同一行，两者之和保持样本的量级")
+    void estimate_Collisions_TakesCostAndSizeFromSameRow() {
+        CostSketch sketch = new CostSketch(16, 1);
+        for (int i = 0; i < 12; i++) {
+            // 慢且小 / 快且大 两类 key 交替写入，每个样本的耗时 + 大小都是 1_000_001
+            boolean slow = i % 2 == 0;
+            for (int n = 0; n < 3; n++) {
+                sketch.record("key:" + i, slow ? 1_000_000 : 1, slow ? 1 : 1_000_000);
+            }
+        }
+
+        for (int i = 0; i < 12; i++) {
+            long[] estimate = sketch.estimate("key:" + i);
+            assertNotNull(estimate);
+            assertTrue(estimate[0] + estimate[1] > 900_000,
+                    "耗时与大小应来自同一格子: " + estimate[0] + ", " + estimate[1]);
+        }
+    }
+}
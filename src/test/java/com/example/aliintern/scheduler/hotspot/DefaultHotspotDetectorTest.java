@@ -179,6 +179,37 @@ class DefaultHotspotDetectorTest {
         assertEquals(HotspotLevel.HOT, detector.detect(stat));
     }
 
+    @Test
+    @DisplayName("业务类型: 按业务类型阈值判断，未配置的阈值与业务类型使用全局阈值")
+    void detect_BizProfile_OverridesThresholds() {
+        SchedulerProperties.BizProfile promotion = new SchedulerProperties.BizProfile();
+        promotion.setHotShortThreshold(50L);
+        schedulerProperties.getProfiles().put("promotion", promotion);
+
+        StatResult stat = StatResult.of(30L, 0L);
+        assertEquals(HotspotLevel.WARM, detector.detect(stat, "promotion"));
+        assertEquals(HotspotLevel.HOT, detector.detect(stat, "product"));
+        assertEquals(HotspotLevel.HOT, detector.detect(stat));
+        assertEquals(HotspotLevel.WARM, detector.detect(StatResult.of(5L, 0L), "promotion"));
+    }
+
+    // ==================== 去重用户数测试 ====================
+
+    @Test
+    @DisplayName("去重用户: 用户数不足时限制热点等级，未统计用户数时不限制")
+    void detect_FewDistinctUsers_LimitsLevel() {
+        // 单个用户刷出的极热访问量：最高为 WARM
+        assertEquals(HotspotLevel.WARM, detector.detect(StatResult.of(500L, 5000L, 1L)));
+        // 用户数满足 HOT 但不满足 EXTREMELY_HOT：最高为 HOT
+        assertEquals(HotspotLevel.HOT, detector.detect(StatResult.of(500L, 5000L, 5L)));
+        // 用户数满足 EXTREMELY_HOT 要求
+        assertEquals(HotspotLevel.EXTREMELY_HOT, detector.detect(StatResult.of(500L, 5000L, 10L)));
+        // 未统计用户数
+        assertEquals(HotspotLevel.EXTREMELY_HOT, detector.detect(StatResult.of(500L, 5000L)));
+        // 低等级不受影响
+        assertEquals(HotspotLevel.WARM, detector.detect(StatResult.of(5L, 0L, 1L)));
+    }
+
     // ==================== getThreshold 测试 ====================
 
     @Test
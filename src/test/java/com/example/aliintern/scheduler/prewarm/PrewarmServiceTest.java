@@ -0,0 +1,156 @@
+package com.example.aliintern.scheduler.prewarm;
+
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.cache.client.RemoteCacheClient;
+import com.example.aliintern.scheduler.common.cluster.LocalClusterMessageBus;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.enums.PrewarmStatus;
+import com.example.aliintern.scheduler.common.metrics.LoaderCostTracker;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import com.example.aliintern.scheduler.strategy.impl.DefaultDecisionStrategyEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 预热服务单元测试
+ *
+ * 测试覆盖：
+ * 1. 预热写入 Redis（含副本）、广播后写入本地缓存并固定热点等级
+ * 2. 回源缺失的 key 记录在任务中
+ * 3. 未注册回源函数时任务失败
+ * 4. 活动结束后任务过期、固定等级解除
+ * 5. 参数校验
+ */
+class PrewarmServiceTest {
+
+    private SchedulerProperties schedulerProperties;
+    private RemoteCacheClient remoteCache;
+    private LocalCacheClient localCache;
+    private PrewarmLoaderRegistry loaderRegistry;
+    private HotspotPinRegistry pinRegistry;
+    private PrewarmService prewarmService;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        DefaultDecisionStrategyEngine engine = new DefaultDecisionStrategyEngine(schedulerProperties,
+                mock(LoaderCostTracker.class));
+        engine.init();
+
+        remoteCache = mock(RemoteCacheClient.class);
+        localCache = mock(LocalCacheClient.class);
+        loaderRegistry = new PrewarmLoaderRegistry();
+        pinRegistry = new HotspotPinRegistry();
+        prewarmService = new PrewarmService(remoteCache, localCache, engine, new LocalClusterMessageBus(),
+                loaderRegistry, pinRegistry, schedulerProperties);
+        prewarmService.init();
+
+        when(remoteCache.replicaCount(HotspotLevel.EXTREMELY_HOT)).thenReturn(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        prewarmService.shutdown();
+    }
+
+    private PrewarmRequest request(List<String> keys, long startTime, long durationSeconds) {
+        PrewarmRequest request = new PrewarmRequest();
+        request.setBizType("product");
+        request.setKeys(keys);
+        request.setStartTime(startTime);
+        request.setDurationSeconds(durationSeconds);
+        return request;
+    }
+
+    private void awaitStatus(PrewarmTask task, PrewarmStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (task.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(status, task.getStatus());
+    }
+
+    @Test
+    @DisplayName("预热：写入 Redis 副本、本地缓存，并固定为 EXTREMELY_HOT")
+    void schedule_WarmsRemoteLocalAndPins() throws InterruptedException {
+        loaderRegistry.register("product", String.class, keys -> {
+            Map<String, String> result = new HashMap<>();
+            keys.forEach(key -> result.put(key, "value-" + key));
+            return result;
+        });
+        when(remoteCache.getAll(anyList(), eq(String.class)))
+                .thenReturn(Map.of("sku:1", "value-sku:1", "sku:2", "value-sku:2"));
+
+        PrewarmTask task = prewarmService.schedule(request(List.of("sku:1", "sku:2"),
+                System.currentTimeMillis() + 10_000, 600));
+        awaitStatus(task, PrewarmStatus.WARMED);
+
+        assertEquals(2, task.getLoadedCount());
+        verify(remoteCache).putAll(Map.of("sku:1", "value-sku:1", "sku:2", "value-sku:2"),
+                Map.of("sku:1", CacheTtlLevel.LONG, "sku:2", CacheTtlLevel.LONG),
+                Map.of("sku:1", 4, "sku:2", 4), 0L);
+        verify(localCache).put("sku:1", "value-sku:1", CacheTtlLevel.LONG);
+        verify(localCache).put("sku:2", "value-sku:2", CacheTtlLevel.LONG);
+        assertEquals(HotspotLevel.EXTREMELY_HOT, pinRegistry.apply("sku:1", HotspotLevel.COLD));
+        assertSame(prewarmService.getTask(task.getTaskId()), task);
+    }
+
+    @Test
+    @DisplayName("回源缺失：记录缺失 key，其余 key 正常预热")
+    void warm_MissingKeys_Recorded() throws InterruptedException {
+        loaderRegistry.register("product", String.class, (Set<String> keys) -> Map.of("sku:1", "v1"));
+        when(remoteCache.getAll(anyList(), eq(String.class))).thenReturn(Map.of());
+
+        PrewarmTask task = prewarmService.schedule(request(List.of("sku:1", "sku:404"),
+                System.currentTimeMillis(), 600));
+        awaitStatus(task, PrewarmStatus.WARMED);
+
+        assertEquals(1, task.getLoadedCount());
+        assertEquals(List.of("sku:404"), task.getMissingKeys());
+    }
+
+    @Test
+    @DisplayName("未注册回源函数：任务失败")
+    void warm_NoLoader_Failed() throws InterruptedException {
+        PrewarmTask task = prewarmService.schedule(request(List.of("sku:1"), System.currentTimeMillis(), 600));
+
+        awaitStatus(task, PrewarmStatus.FAILED);
+        assertNotNull(task.getMessage());
+        verify(remoteCache, never()).putAll(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("活动结束：任务过期，固定等级解除")
+    void expire_AfterEvent_Unpinned() throws InterruptedException {
+        loaderRegistry.register("product", String.class, (Set<String> keys) -> Map.of("sku:1", "v1"));
+        when(remoteCache.getAll(anyList(), eq(String.class))).thenReturn(Map.of());
+
+        PrewarmTask task = prewarmService.schedule(request(List.of("sku:1"), System.currentTimeMillis(), 1));
+        awaitStatus(task, PrewarmStatus.WARMED);
+        assertEquals(HotspotLevel.EXTREMELY_HOT, pinRegistry.pinnedLevel("sku:1"));
+
+        awaitStatus(task, PrewarmStatus.EXPIRED);
+        assertNull(pinRegistry.pinnedLevel("sku:1"));
+    }
+
+    @Test
+    @DisplayName("参数校验：缺少 key 或活动已结束时拒绝登记")
+    void schedule_InvalidRequest_Rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> prewarmService.schedule(request(List.of(), System.currentTimeMillis(), 600)));
+        assertThrows(IllegalArgumentException.class,
+                () -> prewarmService.schedule(request(List.of("sku:1"), System.currentTimeMillis() - 10_000, 1)));
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.aliintern.scheduler.strategy;
 
+import com.example.aliintern.scheduler.cache.codec.SmileCacheCodec;
+import com.example.aliintern.scheduler.cache.support.DefaultCacheValueSizer;
 import com.example.aliintern.scheduler.common.enums.CacheMode;
 import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
 import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.enums.RequestType;
+import com.example.aliintern.scheduler.common.metrics.LoaderCostTracker;
 import com.example.aliintern.scheduler.common.model.DispatchDecision;
+import com.example.aliintern.scheduler.common.model.RequestContext;
+import com.example.aliintern.scheduler.common.model.SystemLoadSnapshot;
 import com.example.aliintern.scheduler.config.SchedulerProperties;
 import com.example.aliintern.scheduler.strategy.impl.DefaultDecisionStrategyEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -20,16 +28,25 @@ import static org.junit.jupiter.api.Assertions.*;
  * 2. null 输入处理
  * 3. 配置变更生效
  * 4. 策略一致性
+ * 5. 兜底标记
+ * 6. 负载感知调整
+ * 7. 成本感知调整
+ * 8. 写请求 / 强一致读请求跳过缓存
+ * 9. 业务类型策略
+ * 10. 规则决策
  */
 class DefaultDecisionStrategyEngineTest {
 
     private SchedulerProperties schedulerProperties;
+    private LoaderCostTracker costTracker;
     private DefaultDecisionStrategyEngine engine;
 
     @BeforeEach
     void setUp() {
         schedulerProperties = new SchedulerProperties();
-        engine = new DefaultDecisionStrategyEngine(schedulerProperties);
+        costTracker = new LoaderCostTracker(
+                new DefaultCacheValueSizer(new SmileCacheCodec(), schedulerProperties), schedulerProperties);
+        engine = new DefaultDecisionStrategyEngine(schedulerProperties, costTracker);
         engine.init();
     }
 
@@ -75,6 +92,20 @@ class DefaultDecisionStrategyEngineTest {
         assertEquals(CacheTtlLevel.LONG, decision.getTtlLevel());
     }
 
+    @Test
+    @DisplayName("兜底标记：默认仅 EXTREMELY_HOT 允许兜底，可按配置开启 HOT")
+    void decide_FallbackEnabled_FollowsConfig() {
+        assertFalse(engine.decide(HotspotLevel.COLD).isFallbackEnabled());
+        assertFalse(engine.decide(HotspotLevel.WARM).isFallbackEnabled());
+        assertFalse(engine.decide(HotspotLevel.HOT).isFallbackEnabled());
+        assertTrue(engine.decide(HotspotLevel.EXTREMELY_HOT).isFallbackEnabled());
+
+        schedulerProperties.getStrategy().setHotFallbackEnabled(true);
+        engine.init();
+
+        assertTrue(engine.decide(HotspotLevel.HOT).isFallbackEnabled());
+    }
+
     // ==================== 边界条件测试 ====================
 
     @Test
@@ -134,6 +165,192 @@ class DefaultDecisionStrategyEngineTest {
         assertEquals(decision1.getTtlLevel(), decision2.getTtlLevel());
     }
 
+    // ==================== 负载感知测试 ====================
+
+    @Test
+    @DisplayName("负载感知：Redis 变慢时 WARM 升级为本地 + Redis，负载恢复后还原")
+    void onSystemLoad_RedisSlow_UpgradesWarmThenRestores() {
+        schedulerProperties.getStrategy().setLoadAwareEnabled(true);
+
+        engine.onSystemLoad(SystemLoadSnapshot.builder().redisSlow(true).build());
+        DispatchDecision warm = engine.decide(HotspotLevel.WARM);
+        assertEquals(CacheMode.LOCAL_AND_REMOTE, warm.getCacheMode());
+        assertEquals(HotspotLevel.WARM, warm.getHotspotLevel());
+        assertEquals(CacheMode.NONE, engine.decide(HotspotLevel.COLD).getCacheMode());
+
+        engine.onSystemLoad(SystemLoadSnapshot.idle());
+        assertEquals(CacheMode.REMOTE_ONLY, engine.decide(HotspotLevel.WARM).getCacheMode());
+    }
+
+    @Test
+    @DisplayName("负载感知：数据库饱和时 TTL 提升一级，COLD 改为仅 Redis")
+    void onSystemLoad_DbSaturated_ExtendsTtl() {
+        schedulerProperties.getStrategy().setLoadAwareEnabled(true);
+
+        engine.onSystemLoad(SystemLoadSnapshot.builder().dbSaturated(true).build());
+
+        assertEquals(CacheMode.REMOTE_ONLY, engine.decide(HotspotLevel.COLD).getCacheMode());
+        assertEquals(CacheTtlLevel.NORMAL, engine.decide(HotspotLevel.WARM).getTtlLevel());
+        assertEquals(CacheTtlLevel.LONG, engine.decide(HotspotLevel.HOT).getTtlLevel());
+        assertEquals(CacheTtlLevel.LONG, engine.decide(HotspotLevel.EXTREMELY_HOT).getTtlLevel());
+        assertTrue(engine.decide(HotspotLevel.EXTREMELY_HOT).isFallbackEnabled());
+    }
+
+    @Test
+    @DisplayName("负载感知：内存紧张时 HOT 降级为仅 Redis，EXTREMELY_HOT 保留本地缓存；未开启时不调整")
+    void onSystemLoad_MemoryPressure_DowngradesHot() {
+        SystemLoadSnapshot pressure = SystemLoadSnapshot.builder().memoryPressure(true).redisSlow(true).build();
+
+        engine.onSystemLoad(pressure);
+        assertEquals(CacheMode.LOCAL_AND_REMOTE, engine.decide(HotspotLevel.HOT).getCacheMode());
+
+        schedulerProperties.getStrategy().setLoadAwareEnabled(true);
+        engine.onSystemLoad(pressure);
+        assertEquals(CacheMode.REMOTE_ONLY, engine.decide(HotspotLevel.WARM).getCacheMode());
+        assertEquals(CacheMode.REMOTE_ONLY, engine.decide(HotspotLevel.HOT).getCacheMode());
+        assertEquals(CacheMode.LOCAL_AND_REMOTE, engine.decide(HotspotLevel.EXTREMELY_HOT).getCacheMode());
+    }
+
+    @Test
+    @DisplayName("写请求与强一致读请求：任何等级都跳过缓存且不允许兜底")
+    void decide_WriteAndConsistentRead_BypassCache() {
+        for (RequestType requestType : new RequestType[]{RequestType.WRITE, RequestType.CONSISTENT_READ}) {
+            RequestContext context = RequestContext.builder().cacheKey("order:1").requestType(requestType).build();
+            DispatchDecision decision = engine.decide(HotspotLevel.EXTREMELY_HOT, context);
+
+            assertEquals(CacheMode.NONE, decision.getCacheMode());
+            assertEquals(HotspotLevel.EXTREMELY_HOT, decision.getHotspotLevel());
+            assertFalse(decision.isFallbackEnabled());
+        }
+
+        RequestContext read = RequestContext.builder().cacheKey("order:1").requestType(RequestType.READ).build();
+        assertSame(engine.decide(HotspotLevel.HOT), engine.decide(HotspotLevel.HOT, read));
+    }
+
+    @Test
+    @DisplayName("业务类型策略：覆盖配置的字段，其余沿用全局策略；负载调整保留业务类型")
+    void decide_BizProfile_OverridesStrategy() {
+        SchedulerProperties.BizProfile promotion = new SchedulerProperties.BizProfile();
+        promotion.setHotCacheMode("REMOTE_ONLY");
+        promotion.setHotTtlLevel("SHORT");
+        schedulerProperties.getProfiles().put("promotion", promotion);
+        engine.init();
+
+        RequestContext promotionContext = RequestContext.builder().cacheKey("p:1").bizType("promotion").build();
+        DispatchDecision hot = engine.decide(HotspotLevel.HOT, promotionContext);
+        assertEquals(CacheMode.REMOTE_ONLY, hot.getCacheMode());
+        assertEquals(CacheTtlLevel.SHORT, hot.getTtlLevel());
+        assertEquals("promotion", hot.getBizType());
+        assertEquals(CacheTtlLevel.LONG, engine.decide(HotspotLevel.EXTREMELY_HOT, promotionContext).getTtlLevel());
+
+        RequestContext productContext = RequestContext.builder().cacheKey("s:1").bizType("product").build();
+        assertSame(engine.decide(HotspotLevel.HOT), engine.decide(HotspotLevel.HOT, productContext));
+        assertNull(engine.decide(HotspotLevel.HOT).getBizType());
+
+        schedulerProperties.getStrategy().setLoadAwareEnabled(true);
+        engine.onSystemLoad(SystemLoadSnapshot.builder().redisSlow(true).build());
+        DispatchDecision adjusted = engine.decide(HotspotLevel.HOT, promotionContext);
+        assertEquals(CacheMode.LOCAL_AND_REMOTE, adjusted.getCacheMode());
+        assertEquals("promotion", adjusted.getBizType());
+    }
+
+    @Test
+    @DisplayName("成本感知：回源慢的小值升级缓存层与 TTL，回源快的大值降级；未开启时不调整")
+    void decide_CostAware_AdjustsByCostPerKb() {
+        RequestContext expensive = RequestContext.builder().cacheKey("report:1").build();
+        RequestContext cheap = RequestContext.builder().cacheKey("blob:1").build();
+
+        costTracker.record("report:1", 50_000_000L, "x".repeat(100));
+        assertNull(costTracker.estimate("report:1"), "未开启时不记录");
+        assertSame(engine.decide(HotspotLevel.WARM), engine.decide(HotspotLevel.WARM, expensive));
+
+        schedulerProperties.getStrategy().setCostAwareEnabled(true);
+        costTracker.record("report:1", 50_000_000L, "x".repeat(100));
+        assertNull(costTracker.estimate("report:1"), "样本数不足时视为未知");
+        assertSame(engine.decide(HotspotLevel.WARM), engine.decide(HotspotLevel.WARM, expensive));
+
+        for (int i = 0; i < 2; i++) {
+            costTracker.record("report:1", 50_000_000L, "x".repeat(100));
+        }
+        for (int i = 0; i < 3; i++) {
+            costTracker.record("blob:1", 10_000L, "x".repeat(64 * 1024));
+        }
+
+        DispatchDecision upgraded = engine.decide(HotspotLevel.WARM, expensive);
+        assertEquals(CacheMode.LOCAL_AND_REMOTE, upgraded.getCacheMode());
+        assertEquals(CacheTtlLevel.NORMAL, upgraded.getTtlLevel());
+        assertEquals(CacheMode.REMOTE_ONLY, engine.decide(HotspotLevel.COLD, expensive).getCacheMode());
+
+        DispatchDecision downgraded = engine.decide(HotspotLevel.HOT, cheap);
+        assertEquals(CacheMode.REMOTE_ONLY, downgraded.getCacheMode());
+        assertEquals(CacheTtlLevel.SHORT, downgraded.getTtlLevel());
+        assertEquals(CacheMode.LOCAL_AND_REMOTE, engine.decide(HotspotLevel.EXTREMELY_HOT, cheap).getCacheMode());
+
+        // 没有回源记录的 key 按等级查表
+        RequestContext unknown = RequestContext.builder().cacheKey("unknown:1").build();
+        assertSame(engine.decide(HotspotLevel.HOT), engine.decide(HotspotLevel.HOT, unknown));
+    }
+
+    // ==================== 规则决策测试 ====================
+
+    @Test
+    @DisplayName("规则决策：按来源、等级与 key 模式匹配，第一条命中的规则生效，未命中时按等级查表")
+    void decide_Rules_FirstMatchWins() {
+        schedulerProperties.getStrategy().setRules(List.of(
+                "source == App && level >= HOT && key ~ promo:* -> LOCAL_ONLY LONG",
+                "key ~ *:draft:* -> NONE SHORT",
+                "bizType == promotion -> REMOTE_ONLY NORMAL fallback"));
+        engine.init();
+
+        RequestContext app = RequestContext.builder().cacheKey("promo:1").source("App").build();
+        DispatchDecision matched = engine.decide(HotspotLevel.HOT, app);
+        assertEquals(CacheMode.LOCAL_ONLY, matched.getCacheMode());
+        assertEquals(CacheTtlLevel.LONG, matched.getTtlLevel());
+        assertEquals(HotspotLevel.HOT, matched.getHotspotLevel());
+        assertSame(matched, engine.decide(HotspotLevel.HOT, app), "命中规则时返回预先生成的决策");
+
+        // 等级不满足：落到按等级查表
+        assertSame(engine.decide(HotspotLevel.WARM), engine.decide(HotspotLevel.WARM, app));
+        // 来源不满足
+        RequestContext web = RequestContext.builder().cacheKey("promo:1").source("Web").build();
+        assertSame(engine.decide(HotspotLevel.HOT), engine.decide(HotspotLevel.HOT, web));
+
+        RequestContext draft = RequestContext.builder().cacheKey("item:draft:7").build();
+        assertEquals(CacheMode.NONE, engine.decide(HotspotLevel.EXTREMELY_HOT, draft).getCacheMode());
+
+        RequestContext promotion = RequestContext.builder().cacheKey("p:1").bizType("promotion").build();
+        DispatchDecision biz = engine.decide(HotspotLevel.COLD, promotion);
+        assertEquals(CacheMode.REMOTE_ONLY, biz.getCacheMode());
+        assertTrue(biz.isFallbackEnabled());
+        assertNull(biz.getBizType(), "未配置业务类型分区时使用默认分区");
+    }
+
+    @Test
+    @DisplayName("规则决策：负载信号条件；分区业务类型携带 bizType；不合法的规则被跳过")
+    void decide_Rules_LoadSignalsAndInvalidRules() {
+        schedulerProperties.getProfiles().put("promotion", new SchedulerProperties.BizProfile());
+        schedulerProperties.getStrategy().setLoadAwareEnabled(true);
+        schedulerProperties.getStrategy().setRules(List.of(
+                "level == UNKNOWN -> LOCAL_ONLY LONG",
+                "key >= a -> LOCAL_ONLY LONG",
+                "dbSaturated && level < HOT -> REMOTE_ONLY LONG",
+                "!redisSlow && bizType == promotion -> LOCAL_AND_REMOTE SHORT"));
+        engine.init();
+
+        RequestContext context = RequestContext.builder().cacheKey("p:1").bizType("promotion").build();
+        DispatchDecision idle = engine.decide(HotspotLevel.COLD, context);
+        assertEquals(CacheMode.LOCAL_AND_REMOTE, idle.getCacheMode());
+        assertEquals("promotion", idle.getBizType());
+
+        engine.onSystemLoad(SystemLoadSnapshot.builder().dbSaturated(true).redisSlow(true).build());
+        DispatchDecision saturated = engine.decide(HotspotLevel.COLD, context);
+        assertEquals(CacheMode.REMOTE_ONLY, saturated.getCacheMode());
+        assertEquals(CacheTtlLevel.LONG, saturated.getTtlLevel());
+
+        // 规则均未命中：按负载调整后的业务类型映射表
+        assertEquals(CacheTtlLevel.LONG, engine.decide(HotspotLevel.HOT, context).getTtlLevel());
+    }
+
     // ==================== 策略升级测试 ====================
 
     @Test
@@ -0,0 +1,103 @@
+package com.example.aliintern.scheduler.strategy;
+
+import com.example.aliintern.scheduler.cache.client.LocalCacheClient;
+import com.example.aliintern.scheduler.common.metrics.LoadSignalRecorder;
+import com.example.aliintern.scheduler.common.model.SystemLoadSnapshot;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import com.example.aliintern.scheduler.strategy.load.SystemLoadListener;
+import com.example.aliintern.scheduler.strategy.load.SystemLoadMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 系统负载监控单元测试
+ *
+ * 测试覆盖：
+ * 1. 延迟百分位与阈值判定
+ * 2. 回源并发判定
+ * 3. 滞后恢复
+ * 4. 本地缓存占用判定
+ */
+class SystemLoadMonitorTest {
+
+    private SchedulerProperties schedulerProperties;
+    private LoadSignalRecorder recorder;
+    private LocalCacheClient localCache;
+    private List<SystemLoadSnapshot> received;
+    private SystemLoadMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        schedulerProperties = new SchedulerProperties();
+        recorder = new LoadSignalRecorder();
+        localCache = mock(LocalCacheClient.class);
+        when(localCache.getMaximumWeightBytes()).thenReturn(1000L);
+        received = new CopyOnWriteArrayList<>();
+        SystemLoadListener listener = received::add;
+        monitor = new SystemLoadMonitor(recorder, localCache, List.of(listener), schedulerProperties);
+    }
+
+    @Test
+    @DisplayName("Redis p99 超过阈值：判定 Redis 变慢并通知监听器")
+    void sample_RedisP99AboveThreshold_RedisSlow() {
+        for (int i = 0; i < 98; i++) {
+            recorder.recordRedisLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        recorder.recordRedisLatency(TimeUnit.MILLISECONDS.toNanos(50));
+        recorder.recordRedisLatency(TimeUnit.MILLISECONDS.toNanos(50));
+
+        SystemLoadSnapshot snapshot = monitor.sample();
+
+        assertTrue(snapshot.isRedisSlow());
+        assertTrue(snapshot.getRedisP99Millis() >= 20);
+        assertFalse(snapshot.isDbSaturated());
+        assertEquals(List.of(snapshot), received);
+    }
+
+    @Test
+    @DisplayName("回源并发超过阈值：判定数据库饱和")
+    void sample_LoadsInFlightAboveThreshold_DbSaturated() {
+        schedulerProperties.getStrategy().setLoaderConcurrencyThreshold(3);
+        for (int i = 0; i < 3; i++) {
+            recorder.loadStarted();
+        }
+
+        assertTrue(monitor.sample().isDbSaturated());
+    }
+
+    @Test
+    @DisplayName("滞后恢复：低于 阈值 × 恢复比例 才退出负载状态")
+    void sample_Hysteresis() {
+        schedulerProperties.getStrategy().setLoaderConcurrencyThreshold(10);
+        for (int i = 0; i < 10; i++) {
+            recorder.loadStarted();
+        }
+        assertTrue(monitor.sample().isDbSaturated());
+
+        recorder.loadFinished();
+        assertTrue(monitor.sample().isDbSaturated(), "9 >= 10 * 0.8，仍处于饱和");
+
+        recorder.loadFinished();
+        recorder.loadFinished();
+        assertFalse(monitor.sample().isDbSaturated());
+    }
+
+    @Test
+    @DisplayName("本地缓存占用超过阈值：判定内存紧张")
+    void sample_LocalMemoryAboveThreshold_MemoryPressure() {
+        when(localCache.getEstimatedBytes()).thenReturn(950L);
+
+        SystemLoadSnapshot snapshot = monitor.sample();
+
+        assertTrue(snapshot.isMemoryPressure());
+        assertEquals(0.95, snapshot.getLocalMemoryRatio(), 1e-9);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.aliintern.scheduler.tuning;
+
+import com.example.aliintern.scheduler.cache.codec.SmileCacheCodec;
+import com.example.aliintern.scheduler.cache.support.CacheExpirationPolicy;
+import com.example.aliintern.scheduler.cache.support.DefaultCacheValueSizer;
+import com.example.aliintern.scheduler.common.cluster.LocalClusterMessageBus;
+import com.example.aliintern.scheduler.common.enums.CacheMode;
+import com.example.aliintern.scheduler.common.enums.CacheTtlLevel;
+import com.example.aliintern.scheduler.common.enums.HotspotLevel;
+import com.example.aliintern.scheduler.common.metrics.LoaderCostTracker;
+import com.example.aliintern.scheduler.common.model.StatResult;
+import com.example.aliintern.scheduler.config.SchedulerProperties;
+import com.example.aliintern.scheduler.hotspot.impl.DefaultHotspotDetector;
+import com.example.aliintern.scheduler.strategy.impl.DefaultDecisionStrategyEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 运行时调参单元测试
+ *
+ * 测试覆盖：
+ * 1. 调参后热点阈值、策略映射与 TTL 立即生效
+ * 2. 不合法的请求被拒绝，当前配置不变
+ * 3. 调参广播到其他实例
+ * 4. 恢复为启动配置
+ * 5. 重启后加载保存的快照
+ * 6. 按存储分配的版本号丢弃较旧的广播
+ * 7. 仅本实例生效的调参与本地版本号的快照不保存、不广播
+ */
+class RuntimeTuningServiceTest {
+
+    private LocalClusterMessageBus messageBus;
+    private LocalTuningStore tuningStore;
+    private Node node;
+
+    @BeforeEach
+    void setUp() {
+        messageBus = new LocalClusterMessageBus();
+        tuningStore = new LocalTuningStore();
+        node = new Node(messageBus, tuningStore);
+    }
+
+    @Test
+    @DisplayName("调参：阈值、策略与 TTL 立即生效")
+    void apply_UpdatesAllListeners() {
+        StatResult stat = StatResult.builder().count1s(10L).count60s(0L).build();
+        assertEquals(HotspotLevel.WARM, node.detector.detect(stat));
+
+        TuningRequest request = new TuningRequest();
+        request.setWarmShortThreshold(20L);
+        request.setHotCacheMode("REMOTE_ONLY");
+        request.setLocalLongTtl(600L);
+        request.setPropagate(false);
+        TuningSnapshot snapshot = node.service.apply(request);
+
+        assertEquals(1L, snapshot.version());
+        assertEquals(HotspotLevel.COLD, node.detector.detect(stat));
+        assertEquals(CacheMode.REMOTE_ONLY, node.engine.decide(HotspotLevel.HOT).getCacheMode());
+        assertEquals(Duration.ofSeconds(600), node.policy.localTtl(CacheTtlLevel.LONG));
+        assertSame(snapshot, node.service.current());
+    }
+
+    @Test
+    @DisplayName("非法请求：整体拒绝，当前配置不变")
+    void apply_InvalidRequest_Rejected() {
+        TuningRequest thresholds = new TuningRequest();
+        thresholds.setWarmShortThreshold(1000L);
+        assertThrows(IllegalArgumentException.class, () -> node.service.apply(thresholds));
+
+        TuningRequest mode = new TuningRequest();
+        mode.setHotLongThreshold(400L);
+        mode.setHotCacheMode("UNKNOWN");
+        assertThrows(IllegalArgumentException.class, () -> node.service.apply(mode));
+
+        assertEquals(0L, node.service.current().version());
+        assertEquals(300L, node.detector.getThreshold(HotspotLevel.HOT));
+        assertEquals(CacheMode.LOCAL_AND_REMOTE, node.engine.decide(HotspotLevel.HOT).getCacheMode());
+    }
+
+    @Test
+    @DisplayName("广播：其他实例安装相同快照")
+    void apply_PropagatesToOtherNodes() {
+        Node other = new Node(messageBus, tuningStore);
+
+        TuningRequest request = new TuningRequest();
+        request.setExtremelyHotTtlLevel("NORMAL");
+        request.setRemoteNormalTtl(120L);
+        node.service.apply(request);
+
+        assertEquals(1L, other.service.current().version());
+        assertEquals(CacheTtlLevel.NORMAL, other.engine.decide(HotspotLevel.EXTREMELY_HOT).getTtlLevel());
+        assertEquals(Duration.ofSeconds(120), other.policy.remoteTtl(CacheTtlLevel.NORMAL));
+    }
+
+    @Test
+    @DisplayName("恢复：回到启动配置")
+    void reset_RestoresStartupConfiguration() {
+        Node other = new Node(messageBus, tuningStore);
+        TuningRequest request = new TuningRequest();
+        request.setHotLongThreshold(500L);
+        node.service.apply(request);
+        assertEquals(500L, other.detector.getThreshold(HotspotLevel.HOT));
+
+        TuningSnapshot snapshot = node.service.reset(true);
+
+        assertEquals(2L, snapshot.version());
+        assertEquals(300L, node.detector.getThreshold(HotspotLevel.HOT));
+        assertEquals(300L, other.detector.getThreshold(HotspotLevel.HOT));
+    }
+
+    @Test
+    @DisplayName("重启：新实例启动时加载保存的最新快照")
+    void init_RestoresSavedSnapshot() {
+        TuningRequest request = new TuningRequest();
+        request.setHotLongThreshold(500L);
+        node.service.apply(request);
+
+        Node restarted = new Node(new LocalClusterMessageBus(), tuningStore);
+
+        assertEquals(1L, restarted.service.current().version());
+        assertEquals(500L, restarted.detector.getThreshold(HotspotLevel.HOT));
+    }
+
+    @Test
+    @DisplayName("版本号：较旧的广播晚到时被丢弃，与各实例的时钟无关")
+    void onMessage_OlderVersion_Ignored() throws Exception {
+        Node other = new Node(messageBus, tuningStore);
+        TuningSnapshot base = TuningSnapshot.fromProperties(new SchedulerProperties());
+
+        TuningRequest newer = new TuningRequest();
+        newer.setHotLongThreshold(500L);
+        node.service.apply(newer);
+        assertEquals(500L, other.detector.getThreshold(HotspotLevel.HOT));
+
+        // 版本号更低但生效时间更晚（时钟偏快的实例），仍被丢弃
+        TuningRequest older = new TuningRequest();
+        older.setHotLongThreshold(400L);
+        TuningSnapshot stale = base.apply(older, 0L, Long.MAX_VALUE);
+        node.service.onMessage("other-node\n" + new ObjectMapper().writeValueAsString(stale));
+        assertEquals(500L, node.detector.getThreshold(HotspotLevel.HOT));
+    }
+
+    @Test
+    @DisplayName("仅本实例生效：不保存快照，其他实例启动时不加载")
+    void apply_LocalOnly_NotSaved() {
+        TuningRequest request = new TuningRequest();
+        request.setHotLongThreshold(500L);
+        request.setPropagate(false);
+        node.service.apply(request);
+        node.service.reset(false);
+
+        assertNull(tuningStore.load());
+        Node restarted = new Node(new LocalClusterMessageBus(), tuningStore);
+        assertEquals(300L, restarted.detector.getThreshold(HotspotLevel.HOT));
+    }
+
+    @Test
+    @DisplayName("版本号分配失败：使用本地版本号，只在本实例生效，不保存也不广播")
+    void apply_VersionAllocationFailed_NotShared() {
+        LocalTuningStore failingStore = new LocalTuningStore() {
+            @Override
+            public long nextVersion() {
+                throw new IllegalStateException("redis down");
+            }
+        };
+        Node local = new Node(messageBus, failingStore);
+        Node other = new Node(messageBus, tuningStore);
+
+        TuningRequest request = new TuningRequest();
+        request.setHotLongThreshold(500L);
+        TuningSnapshot snapshot = local.service.apply(request);
+
+        assertEquals(1L, snapshot.version());
+        assertEquals(500L, local.detector.getThreshold(HotspotLevel.HOT));
+        assertEquals(300L, other.detector.getThreshold(HotspotLevel.HOT));
+        assertNull(failingStore.load());
+    }
+
+    /**
+     * 单个实例：独立的配置与调参监听器，共享消息总线与快照存储
+     */
+    private static class Node {
+
+        final DefaultHotspotDetector detector;
+        final DefaultDecisionStrategyEngine engine;
+        final CacheExpirationPolicy policy;
+        final RuntimeTuningService service;
+
+        Node(LocalClusterMessageBus messageBus, LocalTuningStore tuningStore) {
+            SchedulerProperties properties = new SchedulerProperties();
+            properties.getCache().getExpire().setJitterRatio(0.0);
+            detector = new DefaultHotspotDetector(properties);
+            engine = new DefaultDecisionStrategyEngine(properties, new LoaderCostTracker(
+                    new DefaultCacheValueSizer(new SmileCacheCodec(), properties), properties));
+            engine.init();
+            policy = new CacheExpirationPolicy(properties);
+            service = new RuntimeTuningService(List.of(detector, engine, policy), messageBus, tuningStore,
+                    properties);
+            service.init();
+        }
+    }
+}